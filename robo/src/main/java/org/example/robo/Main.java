@@ -2,6 +2,7 @@ package org.example.robo;
 
 import javafx.application.Application;
 import javafx.stage.Stage;
+import org.example.robo.core.engine.CapabilityReport;
 import org.example.robo.core.profile.ClickProfile;
 import org.example.robo.service.ApplicationService;
 import org.example.robo.ui.MainWindowFX;
@@ -57,7 +58,8 @@ public class Main extends Application {
             UIController uiController = new UIController(
                     appService.getClickEngine(),
                     appService.getKeyboardListener(),
-                    appService.getConfigurationManager()
+                    appService.getConfigurationManager(),
+                    appService.getCursorSampler()
             );
 
             // Erstelle und zeige Hauptfenster
@@ -84,10 +86,15 @@ public class Main extends Application {
      */
     private static void checkAccessibility() {
         try {
-            // Vereinfachte Prüfung - auf echten macOS wird dies durch NativeHook geprüft
-            logger.info("Accessibility check: If you see this, the app may need Accessibility permission");
-            logger.info("If hotkeys don't work, please grant Accessibility permission in:");
-            logger.info("  System Preferences > Security & Privacy > Accessibility > Click Roboter");
+            // Abfrage ohne Seiteneffekte, Ergebnis wird vom Probe gespeichert
+            CapabilityReport report = appService.getCapabilityProbe().getReport();
+            if (report.isUsable()) {
+                logger.info("Input backend {} ready", report.getBackendName());
+                return;
+            }
+            logger.warn("Input backend {} not usable: {}", report.getBackendName(), report);
+            logger.warn("Please grant Accessibility permission in:");
+            logger.warn("  System Preferences > Security & Privacy > Accessibility > Click Roboter");
         } catch (Exception e) {
             logger.warn("Could not verify accessibility permission", e);
         }
@@ -2,7 +2,9 @@ package org.example.robo.config;
 
 import org.example.robo.core.profile.ClickProfile;
 import org.example.robo.core.profile.Macro;
+import org.example.robo.core.profile.MappedMacroFile;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -56,7 +58,30 @@ public interface ConfigurationManager {
 
     // --- Macro persistence API ---
     void saveMacro(Macro macro);
+
+    /**
+     * Dekodiert ein Macro mit allen Events. Das Ergebnis wird nicht zwischengespeichert,
+     * jeder Aufruf liest die Datei neu.
+     *
+     * @param macroId ID des Macros
+     * @return Macro oder null, wenn es keines gibt
+     */
     Macro loadMacro(String macroId);
+
+    /**
+     * @return alle Macros nur mit Metadaten (ohne Events); die Events liefern
+     *         {@link #loadMacro} bzw. {@link #openMacroFile}
+     */
     java.util.List<Macro> getAllMacros();
     void deleteMacro(String macroId);
+
+    /**
+     * Öffnet die binäre Datei eines gespeicherten Macros, ohne die Events zu dekodieren
+     * (zum direkten Abspielen über {@link MappedMacroFile#cursor()}).
+     *
+     * @param macroId ID des Macros
+     * @return gemappte Datei oder null, wenn es keine gibt
+     * @throws IOException wenn die Datei nicht lesbar ist
+     */
+    MappedMacroFile openMacroFile(String macroId) throws IOException;
 }
@@ -5,12 +5,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.Macro;
+import org.example.robo.core.profile.MacroFileWriter;
+import org.example.robo.core.profile.MappedMacroFile;
 import org.example.robo.util.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -21,13 +25,21 @@ import java.util.List;
 /**
  * Implementation des ConfigurationManager.
  * Verwaltet die Persistierung von Klick-Profilen in JSON-Format.
+ * <p>
+ * Die Events eines Macros liegen binär in {@code macros/<kodierte id>.rmacro} (siehe
+ * {@link MacroFileWriter}); in der JSON-Datei stehen nur Name und Metadaten. Macros
+ * älterer Konfigurationen mit eingebetteten Events werden beim Laden in das binäre
+ * Format übernommen. Im Speicher hält der Manager nur die Metadaten; die Events werden
+ * bei jedem {@link #loadMacro} neu dekodiert und nicht zwischengespeichert.
  */
 public class ConfigurationManagerImpl implements ConfigurationManager {
     private static final Logger logger = LoggerFactory.getLogger(ConfigurationManagerImpl.class);
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
 
     private final ObjectMapper objectMapper;
     private final Path configFile;
     private final Path configDir;
+    private final Path macrosDir;
 
     private ProfileConfiguration currentConfig;
 
@@ -35,14 +47,24 @@ public class ConfigurationManagerImpl implements ConfigurationManager {
      * Erstellt einen neuen ConfigurationManager.
      */
     public ConfigurationManagerImpl() {
+        this(Paths.get(Constants.CONFIG_DIR));
+    }
+
+    /**
+     * Erstellt einen ConfigurationManager mit eigenem Konfigurationsverzeichnis (z.B. für Tests).
+     *
+     * @param configDir Verzeichnis für Profile und Macros
+     */
+    ConfigurationManagerImpl(Path configDir) {
         this.objectMapper = new ObjectMapper();
         // Ignoriere unbekannte Felder in älteren Konfigurationsdateien
         this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         this.objectMapper.registerModule(new JavaTimeModule());
         this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
 
-        this.configDir = Paths.get(Constants.CONFIG_DIR);
-        this.configFile = Paths.get(Constants.PROFILES_FILE);
+        this.configDir = configDir;
+        this.configFile = configDir.resolve(Constants.PROFILES_FILE_NAME);
+        this.macrosDir = configDir.resolve(Constants.MACROS_DIR_NAME);
 
         // Erstelle Config-Verzeichnis falls nicht vorhanden
         ensureConfigDirectory();
@@ -117,8 +139,9 @@ public class ConfigurationManagerImpl implements ConfigurationManager {
             return;
         }
         try {
+            writeMacroFile(macro);
             currentConfig.macros.removeIf(m -> m.getId().equals(macro.getId()));
-            currentConfig.macros.add(macro);
+            currentConfig.macros.add(metadataOf(macro));
             writeConfigurationToFile();
             logger.info("Macro saved: {}", macro.getName());
         } catch (IOException e) {
@@ -130,14 +153,28 @@ public class ConfigurationManagerImpl implements ConfigurationManager {
     @Override
     public org.example.robo.core.profile.Macro loadMacro(String macroId) {
         if (macroId == null) return null;
-        return currentConfig.macros.stream()
-                .filter(m -> m.getId().equals(macroId))
-                .findFirst().orElse(null);
+        for (Macro macro : currentConfig.macros) {
+            if (macro.getId().equals(macroId)) {
+                return loadEvents(macro);
+            }
+        }
+        return null;
     }
 
     @Override
     public java.util.List<org.example.robo.core.profile.Macro> getAllMacros() {
-        return new ArrayList<>(currentConfig.macros);
+        List<Macro> macros = new ArrayList<>();
+        for (Macro macro : currentConfig.macros) {
+            macros.add(metadataOf(macro));
+        }
+        return macros;
+    }
+
+    @Override
+    public MappedMacroFile openMacroFile(String macroId) throws IOException {
+        if (macroId == null) return null;
+        Path file = macroFile(macroId);
+        return Files.exists(file) ? MappedMacroFile.open(file) : null;
     }
 
     @Override
@@ -146,6 +183,7 @@ public class ConfigurationManagerImpl implements ConfigurationManager {
         try {
             currentConfig.macros.removeIf(m -> m.getId().equals(macroId));
             writeConfigurationToFile();
+            Files.deleteIfExists(macroFile(macroId));
             logger.info("Macro deleted: {}", macroId);
         } catch (IOException e) {
             logger.error("Error deleting macro", e);
@@ -175,6 +213,7 @@ public class ConfigurationManagerImpl implements ConfigurationManager {
     private void ensureConfigDirectory() {
         try {
             Files.createDirectories(configDir);
+            Files.createDirectories(macrosDir);
         } catch (IOException e) {
             logger.error("Error creating config directory", e);
         }
@@ -188,6 +227,8 @@ public class ConfigurationManagerImpl implements ConfigurationManager {
             if (Files.exists(configFile)) {
                 currentConfig = objectMapper.readValue(configFile.toFile(), ProfileConfiguration.class);
                 logger.info("Configuration loaded from file");
+                migrateLegacyMacroFiles();
+                migrateInlineMacros();
             } else {
                 currentConfig = createDefaultConfiguration();
                 writeConfigurationToFile();
@@ -205,12 +246,144 @@ public class ConfigurationManagerImpl implements ConfigurationManager {
     private void writeConfigurationToFile() throws IOException {
         // Schreibe erst in temporäre Datei für atomare Operationen
         Path tempFile = Paths.get(configFile + ".tmp");
-        objectMapper.writeValue(tempFile.toFile(), currentConfig);
+        objectMapper.writeValue(tempFile.toFile(), withoutMacroEvents(currentConfig));
 
         // Ersetze Original-Datei
         Files.move(tempFile, configFile, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
     }
 
+    /**
+     * @return Pfad der binären Datei eines Macros (siehe {@link #encodeFileName})
+     */
+    private Path macroFile(String macroId) {
+        return macrosDir.resolve(encodeFileName(macroId) + Constants.MACRO_FILE_EXTENSION);
+    }
+
+    /**
+     * Kodiert eine ID umkehrbar als Dateinamen: Kleinbuchstaben, Ziffern und {@code . _ -}
+     * bleiben, jedes andere UTF-8 Byte wird zu {@code %XX}. Verschiedene IDs ergeben so
+     * verschiedene Dateien, auch auf Dateisystemen ohne Gross-/Kleinschreibung.
+     */
+    static String encodeFileName(String id) {
+        StringBuilder name = new StringBuilder(id.length());
+        for (byte b : id.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '.' || c == '_' || c == '-') {
+                name.append(c);
+            } else {
+                name.append('%').append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+            }
+        }
+        return name.toString();
+    }
+
+    /**
+     * Benennt Dateien um, die noch unter dem früheren Namensschema liegen (jedes Zeichen
+     * ausser {@code [A-Za-z0-9._-]} als {@code _}). Eine Datei wird nur übernommen, wenn
+     * die ID in ihrem Header zum Macro passt; so kann eine alte Kollision keine fremden
+     * Events unterschieben.
+     */
+    private void migrateLegacyMacroFiles() {
+        for (Macro macro : currentConfig.macros) {
+            Path file = macroFile(macro.getId());
+            Path legacy = macrosDir.resolve(macro.getId().replaceAll("[^A-Za-z0-9._-]", "_")
+                    + Constants.MACRO_FILE_EXTENSION);
+            if (legacy.equals(file) || Files.exists(file) || !Files.exists(legacy)) {
+                continue;
+            }
+            try {
+                if (macro.getId().equals(MappedMacroFile.open(legacy).getId())) {
+                    Files.move(legacy, file);
+                    logger.info("Macro file {} renamed to {}", legacy.getFileName(), file.getFileName());
+                }
+            } catch (IOException e) {
+                logger.error("Error migrating macro file {}", legacy, e);
+            }
+        }
+    }
+
+    /**
+     * Schreibt die Events eines Macros atomar in seine binäre Datei.
+     */
+    private void writeMacroFile(Macro macro) throws IOException {
+        Path file = macroFile(macro.getId());
+        Path tempFile = Paths.get(file + ".tmp");
+        MacroFileWriter.write(macro, tempFile, Constants.MACRO_FILE_BLOCK_EVENTS);
+        Files.move(tempFile, file, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @return das Macro mit den Events aus seiner binären Datei, oder unverändert, wenn es
+     *         noch eingebettete Events hat (Migration fehlgeschlagen) oder keine Datei existiert
+     */
+    private Macro loadEvents(Macro macro) {
+        Path file = macroFile(macro.getId());
+        if (!macro.getEventStore().isEmpty() || !Files.exists(file)) {
+            return macro;
+        }
+        try {
+            Macro loaded = MappedMacroFile.open(file).toMacro();
+            loaded.setId(macro.getId());
+            loaded.setName(macro.getName());
+            return loaded;
+        } catch (IOException | IllegalStateException e) {
+            logger.error("Error loading macro file {}", file, e);
+            return macro;
+        }
+    }
+
+    /**
+     * Übernimmt Macros mit in der JSON eingebetteten Events in das binäre Format.
+     */
+    private void migrateInlineMacros() {
+        boolean migrated = false;
+        for (Macro macro : currentConfig.macros) {
+            if (!macro.getEventStore().isEmpty() && !Files.exists(macroFile(macro.getId()))) {
+                try {
+                    writeMacroFile(macro);
+                    migrated = true;
+                } catch (IOException e) {
+                    logger.error("Error migrating macro {}, keeping events in configuration", macro.getId(), e);
+                }
+            }
+        }
+        if (migrated) {
+            try {
+                writeConfigurationToFile();
+                logger.info("Macros migrated to binary files in {}", macrosDir);
+            } catch (IOException e) {
+                logger.error("Error writing migrated configuration", e);
+            }
+        }
+    }
+
+    /**
+     * @return Kopie der Konfiguration, deren Macros nur Metadaten enthalten, sofern ihre
+     *         Events in einer binären Datei liegen
+     */
+    private ProfileConfiguration withoutMacroEvents(ProfileConfiguration config) {
+        ProfileConfiguration stored = new ProfileConfiguration();
+        stored.lastUsedProfileId = config.lastUsedProfileId;
+        stored.profiles = config.profiles;
+        for (Macro macro : config.macros) {
+            if (!Files.exists(macroFile(macro.getId()))) {
+                stored.macros.add(macro);
+                continue;
+            }
+            stored.macros.add(metadataOf(macro));
+        }
+        return stored;
+    }
+
+    /**
+     * @return Kopie des Macros ohne Events
+     */
+    private static Macro metadataOf(Macro macro) {
+        Macro metadata = new Macro(macro.getId(), macro.getName());
+        metadata.setCreatedAt(macro.getCreatedAt());
+        return metadata;
+    }
+
     /**
      * Erstellt eine neue Standard-Konfiguration.
      */
@@ -0,0 +1,30 @@
+package org.example.robo.core.engine;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
+import org.example.robo.util.Constants;
+
+/**
+ * Direct-Mapping der Abfrage der Bedienungshilfen-Berechtigung (ApplicationServices).
+ * <p>
+ * {@code AXIsProcessTrusted} fragt nur ab und hat keine Seiteneffekte (kein Dialog,
+ * kein Event). Der Rückgabetyp {@code Boolean} ist in C ein {@code unsigned char}
+ * und wird daher als {@code byte} gebunden.
+ * <p>
+ * Die Library lässt sich über {@value Constants#APPLICATION_SERVICES_LIBRARY_PROPERTY}
+ * ersetzen (z.B. durch die Stub-Library der Tests).
+ */
+final class AccessibilityDirect {
+
+    static final String LIBRARY = System.getProperty(Constants.APPLICATION_SERVICES_LIBRARY_PROPERTY,
+            "ApplicationServices");
+
+    static {
+        Native.register(AccessibilityDirect.class, NativeLibrary.getInstance(LIBRARY));
+    }
+
+    private AccessibilityDirect() {
+    }
+
+    static native byte AXIsProcessTrusted();
+}
@@ -0,0 +1,341 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.util.Constants;
+import org.example.robo.util.ListenerRegistry;
+import org.example.robo.util.MousePosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hochfrequenz-Modus der Click Engine (Burst-Modus).
+ * <p>
+ * Läuft unabhängig von {@link Constants#MAX_FREQUENCY_HZ} mit
+ * {@link Constants#MIN_BURST_FREQUENCY_HZ} bis {@link Constants#MAX_BURST_FREQUENCY_HZ}
+ * Events pro Sekunde. Die Intervalle liegen im Sub-Millisekunden-Bereich und
+ * werden über absolute Deadlines getaktet. Sind beim Aufwachen mehrere Ticks
+ * fällig, werden sie als ein Batch über {@link InputBackend#clickBatch} abgesetzt.
+ * <p>
+ * Backpressure: Kommt das Posten nicht nach und liegen mehr als ein voller Batch
+ * an Ticks im Rückstand, werden diese verworfen (gezählt als verworfene Events)
+ * statt einen unbegrenzten Rückstau aufzubauen. Die Phase bleibt dabei erhalten.
+ * <p>
+ * Die Frequenz des Profils wird ignoriert; massgebend ist {@link #setClickFrequency(int)}.
+ * Listener werden über Start, Stop und Fehler informiert, nicht pro Event.
+ */
+public class BurstClickEngine implements ClickEngine {
+    private static final Logger logger = LoggerFactory.getLogger(BurstClickEngine.class);
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final ExecutorService executor;
+    private final ListenerRegistry<ClickEngineListener> listeners;
+    private final InputBackend backend;
+    private final PrecisionWaiter waiter;
+    private final int maxBatchSize;
+
+    private volatile boolean isRunning = false;
+    private volatile ClickProfile currentProfile;
+    private volatile int eventsPerSecond = Constants.DEFAULT_BURST_FREQUENCY_HZ;
+    private volatile DeadlineTicker ticker;
+    private Future<?> burstTask;
+
+    private volatile long eventsPosted;
+    private volatile long batchesPosted;
+    private volatile long droppedEvents;
+    private volatile long startNanos;
+    private volatile long stopNanos;
+
+    /**
+     * Erstellt eine Burst Engine mit dem Standard-Backend.
+     */
+    public BurstClickEngine() {
+        this(InputBackends.getDefault());
+    }
+
+    /**
+     * Erstellt eine Burst Engine mit gegebenem Backend.
+     *
+     * @param backend Input-Backend für das Absetzen der Events
+     */
+    public BurstClickEngine(InputBackend backend) {
+        this(backend, new PrecisionWaiter(), Constants.BURST_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Erstellt eine Burst Engine.
+     *
+     * @param backend Input-Backend für das Absetzen der Events
+     * @param waiter Waiter für das Warten auf Deadlines
+     * @param maxBatchSize maximale Anzahl Events pro Batch
+     */
+    public BurstClickEngine(InputBackend backend, PrecisionWaiter waiter, int maxBatchSize) {
+        if (backend == null || waiter == null) {
+            throw new IllegalArgumentException("Backend and waiter cannot be null");
+        }
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "BurstClickEngineThread");
+            t.setDaemon(true);
+            return t;
+        });
+        this.listeners = new ListenerRegistry<>(ClickEngineListener[]::new);
+        this.backend = backend;
+        this.waiter = waiter;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        logger.info("BurstClickEngine initialized (max batch: {})", this.maxBatchSize);
+    }
+
+    @Override
+    public void startClicking(ClickProfile profile) {
+        if (isRunning) {
+            logger.warn("Burst engine already running");
+            notifyListeners(listener -> listener.onError("Engine already running"));
+            return;
+        }
+
+        if (profile == null) {
+            logger.error("Profile cannot be null");
+            notifyListeners(listener -> listener.onError("Profile cannot be null"));
+            return;
+        }
+
+        try {
+            int rate = eventsPerSecond;
+            this.currentProfile = profile;
+            this.eventsPosted = 0;
+            this.batchesPosted = 0;
+            this.droppedEvents = 0;
+            this.isRunning = true;
+
+            logger.info("Starting burst engine with profile: {} ({} events/s, max batch: {})",
+                    profile.getName(), rate, maxBatchSize);
+
+            DeadlineTicker newTicker = new DeadlineTicker(waiter, NANOS_PER_SECOND, rate);
+            newTicker.start();
+            this.startNanos = waiter.getClock().nanoTime();
+            this.ticker = newTicker;
+
+            this.burstTask = executor.submit(() -> runBurstLoop(newTicker, profile));
+
+            notifyListeners(ClickEngineListener::onEngineStarted);
+        } catch (Exception e) {
+            logger.error("Error starting burst engine", e);
+            isRunning = false;
+            notifyListeners(listener -> listener.onError("Failed to start engine: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    public void stopClicking() {
+        if (!isRunning) {
+            logger.debug("Burst engine already stopped");
+            return;
+        }
+
+        try {
+            isRunning = false;
+            stopNanos = waiter.getClock().nanoTime();
+
+            if (burstTask != null) {
+                burstTask.cancel(true);
+                burstTask = null;
+            }
+            backend.releaseResources();
+
+            logger.info("Burst engine stopped. Events: {}, batches: {}, dropped: {}, achieved rate: {} events/s",
+                    eventsPosted, batchesPosted, droppedEvents, String.format("%.1f", getAchievedRateHz()));
+            notifyListeners(ClickEngineListener::onEngineStopped);
+        } catch (Exception e) {
+            logger.error("Error stopping burst engine", e);
+            notifyListeners(listener -> listener.onError("Error stopping engine: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    /**
+     * Setzt die Burst-Rate in Events pro Sekunde. Wirkt ab dem nächsten Start.
+     *
+     * @param hz Rate ({@link Constants#MIN_BURST_FREQUENCY_HZ} - {@link Constants#MAX_BURST_FREQUENCY_HZ})
+     */
+    @Override
+    public void setClickFrequency(int hz) {
+        this.eventsPerSecond = TimingController.validateBurstFrequency(hz);
+        logger.debug("Burst rate updated to: {} events/s", eventsPerSecond);
+    }
+
+    /**
+     * Gibt die eingestellte Burst-Rate zurück.
+     *
+     * @return Events pro Sekunde
+     */
+    public int getClickFrequency() {
+        return eventsPerSecond;
+    }
+
+    @Override
+    public void setClickPosition(MousePosition position) {
+        if (currentProfile != null) {
+            currentProfile.setPosition(position);
+            logger.debug("Burst position updated to: {}", position);
+        }
+    }
+
+    @Override
+    public void setClickType(ClickType clickType) {
+        if (currentProfile != null && clickType != null) {
+            currentProfile.setClickType(clickType);
+            logger.debug("Burst click type updated to: {}", clickType);
+        }
+    }
+
+    @Override
+    public MousePosition getCurrentMousePosition() {
+        try {
+            return backend.getCurrentMousePosition();
+        } catch (Exception e) {
+            logger.error("Error getting current mouse position", e);
+            return new MousePosition(0, 0);
+        }
+    }
+
+    @Override
+    public void addClickEngineListener(ClickEngineListener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+            logger.debug("Listener added: {}", listener.getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public void removeClickEngineListener(ClickEngineListener listener) {
+        if (listener != null) {
+            listeners.remove(listener);
+            logger.debug("Listener removed: {}", listener.getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public ClickProfile getCurrentProfile() {
+        return currentProfile;
+    }
+
+    public long getEventsPosted() {
+        return eventsPosted;
+    }
+
+    public long getBatchesPosted() {
+        return batchesPosted;
+    }
+
+    /**
+     * Anzahl der durch Backpressure verworfenen Events seit dem letzten Start.
+     */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    public long getMaxLatenessNanos() {
+        DeadlineTicker t = ticker;
+        return t != null ? t.getMaxLatenessNanos() : 0;
+    }
+
+    public long getAverageLatenessNanos() {
+        DeadlineTicker t = ticker;
+        return t != null ? t.getAverageLatenessNanos() : 0;
+    }
+
+    /**
+     * Tatsächlich erreichte Rate seit dem letzten Start.
+     *
+     * @return Events pro Sekunde
+     */
+    public double getAchievedRateHz() {
+        long end = isRunning ? waiter.getClock().nanoTime() : stopNanos;
+        long elapsed = end - startNanos;
+        return elapsed <= 0 ? 0 : eventsPosted * (double) NANOS_PER_SECOND / elapsed;
+    }
+
+    /**
+     * Burst-Loop: wartet auf die nächste Deadline, bündelt alle fälligen Ticks
+     * und wendet Backpressure an, wenn das Posten nicht nachkommt.
+     */
+    private void runBurstLoop(DeadlineTicker loopTicker, ClickProfile profile) {
+        NanoClock clock = waiter.getClock();
+        int limit = profile.getNumberOfClicks();
+        try {
+            while (isRunning && ticker == loopTicker) {
+                loopTicker.awaitNextTick();
+                int batch = 1 + loopTicker.drainDue(clock.nanoTime(), maxBatchSize - 1);
+                if (limit > 0) {
+                    batch = (int) Math.min(batch, limit - eventsPosted);
+                }
+
+                MousePosition position = profile.getPosition();
+                backend.clickBatch(position.getX(), position.getY(), profile.getClickType(), batch);
+                eventsPosted += batch;
+                batchesPosted++;
+
+                if (limit > 0 && eventsPosted >= limit) {
+                    stopClicking();
+                    break;
+                }
+
+                long now = clock.nanoTime();
+                if (loopTicker.countDue(now) > maxBatchSize) {
+                    droppedEvents += loopTicker.skipDue(now);
+                }
+            }
+        } catch (InterruptedException e) {
+            // stopClicking() bricht das Warten ab
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Error executing burst", e);
+            isRunning = false;
+            notifyListeners(listener -> listener.onError("Burst execution failed: " + e.getMessage()));
+        }
+    }
+
+    private void notifyListeners(ListenerAction action) {
+        for (ClickEngineListener listener : listeners.snapshot()) {
+            try {
+                action.execute(listener);
+            } catch (Exception e) {
+                logger.error("Error notifying listener", e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ListenerAction {
+        void execute(ClickEngineListener listener);
+    }
+
+    /**
+     * Beendet die Burst Engine und gibt Ressourcen frei.
+     */
+    public void shutdown() {
+        stopClicking();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            logger.error("Error shutting down executor", e);
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        backend.releaseResources();
+        logger.info("BurstClickEngine shutdown complete");
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stellt einmal fest, ob das Input-Backend verfügbar ist und Eingaben posten darf,
+ * und hält das Ergebnis fest.
+ * <p>
+ * Die Abfrage ist frei von Seiteneffekten ({@link InputBackend#isAvailable()},
+ * {@link InputBackend#hasInputPermission()}); es wird nie ein Event gepostet. Ein
+ * positives Ergebnis gilt, bis {@link #reportFailure} einen Fehler meldet. Ein
+ * negatives Ergebnis wird beim nächsten Zugriff erneut geprüft, höchstens alle
+ * {@value Constants#CAPABILITY_RECHECK_INTERVAL_MS} ms (z.B. während der Benutzer die
+ * Berechtigung in den Systemeinstellungen erteilt und die UI den Status abfragt).
+ * <p>
+ * Thread-safe; die Abfrage selbst läuft unter dem Monitor, Lesezugriffe auf ein
+ * gültiges Ergebnis nicht.
+ */
+public final class CapabilityProbe {
+    private static final Logger logger = LoggerFactory.getLogger(CapabilityProbe.class);
+
+    private final InputBackend backend;
+    private final long recheckIntervalMillis;
+    private volatile CapabilityReport report;
+    private volatile boolean stale = true;
+
+    public CapabilityProbe(InputBackend backend) {
+        this(backend, Constants.CAPABILITY_RECHECK_INTERVAL_MS);
+    }
+
+    /**
+     * @param backend abzufragendes Backend
+     * @param recheckIntervalMillis Mindestabstand zwischen zwei Prüfungen nach einem Fehler
+     */
+    public CapabilityProbe(InputBackend backend, long recheckIntervalMillis) {
+        if (backend == null || recheckIntervalMillis < 0) {
+            throw new IllegalArgumentException("Backend cannot be null and interval must not be negative");
+        }
+        this.backend = backend;
+        this.recheckIntervalMillis = recheckIntervalMillis;
+    }
+
+    public InputBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Gibt das gespeicherte Ergebnis zurück und prüft nur neu, wenn noch keines vorliegt
+     * oder das letzte fehlschlug und der Mindestabstand verstrichen ist.
+     *
+     * @return aktuelles Ergebnis
+     */
+    public CapabilityReport getReport() {
+        CapabilityReport current = report;
+        if (current != null && !stale) {
+            return current;
+        }
+        synchronized (this) {
+            current = report;
+            if (current == null || (stale
+                    && System.currentTimeMillis() - current.getProbedAtMillis() >= recheckIntervalMillis)) {
+                current = probe();
+            }
+            return current;
+        }
+    }
+
+    /**
+     * @return true, wenn Klicks ausgeführt werden können
+     */
+    public boolean isUsable() {
+        return getReport().isUsable();
+    }
+
+    /**
+     * Meldet, dass das Posten fehlgeschlagen ist; der nächste Zugriff prüft neu.
+     *
+     * @param reason Fehlermeldung
+     */
+    public void reportFailure(String reason) {
+        if (!stale) {
+            logger.info("Input failed on backend {}, capabilities will be re-checked: {}", backend.getName(), reason);
+        }
+        stale = true;
+    }
+
+    /**
+     * Prüft sofort, unabhängig vom gespeicherten Ergebnis.
+     *
+     * @return neues Ergebnis
+     */
+    public synchronized CapabilityReport probe() {
+        long start = System.nanoTime();
+        boolean available = false;
+        boolean linked = true;
+        boolean permitted = false;
+        try {
+            available = backend.isAvailable();
+            permitted = available && backend.hasInputPermission();
+        } catch (LinkageError e) {
+            linked = false;
+            logger.warn("Input backend {} cannot link its native library: {}", backend.getName(), e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("Capability query of input backend {} failed", backend.getName(), e);
+        }
+        CapabilityReport next = new CapabilityReport(backend.getName(), available, linked, permitted,
+                System.nanoTime() - start, System.currentTimeMillis());
+        CapabilityReport previous = report;
+        report = next;
+        stale = !next.isUsable();
+        if (previous == null || previous.isUsable() != next.isUsable()) {
+            logger.info("Input capabilities: {}", next);
+        }
+        return next;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.robo.core.engine;
+
+/**
+ * Ergebnis einer Abfrage des {@link CapabilityProbe}: was das Input-Backend auf
+ * dieser Maschine kann und darf.
+ */
+public final class CapabilityReport {
+
+    private final String backendName;
+    private final boolean available;
+    private final boolean nativeLinked;
+    private final boolean inputPermitted;
+    private final long probeNanos;
+    private final long probedAtMillis;
+
+    public CapabilityReport(String backendName, boolean available, boolean nativeLinked,
+                            boolean inputPermitted, long probeNanos, long probedAtMillis) {
+        this.backendName = backendName;
+        this.available = available;
+        this.nativeLinked = nativeLinked;
+        this.inputPermitted = inputPermitted;
+        this.probeNanos = probeNanos;
+        this.probedAtMillis = probedAtMillis;
+    }
+
+    public String getBackendName() {
+        return backendName;
+    }
+
+    /**
+     * @return true, wenn das Backend auf dieser Plattform funktioniert
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * @return true, wenn die nativen Bibliotheken des Backends gebunden werden konnten
+     */
+    public boolean isNativeLinked() {
+        return nativeLinked;
+    }
+
+    /**
+     * @return true, wenn das Backend Eingaben posten darf (z.B. Bedienungshilfen erteilt)
+     */
+    public boolean isInputPermitted() {
+        return inputPermitted;
+    }
+
+    /**
+     * @return true, wenn Klicks ausgeführt werden können
+     */
+    public boolean isUsable() {
+        return available && nativeLinked && inputPermitted;
+    }
+
+    /**
+     * @return Dauer der Abfrage in Nanosekunden
+     */
+    public long getProbeNanos() {
+        return probeNanos;
+    }
+
+    /**
+     * @return Zeitpunkt der Abfrage (System.currentTimeMillis)
+     */
+    public long getProbedAtMillis() {
+        return probedAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "CapabilityReport{" + backendName + ", available=" + available + ", linked=" + nativeLinked
+                + ", permitted=" + inputPermitted + ", probe=" + probeNanos / 1_000 + " us}";
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.robo.core.engine;
 
 import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.ClickType;
 import org.example.robo.util.MousePosition;
 
 /**
@@ -43,6 +44,13 @@ public interface ClickEngine {
      */
     void setClickPosition(MousePosition position);
 
+    /**
+     * Setzt den Klick-Typ.
+     *
+     * @param clickType neuer Klick-Typ
+     */
+    void setClickType(ClickType clickType);
+
     /**
      * Gibt die aktuelle Mausposition zurück.
      *
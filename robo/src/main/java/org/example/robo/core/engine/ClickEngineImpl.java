@@ -1,83 +1,181 @@
 package org.example.robo.core.engine;
 
 import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.core.profile.JitterMode;
+import org.example.robo.util.Constants;
 import org.example.robo.util.MousePosition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 
 /**
  * Implementation des ClickEngine Interfaces.
  * Verwaltet die automatisierte Klick-Simulation mit konfigurierbarer Frequenz und Position.
+ * <p>
+ * Listener werden asynchron über einen {@link ClickEventBus} benachrichtigt, damit
+ * ihre Laufzeit das Klick-Timing nicht beeinflusst. Der Klick-Pfad im eingeschwungenen
+ * Zustand alloziert nicht: das Event wird in vorallozierte Ringe geschrieben und der
+ * Timeout auf dem Timing Wheel wird wiederverwendet.
+ * <p>
+ * Beim Start wird das Profil zu einem unveränderlichen {@link ClickPlan} kompiliert;
+ * der Klick-Pfad liest nur diesen Plan. Frequenz, Position und Klick-Typ lassen sich
+ * im laufenden Betrieb ändern: Die Änderung erzeugt auf dem Klick-Thread einen neuen
+ * Plan, der atomar ab dem nächsten Tick gilt; der Takt läuft ohne Neustart und ohne
+ * Phasensprung weiter.
+ * <p>
+ * Jitter des Profils wird pro Klick aus der {@link JitterSource} der Engine gezogen:
+ * UNIFORM/GAUSSIAN verschieben die Deadline um höchstens ein halbes Intervall gegen
+ * das Raster (die mittlere Rate bleibt erhalten), POISSON ersetzt das Raster durch
+ * exponentialverteilte Abstände. Listener erhalten die Soll-Position des Plans.
+ * <p>
+ * Optional läuft der Klick-Thread auf einen Kern gepinnt und mit erhöhter Priorität
+ * ({@link ClickThreadPinning}, nur Linux).
  */
 public class ClickEngineImpl implements ClickEngine {
     private static final Logger logger = LoggerFactory.getLogger(ClickEngineImpl.class);
 
-    private final ScheduledExecutorService executor;
-    private final List<ClickEngineListener> listeners;
+    private final TimingWheel wheel;
+    private final InputBackend backend;
+    private final PrecisionWaiter waiter;
+    private final ClickEventBus eventBus;
+    private final JitterSource jitter;
 
     private volatile boolean isRunning = false;
     private volatile ClickProfile currentProfile;
-    private ScheduledFuture<?> clickTask;
+    private volatile DeadlineTicker ticker;
+    private volatile ClickRun currentRun;
+    private volatile ClickPlan currentPlan;
     private long clicksExecuted = 0;
+    private volatile long firstClickNanos;
+    private volatile long lastReapplyLatencyNanos;
+    private volatile long maxReapplyLatencyNanos;
+    private volatile boolean clickThreadPinned;
 
     /**
      * Erstellt eine neue ClickEngine Instanz.
      */
     public ClickEngineImpl() {
-        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
-            Thread t = new Thread(r, "ClickEngineThread");
-            t.setDaemon(true);
-            return t;
-        });
-        this.listeners = new ArrayList<>();
+        this(InputBackends.getDefault());
+    }
+
+    /**
+     * Erstellt eine neue ClickEngine Instanz mit gegebenem Backend.
+     *
+     * @param backend Input-Backend für das Ausführen der Klicks
+     */
+    public ClickEngineImpl(InputBackend backend) {
+        this(backend, new PrecisionWaiter());
+    }
+
+    /**
+     * Erstellt eine neue ClickEngine Instanz mit eigenem Waiter (z.B. für Tests).
+     *
+     * @param backend Input-Backend für das Ausführen der Klicks
+     * @param waiter Waiter für das Warten auf Klick-Deadlines
+     */
+    public ClickEngineImpl(InputBackend backend, PrecisionWaiter waiter) {
+        this(backend, waiter, new JitterSource("ClickEngine"));
+    }
+
+    /**
+     * Erstellt eine neue ClickEngine Instanz, deren Klick-Thread gepinnt läuft.
+     *
+     * @param backend Input-Backend für das Ausführen der Klicks
+     * @param pinning Kern und Niceness des Klick-Threads, oder {@link ClickThreadPinning#none()}
+     */
+    public ClickEngineImpl(InputBackend backend, ClickThreadPinning pinning) {
+        this(backend, new PrecisionWaiter(), new JitterSource("ClickEngine"), pinning);
+    }
+
+    /**
+     * Erstellt eine neue ClickEngine Instanz mit eigener Jitter-Quelle (z.B. mit festem Seed).
+     *
+     * @param backend Input-Backend für das Ausführen der Klicks
+     * @param waiter Waiter für das Warten auf Klick-Deadlines
+     * @param jitter Zufallsquelle für Jitter; gehört danach der Engine
+     */
+    public ClickEngineImpl(InputBackend backend, PrecisionWaiter waiter, JitterSource jitter) {
+        this(backend, waiter, jitter, ClickThreadPinning.none());
+    }
+
+    /**
+     * Erstellt eine neue ClickEngine Instanz mit allen Abhängigkeiten.
+     *
+     * @param backend Input-Backend für das Ausführen der Klicks
+     * @param waiter Waiter für das Warten auf Klick-Deadlines
+     * @param jitter Zufallsquelle für Jitter; gehört danach der Engine
+     * @param pinning Kern und Niceness des Klick-Threads, oder {@link ClickThreadPinning#none()}
+     */
+    public ClickEngineImpl(InputBackend backend, PrecisionWaiter waiter, JitterSource jitter, ClickThreadPinning pinning) {
+        if (backend == null || waiter == null || jitter == null || pinning == null) {
+            throw new IllegalArgumentException("Backend, waiter, jitter and pinning cannot be null");
+        }
+        this.wheel = new TimingWheel("ClickEngineThread", waiter, Constants.TIMING_WHEEL_TICK_NANOS,
+                () -> clickThreadPinned = pinning.apply());
+        this.backend = backend;
+        this.waiter = waiter;
+        this.eventBus = new ClickEventBus("ClickEngine");
+        this.jitter = jitter;
         logger.info("ClickEngine initialized");
     }
 
     @Override
     public void startClicking(ClickProfile profile) {
+        startClicking(profile, 0);
+    }
+
+    /**
+     * Startet mit festem Klick-Abstand statt der Frequenz des Profils. Für das Warm-up,
+     * das den Klick-Pfad auf der echten Uhr schneller durchläuft als die maximale Frequenz.
+     *
+     * @param profile Profil
+     * @param intervalNanos Abstand der Klicks oder 0 für die Frequenz des Profils
+     */
+    void startClicking(ClickProfile profile, long intervalNanos) {
         if (isRunning) {
             logger.warn("Click engine already running");
-            notifyListeners(listener -> listener.onError("Engine already running"));
+            eventBus.publishError("Engine already running");
             return;
         }
 
         if (profile == null) {
             logger.error("Profile cannot be null");
-            notifyListeners(listener -> listener.onError("Profile cannot be null"));
+            eventBus.publishError("Profile cannot be null");
             return;
         }
 
         try {
             this.currentProfile = profile;
             this.clicksExecuted = 0;
+            this.firstClickNanos = 0;
             this.isRunning = true;
 
-            // Berechne Intervall in Millisekunden
-            long intervalMs = TimingController.calculateIntervalMs(profile.getClickFrequency());
+            // Absolute Deadlines statt fester Millisekunden-Rate (kein Drift durch Rundung)
+            long interval = intervalNanos > 0
+                    ? intervalNanos : TimingController.calculateIntervalNanos(profile.getClickFrequency());
+
+            logger.info("Starting click engine with profile: {} (freq: {} Hz, interval: {} ns)",
+                    profile.getName(), profile.getClickFrequency(), interval);
 
-            logger.info("Starting click engine with profile: {} (freq: {} Hz, interval: {} ms)",
-                    profile.getName(), profile.getClickFrequency(), intervalMs);
+            DeadlineTicker newTicker = intervalNanos > 0
+                    ? new DeadlineTicker(waiter, intervalNanos, 1)
+                    : DeadlineTicker.forFrequency(waiter, profile.getClickFrequency());
+            newTicker.start();
+            this.ticker = newTicker;
 
-            // Starte den Klick-Task
-            this.clickTask = executor.scheduleAtFixedRate(
-                    this::executeClick,
-                    0,
-                    intervalMs,
-                    TimeUnit.MILLISECONDS
-            );
+            // Vor dem ersten Klick melden, damit Listener die Events in Reihenfolge erhalten
+            eventBus.publishStarted();
 
-            notifyListeners(ClickEngineListener::onEngineStarted);
+            // Jeder Klick plant den nächsten auf dem Timing Wheel (ein wiederverwendeter Timeout pro Lauf)
+            ClickRun run = new ClickRun(newTicker, ClickPlan.compile(profile));
+            this.currentRun = run;
+            wheel.schedule(run.timeout, newTicker.nextDeadline());
         } catch (Exception e) {
             logger.error("Error starting click engine", e);
             isRunning = false;
-            notifyListeners(listener -> listener.onError("Failed to start engine: " + e.getMessage()));
+            eventBus.publishError("Failed to start engine: " + e.getMessage());
         }
     }
 
@@ -91,16 +189,19 @@ public class ClickEngineImpl implements ClickEngine {
         try {
             isRunning = false;
 
-            if (clickTask != null) {
-                clickTask.cancel(false);
-                clickTask = null;
+            ClickRun run = currentRun;
+            if (run != null) {
+                run.timeout.cancel();
+                currentRun = null;
             }
+            releaseOnWorker();
 
-            logger.info("Click engine stopped. Total clicks executed: {}", clicksExecuted);
-            notifyListeners(ClickEngineListener::onEngineStopped);
+            logger.info("Click engine stopped. Total clicks executed: {}, drift: {} ns, max lateness: {} ns",
+                    clicksExecuted, getDriftNanos(), getMaxLatenessNanos());
+            eventBus.publishStopped();
         } catch (Exception e) {
             logger.error("Error stopping click engine", e);
-            notifyListeners(listener -> listener.onError("Error stopping engine: " + e.getMessage()));
+            eventBus.publishError("Error stopping engine: " + e.getMessage());
         }
     }
 
@@ -109,126 +210,367 @@ public class ClickEngineImpl implements ClickEngine {
         return isRunning;
     }
 
+    /**
+     * Setzt die Frequenz. Läuft die Engine, gilt sie ab dem nächsten Tick: dieser
+     * liegt ein neues Intervall nach dem zuletzt ausgeführten Klick.
+     */
     @Override
     public void setClickFrequency(int hz) {
         if (currentProfile != null) {
             currentProfile.setClickFrequency(hz);
             logger.debug("Click frequency updated to: {} Hz", hz);
+            int validated = TimingController.validateFrequency(hz);
+            reapply(plan -> plan.withFrequency(validated));
         }
     }
 
+    /**
+     * Setzt die Klick-Position. Läuft die Engine, gilt sie ab dem nächsten Tick.
+     */
     @Override
     public void setClickPosition(MousePosition position) {
-        if (currentProfile != null) {
+        if (currentProfile != null && position != null) {
             currentProfile.setPosition(position);
             logger.debug("Click position updated to: {}", position);
+            reapply(plan -> plan.withPosition(position));
+        }
+    }
+
+    /**
+     * Setzt den Klick-Typ. Läuft die Engine, gilt er ab dem nächsten Tick.
+     */
+    @Override
+    public void setClickType(ClickType clickType) {
+        if (currentProfile != null && clickType != null) {
+            currentProfile.setClickType(clickType);
+            logger.debug("Click type updated to: {}", clickType);
+            reapply(plan -> plan.withClickType(clickType));
+        }
+    }
+
+    /**
+     * Setzt Frequenz, Position und Klick-Typ gemeinsam; im laufenden Betrieb gelten
+     * alle drei ab demselben Tick.
+     *
+     * @param hz neue Frequenz
+     * @param position neue Position
+     * @param clickType neuer Klick-Typ
+     */
+    public void updateClickSettings(int hz, MousePosition position, ClickType clickType) {
+        if (currentProfile == null || position == null || clickType == null) {
+            return;
+        }
+        currentProfile.setClickFrequency(hz);
+        currentProfile.setPosition(position);
+        currentProfile.setClickType(clickType);
+        logger.debug("Click settings updated to: {} Hz, {}, {}", hz, position, clickType);
+        int validated = TimingController.validateFrequency(hz);
+        reapply(plan -> plan.with(validated, position, clickType));
+    }
+
+    /**
+     * Übergibt eine Änderung an den Klick-Thread. Dort wird aus dem aktuellen Plan
+     * zwischen zwei Ticks ein neuer Plan abgeleitet; ein Klick sieht daher nie einen
+     * halben Zustand und gleichzeitige Änderungen gehen nicht verloren.
+     */
+    private void reapply(UnaryOperator<ClickPlan> change) {
+        ClickRun run = currentRun;
+        if (!isRunning || run == null) {
+            return;
         }
+        long requested = wheel.nanoTime();
+        wheel.schedule(() -> run.apply(change, requested), requested);
     }
 
     @Override
     public MousePosition getCurrentMousePosition() {
         try {
-            return NativeMacOSAPI.getCurrentMousePosition();
+            return backend.getCurrentMousePosition();
         } catch (Exception e) {
             logger.error("Error getting current mouse position", e);
             return new MousePosition(0, 0);
         }
     }
 
+    /**
+     * Registriert einen Listener mit {@link ClickEventBus.OverflowPolicy#COALESCE}:
+     * kommt der Listener nicht nach, erhält er nur den jeweils letzten Klick.
+     */
     @Override
     public void addClickEngineListener(ClickEngineListener listener) {
+        addClickEngineListener(listener, ClickEventBus.OverflowPolicy.COALESCE);
+    }
+
+    /**
+     * Registriert einen Listener mit eigener Overflow-Policy.
+     *
+     * @param listener der zu registrierende Listener
+     * @param policy Verhalten, wenn der Listener nicht nachkommt
+     */
+    public void addClickEngineListener(ClickEngineListener listener, ClickEventBus.OverflowPolicy policy) {
         if (listener != null) {
-            listeners.add(listener);
-            logger.debug("Listener added: {}", listener.getClass().getSimpleName());
+            eventBus.subscribe(listener, policy);
+            logger.debug("Listener added: {} ({})", listener.getClass().getSimpleName(), policy);
         }
     }
 
     @Override
     public void removeClickEngineListener(ClickEngineListener listener) {
         if (listener != null) {
-            listeners.remove(listener);
+            eventBus.unsubscribe(listener);
             logger.debug("Listener removed: {}", listener.getClass().getSimpleName());
         }
     }
 
+    /**
+     * Gibt den Event Bus zurück, z.B. für die Zähler verworfener Events.
+     *
+     * @return Event Bus dieser Engine
+     */
+    public ClickEventBus getEventBus() {
+        return eventBus;
+    }
+
     @Override
     public ClickProfile getCurrentProfile() {
         return currentProfile;
     }
 
     /**
-     * Führt einen einzelnen Klick aus.
-     * Diese Methode wird regelmäßig vom ScheduledExecutorService aufgerufen.
+     * Gibt die Anzahl der seit dem letzten Start ausgeführten Klicks zurück.
+     *
+     * @return Anzahl Klicks
+     */
+    public long getClicksExecuted() {
+        return clicksExecuted;
+    }
+
+    /**
+     * Zeitpunkt, zu dem der erste Klick seit dem letzten Start an das Backend ging
+     * (Uhr des Waiters), für die Latenzmessung im Warm-up.
+     *
+     * @return Zeitpunkt in Nanosekunden oder 0, solange noch kein Klick ausgeführt wurde
+     */
+    long getFirstClickNanos() {
+        return firstClickNanos;
+    }
+
+    /**
+     * Gibt die Abweichung des letzten Klicks vom Sollfahrplan zurück.
+     *
+     * @return Drift in Nanosekunden
+     */
+    public long getDriftNanos() {
+        DeadlineTicker t = ticker;
+        return t != null ? t.getDriftNanos() : 0;
+    }
+
+    /**
+     * Gibt die grösste gemessene Verspätung eines Klicks seit dem letzten Start zurück.
+     *
+     * @return maximale Verspätung in Nanosekunden
+     */
+    public long getMaxLatenessNanos() {
+        DeadlineTicker t = ticker;
+        return t != null ? t.getMaxLatenessNanos() : 0;
+    }
+
+    /**
+     * @return true, wenn der Klick-Thread auf seinen Kern gepinnt wurde ({@link ClickThreadPinning})
+     */
+    public boolean isClickThreadPinned() {
+        return clickThreadPinned;
+    }
+
+    /**
+     * Verzögerung zwischen der letzten Live-Änderung und dem ersten Klick, der sie verwendet.
+     *
+     * @return Latenz in Nanosekunden (0 wenn noch keine Änderung angewendet wurde)
+     */
+    public long getLastReapplyLatencyNanos() {
+        return lastReapplyLatencyNanos;
+    }
+
+    /**
+     * Grösste gemessene Latenz einer Live-Änderung seit dem Erstellen der Engine.
+     *
+     * @return Latenz in Nanosekunden
+     */
+    public long getMaxReapplyLatencyNanos() {
+        return maxReapplyLatencyNanos;
+    }
+
+    /**
+     * Gibt den aktuell ausgeführten Plan zurück.
+     *
+     * @return Plan des laufenden Klick-Laufs oder null
+     */
+    public ClickPlan getCurrentPlan() {
+        return currentPlan;
+    }
+
+    /**
+     * Ein Lauf der Engine: feuert zur Deadline des Tickers, klickt nach dem aktuellen
+     * Plan und plant denselben Timeout für die nächste absolute Deadline neu. Der Plan
+     * gehört dem Klick-Thread und wird nur über {@link #apply} ersetzt.
+     */
+    private final class ClickRun implements Runnable {
+        private final DeadlineTicker runTicker;
+        private final TimingWheel.Timeout timeout;
+        private ClickPlan plan;
+        private long reapplyRequestedNanos = -1;
+        // Deadline des zuletzt ausgeführten Ticks, Bezugspunkt für den POISSON-Abstand
+        private long lastDeadlineNanos;
+
+        ClickRun(DeadlineTicker runTicker, ClickPlan plan) {
+            this.runTicker = runTicker;
+            this.timeout = wheel.newTimeout(this);
+            this.plan = plan;
+            this.lastDeadlineNanos = runTicker.nextDeadline();
+            currentPlan = plan;
+        }
+
+        @Override
+        public void run() {
+            // Ein schneller Stop/Start ersetzt den Lauf; der alte Lauf endet dann hier
+            if (!isRunning || currentRun != this) {
+                return;
+            }
+            long now = wheel.nanoTime();
+            lastDeadlineNanos = timeout.getDeadlineNanos();
+            runTicker.advance(Math.max(0, now - lastDeadlineNanos));
+            // Rückständige Klicks (Thread verspätet) gehen als ein Batch raus; mit Jitter
+            // hat jeder Klick eigene Deadline bzw. Position und wird einzeln ausgeführt
+            int overdue = 0;
+            if (plan.getTimingJitter() == JitterMode.NONE && plan.getPositionJitterRadius() == 0) {
+                overdue = runTicker.drainDue(now, Constants.BURST_MAX_BATCH_SIZE - 1);
+            }
+            executeClicks(plan, 1 + overdue);
+            if (reapplyRequestedNanos >= 0) {
+                recordReapplyLatency(now - reapplyRequestedNanos);
+                reapplyRequestedNanos = -1;
+            }
+            if (isRunning && currentRun == this) {
+                wheel.schedule(timeout, nextDeadline());
+            }
+        }
+
+        /**
+         * Deadline des nächsten Klicks: Rasterpunkt des Tickers, bei Jitter verschoben
+         * bzw. bei POISSON ein exponentialverteilter Abstand zur letzten Deadline.
+         */
+        private long nextDeadline() {
+            ClickPlan p = plan;
+            return switch (p.getTimingJitter()) {
+                case UNIFORM, GAUSSIAN -> runTicker.nextDeadline() + jitter.deadlineOffsetNanos(
+                        p.getTimingJitter(), p.getTimingJitterNanos(), p.getIntervalNanos());
+                case POISSON -> lastDeadlineNanos + jitter.poissonGapNanos(p.getIntervalNanos());
+                default -> runTicker.nextDeadline();
+            };
+        }
+
+        /**
+         * Leitet auf dem Klick-Thread einen neuen Plan ab und veröffentlicht ihn.
+         * Bei geänderter Frequenz wird der wartende Timeout auf die neue Deadline verschoben,
+         * mit Jitter wie jeder andere Tick.
+         */
+        void apply(UnaryOperator<ClickPlan> change, long requestedNanos) {
+            if (!isRunning || currentRun != this) {
+                return;
+            }
+            ClickPlan previous = plan;
+            ClickPlan next = change.apply(previous);
+            plan = next;
+            currentPlan = next;
+            if (next.getFrequencyHz() != previous.getFrequencyHz()) {
+                runTicker.retune(next.getFrequencyHz(), wheel.nanoTime());
+                if (timeout.cancel()) {
+                    wheel.schedule(timeout, nextDeadline());
+                }
+            }
+            if (reapplyRequestedNanos < 0) {
+                reapplyRequestedNanos = requestedNanos;
+            }
+        }
+    }
+
+    private void recordReapplyLatency(long latencyNanos) {
+        lastReapplyLatencyNanos = latencyNanos;
+        if (latencyNanos > maxReapplyLatencyNanos) {
+            maxReapplyLatencyNanos = latencyNanos;
+        }
+        logger.debug("Live settings applied after {} us", latencyNanos / 1_000);
+    }
+
+    /**
+     * Führt die fälligen Klicks aus, mehrere als Batch über {@link InputBackend#clickBatch}.
+     * Diese Methode wird vom Timing Wheel zu jeder Deadline aufgerufen.
      */
-    private void executeClick() {
-        if (!isRunning || currentProfile == null) {
+    private void executeClicks(ClickPlan plan, int count) {
+        ClickProfile profile = currentProfile;
+        if (!isRunning || profile == null) {
             return;
         }
 
         try {
             // Prüfe ob maximale Anzahl von Klicks erreicht wurde
-            if (currentProfile.getNumberOfClicks() > 0 && clicksExecuted >= currentProfile.getNumberOfClicks()) {
+            long remaining = plan.remainingAfter(clicksExecuted);
+            if (remaining == 0) {
                 stopClicking();
                 return;
             }
+            int clicks = (int) Math.min(count, remaining);
+
+            // Führe Klicks durch
+            if (plan.getPositionJitterRadius() > 0) {
+                long packed = jitter.offsetPosition(plan.getX(), plan.getY(), plan.getPositionJitterRadius());
+                backend.click(plan, ClickPlan.unpackX(packed), ClickPlan.unpackY(packed));
+            } else if (clicks == 1) {
+                backend.click(plan);
+            } else {
+                backend.clickBatch(plan.getX(), plan.getY(), plan.getClickType(), clicks);
+            }
 
-            // Führe Klick durch
-            NativeMacOSAPI.performMouseClick(
-                    currentProfile.getPosition().getX(),
-                    currentProfile.getPosition().getY(),
-                    currentProfile.getClickType()
-            );
-
-            clicksExecuted++;
+            if (clicksExecuted == 0) {
+                firstClickNanos = waiter.getClock().nanoTime();
+            }
+            clicksExecuted += clicks;
 
             // Benachrichtige Listener
-            notifyListeners(listener -> listener.onClickExecuted(currentProfile.getPosition()));
+            for (int i = 0; i < clicks; i++) {
+                eventBus.publishClick(plan.getPosition());
+            }
 
         } catch (Exception e) {
             logger.error("Error executing click", e);
             isRunning = false;
-            notifyListeners(listener -> listener.onError("Click execution failed: " + e.getMessage()));
+            eventBus.publishError("Click execution failed: " + e.getMessage());
         }
     }
 
     /**
-     * Benachrichtige alle registrierten Listener mit einer Action.
-     *
-     * @param action die auf jedem Listener auszuführende Action
+     * Gibt die Ressourcen des Backends auf dem Worker frei. Der Worker kann beim Stop
+     * noch im nativen Aufruf stecken; die Freigabe läuft deshalb erst nach ihm, sonst
+     * legt der laufende Aufruf die gerade freigegebenen Events neu an.
      */
-    private void notifyListeners(ListenerAction action) {
-        for (ClickEngineListener listener : new ArrayList<>(listeners)) {
-            try {
-                action.execute(listener);
-            } catch (Exception e) {
-                logger.error("Error notifying listener", e);
-            }
+    private void releaseOnWorker() {
+        try {
+            wheel.schedule(backend::releaseResources, wheel.nanoTime());
+        } catch (IllegalStateException e) {
+            // Wheel bereits gestoppt: kein Worker mehr, der das Backend benutzt
+            backend.releaseResources();
         }
     }
 
-    /**
-     * Funktionales Interface für Listener-Aktionen.
-     */
-    @FunctionalInterface
-    private interface ListenerAction {
-        void execute(ClickEngineListener listener);
-    }
-
     /**
      * Beendet den Click Engine und gibt Ressourcen frei.
      */
     public void shutdown() {
         stopClicking();
-        executor.shutdown();
-        try {
-            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
-                executor.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            logger.error("Error shutting down executor", e);
-            executor.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+        wheel.shutdown();
+        backend.releaseResources();
+        eventBus.close();
+        jitter.close();
         logger.info("ClickEngine shutdown complete");
     }
 }
@@ -0,0 +1,476 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.util.Constants;
+import org.example.robo.util.ListenerRegistry;
+import org.example.robo.util.MousePosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchroner Event Bus zwischen einer Engine und ihren Listenern.
+ * <p>
+ * Jeder Listener erhält eine eigene {@link Subscription} mit einem vorallozierten
+ * Ring-Buffer und einem eigenen Dispatcher-Thread. Die Engine (Producer) schreibt
+ * Events nur in die Ringe und kehrt sofort zurück; ein langsamer Listener verzögert
+ * damit weder den Klick-Thread noch andere Listener. Was bei vollem Ring passiert,
+ * legt die {@link OverflowPolicy} pro Listener fest.
+ * <p>
+ * Publizieren alloziert nicht und nimmt keine Sperre: mehrere Producer (Klick-Thread,
+ * UI-Thread mit Start/Stop) reservieren ihren Slot per CAS auf dem Tail. Nur
+ * {@link OverflowPolicy#BLOCK} lässt den Producer warten, und auch dann nur auf den
+ * betroffenen Listener.
+ */
+public class ClickEventBus {
+    private static final Logger logger = LoggerFactory.getLogger(ClickEventBus.class);
+
+    private static final int CLICK = 0;
+    private static final int STARTED = 1;
+    private static final int STOPPED = 2;
+    private static final int ERROR = 3;
+
+    private static final long BLOCK_PARK_NANOS = 20_000L;
+
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            TAIL = MethodHandles.lookup().findVarHandle(Subscription.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Verhalten bei vollem Ring.
+     */
+    public enum OverflowPolicy {
+        /** Das älteste ungelesene Event wird überschrieben und beim Listener als verworfen gezählt. */
+        DROP_OLDEST,
+        /**
+         * Bei vollem Ring kommen Events in einen kleinen Überlauf-Puffer, der nach dem Ring
+         * zugestellt wird; dort ersetzt ein Klick den jüngsten wartenden Klick. Ist auch der
+         * Überlauf voll, wird das Event verworfen und gezählt. Der Producer wartet nie.
+         */
+        COALESCE,
+        /** Der Producer wartet, bis der Listener Platz geschaffen hat (Klick-Timing hängt dann vom Listener ab). */
+        BLOCK
+    }
+
+    private final String name;
+    private final int defaultCapacity;
+    private final ListenerRegistry<Subscription> subscriptions;
+    private volatile boolean closed = false;
+
+    /**
+     * Erstellt einen Event Bus mit Standard-Kapazität.
+     *
+     * @param name Name für die Dispatcher-Threads
+     */
+    public ClickEventBus(String name) {
+        this(name, Constants.EVENT_BUS_CAPACITY);
+    }
+
+    /**
+     * Erstellt einen Event Bus.
+     *
+     * @param name Name für die Dispatcher-Threads
+     * @param defaultCapacity Ring-Grösse pro Listener (wird auf eine Zweierpotenz aufgerundet)
+     */
+    public ClickEventBus(String name, int defaultCapacity) {
+        this.name = name;
+        this.defaultCapacity = defaultCapacity;
+        this.subscriptions = new ListenerRegistry<>(Subscription[]::new);
+    }
+
+    /**
+     * Registriert einen Listener mit eigenem Ring und Dispatcher-Thread.
+     *
+     * @param listener der zu registrierende Listener
+     * @param policy Verhalten bei vollem Ring
+     * @return die Subscription (z.B. für Zähler)
+     */
+    public Subscription subscribe(ClickEngineListener listener, OverflowPolicy policy) {
+        return subscribe(listener, policy, defaultCapacity);
+    }
+
+    /**
+     * Registriert einen Listener mit eigenem Ring und Dispatcher-Thread.
+     *
+     * @param listener der zu registrierende Listener
+     * @param policy Verhalten bei vollem Ring
+     * @param capacity Ring-Grösse (mindestens 2, wird auf eine Zweierpotenz aufgerundet)
+     * @return die Subscription (z.B. für Zähler)
+     */
+    public Subscription subscribe(ClickEngineListener listener, OverflowPolicy policy, int capacity) {
+        if (listener == null || policy == null) {
+            throw new IllegalArgumentException("Listener and policy cannot be null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Event bus is closed");
+        }
+        Subscription subscription = new Subscription(listener, policy, capacity);
+        subscriptions.add(subscription);
+        subscription.start();
+        return subscription;
+    }
+
+    /**
+     * Entfernt die erste Subscription eines Listeners. Bereits publizierte Events
+     * werden noch zugestellt.
+     *
+     * @param listener der zu entfernende Listener
+     * @return true wenn der Listener registriert war
+     */
+    public boolean unsubscribe(ClickEngineListener listener) {
+        for (Subscription subscription : subscriptions.snapshot()) {
+            if (subscription.listener.equals(listener) && subscriptions.remove(subscription)) {
+                subscription.close();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void publishClick(MousePosition position) {
+        publish(CLICK, position, null);
+    }
+
+    public void publishStarted() {
+        publish(STARTED, null, null);
+    }
+
+    public void publishStopped() {
+        publish(STOPPED, null, null);
+    }
+
+    public void publishError(String message) {
+        publish(ERROR, null, message);
+    }
+
+    private void publish(int kind, MousePosition position, String message) {
+        Subscription[] snapshot = subscriptions.snapshot();
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i].offer(kind, position, message);
+        }
+    }
+
+    /**
+     * Summe der verworfenen Events aller aktuellen Listener.
+     */
+    public long getDroppedCount() {
+        long total = 0;
+        for (Subscription subscription : subscriptions.snapshot()) {
+            total += subscription.getDroppedCount();
+        }
+        return total;
+    }
+
+    /**
+     * Summe der zusammengefassten Klicks aller aktuellen Listener.
+     */
+    public long getCoalescedCount() {
+        long total = 0;
+        for (Subscription subscription : subscriptions.snapshot()) {
+            total += subscription.getCoalescedCount();
+        }
+        return total;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Stellt alle bereits publizierten Events zu und beendet die Dispatcher-Threads.
+     */
+    public void close() {
+        closed = true;
+        Subscription[] snapshot = subscriptions.snapshot();
+        subscriptions.clear();
+        for (Subscription subscription : snapshot) {
+            subscription.close();
+        }
+        for (Subscription subscription : snapshot) {
+            subscription.join();
+        }
+    }
+
+    /**
+     * Ein Slot des Rings. Die Version dient als Seqlock: -1 während des Schreibens,
+     * danach die Sequenznummer des Events.
+     */
+    private static final class Slot {
+        private volatile long version = -1;
+        private int kind;
+        private MousePosition position;
+        private String message;
+    }
+
+    /**
+     * Anmeldung eines Listeners: Ring-Buffer (mehrere Producer, ein Consumer),
+     * Überlauf-Puffer, Zähler und Dispatcher-Thread.
+     */
+    public final class Subscription {
+        private final ClickEngineListener listener;
+        private final OverflowPolicy policy;
+        private final Slot[] ring;
+        private final int mask;
+        private final Thread dispatcher;
+
+        private volatile long tail = 0;
+        private volatile long head = 0;
+        private volatile boolean waiting = false;
+        private volatile boolean stopped = false;
+
+        // Überlauf für COALESCE; Zugriff nur unter overflowLock, Zähler auch lesend ohne
+        private final Object overflowLock = new Object();
+        private final int[] overflowKinds = new int[Constants.EVENT_BUS_OVERFLOW_CAPACITY];
+        private final MousePosition[] overflowPositions = new MousePosition[Constants.EVENT_BUS_OVERFLOW_CAPACITY];
+        private final String[] overflowMessages = new String[Constants.EVENT_BUS_OVERFLOW_CAPACITY];
+        private volatile int overflowCount = 0;
+
+        // Kopie des Überlaufs, die der Dispatcher ausserhalb der Sperre zustellt
+        private final int[] pendingKinds = new int[Constants.EVENT_BUS_OVERFLOW_CAPACITY];
+        private final MousePosition[] pendingPositions = new MousePosition[Constants.EVENT_BUS_OVERFLOW_CAPACITY];
+        private final String[] pendingMessages = new String[Constants.EVENT_BUS_OVERFLOW_CAPACITY];
+
+        private volatile long delivered;
+        private volatile long dropped;
+        private volatile long overflowDropped;
+        private volatile long coalesced;
+
+        private Subscription(ClickEngineListener listener, OverflowPolicy policy, int capacity) {
+            int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+            this.listener = listener;
+            this.policy = policy;
+            this.ring = new Slot[size];
+            for (int i = 0; i < size; i++) {
+                ring[i] = new Slot();
+            }
+            this.mask = size - 1;
+            this.dispatcher = new Thread(this::dispatch, name + "-EventDispatcher");
+            this.dispatcher.setDaemon(true);
+        }
+
+        private void start() {
+            dispatcher.start();
+        }
+
+        /**
+         * Producer-Seite; darf von mehreren Threads gleichzeitig aufgerufen werden.
+         */
+        private void offer(int kind, MousePosition position, String message) {
+            while (!stopped) {
+                long t = tail;
+                boolean space = t - head <= mask;
+                if (policy == OverflowPolicy.DROP_OLDEST || (space && overflowCount == 0)) {
+                    if (TAIL.compareAndSet(this, t, t + 1)) {
+                        write(ring[(int) (t & mask)], t, kind, position, message);
+                        wakeDispatcher();
+                        return;
+                    }
+                } else if (policy == OverflowPolicy.BLOCK) {
+                    LockSupport.unpark(dispatcher);
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                } else if (offerOverflow(kind, position, message)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Legt ein Event bei vollem Ring in den Überlauf (COALESCE). Solange der Überlauf
+         * nicht leer ist, gehen auch neue Events dorthin, damit die Reihenfolge erhalten bleibt.
+         *
+         * @return false, wenn der Ring inzwischen wieder Platz hat
+         */
+        private boolean offerOverflow(int kind, MousePosition position, String message) {
+            synchronized (overflowLock) {
+                int n = overflowCount;
+                if (n == 0 && tail - head <= mask) {
+                    return false;
+                }
+                if (kind == CLICK && n > 0 && overflowKinds[n - 1] == CLICK) {
+                    overflowPositions[n - 1] = position;
+                    coalesced++;
+                } else if (n < overflowKinds.length) {
+                    overflowKinds[n] = kind;
+                    overflowPositions[n] = position;
+                    overflowMessages[n] = message;
+                    overflowCount = n + 1;
+                } else {
+                    overflowDropped++;
+                }
+            }
+            wakeDispatcher();
+            return true;
+        }
+
+        private void wakeDispatcher() {
+            if (waiting) {
+                LockSupport.unpark(dispatcher);
+            }
+        }
+
+        /**
+         * Übernimmt den Überlauf und stellt ihn zu. Nur vom Dispatcher aufgerufen, wenn der
+         * Ring leer ist.
+         */
+        private void drainOverflow() {
+            int n;
+            synchronized (overflowLock) {
+                n = overflowCount;
+                for (int i = 0; i < n; i++) {
+                    pendingKinds[i] = overflowKinds[i];
+                    pendingPositions[i] = overflowPositions[i];
+                    pendingMessages[i] = overflowMessages[i];
+                    overflowPositions[i] = null;
+                    overflowMessages[i] = null;
+                }
+                overflowCount = 0;
+            }
+            for (int i = 0; i < n; i++) {
+                deliver(pendingKinds[i], pendingPositions[i], pendingMessages[i]);
+                pendingPositions[i] = null;
+                pendingMessages[i] = null;
+            }
+        }
+
+        private void write(Slot slot, long sequence, int kind, MousePosition position, String message) {
+            slot.version = -1;
+            VarHandle.storeStoreFence();
+            slot.kind = kind;
+            slot.position = position;
+            slot.message = message;
+            slot.version = sequence;
+        }
+
+        /**
+         * Consumer-Seite: liest Events in Reihenfolge und stellt sie dem Listener zu.
+         */
+        private void dispatch() {
+            long h = head;
+            while (true) {
+                long t = tail;
+                if (h == t) {
+                    if (overflowCount > 0) {
+                        drainOverflow();
+                        continue;
+                    }
+                    if (stopped) {
+                        break;
+                    }
+                    waiting = true;
+                    if (tail == h && overflowCount == 0 && !stopped) {
+                        LockSupport.park(this);
+                    }
+                    waiting = false;
+                    continue;
+                }
+                if (t - h > mask + 1) {
+                    // DROP_OLDEST: der Producer hat ungelesene Events überschrieben
+                    long skip = t - (mask + 1) - h;
+                    dropped += skip;
+                    h += skip;
+                }
+
+                Slot slot = ring[(int) (h & mask)];
+                long version = slot.version;
+                if (version != h) {
+                    // Slot wird gerade geschrieben oder wurde bereits überholt
+                    Thread.onSpinWait();
+                    continue;
+                }
+                int kind = slot.kind;
+                MousePosition position = slot.position;
+                String message = slot.message;
+                VarHandle.loadLoadFence();
+                if (slot.version != h) {
+                    continue;
+                }
+
+                head = ++h;
+                deliver(kind, position, message);
+            }
+            logger.debug("Event dispatcher for {} stopped", listener.getClass().getSimpleName());
+        }
+
+        private void deliver(int kind, MousePosition position, String message) {
+            try {
+                switch (kind) {
+                    case CLICK -> listener.onClickExecuted(position);
+                    case STARTED -> listener.onEngineStarted();
+                    case STOPPED -> listener.onEngineStopped();
+                    case ERROR -> listener.onError(message);
+                    default -> throw new IllegalStateException("Unknown event kind: " + kind);
+                }
+                delivered++;
+            } catch (Exception e) {
+                logger.error("Error notifying listener", e);
+            }
+        }
+
+        private void close() {
+            stopped = true;
+            LockSupport.unpark(dispatcher);
+        }
+
+        private void join() {
+            if (Thread.currentThread() == dispatcher) {
+                return;
+            }
+            try {
+                dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                logger.error("Error joining event dispatcher", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public ClickEngineListener getListener() {
+            return listener;
+        }
+
+        public OverflowPolicy getPolicy() {
+            return policy;
+        }
+
+        public int getCapacity() {
+            return ring.length;
+        }
+
+        /**
+         * Anzahl zugestellter Events.
+         */
+        public long getDeliveredCount() {
+            return delivered;
+        }
+
+        /**
+         * Anzahl verworfener Events: überschrieben ({@link OverflowPolicy#DROP_OLDEST}) oder
+         * bei vollem Überlauf ({@link OverflowPolicy#COALESCE}).
+         */
+        public long getDroppedCount() {
+            return dropped + overflowDropped;
+        }
+
+        /**
+         * Anzahl durch {@link OverflowPolicy#COALESCE} zusammengefasster Klicks.
+         */
+        public long getCoalescedCount() {
+            return coalesced;
+        }
+
+        /**
+         * Anzahl publizierter, noch nicht gelesener Events.
+         */
+        public long getBacklog() {
+            return Math.min(tail - head, ring.length) + overflowCount;
+        }
+    }
+}
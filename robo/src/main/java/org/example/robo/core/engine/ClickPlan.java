@@ -0,0 +1,202 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.core.profile.JitterMode;
+import org.example.robo.util.MousePosition;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unveränderlicher, vorausberechneter Ausführungsplan eines Klick-Profils.
+ * <p>
+ * Wird einmal aus einem {@link ClickProfile} kompiliert; danach liest die Engine im
+ * Klick-Pfad nur noch diesen Plan und nie mehr das veränderliche Profil. Änderungen
+ * erzeugen einen neuen Plan ({@code with...}), der als Ganzes veröffentlicht wird.
+ * Koordinaten sind in einem {@code long} gepackt, die nativen Event-Typen für
+ * Down/Up sind bereits aufgelöst. Jitter-Einstellungen sind in Nanosekunden bzw.
+ * Pixeln hinterlegt; die Zufallswerte selbst liefert die {@link JitterSource} der Engine.
+ */
+public final class ClickPlan {
+
+    /** Kein Up-Event (z.B. Scroll). */
+    public static final int NO_EVENT = -1;
+
+    private final long packedPosition;
+    private final MousePosition position;
+    private final ClickType clickType;
+    private final int downEventType;
+    private final int upEventType;
+    private final int mouseButton;
+    private final int frequencyHz;
+    private final long intervalNanos;
+    private final long clickLimit;
+    private final JitterMode timingJitter;
+    private final long timingJitterNanos;
+    private final int positionJitterRadius;
+
+    private ClickPlan(MousePosition position, ClickType clickType, int frequencyHz, long clickLimit,
+                      JitterMode timingJitter, long timingJitterNanos, int positionJitterRadius) {
+        this.packedPosition = pack(position.getX(), position.getY());
+        this.position = position;
+        this.clickType = clickType;
+        this.frequencyHz = TimingController.validateFrequency(frequencyHz);
+        this.intervalNanos = TimingController.calculateIntervalNanos(this.frequencyHz);
+        this.clickLimit = clickLimit;
+        this.timingJitter = timingJitter != null ? timingJitter : JitterMode.NONE;
+        this.timingJitterNanos = Math.max(0, timingJitterNanos);
+        this.positionJitterRadius = Math.max(0, positionJitterRadius);
+        switch (clickType) {
+            case LEFT -> {
+                this.downEventType = NativeMacOSAPI.kCGEventLeftMouseDown;
+                this.upEventType = NativeMacOSAPI.kCGEventLeftMouseUp;
+                this.mouseButton = NativeMacOSAPI.kCGMouseButtonLeft;
+            }
+            case RIGHT -> {
+                this.downEventType = NativeMacOSAPI.kCGEventRightMouseDown;
+                this.upEventType = NativeMacOSAPI.kCGEventRightMouseUp;
+                this.mouseButton = NativeMacOSAPI.kCGMouseButtonRight;
+            }
+            case SCROLL_UP, SCROLL_DOWN -> {
+                this.downEventType = NativeMacOSAPI.kCGEventScrollWheel;
+                this.upEventType = NO_EVENT;
+                this.mouseButton = 0;
+            }
+            default -> throw new IllegalArgumentException("Unsupported click type: " + clickType);
+        }
+    }
+
+    /**
+     * Kompiliert ein Profil in einen Plan. Das Profil wird dabei genau einmal gelesen.
+     *
+     * @param profile Quell-Profil
+     * @return neuer Plan
+     */
+    public static ClickPlan compile(ClickProfile profile) {
+        if (profile == null || profile.getPosition() == null || profile.getClickType() == null) {
+            throw new IllegalArgumentException("Profile with position and click type required");
+        }
+        return new ClickPlan(profile.getPosition(), profile.getClickType(),
+                profile.getClickFrequency(), profile.getNumberOfClicks(), profile.getTimingJitter(),
+                TimeUnit.MILLISECONDS.toNanos(profile.getTimingJitterMs()), profile.getPositionJitterRadius());
+    }
+
+    public ClickPlan withFrequency(int hz) {
+        return new ClickPlan(position, clickType, hz, clickLimit,
+                timingJitter, timingJitterNanos, positionJitterRadius);
+    }
+
+    public ClickPlan withPosition(MousePosition newPosition) {
+        return new ClickPlan(newPosition, clickType, frequencyHz, clickLimit,
+                timingJitter, timingJitterNanos, positionJitterRadius);
+    }
+
+    public ClickPlan withClickType(ClickType newClickType) {
+        return new ClickPlan(position, newClickType, frequencyHz, clickLimit,
+                timingJitter, timingJitterNanos, positionJitterRadius);
+    }
+
+    public ClickPlan with(int hz, MousePosition newPosition, ClickType newClickType) {
+        return new ClickPlan(newPosition, newClickType, hz, clickLimit,
+                timingJitter, timingJitterNanos, positionJitterRadius);
+    }
+
+    /**
+     * Packt Koordinaten in ein {@code long} (x in den oberen, y in den unteren 32 Bit).
+     */
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFF_FFFFL);
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int unpackY(long packed) {
+        return (int) packed;
+    }
+
+    public long getPackedPosition() {
+        return packedPosition;
+    }
+
+    public int getX() {
+        return unpackX(packedPosition);
+    }
+
+    public int getY() {
+        return unpackY(packedPosition);
+    }
+
+    /**
+     * Position als Objekt (für Listener, ohne neue Allokation pro Klick).
+     */
+    public MousePosition getPosition() {
+        return position;
+    }
+
+    public ClickType getClickType() {
+        return clickType;
+    }
+
+    public int getDownEventType() {
+        return downEventType;
+    }
+
+    /**
+     * @return nativer Up-Event-Typ oder {@link #NO_EVENT}
+     */
+    public int getUpEventType() {
+        return upEventType;
+    }
+
+    public int getMouseButton() {
+        return mouseButton;
+    }
+
+    public int getFrequencyHz() {
+        return frequencyHz;
+    }
+
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * Maximale Anzahl Klicks des Laufs (&lt;= 0 = unbegrenzt).
+     */
+    public long getClickLimit() {
+        return clickLimit;
+    }
+
+    public JitterMode getTimingJitter() {
+        return timingJitter;
+    }
+
+    /**
+     * Stärke des zeitlichen Jitters (± bei UNIFORM, Standardabweichung bei GAUSSIAN).
+     */
+    public long getTimingJitterNanos() {
+        return timingJitterNanos;
+    }
+
+    public int getPositionJitterRadius() {
+        return positionJitterRadius;
+    }
+
+    /**
+     * Anzahl noch ausstehender Klicks nach {@code executed} ausgeführten Klicks.
+     *
+     * @param executed bereits ausgeführte Klicks
+     * @return verbleibende Klicks oder {@link Long#MAX_VALUE} wenn unbegrenzt
+     */
+    public long remainingAfter(long executed) {
+        return clickLimit > 0 ? Math.max(0, clickLimit - executed) : Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return "ClickPlan{" + clickType + " at (" + getX() + ", " + getY() + "), "
+                + frequencyHz + " Hz, limit=" + clickLimit + '}';
+    }
+}
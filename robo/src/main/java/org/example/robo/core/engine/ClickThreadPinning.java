@@ -0,0 +1,151 @@
+package org.example.robo.core.engine;
+
+import com.sun.jna.Native;
+import com.sun.jna.Platform;
+import org.example.robo.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Optionale Ausführungsart des Klick-Threads: fest auf einen CPU-Kern gepinnt und mit
+ * erhöhter Priorität.
+ * <p>
+ * Ein gewöhnlicher Thread wird vom Scheduler zwischen Kernen verschoben; jede Migration
+ * und jedes Aufwachen auf einem belegten Kern kommt als Verspätung beim Tick an. Gepinnt
+ * wird mit {@code sched_setaffinity}, die Niceness des Threads mit {@code setpriority}
+ * gesetzt (beides nur unter Linux). Eine negative Niceness braucht {@code CAP_SYS_NICE}
+ * oder ein passendes {@code RLIMIT_NICE}; ohne Berechtigung läuft der Thread gepinnt mit
+ * normaler Priorität weiter.
+ * <p>
+ * {@link #apply()} wirkt auf den aufrufenden Thread und wird daher vom Klick-Thread selbst
+ * beim Start ausgeführt. Unveränderlich.
+ */
+public final class ClickThreadPinning {
+    private static final Logger logger = LoggerFactory.getLogger(ClickThreadPinning.class);
+
+    private static final int NO_CPU = -1;
+    private static final ClickThreadPinning NONE = new ClickThreadPinning(NO_CPU, 0);
+
+    private final int cpu;
+    private final int niceness;
+
+    private ClickThreadPinning(int cpu, int niceness) {
+        this.cpu = cpu;
+        this.niceness = niceness;
+    }
+
+    /**
+     * @return Klick-Thread ohne Pinning (Standard)
+     */
+    public static ClickThreadPinning none() {
+        return NONE;
+    }
+
+    /**
+     * @param cpu Index des Kerns (0-basiert)
+     * @return Pinning auf diesen Kern mit der Standard-Niceness {@value Constants#CLICK_THREAD_NICENESS}
+     */
+    public static ClickThreadPinning toCpu(int cpu) {
+        return toCpu(cpu, Constants.CLICK_THREAD_NICENESS);
+    }
+
+    /**
+     * @param cpu Index des Kerns (0-basiert)
+     * @param niceness Niceness des Threads (-20 bis 19, 0 = unverändert)
+     * @return Pinning auf diesen Kern
+     */
+    public static ClickThreadPinning toCpu(int cpu, int niceness) {
+        if (cpu < 0 || cpu >= LinuxSchedDirect.CPU_SET_BITS) {
+            throw new IllegalArgumentException("CPU index out of range: " + cpu);
+        }
+        if (niceness < -20 || niceness > 19) {
+            throw new IllegalArgumentException("Niceness must be between -20 and 19: " + niceness);
+        }
+        return new ClickThreadPinning(cpu, niceness);
+    }
+
+    /**
+     * Liest die Konfiguration aus {@value Constants#CLICK_THREAD_CPU_PROPERTY} und
+     * {@value Constants#CLICK_THREAD_NICE_PROPERTY}; ohne Kern kein Pinning.
+     *
+     * @return konfiguriertes Pinning oder {@link #none()}
+     */
+    public static ClickThreadPinning fromSystemProperties() {
+        Integer cpu = Integer.getInteger(Constants.CLICK_THREAD_CPU_PROPERTY);
+        if (cpu == null || cpu < 0) {
+            return NONE;
+        }
+        return toCpu(cpu, Integer.getInteger(Constants.CLICK_THREAD_NICE_PROPERTY, Constants.CLICK_THREAD_NICENESS));
+    }
+
+    public boolean isEnabled() {
+        return cpu != NO_CPU;
+    }
+
+    /**
+     * @return Kern oder -1 ohne Pinning
+     */
+    public int getCpu() {
+        return cpu;
+    }
+
+    public int getNiceness() {
+        return niceness;
+    }
+
+    /**
+     * Pinnt den aufrufenden Thread und setzt seine Priorität. Fehler werden geloggt,
+     * nicht geworfen: der Thread läuft dann ungepinnt weiter.
+     *
+     * @return true, wenn der Thread auf den Kern gepinnt ist
+     */
+    public boolean apply() {
+        if (!isEnabled()) {
+            return false;
+        }
+        Thread.currentThread().setPriority(Thread.MAX_PRIORITY);
+        if (!Platform.isLinux()) {
+            logger.warn("CPU pinning requested for {} but only supported on Linux", Thread.currentThread().getName());
+            return false;
+        }
+        try {
+            long[] mask = new long[LinuxSchedDirect.CPU_SET_WORDS];
+            mask[cpu / Long.SIZE] = 1L << (cpu % Long.SIZE);
+            if (LinuxSchedDirect.sched_setaffinity(0, LinuxSchedDirect.CPU_SET_BYTES, mask) != 0) {
+                logger.warn("Cannot pin {} to CPU {} (errno {})", Thread.currentThread().getName(), cpu, Native.getLastError());
+                return false;
+            }
+            if (niceness != 0) {
+                int tid = LinuxSchedDirect.gettid();
+                if (LinuxSchedDirect.setpriority(LinuxSchedDirect.PRIO_PROCESS, tid, niceness) != 0) {
+                    logger.info("Cannot set niceness {} for {} (errno {}), keeping default priority",
+                            niceness, Thread.currentThread().getName(), Native.getLastError());
+                }
+            }
+            logger.info("Pinned {} to CPU {} (niceness {})", Thread.currentThread().getName(), cpu, niceness);
+            return true;
+        } catch (UnsatisfiedLinkError | NoClassDefFoundError e) {
+            logger.warn("CPU pinning unavailable: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @return Kern, auf dem der aufrufende Thread gerade läuft, oder -1
+     */
+    public static int currentCpu() {
+        if (!Platform.isLinux()) {
+            return -1;
+        }
+        try {
+            return LinuxSchedDirect.sched_getcpu();
+        } catch (UnsatisfiedLinkError | NoClassDefFoundError e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return isEnabled() ? "ClickThreadPinning{cpu=" + cpu + ", niceness=" + niceness + "}" : "ClickThreadPinning{none}";
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.robo.core.engine;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
+import org.example.robo.util.Constants;
+
+/**
+ * Direct-Mapping der CoreGraphics-Funktionen im Klick-Pfad ({@link Native#register}).
+ * <p>
+ * Statt über einen Proxy mit reflektivem Dispatch werden die Funktionen als statische
+ * native Methoden gebunden. Event-Referenzen werden als {@code long} übergeben, ein
+ * Aufruf erzeugt daher kein {@code Pointer}-Objekt.
+ * <p>
+ * {@code CGPoint} wird als zwei {@code double}-Argumente übergeben: Ein Struct aus zwei
+ * {@code double} liegt auf x86_64 (SysV) in zwei SSE-Registern und auf arm64 (HFA) in
+ * zwei Fliesskomma-Registern, genau wie zwei einzelne {@code double}-Argumente. Das gilt
+ * nur für nicht-variadische Funktionen.
+ * <p>
+ * Die Library lässt sich über {@value Constants#COREGRAPHICS_LIBRARY_PROPERTY} ersetzen
+ * (z.B. durch die Stub-Library der Tests).
+ */
+final class CoreGraphicsDirect {
+
+    static final String LIBRARY = System.getProperty(Constants.COREGRAPHICS_LIBRARY_PROPERTY, "CoreGraphics");
+
+    static {
+        Native.register(CoreGraphicsDirect.class, NativeLibrary.getInstance(LIBRARY));
+    }
+
+    private CoreGraphicsDirect() {
+    }
+
+    /**
+     * Löst das Laden und Binden der Library aus (statischer Initialisierer), ohne eine
+     * Funktion aufzurufen.
+     */
+    static void link() {
+        // Der Aufruf initialisiert die Klasse
+    }
+
+    static native long CGEventCreateMouseEvent(long source, int type, double x, double y, int button);
+
+    static native long CGEventCreateScrollWheelEvent2(long source, int units, int wheelCount,
+                                                      int wheel1, int wheel2, int wheel3);
+
+    static native void CGEventSetLocation(long event, double x, double y);
+
+    static native void CGEventPost(int tap, long event);
+
+    static native void CFRelease(long cf);
+}
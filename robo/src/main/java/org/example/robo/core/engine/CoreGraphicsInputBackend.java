@@ -0,0 +1,100 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.util.MousePosition;
+
+import java.util.Locale;
+
+/**
+ * Input-Backend für macOS, delegiert an die CoreGraphics API ({@link NativeMacOSAPI}).
+ */
+public class CoreGraphicsInputBackend implements InputBackend {
+
+    public static final String NAME = "coregraphics";
+
+    private final NativeEventCache events;
+
+    public CoreGraphicsInputBackend() {
+        this(NativeMacOSAPI.eventCache());
+    }
+
+    private CoreGraphicsInputBackend(NativeEventCache events) {
+        this.events = events;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("mac");
+    }
+
+    @Override
+    public int getPriority() {
+        return 100;
+    }
+
+    @Override
+    public void preload() {
+        NativeMacOSAPI.preload();
+    }
+
+    /**
+     * Eigener Event-Cache, der Events erzeugt und positioniert, aber nicht postet.
+     */
+    @Override
+    public InputBackend dryRun() {
+        return new CoreGraphicsInputBackend(NativeMacOSAPI.dryRunEventCache());
+    }
+
+    /**
+     * Fragt die Bedienungshilfen-Berechtigung ab ({@code AXIsProcessTrusted}).
+     */
+    @Override
+    public boolean hasInputPermission() {
+        return NativeMacOSAPI.isProcessTrusted();
+    }
+
+    @Override
+    public void move(int x, int y) {
+        NativeMacOSAPI.performMouseMove(events, x, y);
+    }
+
+    @Override
+    public void click(int x, int y, ClickType type) {
+        NativeMacOSAPI.performMouseClick(events, x, y, type);
+    }
+
+    @Override
+    public void clickBatch(int x, int y, ClickType type, int count) {
+        NativeMacOSAPI.performMouseClicks(events, x, y, type, count);
+    }
+
+    @Override
+    public void postBatch(EventBatch batch) {
+        NativeMacOSAPI.performBatch(events, batch);
+    }
+
+    @Override
+    public void click(ClickPlan plan, int x, int y) {
+        NativeMacOSAPI.performMouseClick(events, plan, x, y);
+    }
+
+    @Override
+    public void scroll(int x, int y, int lines) {
+        NativeMacOSAPI.performScroll(events, x, y, lines);
+    }
+
+    @Override
+    public MousePosition getCurrentMousePosition() {
+        return NativeMacOSAPI.getCurrentMousePosition();
+    }
+
+    @Override
+    public void releaseResources() {
+        NativeMacOSAPI.releaseCachedEvents(events);
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.robo.core.engine;
+
+/**
+ * Empfängt Mauspositionen vom {@link CursorPositionSampler}.
+ * <p>
+ * Wird auf dem Sampler-Thread aufgerufen (bzw. auf dem Thread, der eine Abfrage
+ * erzwingt), und nur, wenn sich die Position geändert hat. Implementierungen
+ * sollten schnell zurückkehren und UI-Arbeit selbst auf den UI-Thread verlagern.
+ */
+public interface CursorPositionListener {
+
+    /**
+     * Die Mausposition hat sich geändert.
+     *
+     * @param x neue X-Koordinate
+     * @param y neue Y-Koordinate
+     */
+    void onCursorMoved(int x, int y);
+}
@@ -0,0 +1,286 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.util.Constants;
+import org.example.robo.util.ListenerRegistry;
+import org.example.robo.util.MousePosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gemeinsame Abfrage der Mausposition für UI, Recorder und Engine.
+ * <p>
+ * Statt dass jeder Verbraucher die Position selbst beim Backend abfragt (ein nativer
+ * Aufruf, bei CoreGraphics zusätzlich ein erzeugtes und freigegebenes Event), fragt ein
+ * Sampler-Thread sie in einem einstellbaren Intervall einmal ab und legt sie gepackt
+ * ({@link ClickPlan#pack}) in einem {@code long} ab. Verbraucher abonnieren Änderungen
+ * ({@link #subscribe}) oder lesen den letzten Wert lock-frei ({@link #getPackedPosition()}).
+ * <p>
+ * Der Thread läuft nur, solange es Abonnenten gibt: er startet mit dem ersten
+ * {@link #subscribe} und endet nach dem letzten {@link #unsubscribe}. Solange er läuft,
+ * liefern Lesezugriffe nur den letzten Wert. Ohne Abonnenten fragt ein Lesezugriff das
+ * Backend direkt ab, aber höchstens einmal pro Intervall: wer den Zeitstempel per CAS
+ * erneuert, fragt ab, gleichzeitige Leser erhalten bis dahin den letzten Wert.
+ * Abonnenten werden nur vom Sampler-Thread benachrichtigt, nie vom Thread eines Lesers.
+ * <p>
+ * Thread-safe. Nur Start und Ende des Threads laufen unter dem Monitor.
+ */
+public final class CursorPositionSampler {
+    private static final Logger logger = LoggerFactory.getLogger(CursorPositionSampler.class);
+
+    private final InputBackend backend;
+    private final ListenerRegistry<CursorPositionListener> listeners =
+            new ListenerRegistry<>(CursorPositionListener[]::new);
+    private final AtomicLong packedPosition = new AtomicLong();
+    private final AtomicLong queries = new AtomicLong();
+    private final Queue<CursorPositionListener> newcomers = new ConcurrentLinkedQueue<>();
+    private final AtomicLong lastSampleNanos = new AtomicLong();
+    private volatile boolean hasSample;
+    private volatile long intervalNanos;
+
+    // Nur unter dem Monitor geschrieben; volatile für den lock-freien Lesepfad
+    private volatile Thread thread;
+    private boolean closed;
+
+    // Nur vom Sampler-Thread benutzt (die Übergabe an einen neuen Thread läuft über den Monitor)
+    private long notifiedPosition;
+    private boolean hasNotified;
+
+    /**
+     * Erstellt einen Sampler mit dem Standard-Intervall
+     * ({@value Constants#MOUSE_POSITION_UPDATE_INTERVAL_MS} ms).
+     *
+     * @param backend abzufragendes Backend
+     */
+    public CursorPositionSampler(InputBackend backend) {
+        this(backend, Constants.MOUSE_POSITION_UPDATE_INTERVAL_MS);
+    }
+
+    /**
+     * @param backend abzufragendes Backend
+     * @param intervalMillis Abstand zweier Abfragen
+     */
+    public CursorPositionSampler(InputBackend backend, long intervalMillis) {
+        if (backend == null) {
+            throw new IllegalArgumentException("Backend cannot be null");
+        }
+        this.backend = backend;
+        setIntervalMillis(intervalMillis);
+    }
+
+    public InputBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Ändert das Abfrage-Intervall; ein laufender Sampler übernimmt es sofort.
+     *
+     * @param intervalMillis Abstand zweier Abfragen, mindestens 1 ms
+     */
+    public void setIntervalMillis(long intervalMillis) {
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("Sampling interval must be at least 1 ms: " + intervalMillis);
+        }
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        Thread current = currentThread();
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    public long getIntervalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(intervalNanos);
+    }
+
+    /**
+     * Abonniert Änderungen der Position und startet bei Bedarf den Sampler-Thread.
+     * Der Listener erhält mit dem nächsten Sample die aktuelle Position, auch wenn sie
+     * sich nicht geändert hat.
+     *
+     * @param listener Empfänger der Positionen
+     */
+    public void subscribe(CursorPositionListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+        newcomers.add(listener);
+        startIfNeeded();
+    }
+
+    /**
+     * Beendet ein Abonnement. Nach dem letzten Abonnement endet der Sampler-Thread
+     * spätestens nach einem Intervall.
+     *
+     * @param listener der zu entfernende Listener
+     */
+    public void unsubscribe(CursorPositionListener listener) {
+        newcomers.remove(listener);
+        if (listeners.remove(listener) && listeners.isEmpty()) {
+            Thread current = currentThread();
+            if (current != null) {
+                LockSupport.unpark(current);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return listeners.size();
+    }
+
+    /**
+     * @return true, solange der Sampler-Thread läuft
+     */
+    public boolean isSampling() {
+        return currentThread() != null;
+    }
+
+    /**
+     * Letzte Position, gepackt wie in {@link ClickPlan#pack}. Läuft der Sampler-Thread,
+     * ist das immer der zuletzt gesampelte Wert. Ruht er und ist der Wert älter als ein
+     * Intervall, fragt genau ein Leser das Backend erneut ab.
+     *
+     * @return Position als {@code x << 32 | y}
+     */
+    public long getPackedPosition() {
+        if (hasSample) {
+            if (thread != null) {
+                return packedPosition.get();
+            }
+            long last = lastSampleNanos.get();
+            long now = System.nanoTime();
+            if (now - last < intervalNanos || !lastSampleNanos.compareAndSet(last, now)) {
+                // Frisch genug, oder ein anderer Leser fragt gerade ab
+                return packedPosition.get();
+            }
+        }
+        return query();
+    }
+
+    /**
+     * @return letzte Position, siehe {@link #getPackedPosition()}
+     */
+    public MousePosition getPosition() {
+        long packed = getPackedPosition();
+        return new MousePosition(ClickPlan.unpackX(packed), ClickPlan.unpackY(packed));
+    }
+
+    /**
+     * Fragt das Backend sofort ab, unabhängig vom Intervall, und legt das Ergebnis als
+     * letzte Position ab. Die Abonnenten erfahren eine Änderung erst beim nächsten Sample
+     * des Sampler-Threads.
+     *
+     * @return neue Position als {@code x << 32 | y}
+     * @throws UnsupportedOperationException wenn das Backend keine Position kennt
+     */
+    public long sampleNow() {
+        return query();
+    }
+
+    /**
+     * @return Anzahl der Abfragen beim Backend seit dem Erzeugen
+     */
+    public long getQueryCount() {
+        return queries.get();
+    }
+
+    /**
+     * Entfernt alle Abonnenten und beendet den Sampler-Thread endgültig.
+     * Lesezugriffe fragen danach das Backend direkt ab.
+     */
+    public void close() {
+        Thread current;
+        synchronized (this) {
+            closed = true;
+            current = thread;
+        }
+        listeners.clear();
+        newcomers.clear();
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private long query() {
+        long packed = backend.getCurrentPositionPacked();
+        queries.incrementAndGet();
+        packedPosition.set(packed);
+        lastSampleNanos.set(System.nanoTime());
+        hasSample = true;
+        return packed;
+    }
+
+    private synchronized Thread currentThread() {
+        return thread;
+    }
+
+    private synchronized void startIfNeeded() {
+        if (closed || thread != null) {
+            return;
+        }
+        thread = new Thread(this::run, "CursorSampler");
+        thread.setDaemon(true);
+        thread.start();
+        logger.debug("Cursor sampling started ({} ms)", getIntervalMillis());
+    }
+
+    private void run() {
+        while (keepRunning()) {
+            try {
+                sampleAndNotify();
+            } catch (RuntimeException e) {
+                logger.debug("Cursor position query failed: {}", e.getMessage());
+            }
+            LockSupport.parkNanos(this, intervalNanos);
+        }
+        logger.debug("Cursor sampling paused after {} queries", queries.get());
+    }
+
+    private void sampleAndNotify() {
+        long packed = query();
+        int x = ClickPlan.unpackX(packed);
+        int y = ClickPlan.unpackY(packed);
+        if (hasNotified && packed == notifiedPosition) {
+            // Unveränderte Position: nur neue Abonnenten erhalten sie
+            CursorPositionListener newcomer;
+            while ((newcomer = newcomers.poll()) != null) {
+                notifyListener(newcomer, x, y);
+            }
+            return;
+        }
+        notifiedPosition = packed;
+        hasNotified = true;
+        // Neue Abonnenten sind bereits registriert und erhalten die Änderung mit allen anderen
+        newcomers.clear();
+        for (CursorPositionListener listener : listeners.snapshot()) {
+            notifyListener(listener, x, y);
+        }
+    }
+
+    /**
+     * Prüft unter dem Monitor, ob noch Abonnenten da sind; sonst gibt der Thread
+     * seinen Platz frei, damit der nächste {@link #subscribe} einen neuen startet.
+     */
+    private synchronized boolean keepRunning() {
+        if (!closed && !listeners.isEmpty()) {
+            return true;
+        }
+        if (thread == Thread.currentThread()) {
+            thread = null;
+        }
+        return false;
+    }
+
+    private static void notifyListener(CursorPositionListener listener, int x, int y) {
+        try {
+            listener.onCursorMoved(x, y);
+        } catch (RuntimeException e) {
+            logger.warn("Cursor position listener failed", e);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.example.robo.core.engine;
+
+/**
+ * Taktgeber mit absoluten nanoTime-Deadlines.
+ * <p>
+ * Jede Deadline wird direkt aus dem Startzeitpunkt berechnet
+ * ({@code start + n * periodNanos / ticksPerPeriod}), daher summieren sich weder
+ * Rundungsfehler des Intervalls noch Verspätungen einzelner Ticks auf.
+ * Nach jeder vollen Periode wird der Anker verschoben, damit die Multiplikation
+ * auch bei langen Laufzeiten nicht überläuft.
+ * <p>
+ * Wurde ein Tick verpasst (z.B. durch einen GC-Stopp), wird er ohne Warten
+ * nachgeholt, damit die Gesamtzahl der Ticks erhalten bleibt.
+ * Nicht thread-safe; wird vom jeweiligen Taktgeber-Thread verwendet.
+ */
+public class DeadlineTicker {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final PrecisionWaiter waiter;
+    private final NanoClock clock;
+    private final long periodNanos;
+    private long ticksPerPeriod;
+
+    private long anchorNanos;
+    private long lastDeadlineNanos;
+    private long tickInPeriod;
+    private long tickCount;
+    private long lastLatenessNanos;
+    private long maxLatenessNanos;
+    private long totalLatenessNanos;
+
+    /**
+     * Erstellt einen Ticker, der {@code ticksPerPeriod} Ticks gleichmässig auf
+     * {@code periodNanos} verteilt.
+     *
+     * @param waiter Waiter für das präzise Warten
+     * @param periodNanos Länge einer Periode in Nanosekunden
+     * @param ticksPerPeriod Anzahl Ticks pro Periode
+     */
+    public DeadlineTicker(PrecisionWaiter waiter, long periodNanos, long ticksPerPeriod) {
+        if (waiter == null) {
+            throw new IllegalArgumentException("Waiter cannot be null");
+        }
+        if (periodNanos <= 0 || ticksPerPeriod <= 0) {
+            throw new IllegalArgumentException("Period and ticks per period must be positive");
+        }
+        this.waiter = waiter;
+        this.clock = waiter.getClock();
+        this.periodNanos = periodNanos;
+        this.ticksPerPeriod = ticksPerPeriod;
+    }
+
+    /**
+     * Erstellt einen Ticker für eine Klick-Frequenz in Hz.
+     * Die Frequenz wird über {@link TimingController#validateFrequency(int)} begrenzt.
+     *
+     * @param waiter Waiter für das präzise Warten
+     * @param frequencyHz Frequenz in Hertz
+     * @return neuer Ticker
+     */
+    public static DeadlineTicker forFrequency(PrecisionWaiter waiter, int frequencyHz) {
+        return new DeadlineTicker(waiter, NANOS_PER_SECOND, TimingController.validateFrequency(frequencyHz));
+    }
+
+    /**
+     * Startet den Ticker jetzt. Der erste Tick ist sofort fällig.
+     */
+    public void start() {
+        start(clock.nanoTime());
+    }
+
+    /**
+     * Startet den Ticker mit einem bestimmten Startzeitpunkt.
+     *
+     * @param startNanos Deadline des ersten Ticks (nanoTime-Basis)
+     */
+    public void start(long startNanos) {
+        this.anchorNanos = startNanos;
+        this.lastDeadlineNanos = startNanos;
+        this.tickInPeriod = 0;
+        this.tickCount = 0;
+        this.lastLatenessNanos = 0;
+        this.maxLatenessNanos = 0;
+        this.totalLatenessNanos = 0;
+    }
+
+    /**
+     * Gibt die Deadline des nächsten Ticks zurück.
+     *
+     * @return absolute Deadline in Nanosekunden
+     */
+    public long nextDeadline() {
+        return anchorNanos + tickInPeriod * periodNanos / ticksPerPeriod;
+    }
+
+    /**
+     * Wartet auf den nächsten Tick und schaltet weiter.
+     *
+     * @return Verspätung des Ticks in Nanosekunden
+     * @throws InterruptedException wenn der Thread unterbrochen wurde
+     */
+    public long awaitNextTick() throws InterruptedException {
+        long lateness = waiter.awaitDeadline(nextDeadline());
+        advance(lateness);
+        return lateness;
+    }
+
+    /**
+     * Markiert den aktuellen Tick als ausgeführt.
+     *
+     * @param latenessNanos gemessene Verspätung des Ticks
+     */
+    public void advance(long latenessNanos) {
+        lastDeadlineNanos = nextDeadline();
+        tickCount++;
+        step();
+        lastLatenessNanos = latenessNanos;
+        totalLatenessNanos += latenessNanos;
+        if (latenessNanos > maxLatenessNanos) {
+            maxLatenessNanos = latenessNanos;
+        }
+    }
+
+    private void step() {
+        if (++tickInPeriod == ticksPerPeriod) {
+            anchorNanos += periodNanos;
+            tickInPeriod = 0;
+        }
+    }
+
+    /**
+     * Ändert die Tick-Rate im laufenden Betrieb, ohne die Phase zu verlieren: Der
+     * nächste Tick liegt ein neues Intervall nach dem zuletzt ausgeführten Tick. Wäre
+     * dieser bereits überfällig, beginnt das neue Raster bei {@code now}, statt eine
+     * Serie verpasster Ticks nachzuholen.
+     *
+     * @param newTicksPerPeriod neue Anzahl Ticks pro Periode
+     * @param now aktuelle Zeit (nanoTime-Basis)
+     */
+    public void retune(long newTicksPerPeriod, long now) {
+        if (newTicksPerPeriod <= 0) {
+            throw new IllegalArgumentException("Ticks per period must be positive");
+        }
+        long base = tickCount == 0 ? nextDeadline() : lastDeadlineNanos;
+        this.ticksPerPeriod = newTicksPerPeriod;
+        this.anchorNanos = base;
+        this.tickInPeriod = 0;
+        if (tickCount > 0) {
+            step();
+        }
+        if (nextDeadline() - now < 0) {
+            this.anchorNanos = now;
+            this.tickInPeriod = 0;
+        }
+    }
+
+    /**
+     * Schaltet über bereits fällige Ticks weiter (Deadline &lt;= now), höchstens {@code max}.
+     * Wird verwendet, um fällige Ticks gebündelt auszuführen.
+     *
+     * @param now aktuelle Zeit (nanoTime-Basis)
+     * @param max maximale Anzahl Ticks
+     * @return Anzahl der weitergeschalteten Ticks
+     */
+    public int drainDue(long now, int max) {
+        int drained = 0;
+        long deadline;
+        while (drained < max && (deadline = nextDeadline()) - now <= 0) {
+            advance(now - deadline);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Zählt die fälligen, noch nicht ausgeführten Ticks (Deadline &lt;= now).
+     *
+     * @param now aktuelle Zeit (nanoTime-Basis)
+     * @return Anzahl rückständiger Ticks
+     */
+    public long countDue(long now) {
+        long behind = now - anchorNanos;
+        if (behind < 0) {
+            return 0;
+        }
+        // Ticks mit Offset <= behind: floor(behind * ticksPerPeriod / periodNanos) + 1 (relativ zum Anker)
+        long fullPeriods = behind / periodNanos;
+        long rest = behind % periodNanos;
+        long due = fullPeriods * ticksPerPeriod + rest * ticksPerPeriod / periodNanos + 1;
+        return Math.max(0, due - tickInPeriod);
+    }
+
+    /**
+     * Verwirft alle fälligen Ticks ohne sie auszuführen (Backpressure).
+     * Die Phase bleibt erhalten: die nächste Deadline liegt weiterhin auf dem Raster.
+     *
+     * @param now aktuelle Zeit (nanoTime-Basis)
+     * @return Anzahl verworfener Ticks
+     */
+    public long skipDue(long now) {
+        long skipped = countDue(now);
+        long target = tickInPeriod + skipped;
+        anchorNanos += (target / ticksPerPeriod) * periodNanos;
+        tickInPeriod = target % ticksPerPeriod;
+        return skipped;
+    }
+
+    /**
+     * Anzahl der bisher ausgeführten Ticks.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Kumulierte Abweichung vom Sollfahrplan: Zeitpunkt des letzten Ticks minus
+     * dessen idealer Deadline. Da alle Deadlines absolut sind, wächst dieser Wert
+     * nicht mit der Laufzeit.
+     *
+     * @return Drift in Nanosekunden
+     */
+    public long getDriftNanos() {
+        return lastLatenessNanos;
+    }
+
+    public long getMaxLatenessNanos() {
+        return maxLatenessNanos;
+    }
+
+    public long getAverageLatenessNanos() {
+        return tickCount == 0 ? 0 : totalLatenessNanos / tickCount;
+    }
+
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    public long getTicksPerPeriod() {
+        return ticksPerPeriod;
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Warm-up beim Start, damit der erste Klick nach dem Hotkey nicht Library-Laden,
+ * Klassen-Initialisierung und Interpreter bezahlt.
+ * <p>
+ * Läuft auf einem eigenen Daemon-Thread mit niedriger Priorität:
+ * <ol>
+ *     <li>{@link InputBackend#preload()} lädt und bindet die nativen Bibliotheken.</li>
+ *     <li>Der {@link CapabilityProbe} stellt Verfügbarkeit und Berechtigung fest.</li>
+ *     <li>Die Latenz des ersten Klicks wird kalt gemessen.</li>
+ *     <li>Der Klick-Pfad einer Engine läuft auf der echten Uhr, bis der JIT ihn kompiliert
+ *     hat: {@value Constants#WARM_UP_CLICKS} Klicks im Abstand von
+ *     {@value Constants#WARM_UP_INTERVAL_NANOS} ns, also in wenigen hundert Millisekunden
+ *     statt Minuten bei maximaler Frequenz.</li>
+ *     <li>Die Latenz des ersten Klicks wird erneut gemessen.</li>
+ * </ol>
+ * Geklickt wird über den Trockenlauf des Backends ({@link InputBackend#dryRun()}): dieselbe
+ * Klasse bis an die native API, nur ohne Posten. So sieht der JIT an den Aufrufstellen
+ * dieselben Typen wie später beim echten Klicken. Kennt das Backend keinen Trockenlauf
+ * oder liessen sich die Bibliotheken nicht laden, läuft das Warm-up gegen ein No-op-Backend.
+ * <p>
+ * Das Ergebnis steht danach als {@link StartupMetrics} bereit und wird geloggt.
+ * Die Engines des Warm-ups sind eigene Instanzen; die Engine der Anwendung wird nicht berührt.
+ */
+public final class EngineWarmUp {
+    private static final Logger logger = LoggerFactory.getLogger(EngineWarmUp.class);
+
+    private final InputBackend backend;
+    private final CapabilityProbe probe;
+    private final int warmUpClicks;
+    private final CompletableFuture<StartupMetrics> result = new CompletableFuture<>();
+    private Thread thread;
+
+    /**
+     * @param backend Backend der Anwendung, dessen native Bibliotheken vorab geladen werden
+     */
+    public EngineWarmUp(InputBackend backend) {
+        this(backend, Constants.WARM_UP_CLICKS);
+    }
+
+    /**
+     * @param backend Backend der Anwendung, dessen native Bibliotheken vorab geladen werden
+     * @param warmUpClicks Klicks im Trockenlauf
+     */
+    public EngineWarmUp(InputBackend backend, int warmUpClicks) {
+        this(new CapabilityProbe(backend), warmUpClicks);
+    }
+
+    /**
+     * @param probe Capability-Probe des Backends der Anwendung; wird nach dem Laden befragt
+     * @param warmUpClicks Klicks im Trockenlauf
+     */
+    public EngineWarmUp(CapabilityProbe probe, int warmUpClicks) {
+        if (probe == null || warmUpClicks < 0) {
+            throw new IllegalArgumentException("Probe cannot be null and warm-up clicks must not be negative");
+        }
+        this.probe = probe;
+        this.backend = probe.getBackend();
+        this.warmUpClicks = warmUpClicks;
+    }
+
+    /**
+     * Startet das Warm-up im Hintergrund. Weitere Aufrufe haben keine Wirkung.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(this::run, "EngineWarmUp");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * @return Messwerte oder null, solange das Warm-up läuft
+     */
+    public StartupMetrics getMetrics() {
+        return result.getNow(null);
+    }
+
+    /**
+     * Wartet auf das Ende des Warm-ups.
+     *
+     * @param timeoutMillis maximale Wartezeit
+     * @return Messwerte oder null, wenn das Warm-up nicht rechtzeitig fertig wurde
+     */
+    public StartupMetrics awaitMetrics(long timeoutMillis) throws InterruptedException {
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        }
+    }
+
+    private void run() {
+        long begin = System.nanoTime();
+        boolean linked = true;
+        try {
+            backend.preload();
+        } catch (RuntimeException | LinkageError e) {
+            linked = false;
+            logger.warn("Preloading input backend {} failed: {}", backend.getName(), e.getMessage());
+        }
+        long linkNanos = System.nanoTime() - begin;
+        CapabilityReport capabilities = probe.probe();
+
+        InputBackend target = linked ? backend.dryRun() : null;
+        if (target == null) {
+            logger.debug("Input backend {} has no dry run, warming up against a no-op backend", backend.getName());
+            target = new NoOpBackend();
+        }
+
+        try {
+            long cold = measureFirstClick(target);
+            runClickPath(target);
+            long warm = measureFirstClick(target);
+            StartupMetrics metrics = new StartupMetrics(linked, linkNanos, capabilities.isUsable(),
+                    capabilities.getProbeNanos(), cold, warm, warmUpClicks, System.nanoTime() - begin);
+            logger.info("Warm-up complete: {}", metrics);
+            result.complete(metrics);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        } catch (Exception e) {
+            logger.warn("Engine warm-up failed", e);
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Misst die Zeit von {@code startClicking} bis zum ersten Aufruf des Backends,
+     * auf demselben Pfad wie das Warm-up.
+     *
+     * @return Latenz in Nanosekunden oder -1
+     */
+    private long measureFirstClick(InputBackend target) throws InterruptedException {
+        ClickEngineImpl engine = new ClickEngineImpl(target);
+        try {
+            long start = System.nanoTime();
+            engine.startClicking(warmUpProfile(1));
+            long deadline = System.currentTimeMillis() + Constants.WARM_UP_TIMEOUT_MS;
+            long firstClick;
+            while ((firstClick = engine.getFirstClickNanos()) == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            return firstClick == 0 ? -1 : firstClick - start;
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    /**
+     * Lässt den Klick-Pfad auf der echten Uhr laufen, mit einem Klick-Abstand weit unter
+     * dem der maximalen Frequenz.
+     */
+    private void runClickPath(InputBackend target) throws InterruptedException {
+        if (warmUpClicks == 0) {
+            return;
+        }
+        ClickEngineImpl engine = new ClickEngineImpl(target);
+        try {
+            engine.startClicking(warmUpProfile(warmUpClicks), Constants.WARM_UP_INTERVAL_NANOS);
+            long deadline = System.currentTimeMillis() + Constants.WARM_UP_TIMEOUT_MS;
+            while (engine.isRunning() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            if (engine.isRunning()) {
+                logger.warn("Warm-up stopped after {} of {} clicks", engine.getClicksExecuted(), warmUpClicks);
+            }
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    private static ClickProfile warmUpProfile(int clicks) {
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setName("warm-up");
+        profile.setClickFrequency(Constants.MAX_FREQUENCY_HZ);
+        profile.setNumberOfClicks(clicks);
+        return profile;
+    }
+
+    /**
+     * Backend ohne Wirkung für Backends ohne Trockenlauf.
+     */
+    private static final class NoOpBackend implements InputBackend {
+        @Override
+        public String getName() {
+            return "warm-up";
+        }
+
+        @Override
+        public void move(int x, int y) {
+        }
+
+        @Override
+        public void click(int x, int y, ClickType type) {
+        }
+    }
+}
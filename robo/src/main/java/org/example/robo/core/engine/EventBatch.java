@@ -0,0 +1,135 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickType;
+
+import java.util.Arrays;
+
+/**
+ * Wiederverwendbarer Puffer für Events, die gemeinsam gepostet werden
+ * ({@link InputBackend#postBatch}).
+ * <p>
+ * Jedes Event ist ein Tupel {@code (kind, x, y, arg)} in einem primitiven
+ * {@code int}-Array: kein Objekt pro Event, und ein Backend kann den ganzen Batch
+ * in einem einzigen nativen Aufruf absetzen. {@code arg} ist der Klick-Typ
+ * (Ordinal) eines CLICK- bzw. die Zeilen eines SCROLL-Events.
+ * <p>
+ * Nicht thread-sicher: ein Batch gehört dem Thread, der ihn füllt und postet.
+ */
+public final class EventBatch {
+
+    public static final int MOVE = 0;
+    public static final int CLICK = 1;
+    public static final int SCROLL = 2;
+
+    private static final int STRIDE = 4;
+    private static final ClickType[] CLICK_TYPES = ClickType.values();
+
+    private int[] tuples;
+    private int size;
+
+    public EventBatch() {
+        this(16);
+    }
+
+    /**
+     * @param initialCapacity Anzahl Events, bevor der Puffer wächst
+     */
+    public EventBatch(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        this.tuples = new int[initialCapacity * STRIDE];
+    }
+
+    public void addMove(int x, int y) {
+        add(MOVE, x, y, 0);
+    }
+
+    public void addClick(int x, int y, ClickType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Click type cannot be null");
+        }
+        add(CLICK, x, y, type.ordinal());
+    }
+
+    /**
+     * Fügt mehrere gleiche Klicks an derselben Position an.
+     */
+    public void addClicks(int x, int y, ClickType type, int count) {
+        for (int i = 0; i < count; i++) {
+            addClick(x, y, type);
+        }
+    }
+
+    /**
+     * @param lines Zeilen (positiv = nach oben, negativ = nach unten)
+     */
+    public void addScroll(int x, int y, int lines) {
+        add(SCROLL, x, y, lines);
+    }
+
+    private void add(int kind, int x, int y, int arg) {
+        int offset = size * STRIDE;
+        if (offset == tuples.length) {
+            tuples = Arrays.copyOf(tuples, tuples.length * 2);
+        }
+        tuples[offset] = kind;
+        tuples[offset + 1] = x;
+        tuples[offset + 2] = y;
+        tuples[offset + 3] = arg;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Leert den Batch; der Puffer bleibt für den nächsten Batch erhalten.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return {@link #MOVE}, {@link #CLICK} oder {@link #SCROLL}
+     */
+    public int getKind(int index) {
+        return tuples[checkIndex(index) * STRIDE];
+    }
+
+    public int getX(int index) {
+        return tuples[checkIndex(index) * STRIDE + 1];
+    }
+
+    public int getY(int index) {
+        return tuples[checkIndex(index) * STRIDE + 2];
+    }
+
+    /**
+     * @return Klick-Typ eines CLICK-Events, sonst null
+     */
+    public ClickType getClickType(int index) {
+        int offset = checkIndex(index) * STRIDE;
+        return tuples[offset] == CLICK ? CLICK_TYPES[tuples[offset + 3]] : null;
+    }
+
+    /**
+     * @return Zeilen eines SCROLL-Events, sonst 0
+     */
+    public int getScrollLines(int index) {
+        int offset = checkIndex(index) * STRIDE;
+        return tuples[offset] == SCROLL ? tuples[offset + 3] : 0;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Event " + index + " of " + size);
+        }
+        return index;
+    }
+}
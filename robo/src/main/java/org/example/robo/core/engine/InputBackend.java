@@ -0,0 +1,168 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.util.MousePosition;
+
+/**
+ * SPI für die Eingabe-Simulation: Bewegen, Klicken, Scrollen, Abfragen der
+ * Position und Batch-Posten. Alle Engines, der Player und der Recorder gehen
+ * ausschliesslich über dieses Interface, nie direkt an eine native API.
+ * <p>
+ * Implementierungen werden über {@link java.util.ServiceLoader} gefunden
+ * (siehe {@link InputBackends}) und brauchen dafür einen öffentlichen
+ * Konstruktor ohne Argumente. Sie müssen von mehreren Threads gleichzeitig
+ * aufgerufen werden können.
+ */
+public interface InputBackend {
+
+    /**
+     * Name für Konfiguration und Logs (z.B. {@code coregraphics}).
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Prüft, ob das Backend auf dieser Plattform funktioniert. Nicht verfügbare
+     * Backends werden bei der automatischen Auswahl übersprungen.
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Priorität bei der automatischen Auswahl; das verfügbare Backend mit der
+     * höchsten Priorität gewinnt.
+     */
+    default int getPriority() {
+        return 0;
+    }
+
+    /**
+     * Ob das Backend automatisch gewählt werden darf. Backends, die keine echten
+     * Eingaben erzeugen (z.B. {@link RecordingInputBackend}), geben false zurück und
+     * werden nur verwendet, wenn sie per Name angefordert werden.
+     */
+    default boolean isAutoSelectable() {
+        return true;
+    }
+
+    /**
+     * Lädt und bindet native Bibliotheken vorab, damit der erste Klick sie nicht
+     * bezahlt. Wird beim Start auf einem Hintergrund-Thread aufgerufen.
+     *
+     * @throws LinkageError wenn eine native Bibliothek fehlt
+     */
+    default void preload() {
+    }
+
+    /**
+     * Liefert eine neue Instanz derselben Klasse im Trockenlauf: jeder Aufruf durchläuft
+     * den Pfad bis an die native API, nur das Posten an das System entfällt. Das Warm-up
+     * ({@link EngineWarmUp}) trainiert damit den JIT auf die Klassen, die später klicken.
+     *
+     * @return Backend im Trockenlauf oder null, wenn das Backend keinen Trockenlauf kennt
+     */
+    default InputBackend dryRun() {
+        return null;
+    }
+
+    /**
+     * Prüft ohne Seiteneffekte (kein Event, kein Dialog), ob das Backend Eingaben
+     * posten darf. Wird vom {@link CapabilityProbe} abgefragt und zwischengespeichert.
+     *
+     * @throws LinkageError wenn eine native Bibliothek fehlt
+     */
+    default boolean hasInputPermission() {
+        return true;
+    }
+
+    void move(int x, int y);
+
+    void click(int x, int y, ClickType type);
+
+    /**
+     * Scrollt an einer Position.
+     *
+     * @param x X-Koordinate
+     * @param y Y-Koordinate
+     * @param lines Zeilen (positiv = nach oben, negativ = nach unten)
+     */
+    default void scroll(int x, int y, int lines) {
+        if (lines != 0) {
+            click(x, y, lines > 0 ? ClickType.SCROLL_UP : ClickType.SCROLL_DOWN);
+        }
+    }
+
+    /**
+     * Fragt die aktuelle Mausposition ab.
+     *
+     * @return aktuelle Position
+     * @throws UnsupportedOperationException wenn das Backend keine Position kennt
+     */
+    default MousePosition getCurrentMousePosition() {
+        throw new UnsupportedOperationException("Position query not supported by " + getName());
+    }
+
+    /**
+     * Fragt die aktuelle Mausposition ab, gepackt wie in {@link ClickPlan#pack}.
+     * Backends, die die Position ohne Objekt liefern können, überschreiben diese Methode.
+     *
+     * @return aktuelle Position als {@code x << 32 | y}
+     * @throws UnsupportedOperationException wenn das Backend keine Position kennt
+     */
+    default long getCurrentPositionPacked() {
+        MousePosition position = getCurrentMousePosition();
+        return ClickPlan.pack(position.getX(), position.getY());
+    }
+
+    /**
+     * Gibt zwischengespeicherte native Ressourcen frei. Wird aufgerufen, wenn eine
+     * Engine stoppt oder beendet wird; das Backend bleibt danach benutzbar.
+     */
+    default void releaseResources() {
+    }
+
+    /**
+     * Führt mehrere Klicks an derselben Position als Batch aus.
+     * Implementierungen können den Batch in einem einzigen nativen Aufruf absetzen.
+     */
+    default void clickBatch(int x, int y, ClickType type, int count) {
+        for (int i = 0; i < count; i++) {
+            click(x, y, type);
+        }
+    }
+
+    /**
+     * Postet alle Events eines Batches in ihrer Reihenfolge. Implementierungen können
+     * den Batch in einem einzigen nativen Aufruf absetzen; der Batch wird nicht verändert.
+     */
+    default void postBatch(EventBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            int x = batch.getX(i);
+            int y = batch.getY(i);
+            switch (batch.getKind(i)) {
+                case EventBatch.MOVE -> move(x, y);
+                case EventBatch.CLICK -> click(x, y, batch.getClickType(i));
+                case EventBatch.SCROLL -> scroll(x, y, batch.getScrollLines(i));
+                default -> throw new IllegalArgumentException("Unknown event kind: " + batch.getKind(i));
+            }
+        }
+    }
+
+    /**
+     * Führt einen Klick nach einem kompilierten Plan aus.
+     * Implementierungen können die vorausberechneten nativen Event-Typen verwenden.
+     */
+    default void click(ClickPlan plan) {
+        click(plan, plan.getX(), plan.getY());
+    }
+
+    /**
+     * Führt einen Klick nach einem kompilierten Plan an einer abweichenden Position aus
+     * (z.B. durch Positions-Jitter verschoben).
+     */
+    default void click(ClickPlan plan, int x, int y) {
+        click(x, y, plan.getClickType());
+    }
+}
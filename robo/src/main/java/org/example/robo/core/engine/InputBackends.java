@@ -0,0 +1,108 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Findet und wählt {@link InputBackend} Implementierungen über den {@link ServiceLoader}.
+ * <p>
+ * Ist die System-Property {@value Constants#INPUT_BACKEND_PROPERTY} gesetzt, wird das
+ * Backend mit diesem Namen verwendet (z.B. {@code -Drobo.input.backend=recording} auf
+ * Build-Agents). Sonst gewinnt das verfügbare Backend mit der höchsten Priorität;
+ * Backends ohne echte Eingaben ({@link InputBackend#isAutoSelectable()}) nehmen an der
+ * automatischen Auswahl nicht teil. Ist kein echtes Backend verfügbar, wird das mit der
+ * höchsten Priorität trotzdem gewählt und ein Fehler geloggt; der {@link CapabilityProbe}
+ * meldet die Eingabe dann als nicht nutzbar.
+ */
+public final class InputBackends {
+    private static final Logger logger = LoggerFactory.getLogger(InputBackends.class);
+
+    private InputBackends() {
+    }
+
+    /**
+     * Gibt das gemeinsame Standard-Backend zurück. Es wird beim ersten Aufruf gewählt
+     * und danach von allen Engines, dem Player und dem Recorder geteilt.
+     *
+     * @return Standard-Backend
+     * @throws IllegalStateException wenn kein passendes Backend gefunden wurde
+     */
+    public static InputBackend getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Lädt alle registrierten Backends.
+     *
+     * @return neue Instanzen aller Backends (verfügbar oder nicht)
+     */
+    public static List<InputBackend> discover() {
+        List<InputBackend> backends = new ArrayList<>();
+        for (InputBackend backend : ServiceLoader.load(InputBackend.class)) {
+            backends.add(backend);
+        }
+        return backends;
+    }
+
+    /**
+     * Wählt ein Backend aus Kandidaten.
+     *
+     * @param candidates verfügbare Implementierungen
+     * @param requestedName gewünschter Name oder null für die automatische Auswahl
+     * @return gewähltes Backend
+     * @throws IllegalStateException wenn das gewünschte Backend unbekannt ist oder kein
+     *         Backend automatisch gewählt werden darf
+     */
+    public static InputBackend select(List<InputBackend> candidates, String requestedName) {
+        if (requestedName != null && !requestedName.isBlank()) {
+            for (InputBackend backend : candidates) {
+                if (backend.getName().equalsIgnoreCase(requestedName.trim())) {
+                    if (!backend.isAvailable()) {
+                        logger.warn("Input backend {} requested but reports unavailable", backend.getName());
+                    }
+                    return backend;
+                }
+            }
+            throw new IllegalStateException("Unknown input backend: " + requestedName);
+        }
+
+        InputBackend best = null;
+        InputBackend fallback = null;
+        for (InputBackend backend : candidates) {
+            if (!backend.isAutoSelectable()) {
+                continue;
+            }
+            if (fallback == null || backend.getPriority() > fallback.getPriority()) {
+                fallback = backend;
+            }
+            if (backend.isAvailable() && (best == null || backend.getPriority() > best.getPriority())) {
+                best = backend;
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        if (fallback == null) {
+            throw new IllegalStateException("No input backend available");
+        }
+        logger.error("No input backend available on this system; falling back to {}, input will not work. "
+                + "Use -D{}={} for headless runs", fallback.getName(),
+                Constants.INPUT_BACKEND_PROPERTY, RecordingInputBackend.NAME);
+        return fallback;
+    }
+
+    private static final class DefaultHolder {
+        private static final InputBackend INSTANCE = load();
+
+        private static InputBackend load() {
+            InputBackend backend = select(discover(), System.getProperty(Constants.INPUT_BACKEND_PROPERTY));
+            logger.info("Using input backend: {}", backend.getName());
+            return backend;
+        }
+    }
+}
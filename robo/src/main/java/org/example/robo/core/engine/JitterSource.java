@@ -0,0 +1,269 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.JitterMode;
+import org.example.robo.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Zufallsquelle für zeitlichen und räumlichen Jitter einer Engine.
+ * <p>
+ * Pro Verteilung (gleichverteilt, normalverteilt, exponentialverteilt) gibt es
+ * einen Strom aus einem eigenen {@link SplittableRandom}. Die Werte werden in
+ * primitive Puffer vorberechnet, die in Blöcke aufgeteilt sind: Der Klick-Thread
+ * liest nur aus gefüllten Blöcken und gibt einen Block nach dem letzten Wert zum
+ * Nachfüllen frei; ein Hintergrund-Thread füllt freie Blöcke nach. Der Lese-Pfad
+ * alloziert nicht und nimmt keine Sperren.
+ * <p>
+ * Kommt das Nachfüllen nicht nach, wird der Wert direkt aus einem separaten
+ * Reserve-Generator des Lesers gezogen (gezählt als Unterlauf); die Verteilung
+ * bleibt dabei dieselbe.
+ * <p>
+ * Die next-Methoden dürfen nur von einem einzigen Thread aufgerufen werden.
+ */
+public final class JitterSource {
+    private static final Logger logger = LoggerFactory.getLogger(JitterSource.class);
+
+    private static final int BLOCKS = 4;
+    private static final int UNIFORM = 0;
+    private static final int GAUSSIAN = 1;
+    private static final int EXPONENTIAL = 2;
+
+    private final SampleStream uniform;
+    private final SampleStream gaussian;
+    private final SampleStream exponential;
+    private final SampleStream[] streams;
+    private final Thread refillThread;
+
+    private volatile boolean closed = false;
+
+    /**
+     * Erstellt eine Quelle mit zufälligem Seed und Standard-Puffergrösse.
+     *
+     * @param name Präfix für den Namen des Nachfüll-Threads
+     */
+    public JitterSource(String name) {
+        this(name, System.nanoTime() ^ Thread.currentThread().getId(), Constants.JITTER_BUFFER_SIZE);
+    }
+
+    /**
+     * Erstellt eine Quelle. Alle Puffer sind beim Zurückkehren bereits gefüllt.
+     *
+     * @param name Präfix für den Namen des Nachfüll-Threads
+     * @param seed Seed für alle Ströme (reproduzierbar)
+     * @param bufferSize Werte pro Strom (Zweierpotenz, mindestens {@value #BLOCKS})
+     */
+    public JitterSource(String name, long seed, int bufferSize) {
+        if (bufferSize < BLOCKS || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size must be a power of two >= " + BLOCKS);
+        }
+        SplittableRandom root = new SplittableRandom(seed);
+        this.uniform = new SampleStream(UNIFORM, root.split(), root.split(), bufferSize);
+        this.gaussian = new SampleStream(GAUSSIAN, root.split(), root.split(), bufferSize);
+        this.exponential = new SampleStream(EXPONENTIAL, root.split(), root.split(), bufferSize);
+        this.streams = new SampleStream[] {uniform, gaussian, exponential};
+        for (SampleStream stream : streams) {
+            stream.refillAll();
+        }
+        this.refillThread = new Thread(this::runRefill, name + "-JitterRefill");
+        this.refillThread.setDaemon(true);
+        this.refillThread.start();
+    }
+
+    /**
+     * Gleichverteilter Wert in [0, 1).
+     */
+    public double nextUniform() {
+        return uniform.next();
+    }
+
+    /**
+     * Standardnormalverteilter Wert (Mittelwert 0, Standardabweichung 1).
+     */
+    public double nextGaussian() {
+        return gaussian.next();
+    }
+
+    /**
+     * Exponentialverteilter Wert mit Mittelwert 1.
+     */
+    public double nextExponential() {
+        return exponential.next();
+    }
+
+    /**
+     * Berechnet die Abweichung einer Deadline vom Raster. Die Abweichung ist auf ein
+     * halbes Intervall begrenzt, damit die Reihenfolge der Klicks erhalten bleibt.
+     *
+     * @param mode UNIFORM (± amount) oder GAUSSIAN (Standardabweichung amount); sonst 0
+     * @param amountNanos Stärke des Jitters in Nanosekunden
+     * @param intervalNanos Klick-Intervall in Nanosekunden
+     * @return Abweichung in Nanosekunden
+     */
+    public long deadlineOffsetNanos(JitterMode mode, long amountNanos, long intervalNanos) {
+        if (amountNanos <= 0) {
+            return 0;
+        }
+        double offset;
+        switch (mode) {
+            case UNIFORM -> offset = (2 * nextUniform() - 1) * amountNanos;
+            case GAUSSIAN -> offset = nextGaussian() * amountNanos;
+            default -> {
+                return 0;
+            }
+        }
+        long limit = intervalNanos / 2;
+        return Math.max(-limit, Math.min(limit, Math.round(offset)));
+    }
+
+    /**
+     * Zieht den Abstand zum nächsten Klick eines Poisson-Prozesses.
+     *
+     * @param meanNanos mittlerer Abstand in Nanosekunden
+     * @return Abstand in Nanosekunden
+     */
+    public long poissonGapNanos(long meanNanos) {
+        return Math.round(nextExponential() * meanNanos);
+    }
+
+    /**
+     * Verschiebt eine Position gleichverteilt innerhalb eines Kreises.
+     *
+     * @param x X-Koordinate des Mittelpunkts
+     * @param y Y-Koordinate des Mittelpunkts
+     * @param radius Radius in Pixeln
+     * @return gepackte Koordinaten, siehe {@link ClickPlan#pack(int, int)}
+     */
+    public long offsetPosition(int x, int y, int radius) {
+        if (radius <= 0) {
+            return ClickPlan.pack(x, y);
+        }
+        // sqrt: gleichmässige Dichte über die Fläche statt Häufung im Zentrum
+        double r = radius * Math.sqrt(nextUniform());
+        double theta = 2 * Math.PI * nextUniform();
+        return ClickPlan.pack(x + (int) Math.round(r * Math.cos(theta)),
+                y + (int) Math.round(r * Math.sin(theta)));
+    }
+
+    /**
+     * Anzahl der Werte, die mangels gefüllter Puffer direkt erzeugt wurden.
+     */
+    public long getUnderrunCount() {
+        long total = 0;
+        for (SampleStream stream : streams) {
+            total += stream.underruns;
+        }
+        return total;
+    }
+
+    /**
+     * Beendet den Nachfüll-Thread. Danach liefern die Ströme weiterhin Werte,
+     * aber nur noch über den Reserve-Generator.
+     */
+    public void close() {
+        closed = true;
+        LockSupport.unpark(refillThread);
+        try {
+            refillThread.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runRefill() {
+        while (!closed) {
+            boolean filled = false;
+            for (SampleStream stream : streams) {
+                filled |= stream.refillFree();
+            }
+            if (!filled) {
+                LockSupport.park(this);
+            }
+        }
+        logger.debug("Jitter refill thread stopped");
+    }
+
+    /**
+     * Vorberechneter Strom einer Verteilung. Ein Block gehört entweder dem
+     * Nachfüll-Thread (leer) oder dem Leser (gefüllt); der Übergang erfolgt über
+     * das volatile Flag im {@link AtomicIntegerArray}.
+     */
+    private final class SampleStream {
+        private final int kind;
+        private final SplittableRandom refillRandom;
+        private final SplittableRandom fallbackRandom;
+        private final double[] buffer;
+        private final AtomicIntegerArray filled;
+        private final int mask;
+        private final int blockSize;
+        private final int blockShift;
+        private int readIndex;
+        private volatile long underruns;
+
+        SampleStream(int kind, SplittableRandom refillRandom, SplittableRandom fallbackRandom, int size) {
+            this.kind = kind;
+            this.refillRandom = refillRandom;
+            this.fallbackRandom = fallbackRandom;
+            this.buffer = new double[size];
+            this.filled = new AtomicIntegerArray(BLOCKS);
+            this.mask = size - 1;
+            this.blockSize = size / BLOCKS;
+            this.blockShift = Integer.numberOfTrailingZeros(blockSize);
+        }
+
+        double next() {
+            int index = readIndex;
+            int block = index >>> blockShift;
+            if (filled.get(block) == 0) {
+                underruns++;
+                return sample(fallbackRandom);
+            }
+            double value = buffer[index];
+            readIndex = (index + 1) & mask;
+            if ((readIndex & (blockSize - 1)) == 0) {
+                // Block ausgelesen: an den Nachfüll-Thread zurückgeben
+                filled.set(block, 0);
+                LockSupport.unpark(refillThread);
+            }
+            return value;
+        }
+
+        void refillAll() {
+            for (int block = 0; block < BLOCKS; block++) {
+                fill(block);
+            }
+        }
+
+        boolean refillFree() {
+            boolean any = false;
+            for (int block = 0; block < BLOCKS; block++) {
+                if (filled.get(block) == 0) {
+                    fill(block);
+                    any = true;
+                }
+            }
+            return any;
+        }
+
+        private void fill(int block) {
+            int start = block * blockSize;
+            for (int i = start; i < start + blockSize; i++) {
+                buffer[i] = sample(refillRandom);
+            }
+            filled.set(block, 1);
+        }
+
+        private double sample(SplittableRandom random) {
+            return switch (kind) {
+                case GAUSSIAN -> random.nextGaussian();
+                case EXPONENTIAL -> random.nextExponential();
+                default -> random.nextDouble();
+            };
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.robo.core.engine;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
+import com.sun.jna.Platform;
+
+/**
+ * Direct-Mapping der Scheduling-Funktionen der glibc (nur Linux).
+ * <p>
+ * {@code pid}/{@code who} 0 bzw. die Thread-ID aus {@link #gettid()} beziehen sich unter
+ * Linux auf einen einzelnen Thread, nicht auf den Prozess. Die CPU-Maske ist ein
+ * {@code cpu_set_t} mit {@value #CPU_SET_BITS} Bits als {@code long[]}. Fehler melden die
+ * Funktionen mit -1; die Ursache liefert {@link Native#getLastError()}.
+ */
+final class LinuxSchedDirect {
+
+    static final int CPU_SET_BITS = 1024;
+    static final int CPU_SET_WORDS = CPU_SET_BITS / Long.SIZE;
+    static final long CPU_SET_BYTES = CPU_SET_BITS / Byte.SIZE;
+    static final int PRIO_PROCESS = 0;
+
+    static {
+        Native.register(LinuxSchedDirect.class, NativeLibrary.getInstance(Platform.C_LIBRARY_NAME));
+    }
+
+    private LinuxSchedDirect() {
+    }
+
+    static native int sched_setaffinity(int pid, long cpusetsize, long[] mask);
+
+    static native int sched_getaffinity(int pid, long cpusetsize, long[] mask);
+
+    static native int sched_getcpu();
+
+    /**
+     * @return Kernel-Thread-ID des aufrufenden Threads (glibc 2.30+)
+     */
+    static native int gettid();
+
+    static native int setpriority(int which, int who, int prio);
+}
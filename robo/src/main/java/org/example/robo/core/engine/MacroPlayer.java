@@ -1,13 +1,32 @@
 package org.example.robo.core.engine;
 
 import org.example.robo.core.profile.Macro;
+import org.example.robo.core.profile.MacroEventCursor;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface für Macro Playback.
  */
 public interface MacroPlayer {
     void play(Macro macro);
+
+    /**
+     * Spielt die Events eines Cursors ab, ohne sie vorher in den Speicher zu laden
+     * (z.B. {@link org.example.robo.core.profile.MappedMacroFile#cursor()}).
+     *
+     * @param name Name für Log und Bericht
+     * @param cursor Events in zeitlicher Reihenfolge; gehört ab jetzt dem Player
+     * @return Bericht, sobald die Wiedergabe endet
+     */
+    CompletableFuture<PlaybackReport> play(String name, MacroEventCursor cursor);
+
     void stop();
     boolean isPlaying();
+
+    /**
+     * @return Bericht der zuletzt beendeten Wiedergabe oder null
+     */
+    PlaybackReport getLastReport();
 }
 
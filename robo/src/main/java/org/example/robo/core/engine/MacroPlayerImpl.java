@@ -1,96 +1,172 @@
 package org.example.robo.core.engine;
 
-import org.example.robo.core.profile.ClickType;
 import org.example.robo.core.profile.Macro;
-import org.example.robo.core.profile.MacroEvent;
-import org.example.robo.core.profile.MouseClickEvent;
-import org.example.robo.core.profile.MouseMoveEvent;
-import org.example.robo.util.MousePosition;
+import org.example.robo.core.profile.MacroEventCursor;
+import org.example.robo.core.profile.MacroEventStore;
+import org.example.robo.core.profile.ReadAheadMacroCursor;
+import org.example.robo.util.Constants;
+import org.example.robo.util.LatencyHistogram;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Einfacher Macro Player, der die Events in zeitlicher Reihenfolge abspielt.
+ * <p>
+ * Jedes Event wird als Timeout auf einem {@link TimingWheel} zu seiner absoluten
+ * nanoTime-Deadline ausgelöst; der Timeout plant sich nach jedem Event für das
+ * nächste neu. Alle Events, die bereits fällig sind, gehen als ein {@link EventBatch}
+ * an das Backend; spätere Events warten auf ihre eigene Deadline.
+ * <p>
+ * Gelesen wird über einen {@link MacroEventCursor} ohne Event-Objekte zu erzeugen: aus
+ * der spaltenweisen Ablage des Macros ({@link MacroEventStore}) oder direkt aus einer
+ * gemappten Macro-Datei ({@link #play(String, MacroEventCursor)}). Für beliebig lange
+ * Quellen liest {@link #playStreaming} über einen begrenzten Vorlese-Puffer, und ein Batch
+ * umfasst höchstens {@value Constants#MACRO_PLAYER_MAX_BATCH_EVENTS} Events; der
+ * Speicherbedarf hängt dann nicht von der Länge des Macros ab.
+ * <p>
+ * Die Deadlines sind monotone nanoTime-Werte relativ zum Start der Wiedergabe; das Wheel
+ * parkt bis kurz davor und wartet den Rest mit einem {@link PrecisionWaiter} aktiv ab
+ * (Standard: kalibrierte Spin-Schwelle). Die Verspätung jedes Events geht in ein
+ * Histogramm; am Ende steht ein {@link PlaybackReport} bereit. Geschwindigkeit und
+ * längste Pause legt ein {@link PlaybackTiming} fest.
  */
 public class MacroPlayerImpl implements MacroPlayer {
     private static final Logger logger = LoggerFactory.getLogger(MacroPlayerImpl.class);
 
-    private final ScheduledExecutorService executor;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final TimingWheel wheel;
     private volatile boolean playing = false;
-    private ScheduledFuture<?> playTask;
-    private final MouseActuator actuator;
+    private volatile Playback playback;
+    private volatile PlaybackReport lastReport;
+    private final InputBackend backend;
 
     public MacroPlayerImpl() {
-        this(new DefaultMouseActuator());
+        this(InputBackends.getDefault());
     }
 
-    public MacroPlayerImpl(MouseActuator actuator) {
-        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
-            Thread t = new Thread(r, "MacroPlayerThread");
-            t.setDaemon(true);
-            return t;
-        });
-        this.actuator = actuator;
+    public MacroPlayerImpl(InputBackend backend) {
+        this(backend, PrecisionWaiter.calibrated());
+    }
+
+    public MacroPlayerImpl(InputBackend backend, PrecisionWaiter waiter) {
+        this.wheel = new TimingWheel("MacroPlayerThread", waiter, Constants.TIMING_WHEEL_TICK_NANOS);
+        this.backend = backend;
+    }
+
+    @Override
+    public void play(Macro macro) {
+        play(macro, PlaybackTiming.realTime());
     }
 
+    /**
+     * Spielt ein Macro mit geänderter Geschwindigkeit bzw. gekürzten Pausen ab.
+     *
+     * @return Bericht, sobald die Wiedergabe endet
+     */
+    public CompletableFuture<PlaybackReport> play(Macro macro, PlaybackTiming timing) {
+        if (macro == null) {
+            return play(null, null, timing);
+        }
+        return play(macro.getName(), macro.getEventStore().cursor(), timing);
+    }
+
+    /**
+     * Spielt die Events eines Cursors ab, z.B. aus {@link org.example.robo.core.profile.MappedMacroFile#cursor()}.
+     * Der Cursor muss vor dem ersten Event stehen und gehört ab jetzt dem Player.
+     *
+     * @param name Name für Log und Bericht
+     * @param cursor Events in zeitlicher Reihenfolge
+     * @return Bericht, sobald die Wiedergabe endet (sofort, wenn sie nicht startet)
+     */
     @Override
-    public synchronized void play(Macro macro) {
-        if (playing || macro == null || macro.getEvents().isEmpty()) {
+    public CompletableFuture<PlaybackReport> play(String name, MacroEventCursor cursor) {
+        return play(name, cursor, PlaybackTiming.realTime());
+    }
+
+    /**
+     * Wie {@link #play(String, MacroEventCursor)}; die Zeitstempel rechnet {@code timing}
+     * beim Lesen um.
+     *
+     * @param timing Geschwindigkeit und längste Pause
+     */
+    public synchronized CompletableFuture<PlaybackReport> play(String name, MacroEventCursor cursor, PlaybackTiming timing) {
+        if (timing == null) {
+            throw new IllegalArgumentException("Playback timing cannot be null");
+        }
+        if (cursor == null) {
+            logger.warn("MacroPlayer: nothing to play or already playing");
+            return CompletableFuture.completedFuture(PlaybackReport.rejected(name, 0));
+        }
+        boolean empty;
+        try {
+            empty = !cursor.hasNext();
+        } catch (RuntimeException e) {
+            cursor.close();
+            throw e;
+        }
+        if (playing || empty) {
             logger.warn("MacroPlayer: nothing to play or already playing");
-            return;
+            cursor.close();
+            return CompletableFuture.completedFuture(PlaybackReport.rejected(name, cursor.size()));
         }
         playing = true;
-        List<MacroEvent> events = macro.getEvents();
-        long startOffset = events.get(0).getTimestampMs();
-
-        logger.info("Playing macro {} ({} events)", macro.getName(), events.size());
-
-        // Starte einen Task, der sequentiell die Events abarbeitet
-        playTask = executor.schedule(() -> {
-            long playStart = System.currentTimeMillis();
-            for (MacroEvent ev : events) {
-                if (!playing) break;
-                long targetTime = playStart + (ev.getTimestampMs() - startOffset);
-                long delay;
-                while ((delay = targetTime - System.currentTimeMillis()) > 0) {
-                    try {
-                        Thread.sleep(Math.min(delay, 50));
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
 
-                if (!playing) break;
+        logger.info("Playing macro {} ({} events, {})", name, cursor.size(), timing);
 
-                if (ev instanceof MouseMoveEvent mve) {
-                    MousePosition p = mve.getPosition();
-                    actuator.move(p.getX(), p.getY());
-                } else if (ev instanceof MouseClickEvent mce) {
-                    MousePosition p = mce.getPosition();
-                    ClickType ct = mce.getClickType();
-                    actuator.click(p.getX(), p.getY(), ct);
-                }
-            }
-            playing = false;
-            logger.info("Macro playback finished");
-        }, 0, TimeUnit.MILLISECONDS);
+        Playback next = new Playback(name, timing.apply(cursor), wheel.nanoTime());
+        playback = next;
+        wheel.schedule(next.timeout, next.nextDeadline());
+        return next.result;
+    }
+
+    /**
+     * Spielt eine Quelle beliebiger Länge ab (Datei, Generator, Pipe), ohne sie in den
+     * Speicher zu laden: gelesen wird auf einem eigenen Thread über einen
+     * {@link ReadAheadMacroCursor}.
+     *
+     * @param name Name für Log und Bericht
+     * @param source Events in zeitlicher Reihenfolge; gehört ab jetzt dem Player
+     * @return Bericht, sobald die Wiedergabe endet
+     */
+    public CompletableFuture<PlaybackReport> playStreaming(String name, MacroEventCursor source) {
+        return playStreaming(name, source, PlaybackTiming.realTime());
+    }
+
+    /**
+     * Wie {@link #playStreaming(String, MacroEventCursor)} mit umgerechneten Zeitstempeln.
+     *
+     * @param timing Geschwindigkeit und längste Pause
+     */
+    public CompletableFuture<PlaybackReport> playStreaming(String name, MacroEventCursor source, PlaybackTiming timing) {
+        if (source == null) {
+            return play(name, null, timing);
+        }
+        return play(name, new ReadAheadMacroCursor(source), timing);
     }
 
+    /**
+     * Stoppt die Wiedergabe. Der Worker kann gerade noch einen Batch posten; Bericht und
+     * Freigabe des Backends laufen deshalb danach auf dem Worker. Das Future der
+     * Wiedergabe wird erst dort abgeschlossen, danach wird kein Event mehr gepostet.
+     */
     @Override
     public synchronized void stop() {
         if (!playing) return;
         playing = false;
-        if (playTask != null) {
-            playTask.cancel(true);
-            playTask = null;
+        Playback current = playback;
+        playback = null;
+        if (current != null) {
+            current.timeout.cancel();
         }
+        onWorker(() -> {
+            if (current != null) {
+                current.finish(PlaybackReport.Outcome.STOPPED);
+            }
+            backend.releaseResources();
+        });
         logger.info("Macro playback stopped");
     }
 
@@ -99,21 +175,157 @@ public class MacroPlayerImpl implements MacroPlayer {
         return playing;
     }
 
+    @Override
+    public PlaybackReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Führt einen Task auf dem Worker aus, nach dem gerade laufenden Abspielschritt. Der
+     * Worker kann noch im nativen Aufruf stecken; eine Freigabe auf einem anderen Thread
+     * würde die gerade freigegebenen Events vom laufenden Aufruf neu anlegen lassen.
+     */
+    private void onWorker(Runnable task) {
+        try {
+            wheel.schedule(task, wheel.nanoTime());
+        } catch (IllegalStateException e) {
+            // Wheel bereits gestoppt: kein Worker mehr, der das Backend benutzt
+            task.run();
+        }
+    }
+
     public void shutdown() {
+        Playback current = playback;
         stop();
-        executor.shutdownNow();
+        wheel.shutdown();
+        // Ein Stop-Task, den der Worker nicht mehr ausgeführt hat, wird hier nachgeholt
+        if (current != null) {
+            current.finish(PlaybackReport.Outcome.STOPPED);
+        }
+        backend.releaseResources();
     }
 
-    // Default implementation delegating to native API
-    private static class DefaultMouseActuator implements MouseActuator {
-        @Override
-        public void move(int x, int y) {
-            NativeMacOSAPI.performMouseMove(x, y);
+    private static void append(EventBatch batch, MacroEventCursor cursor) {
+        if (cursor.isClick()) {
+            batch.addClick(cursor.x(), cursor.y(), cursor.clickType());
+        } else {
+            batch.addMove(cursor.x(), cursor.y());
+        }
+    }
+
+    /**
+     * Zustand eines Abspielvorgangs. Läuft auf dem Worker-Thread des Wheels; nur
+     * {@link #finish} wird beim {@link #shutdown()} auch vom aufrufenden Thread aufgerufen.
+     */
+    private final class Playback implements Runnable {
+        private final String name;
+        private final MacroEventCursor cursor;
+        private final long startOffsetMs;
+        private final long playStartNanos;
+        private final TimingWheel.Timeout timeout;
+        private final EventBatch batch = new EventBatch();
+        private final long[] batchDeadlines = new long[Constants.MACRO_PLAYER_MAX_BATCH_EVENTS];
+        private final LatencyHistogram lateness = new LatencyHistogram();
+        private final CompletableFuture<PlaybackReport> result = new CompletableFuture<>();
+        private volatile long lateEvents;
+        private boolean aborted;
+
+        Playback(String name, MacroEventCursor cursor, long playStartNanos) {
+            this.name = name;
+            this.cursor = cursor;
+            this.startOffsetMs = cursor.peekTimestampMs();
+            this.playStartNanos = playStartNanos;
+            this.timeout = wheel.newTimeout(this);
+        }
+
+        /**
+         * @return Deadline des nächsten, noch nicht gespielten Events
+         */
+        long nextDeadline() {
+            return playStartNanos + (cursor.peekTimestampMs() - startOffsetMs) * NANOS_PER_MILLI;
+        }
+
+        /**
+         * Postet den Batch und leert ihn.
+         *
+         * @return false, wenn die Wiedergabe inzwischen gestoppt wurde
+         */
+        private boolean post() {
+            if (!playing || playback != this) {
+                return false;
+            }
+            backend.postBatch(batch);
+            // Erst nach dem Posten messen; ein Stop schliesst den Bericht ohnehin erst nach
+            // diesem Schritt auf dem Worker ab
+            long postedAt = wheel.nanoTime();
+            long late = lateEvents;
+            for (int i = 0; i < batch.size(); i++) {
+                // Der Batch enthält nur fällige Events, die Abweichung ist nie negativ
+                long eventLateness = postedAt - batchDeadlines[i];
+                lateness.record(eventLateness);
+                if (eventLateness >= Constants.MACRO_LATE_THRESHOLD_NANOS) {
+                    late++;
+                }
+            }
+            lateEvents = late;
+            batch.clear();
+            return true;
+        }
+
+        /**
+         * Beendet die Wiedergabe mit einem Bericht. Weitere Aufrufe haben keine Wirkung.
+         */
+        synchronized void finish(PlaybackReport.Outcome outcome) {
+            if (result.isDone()) {
+                return;
+            }
+            cursor.close();
+            PlaybackReport report = PlaybackReport.of(name, outcome, cursor.size(), lateness, lateEvents,
+                    wheel.nanoTime() - playStartNanos);
+            lastReport = report;
+            logger.info("{}", report);
+            result.complete(report);
         }
 
         @Override
-        public void click(int x, int y, ClickType type) {
-            NativeMacOSAPI.performMouseClick(x, y, type);
+        public void run() {
+            // Alle fälligen Events in möglichst wenigen Batches abspielen; künftige Events
+            // warten auf ihre eigene Deadline, statt bis zu einem Quantum zu früh zu kommen
+            long now = wheel.nanoTime();
+            try {
+                batch.clear();
+                long deadline;
+                while (cursor.hasNext() && (deadline = nextDeadline()) - now <= 0) {
+                    cursor.next();
+                    batchDeadlines[batch.size()] = deadline;
+                    append(batch, cursor);
+                    if (batch.size() == Constants.MACRO_PLAYER_MAX_BATCH_EVENTS) {
+                        if (!post()) {
+                            return;
+                        }
+                        now = wheel.nanoTime();
+                    }
+                }
+                if (!batch.isEmpty() && !post()) {
+                    return;
+                }
+            } catch (Exception e) {
+                logger.error("Error during macro playback", e);
+                aborted = true;
+            }
+            if (!playing || playback != this) {
+                return;
+            }
+            if (!aborted && cursor.hasNext()) {
+                wheel.schedule(timeout, nextDeadline());
+                return;
+            }
+            if (playback == this) {
+                playing = false;
+                playback = null;
+                backend.releaseResources();
+                finish(aborted ? PlaybackReport.Outcome.FAILED : PlaybackReport.Outcome.COMPLETED);
+            }
         }
     }
 }
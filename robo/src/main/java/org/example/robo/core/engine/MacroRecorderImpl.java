@@ -2,20 +2,15 @@ package org.example.robo.core.engine;
 
 import org.example.robo.core.profile.ClickType;
 import org.example.robo.core.profile.Macro;
-import org.example.robo.core.profile.MacroEvent;
-import org.example.robo.core.profile.MouseClickEvent;
-import org.example.robo.core.profile.MouseMoveEvent;
 import org.example.robo.util.MousePosition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Ein einfacher Recorder, der MouseMove und MouseClick Events sammelt.
- * Diese MVP-Variante nutzt aktive Abfrage der Maus-Position und externe Hooks
- * für Klick-Events (Start/Stop) - in einer realen Implementierung würde ein globaler
+ * Diese MVP-Variante abonniert während der Aufnahme den gemeinsamen
+ * {@link CursorPositionSampler} für die Maus-Position und nutzt externe Hooks für
+ * Klick-Events (Start/Stop) - in einer realen Implementierung würde ein globaler
  * Hook die Events pushen.
  */
 public class MacroRecorderImpl implements MacroRecorder {
@@ -24,10 +19,27 @@ public class MacroRecorderImpl implements MacroRecorder {
     private volatile boolean recording = false;
     private Macro currentMacro;
     private long recordingStartMs;
-    private final ClickEngine clickEngine;
+    private boolean hasSampledPosition;
+    private long lastSampledPosition;
+    private final CursorPositionSampler sampler;
+    private final CursorPositionListener cursorListener = (x, y) -> recordSampledPosition(ClickPlan.pack(x, y));
+
+    public MacroRecorderImpl() {
+        this(InputBackends.getDefault());
+    }
 
-    public MacroRecorderImpl(ClickEngine clickEngine) {
-        this.clickEngine = clickEngine;
+    public MacroRecorderImpl(InputBackend backend) {
+        this(new CursorPositionSampler(backend));
+    }
+
+    /**
+     * @param sampler gemeinsamer Sampler, der während der Aufnahme abonniert wird
+     */
+    public MacroRecorderImpl(CursorPositionSampler sampler) {
+        if (sampler == null) {
+            throw new IllegalArgumentException("Sampler cannot be null");
+        }
+        this.sampler = sampler;
     }
 
     @Override
@@ -37,9 +49,10 @@ public class MacroRecorderImpl implements MacroRecorder {
             return;
         }
         this.currentMacro = new Macro(macroId, name);
-        this.currentMacro.setEvents(new ArrayList<>());
         this.recordingStartMs = System.currentTimeMillis();
+        this.hasSampledPosition = false;
         this.recording = true;
+        sampler.subscribe(cursorListener);
         logger.info("Started recording macro {} ({})", name, macroId);
     }
 
@@ -50,7 +63,9 @@ public class MacroRecorderImpl implements MacroRecorder {
             return;
         }
         this.recording = false;
-        logger.info("Stopped recording macro {} ({} events)", currentMacro.getName(), currentMacro.getEvents().size());
+        sampler.unsubscribe(cursorListener);
+        currentMacro.getEventStore().trimToSize();
+        logger.info("Stopped recording macro {} ({} events)", currentMacro.getName(), currentMacro.getEventStore().size());
     }
 
     @Override
@@ -67,15 +82,32 @@ public class MacroRecorderImpl implements MacroRecorder {
     public synchronized void recordMouseMove(MousePosition position) {
         if (!recording) return;
         long ts = System.currentTimeMillis() - recordingStartMs;
-        MouseMoveEvent ev = new MouseMoveEvent(ts, position);
-        currentMacro.getEvents().add(ev);
+        currentMacro.getEventStore().appendMove(ts, position.getX(), position.getY());
+    }
+
+    /**
+     * Fragt die Mausposition sofort über den Sampler ab und nimmt sie als Bewegung auf,
+     * sofern sie sich seit der letzten Abfrage verändert hat.
+     */
+    public void recordCurrentMousePosition() {
+        if (!recording) return;
+        recordSampledPosition(sampler.sampleNow());
+    }
+
+    private synchronized void recordSampledPosition(long packed) {
+        if (!recording || (hasSampledPosition && packed == lastSampledPosition)) {
+            return;
+        }
+        hasSampledPosition = true;
+        lastSampledPosition = packed;
+        long ts = System.currentTimeMillis() - recordingStartMs;
+        currentMacro.getEventStore().appendMove(ts, ClickPlan.unpackX(packed), ClickPlan.unpackY(packed));
     }
 
     public synchronized void recordMouseClick(MousePosition position, ClickType clickType) {
         if (!recording) return;
         long ts = System.currentTimeMillis() - recordingStartMs;
-        MouseClickEvent ev = new MouseClickEvent(ts, position, clickType);
-        currentMacro.getEvents().add(ev);
+        currentMacro.getEventStore().appendClick(ts, position.getX(), position.getY(), clickType);
     }
 }
 
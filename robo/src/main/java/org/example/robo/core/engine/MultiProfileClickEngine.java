@@ -0,0 +1,385 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.util.ListenerRegistry;
+import org.example.robo.util.MousePosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Click Engine für mehrere gleichzeitig laufende Profile.
+ * <p>
+ * Alle Profile werden auf einem einzigen Scheduler-Thread gemultiplext: ein
+ * Min-Heap ordnet die Profile nach der Deadline ihres nächsten Klicks, der Thread
+ * wartet jeweils nur auf die früheste Deadline. Die Anzahl Threads wächst daher
+ * nicht mit der Anzahl Klick-Ziele.
+ * <p>
+ * Start/Stop-Aufrufe von anderen Threads werden als Kommandos in eine Queue
+ * gestellt und vom Scheduler-Thread ausgeführt; der Heap selbst wird nur vom
+ * Scheduler-Thread berührt.
+ */
+public class MultiProfileClickEngine {
+    private static final Logger logger = LoggerFactory.getLogger(MultiProfileClickEngine.class);
+
+    private final InputBackend backend;
+    private final PrecisionWaiter waiter;
+    private final NanoClock clock;
+    private final ListenerRegistry<ClickEngineListener> listeners;
+    private final Queue<Runnable> commands;
+    private final Map<String, ProfileSlot> slots;
+    private final PriorityQueue<ProfileSlot> schedule;
+    private final Thread schedulerThread;
+
+    private volatile boolean shutdown = false;
+    private long sequence = 0;
+
+    /**
+     * Erstellt eine Multi-Profil Engine mit dem Standard-Backend.
+     */
+    public MultiProfileClickEngine() {
+        this(InputBackends.getDefault(), new PrecisionWaiter());
+    }
+
+    /**
+     * Erstellt eine Multi-Profil Engine.
+     *
+     * @param backend Input-Backend für die Klicks aller Profile
+     * @param waiter Waiter für das Warten auf Deadlines
+     */
+    public MultiProfileClickEngine(InputBackend backend, PrecisionWaiter waiter) {
+        if (backend == null || waiter == null) {
+            throw new IllegalArgumentException("Backend and waiter cannot be null");
+        }
+        this.backend = backend;
+        this.waiter = waiter;
+        this.clock = waiter.getClock();
+        this.listeners = new ListenerRegistry<>(ClickEngineListener[]::new);
+        this.commands = new ConcurrentLinkedQueue<>();
+        this.slots = new ConcurrentHashMap<>();
+        this.schedule = new PriorityQueue<>(Comparator
+                .comparingLong((ProfileSlot s) -> s.nextDeadline)
+                .thenComparingLong(s -> s.order));
+        this.schedulerThread = new Thread(this::runScheduler, "MultiProfileClickEngineThread");
+        this.schedulerThread.setDaemon(true);
+        this.schedulerThread.start();
+        logger.info("MultiProfileClickEngine initialized");
+    }
+
+    /**
+     * Startet ein Profil. Läuft das Profil bereits, wird nichts verändert.
+     *
+     * @param profile zu startendes Profil
+     */
+    public void startProfile(ClickProfile profile) {
+        if (profile == null) {
+            logger.error("Profile cannot be null");
+            notifyListeners(listener -> listener.onError("Profile cannot be null"));
+            return;
+        }
+        if (shutdown) {
+            logger.warn("Engine is shut down, cannot start profile {}", profile.getName());
+            return;
+        }
+
+        ProfileSlot slot = new ProfileSlot(profile, DeadlineTicker.forFrequency(waiter, profile.getClickFrequency()));
+        ProfileSlot existing = slots.putIfAbsent(profile.getId(), slot);
+        if (existing != null) {
+            if (existing.active) {
+                logger.warn("Profile {} already running", profile.getName());
+                notifyListeners(listener -> listener.onError("Profile already running: " + profile.getName()));
+                return;
+            }
+            slots.put(profile.getId(), slot);
+        }
+        slot.active = true;
+
+        logger.info("Starting profile: {} (freq: {} Hz)", profile.getName(), profile.getClickFrequency());
+        submit(() -> {
+            boolean wasIdle = schedule.isEmpty();
+            slot.ticker.start(clock.nanoTime());
+            slot.nextDeadline = slot.ticker.nextDeadline();
+            slot.order = sequence++;
+            schedule.add(slot);
+            if (wasIdle) {
+                notifyListeners(ClickEngineListener::onEngineStarted);
+            }
+        });
+    }
+
+    /**
+     * Stoppt ein laufendes Profil. Der Klick-Zähler bleibt bis zum nächsten Start lesbar.
+     *
+     * @param profileId ID des Profils
+     */
+    public void stopProfile(String profileId) {
+        ProfileSlot slot = profileId != null ? slots.get(profileId) : null;
+        if (slot == null || !slot.active) {
+            logger.debug("Profile {} not running", profileId);
+            return;
+        }
+        slot.active = false;
+        submit(() -> deschedule(slot));
+    }
+
+    /**
+     * Stoppt alle laufenden Profile.
+     */
+    public void stopAll() {
+        for (ProfileSlot slot : slots.values()) {
+            if (slot.active) {
+                stopProfile(slot.profile.getId());
+            }
+        }
+    }
+
+    /**
+     * Prüft, ob ein Profil aktuell läuft.
+     *
+     * @param profileId ID des Profils
+     * @return true wenn aktiv
+     */
+    public boolean isProfileRunning(String profileId) {
+        ProfileSlot slot = profileId != null ? slots.get(profileId) : null;
+        return slot != null && slot.active;
+    }
+
+    /**
+     * Prüft, ob mindestens ein Profil läuft.
+     *
+     * @return true wenn aktiv
+     */
+    public boolean isRunning() {
+        return getActiveProfileCount() > 0;
+    }
+
+    /**
+     * Gibt die Anzahl Klicks eines Profils seit dessen letztem Start zurück.
+     *
+     * @param profileId ID des Profils
+     * @return Anzahl Klicks (0 wenn unbekannt)
+     */
+    public long getClickCount(String profileId) {
+        ProfileSlot slot = profileId != null ? slots.get(profileId) : null;
+        return slot != null ? slot.clicks : 0;
+    }
+
+    /**
+     * Gibt die grösste Verspätung eines Profils seit dessen letztem Start zurück.
+     *
+     * @param profileId ID des Profils
+     * @return maximale Verspätung in Nanosekunden (0 wenn unbekannt)
+     */
+    public long getMaxLatenessNanos(String profileId) {
+        ProfileSlot slot = profileId != null ? slots.get(profileId) : null;
+        return slot != null ? slot.maxLatenessNanos : 0;
+    }
+
+    /**
+     * Gibt die Anzahl aktiver Profile zurück.
+     *
+     * @return Anzahl aktiver Profile
+     */
+    public int getActiveProfileCount() {
+        int count = 0;
+        for (ProfileSlot slot : slots.values()) {
+            if (slot.active) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gibt die IDs aller aktiven Profile zurück.
+     *
+     * @return IDs der aktiven Profile
+     */
+    public Set<String> getActiveProfileIds() {
+        Set<String> ids = new HashSet<>();
+        for (ProfileSlot slot : slots.values()) {
+            if (slot.active) {
+                ids.add(slot.profile.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Registriert einen Listener. onEngineStarted/onEngineStopped werden beim
+     * ersten gestarteten bzw. letzten gestoppten Profil gemeldet.
+     *
+     * @param listener der zu registrierende Listener
+     */
+    public void addClickEngineListener(ClickEngineListener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+            logger.debug("Listener added: {}", listener.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Entfernt einen registrierten Listener.
+     *
+     * @param listener der zu entfernende Listener
+     */
+    public void removeClickEngineListener(ClickEngineListener listener) {
+        if (listener != null) {
+            listeners.remove(listener);
+            logger.debug("Listener removed: {}", listener.getClass().getSimpleName());
+        }
+    }
+
+    private void submit(Runnable command) {
+        commands.add(command);
+        LockSupport.unpark(schedulerThread);
+    }
+
+    /**
+     * Scheduler-Loop: führt Kommandos aus und klickt das Profil mit der frühesten Deadline.
+     */
+    private void runScheduler() {
+        long spinThreshold = waiter.getSpinThresholdNanos();
+        try {
+            while (!shutdown) {
+                runCommands();
+
+                ProfileSlot head = schedule.peek();
+                if (head == null) {
+                    // Nichts geplant: bis zum nächsten Kommando schlafen
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                long remaining = head.nextDeadline - clock.nanoTime();
+                if (remaining > spinThreshold) {
+                    // Grob parken; ein neues Kommando weckt den Thread vorzeitig
+                    clock.parkNanos(remaining - spinThreshold);
+                    continue;
+                }
+
+                long lateness = waiter.awaitDeadline(head.nextDeadline);
+                schedule.poll();
+                if (head.active) {
+                    // Ein gleichzeitiges stopProfile() darf keinen weiteren Klick mehr auslösen
+                    fire(head, lateness);
+                }
+                if (head.active) {
+                    head.nextDeadline = head.ticker.nextDeadline();
+                    schedule.add(head);
+                } else if (schedule.isEmpty()) {
+                    backend.releaseResources();
+                    notifyListeners(ClickEngineListener::onEngineStopped);
+                }
+            }
+        } catch (InterruptedException e) {
+            logger.debug("Scheduler thread interrupted");
+        }
+        logger.info("MultiProfileClickEngine scheduler stopped");
+    }
+
+    private void runCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            try {
+                command.run();
+            } catch (Exception e) {
+                logger.error("Error executing engine command", e);
+            }
+        }
+    }
+
+    private void fire(ProfileSlot slot, long lateness) {
+        ClickProfile profile = slot.profile;
+        slot.ticker.advance(lateness);
+        if (lateness > slot.maxLatenessNanos) {
+            slot.maxLatenessNanos = lateness;
+        }
+        try {
+            MousePosition position = profile.getPosition();
+            backend.click(position.getX(), position.getY(), profile.getClickType());
+            slot.clicks++;
+            notifyListeners(listener -> listener.onClickExecuted(position));
+        } catch (Exception e) {
+            logger.error("Error executing click for profile {}", profile.getName(), e);
+            slot.active = false;
+            notifyListeners(listener -> listener.onError("Click execution failed: " + e.getMessage()));
+            return;
+        }
+
+        if (profile.getNumberOfClicks() > 0 && slot.clicks >= profile.getNumberOfClicks()) {
+            logger.info("Profile {} finished after {} clicks", profile.getName(), slot.clicks);
+            slot.active = false;
+        }
+    }
+
+    private void deschedule(ProfileSlot slot) {
+        if (schedule.remove(slot)) {
+            logger.info("Profile {} stopped. Total clicks executed: {}", slot.profile.getName(), slot.clicks);
+            if (schedule.isEmpty()) {
+                backend.releaseResources();
+                notifyListeners(ClickEngineListener::onEngineStopped);
+            }
+        }
+    }
+
+    private void notifyListeners(ListenerAction action) {
+        for (ClickEngineListener listener : listeners.snapshot()) {
+            try {
+                action.execute(listener);
+            } catch (Exception e) {
+                logger.error("Error notifying listener", e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ListenerAction {
+        void execute(ClickEngineListener listener);
+    }
+
+    /**
+     * Stoppt alle Profile und beendet den Scheduler-Thread.
+     */
+    public void shutdown() {
+        stopAll();
+        shutdown = true;
+        schedulerThread.interrupt();
+        try {
+            schedulerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            logger.error("Error shutting down scheduler thread", e);
+            Thread.currentThread().interrupt();
+        }
+        backend.releaseResources();
+        logger.info("MultiProfileClickEngine shutdown complete");
+    }
+
+    /**
+     * Laufzeitzustand eines Profils im Scheduler.
+     */
+    private static class ProfileSlot {
+        private final ClickProfile profile;
+        private final DeadlineTicker ticker;
+        private volatile boolean active;
+        private volatile long clicks;
+        private volatile long maxLatenessNanos;
+        private long nextDeadline;
+        private long order;
+
+        ProfileSlot(ClickProfile profile, DeadlineTicker ticker) {
+            this.profile = profile;
+            this.ticker = ticker;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.robo.core.engine;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Abstraktion über die monotone Uhr und das Parken von Threads.
+ * Erlaubt es, Timing-Logik in Tests mit einer virtuellen Uhr zu prüfen.
+ */
+public interface NanoClock {
+
+    /**
+     * Standard-Uhr auf Basis von {@link System#nanoTime()} und {@link LockSupport#parkNanos(long)}.
+     */
+    NanoClock SYSTEM = new NanoClock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void parkNanos(long nanos) {
+            LockSupport.parkNanos(nanos);
+        }
+    };
+
+    /**
+     * Gibt die aktuelle monotone Zeit in Nanosekunden zurück.
+     *
+     * @return monotone Zeit in Nanosekunden
+     */
+    long nanoTime();
+
+    /**
+     * Parkt den aktuellen Thread für höchstens die angegebene Dauer.
+     * Darf früher zurückkehren (unpark, Interrupt, spurious wakeup).
+     *
+     * @param nanos maximale Parkdauer in Nanosekunden
+     */
+    void parkNanos(long nanos);
+
+    /**
+     * Hinweis an die CPU während aktivem Warten.
+     */
+    default void onSpinWait() {
+        Thread.onSpinWait();
+    }
+}
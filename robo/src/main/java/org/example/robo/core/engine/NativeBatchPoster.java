@@ -0,0 +1,53 @@
+package org.example.robo.core.engine;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
+import org.example.robo.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Direct-Mapping des Shims {@code robo_post_batch} aus {@code src/main/native/robobatch.c}.
+ * <p>
+ * CoreGraphics kennt kein gebündeltes Posten; der Shim setzt für jedes Event Position
+ * und Post in einer Schleife auf der nativen Seite ab. Ein Batch kostet damit einen
+ * einzigen Übergang Java/nativ statt zwei pro Event.
+ * <p>
+ * Die Library heisst {@code robobatch} (im Jar unter {@code darwin/}) und lässt sich
+ * über {@value Constants#NATIVE_BATCH_LIBRARY_PROPERTY} ersetzen. Fehlt sie, meldet
+ * {@link #isAvailable()} false und der Aufrufer postet Event für Event.
+ */
+final class NativeBatchPoster {
+    private static final Logger logger = LoggerFactory.getLogger(NativeBatchPoster.class);
+
+    static final String LIBRARY = System.getProperty(Constants.NATIVE_BATCH_LIBRARY_PROPERTY, "robobatch");
+
+    private static final boolean AVAILABLE = register();
+
+    private NativeBatchPoster() {
+    }
+
+    private static boolean register() {
+        try {
+            Native.register(NativeBatchPoster.class, NativeLibrary.getInstance(LIBRARY));
+            return true;
+        } catch (UnsatisfiedLinkError e) {
+            logger.info("Native batch library {} not available, posting events one by one: {}",
+                    LIBRARY, e.getMessage());
+            return false;
+        }
+    }
+
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Positioniert und postet {@code count} Events am HID Event Tap.
+     *
+     * @param events Event-Referenzen (dieselbe Referenz darf mehrfach vorkommen)
+     * @param locations x/y-Paare, zwei Einträge pro Event
+     * @param count Anzahl Events
+     */
+    static native void robo_post_batch(long[] events, double[] locations, int count);
+}
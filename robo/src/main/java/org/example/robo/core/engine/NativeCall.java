@@ -0,0 +1,24 @@
+package org.example.robo.core.engine;
+
+/**
+ * Arten nativer Aufrufe der Input-Backends, für die {@link NativeCallMetrics}
+ * je ein Latenz-Histogramm führt.
+ */
+public enum NativeCall {
+    /** Event erzeugen ({@code CGEventCreate...}) */
+    CREATE,
+    /** Event positionieren ({@code CGEventSetLocation}) */
+    SET_LOCATION,
+    /** Einzelnes Event posten ({@code CGEventPost}, {@code XTestFake...Event}) */
+    POST,
+    /** Mehrere Events in einem Aufruf posten ({@code robo_post_batch}) */
+    POST_BATCH,
+    /** Event freigeben ({@code CFRelease}) */
+    RELEASE,
+    /** Gepufferte Events an den Server senden ({@code XFlush}) */
+    FLUSH,
+    /** Mausposition abfragen */
+    POSITION_QUERY,
+    /** Berechtigung bzw. Erweiterung abfragen */
+    PERMISSION_QUERY
+}
@@ -0,0 +1,147 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.util.Constants;
+import org.example.robo.util.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Latenz-Histogramme pro Art nativer Aufrufe ({@link NativeCall}) aller Input-Backends.
+ * <p>
+ * Damit lässt sich unterscheiden, ob Jitter beim Klicken aus dem Scheduling der Engine
+ * oder aus dem nativen Aufruf selbst ({@code CGEventPost}, {@code XTestFake...}) kommt.
+ * Die Backends klammern jeden nativen Aufruf mit {@link #start()} und {@link #record}:
+ * <pre>
+ * long start = NativeCallMetrics.start();
+ * CoreGraphicsDirect.CGEventPost(tap, event);
+ * NativeCallMetrics.record(NativeCall.POST, start);
+ * </pre>
+ * Die Messung ist zur Laufzeit schaltbar ({@link #setEnabled}). Ausgeschaltet kostet ein
+ * Aufruf nur das Lesen eines volatile-Felds und einen Vergleich, keine Zeitabfrage.
+ * Beim Start aktiviert sie die System-Property {@value Constants#NATIVE_METRICS_PROPERTY}.
+ */
+public final class NativeCallMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(NativeCallMetrics.class);
+
+    private static final long OFF = Long.MIN_VALUE;
+    private static final NativeCall[] CALLS = NativeCall.values();
+    private static final LatencyHistogram[] HISTOGRAMS = new LatencyHistogram[CALLS.length];
+
+    static {
+        for (int i = 0; i < HISTOGRAMS.length; i++) {
+            HISTOGRAMS[i] = new LatencyHistogram();
+        }
+    }
+
+    private static volatile boolean enabled = Boolean.getBoolean(Constants.NATIVE_METRICS_PROPERTY);
+    private static Thread dumpThread;
+
+    private NativeCallMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Schaltet die Messung ein oder aus. Bisherige Werte bleiben erhalten.
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+        logger.info("Native call metrics {}", value ? "enabled" : "disabled");
+    }
+
+    /**
+     * Beginnt die Messung eines nativen Aufrufs.
+     *
+     * @return Startzeitpunkt für {@link #record}, bzw. ein Marker, wenn die Messung aus ist
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : OFF;
+    }
+
+    /**
+     * Erfasst die Dauer eines nativen Aufrufs seit {@link #start()}.
+     *
+     * @param call Art des Aufrufs
+     * @param start Rückgabewert von {@link #start()}
+     */
+    public static void record(NativeCall call, long start) {
+        if (start != OFF) {
+            HISTOGRAMS[call.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @param call Art des Aufrufs
+     * @return Histogramm dieser Aufrufe (live, nicht kopiert)
+     */
+    public static LatencyHistogram histogram(NativeCall call) {
+        return HISTOGRAMS[call.ordinal()];
+    }
+
+    /**
+     * Setzt alle Histogramme zurück.
+     */
+    public static void reset() {
+        for (LatencyHistogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Aktueller Stand aller Histogramme mit mindestens einem Wert, eine Zeile pro Art.
+     *
+     * @return lesbarer Bericht, leer ohne Werte
+     */
+    public static String dump() {
+        StringBuilder report = new StringBuilder();
+        for (NativeCall call : CALLS) {
+            LatencyHistogram histogram = HISTOGRAMS[call.ordinal()];
+            if (histogram.getCount() > 0) {
+                report.append(String.format("%-16s %s%n", call, histogram));
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Loggt {@link #dump()} periodisch auf einem Daemon-Thread, solange die Messung an ist.
+     * Ein bereits laufender Dump wird ersetzt.
+     *
+     * @param intervalMillis Abstand zweier Ausgaben
+     */
+    public static synchronized void startPeriodicDump(long intervalMillis) {
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("Dump interval must be at least 1 ms: " + intervalMillis);
+        }
+        stopPeriodicDump();
+        dumpThread = new Thread(() -> runDump(intervalMillis), "NativeCallMetricsDump");
+        dumpThread.setDaemon(true);
+        dumpThread.start();
+    }
+
+    /**
+     * Beendet den periodischen Dump.
+     */
+    public static synchronized void stopPeriodicDump() {
+        if (dumpThread != null) {
+            dumpThread.interrupt();
+            dumpThread = null;
+        }
+    }
+
+    private static void runDump(long intervalMillis) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(intervalMillis);
+                String report = dump();
+                if (enabled && !report.isEmpty()) {
+                    logger.info("Native call latencies:{}{}", System.lineSeparator(), report);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickType;
+
+import java.util.Arrays;
+
+/**
+ * Wiederverwendbare CoreGraphics-Events statt Erzeugen/Freigeben pro Klick.
+ * <p>
+ * Pro Event-Typ (Move, Down/Up je Taste, Scroll je Richtung) wird beim ersten
+ * Posten ein Event erzeugt und behalten. Vor jedem weiteren Posten wird es nur mit
+ * {@code CGEventSetLocation} auf die neue Position gesetzt: Ein Klick kostet damit
+ * vier statt sechs native Aufrufe und keine native Allokation mehr.
+ * <p>
+ * Die Events werden erst mit {@link #releaseAll()} freigegeben (Engine gestoppt,
+ * Backend beendet); danach werden sie bei Bedarf neu erzeugt. Ein Event ist
+ * veränderlicher Zustand, daher sind alle Methoden synchronisiert; im Normalfall
+ * postet nur der Klick-Thread und der Monitor bleibt unbestritten.
+ * <p>
+ * Mehrere Events ({@link #postBatch}, {@link #postClicks}) werden zuerst als Paare
+ * aus Event-Referenz und Position gesammelt und dann über {@link NativeBatchPoster}
+ * in einem einzigen nativen Aufruf gepostet. Dieselbe Referenz darf dabei mehrfach
+ * vorkommen, der Shim setzt die Position vor jedem Post neu.
+ * <p>
+ * Jeder native Aufruf wird bei eingeschalteter Messung in {@link NativeCallMetrics} erfasst.
+ * <p>
+ * Ein Cache im Trockenlauf erzeugt und positioniert die Events wie sonst auch, postet
+ * sie aber nicht (Warm-up über die echte Backend-Klasse, siehe {@link InputBackend#dryRun()}).
+ */
+final class NativeEventCache {
+
+    // Event-Typen 0..31 (kCGEventMouseMoved, kCGEventLeftMouseDown, ...); Scroll separat
+    private static final int MOUSE_EVENT_SLOTS = 32;
+
+    private final long[] mouseEvents = new long[MOUSE_EVENT_SLOTS];
+    private final int scrollLines;
+    private final boolean dryRun;
+    private long scrollUp;
+    private long scrollDown;
+
+    // Gesammelte Events eines Batches und einmalige Scroll-Events, die danach freigegeben werden
+    private long[] stagedEvents = new long[32];
+    private double[] stagedLocations = new double[64];
+    private int stagedCount;
+    private long[] oneShotEvents = new long[4];
+    private int oneShotCount;
+
+    private long created;
+    private long released;
+    private long nativeCalls;
+    private long batches;
+
+    /**
+     * @param scrollLines Zeilen der zwischengespeicherten Scroll-Events (je Richtung)
+     */
+    NativeEventCache(int scrollLines) {
+        this(scrollLines, false);
+    }
+
+    /**
+     * @param scrollLines Zeilen der zwischengespeicherten Scroll-Events (je Richtung)
+     * @param dryRun true, wenn Events nicht gepostet werden sollen
+     */
+    NativeEventCache(int scrollLines, boolean dryRun) {
+        this.scrollLines = scrollLines;
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * Postet ein Maus-Event an einer Position.
+     *
+     * @param type CoreGraphics Event-Typ
+     * @param button Maustaste
+     */
+    synchronized void postMouse(int type, int button, double x, double y) {
+        if (type < 0 || type >= MOUSE_EVENT_SLOTS) {
+            throw new IllegalArgumentException("Unsupported mouse event type: " + type);
+        }
+        long event = mouseEvents[type];
+        if (event == 0) {
+            // Neues Event steht bereits an der Position
+            event = mouseEvent(type, button, x, y);
+        } else {
+            setLocation(event, x, y);
+        }
+        post(event);
+    }
+
+    /**
+     * Legt das Event eines Typs an, ohne es zu posten (Warm-up vor dem ersten Klick).
+     *
+     * @param type CoreGraphics Event-Typ
+     * @param button Maustaste
+     */
+    synchronized void prepare(int type, int button) {
+        if (type < 0 || type >= MOUSE_EVENT_SLOTS) {
+            throw new IllegalArgumentException("Unsupported mouse event type: " + type);
+        }
+        mouseEvent(type, button, 0, 0);
+    }
+
+    /**
+     * Postet ein Scroll-Event. Nur ± {@code scrollLines} werden zwischengespeichert,
+     * andere Werte werden einmalig erzeugt und sofort freigegeben.
+     */
+    synchronized void postScroll(int lines, double x, double y) {
+        long event = scrollEvent(lines);
+        setLocation(event, x, y);
+        post(event);
+        releaseOneShots();
+    }
+
+    /**
+     * Postet alle Events eines Batches in einem nativen Aufruf.
+     */
+    synchronized void postBatch(EventBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            int x = batch.getX(i);
+            int y = batch.getY(i);
+            switch (batch.getKind(i)) {
+                case EventBatch.MOVE -> stage(mouseEvent(NativeMacOSAPI.kCGEventMouseMoved, 0, x, y), x, y);
+                case EventBatch.CLICK -> stageClick(batch.getClickType(i), x, y);
+                case EventBatch.SCROLL -> stage(scrollEvent(batch.getScrollLines(i)), x, y);
+                default -> throw new IllegalArgumentException("Unknown event kind: " + batch.getKind(i));
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Postet mehrere gleiche Klicks an derselben Position in einem nativen Aufruf.
+     */
+    synchronized void postClicks(ClickType type, double x, double y, int count) {
+        for (int i = 0; i < count; i++) {
+            stageClick(type, x, y);
+        }
+        flush();
+    }
+
+    private void stageClick(ClickType type, double x, double y) {
+        switch (type) {
+            case LEFT -> {
+                stage(mouseEvent(NativeMacOSAPI.kCGEventLeftMouseDown, NativeMacOSAPI.kCGMouseButtonLeft, x, y), x, y);
+                stage(mouseEvent(NativeMacOSAPI.kCGEventLeftMouseUp, NativeMacOSAPI.kCGMouseButtonLeft, x, y), x, y);
+            }
+            case RIGHT -> {
+                stage(mouseEvent(NativeMacOSAPI.kCGEventRightMouseDown, NativeMacOSAPI.kCGMouseButtonRight, x, y), x, y);
+                stage(mouseEvent(NativeMacOSAPI.kCGEventRightMouseUp, NativeMacOSAPI.kCGMouseButtonRight, x, y), x, y);
+            }
+            case SCROLL_UP -> stage(scrollEvent(scrollLines), x, y);
+            case SCROLL_DOWN -> stage(scrollEvent(-scrollLines), x, y);
+            default -> throw new IllegalArgumentException("Unsupported click type: " + type);
+        }
+    }
+
+    private void stage(long event, double x, double y) {
+        if (stagedCount == stagedEvents.length) {
+            stagedEvents = Arrays.copyOf(stagedEvents, stagedCount * 2);
+            stagedLocations = Arrays.copyOf(stagedLocations, stagedCount * 4);
+        }
+        stagedEvents[stagedCount] = event;
+        stagedLocations[2 * stagedCount] = x;
+        stagedLocations[2 * stagedCount + 1] = y;
+        stagedCount++;
+    }
+
+    /**
+     * Postet die gesammelten Events: ab zwei Events über den Shim, sonst (oder ohne
+     * Shim) einzeln mit Positionieren und Posten.
+     */
+    private void flush() {
+        try {
+            if (stagedCount > 1 && !dryRun && NativeBatchPoster.isAvailable()) {
+                long start = NativeCallMetrics.start();
+                NativeBatchPoster.robo_post_batch(stagedEvents, stagedLocations, stagedCount);
+                NativeCallMetrics.record(NativeCall.POST_BATCH, start);
+                nativeCalls++;
+                batches++;
+            } else {
+                for (int i = 0; i < stagedCount; i++) {
+                    setLocation(stagedEvents[i], stagedLocations[2 * i], stagedLocations[2 * i + 1]);
+                    post(stagedEvents[i]);
+                }
+            }
+        } finally {
+            stagedCount = 0;
+            releaseOneShots();
+        }
+    }
+
+    private long mouseEvent(int type, int button, double x, double y) {
+        long event = mouseEvents[type];
+        if (event == 0) {
+            long start = NativeCallMetrics.start();
+            event = CoreGraphicsDirect.CGEventCreateMouseEvent(0, type, x, y, button);
+            NativeCallMetrics.record(NativeCall.CREATE, start);
+            mouseEvents[type] = event;
+            created++;
+            nativeCalls++;
+        }
+        return event;
+    }
+
+    /**
+     * Scroll-Event für eine Zeilenzahl. Nur ± {@code scrollLines} werden behalten,
+     * andere Werte werden bis zum nächsten {@link #releaseOneShots()} vorgemerkt.
+     */
+    private long scrollEvent(int lines) {
+        if (lines == scrollLines) {
+            if (scrollUp == 0) {
+                scrollUp = createScroll(lines);
+            }
+            return scrollUp;
+        }
+        if (lines == -scrollLines) {
+            if (scrollDown == 0) {
+                scrollDown = createScroll(lines);
+            }
+            return scrollDown;
+        }
+        long event = createScroll(lines);
+        if (oneShotCount == oneShotEvents.length) {
+            oneShotEvents = Arrays.copyOf(oneShotEvents, oneShotCount * 2);
+        }
+        oneShotEvents[oneShotCount++] = event;
+        return event;
+    }
+
+    private void releaseOneShots() {
+        for (int i = 0; i < oneShotCount; i++) {
+            release(oneShotEvents[i]);
+        }
+        oneShotCount = 0;
+    }
+
+    /**
+     * Gibt alle zwischengespeicherten Events frei. Der Cache bleibt benutzbar.
+     */
+    synchronized void releaseAll() {
+        for (int i = 0; i < MOUSE_EVENT_SLOTS; i++) {
+            if (mouseEvents[i] != 0) {
+                release(mouseEvents[i]);
+                mouseEvents[i] = 0;
+            }
+        }
+        if (scrollUp != 0) {
+            release(scrollUp);
+            scrollUp = 0;
+        }
+        if (scrollDown != 0) {
+            release(scrollDown);
+            scrollDown = 0;
+        }
+    }
+
+    /**
+     * Anzahl der aktuell gehaltenen Events.
+     */
+    synchronized int size() {
+        int size = (scrollUp != 0 ? 1 : 0) + (scrollDown != 0 ? 1 : 0);
+        for (long event : mouseEvents) {
+            if (event != 0) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    synchronized long getCreatedCount() {
+        return created;
+    }
+
+    synchronized long getReleasedCount() {
+        return released;
+    }
+
+    /**
+     * Anzahl der über den Shim geposteten Batches.
+     */
+    synchronized long getBatchCount() {
+        return batches;
+    }
+
+    /**
+     * Anzahl aller nativen Aufrufe (Erzeugen, Positionieren, Posten, Freigeben).
+     */
+    synchronized long getNativeCallCount() {
+        return nativeCalls;
+    }
+
+    private long createScroll(int lines) {
+        // Nicht-variadische Variante, über JNA auch auf arm64 sicher aufrufbar
+        created++;
+        nativeCalls++;
+        long start = NativeCallMetrics.start();
+        long event = CoreGraphicsDirect.CGEventCreateScrollWheelEvent2(0, NativeMacOSAPI.kCGScrollEventUnitLine, 1, lines, 0, 0);
+        NativeCallMetrics.record(NativeCall.CREATE, start);
+        return event;
+    }
+
+    private void setLocation(long event, double x, double y) {
+        long start = NativeCallMetrics.start();
+        CoreGraphicsDirect.CGEventSetLocation(event, x, y);
+        NativeCallMetrics.record(NativeCall.SET_LOCATION, start);
+        nativeCalls++;
+    }
+
+    private void post(long event) {
+        if (dryRun) {
+            return;
+        }
+        long start = NativeCallMetrics.start();
+        CoreGraphicsDirect.CGEventPost(NativeMacOSAPI.kCGHIDEventTap, event);
+        NativeCallMetrics.record(NativeCall.POST, start);
+        nativeCalls++;
+    }
+
+    private void release(long event) {
+        long start = NativeCallMetrics.start();
+        CoreGraphicsDirect.CFRelease(event);
+        NativeCallMetrics.record(NativeCall.RELEASE, start);
+        released++;
+        nativeCalls++;
+    }
+}
@@ -11,25 +11,42 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Wrapper für macOS CoreGraphics Native APIs.
  * Ermöglicht die Kontrolle von Mausklicks über JNA.
+ * <p>
+ * Erzeugen, Posten und Freigeben von Events laufen über die direkt gemappten
+ * Bindings in {@link CoreGraphicsDirect}; nur die seltene Positionsabfrage nutzt
+ * das Interface-Mapping, weil sie einen {@code CGPoint} per Wert zurückgibt.
+ * Events werden im {@link NativeEventCache} wiederverwendet, bis
+ * {@link #releaseCachedEvents()} sie freigibt; mehrere Events auf einmal gehen
+ * über {@link NativeBatchPoster} in einem einzigen nativen Aufruf.
  */
 public class NativeMacOSAPI {
     private static final Logger logger = LoggerFactory.getLogger(NativeMacOSAPI.class);
 
-    // CoreGraphics Event Types
-    private static final int kCGEventLeftMouseDown = 1;
-    private static final int kCGEventLeftMouseUp = 2;
-    private static final int kCGEventRightMouseDown = 3;
-    private static final int kCGEventRightMouseUp = 4;
-    private static final int kCGEventMouseMoved = 5;
-    private static final int kCGEventScrollWheel = 22;
+    // CoreGraphics Event Types (package-sichtbar für ClickPlan)
+    static final int kCGEventLeftMouseDown = 1;
+    static final int kCGEventLeftMouseUp = 2;
+    static final int kCGEventRightMouseDown = 3;
+    static final int kCGEventRightMouseUp = 4;
+    static final int kCGEventMouseMoved = 5;
+    static final int kCGEventScrollWheel = 22;
+
+    // Event Tap für CGEventPost
+    static final int kCGHIDEventTap = 0;
+
+    // Scroll-Einheiten für CGEventCreateScrollWheelEvent2
+    static final int kCGScrollEventUnitLine = 1;
+
+    // Zeilen pro Scroll-Klick (SCROLL_UP / SCROLL_DOWN)
+    static final int SCROLL_LINES_PER_CLICK = 5;
 
     // Mouse Button
-    private static final int kCGMouseButtonLeft = 0;
-    private static final int kCGMouseButtonRight = 1;
+    static final int kCGMouseButtonLeft = 0;
+    static final int kCGMouseButtonRight = 1;
 
     /**
      * JNA Structure für CGPoint (x, y double-Koordinaten)
@@ -50,18 +67,25 @@ public class NativeMacOSAPI {
         protected List<String> getFieldOrder() {
             return Arrays.asList("x", "y");
         }
+
+        /**
+         * CGPoint als Wertparameter (CoreGraphics erwartet CGPoint by value).
+         */
+        public static class ByValue extends CGPoint implements Structure.ByValue {
+        }
     }
 
+    private static final NativeEventCache EVENTS = new NativeEventCache(SCROLL_LINES_PER_CLICK);
+    private static final NativeEventCache DRY_RUN_EVENTS = new NativeEventCache(SCROLL_LINES_PER_CLICK, true);
+
     /**
-     * JNA Interface für CoreGraphics
+     * JNA Interface für CoreGraphics (nur Positionsabfrage)
      */
     private interface CoreGraphics extends Library {
-        CoreGraphics INSTANCE = Native.load("CoreGraphics", CoreGraphics.class);
+        CoreGraphics INSTANCE = Native.load(CoreGraphicsDirect.LIBRARY, CoreGraphics.class);
 
         Pointer CGEventCreate(Pointer source);
-        Pointer CGEventCreateMouseEvent(Pointer source, int type, CGPoint location, int button);
-        void CGEventPost(int tap, Pointer event);
-        CGPoint CGEventGetLocation(Pointer event);
+        CGPoint.ByValue CGEventGetLocation(Pointer event);
         void CFRelease(Pointer cf);
     }
 
@@ -73,26 +97,104 @@ public class NativeMacOSAPI {
      * @param clickType Typ des Klicks (LEFT, RIGHT, etc.)
      */
     public static void performMouseClick(int x, int y, ClickType clickType) {
+        performMouseClick(EVENTS, x, y, clickType);
+    }
+
+    static void performMouseClick(NativeEventCache events, int x, int y, ClickType clickType) {
         try {
-            logger.debug("Performing {} click at position ({}, {})", clickType, x, y);
+            if (logger.isTraceEnabled()) {
+                logger.trace("Performing {} click at position ({}, {})", clickType, x, y);
+            }
+
+            performClick(events, x, y, clickType);
+        } catch (Exception e) {
+            logger.error("Error performing mouse click", e);
+            throw new RuntimeException("Failed to perform mouse click", e);
+        }
+    }
 
-            CGPoint location = new CGPoint(x, y);
+    /**
+     * Führt einen Klick nach einem kompilierten Plan aus. Die Event-Typen sind bereits
+     * aufgelöst, es gibt keine Fallunterscheidung mehr pro Klick.
+     *
+     * @param plan kompilierter Klick-Plan
+     * @param x X-Koordinate (Position des Plans oder durch Jitter verschoben)
+     * @param y Y-Koordinate
+     */
+    public static void performMouseClick(ClickPlan plan, int x, int y) {
+        performMouseClick(EVENTS, plan, x, y);
+    }
 
-            switch (clickType) {
-                case LEFT -> performLeftClick(location);
-                case RIGHT -> performRightClick(location);
-                case SCROLL_UP -> performScroll(location, 5);
-                case SCROLL_DOWN -> performScroll(location, -5);
-                default -> throw new IllegalArgumentException("Unsupported click type: " + clickType);
+    static void performMouseClick(NativeEventCache events, ClickPlan plan, int x, int y) {
+        try {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Performing click from {} at ({}, {})", plan, x, y);
             }
-
-            logger.debug("Click executed successfully");
+            if (plan.getUpEventType() == ClickPlan.NO_EVENT) {
+                events.postScroll(plan.getClickType() == ClickType.SCROLL_UP
+                        ? SCROLL_LINES_PER_CLICK : -SCROLL_LINES_PER_CLICK, x, y);
+                return;
+            }
+            events.postMouse(plan.getDownEventType(), plan.getMouseButton(), x, y);
+            events.postMouse(plan.getUpEventType(), plan.getMouseButton(), x, y);
         } catch (Exception e) {
             logger.error("Error performing mouse click", e);
             throw new RuntimeException("Failed to perform mouse click", e);
         }
     }
 
+    /**
+     * Führt mehrere Klicks an derselben Position in einem Aufruf aus.
+     * Es wird nur einmal geloggt, damit der Burst-Modus nicht pro Event Overhead erzeugt,
+     * und die Events gehen gebündelt über einen einzigen nativen Aufruf.
+     *
+     * @param x X-Koordinate
+     * @param y Y-Koordinate
+     * @param clickType Typ des Klicks
+     * @param count Anzahl Klicks
+     */
+    public static void performMouseClicks(int x, int y, ClickType clickType, int count) {
+        performMouseClicks(EVENTS, x, y, clickType, count);
+    }
+
+    static void performMouseClicks(NativeEventCache events, int x, int y, ClickType clickType, int count) {
+        try {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Performing {} {} clicks at position ({}, {})", count, clickType, x, y);
+            }
+
+            if (count > 0) {
+                events.postClicks(clickType, x, y, count);
+            }
+        } catch (Exception e) {
+            logger.error("Error performing mouse click batch", e);
+            throw new RuntimeException("Failed to perform mouse click batch", e);
+        }
+    }
+
+    /**
+     * Postet alle Events eines Batches in einem nativen Aufruf.
+     *
+     * @param batch Events in Ausführungsreihenfolge
+     */
+    public static void performBatch(EventBatch batch) {
+        performBatch(EVENTS, batch);
+    }
+
+    static void performBatch(NativeEventCache events, EventBatch batch) {
+        try {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Posting batch of {} events", batch.size());
+            }
+            if (!batch.isEmpty()) {
+                events.postBatch(batch);
+            }
+        } catch (Exception e) {
+            logger.error("Error posting event batch", e);
+            throw new RuntimeException("Failed to post event batch", e);
+        }
+    }
+
     /**
      * Führt eine reine Mausbewegung aus (ohne Klick).
      *
@@ -100,40 +202,100 @@ public class NativeMacOSAPI {
      * @param y Y-Koordinate
      */
     public static void performMouseMove(int x, int y) {
+        performMouseMove(EVENTS, x, y);
+    }
+
+    static void performMouseMove(NativeEventCache events, int x, int y) {
         try {
-            logger.debug("Moving mouse to ({}, {})", x, y);
-            CGPoint location = new CGPoint(x, y);
-            Pointer move = CoreGraphics.INSTANCE.CGEventCreateMouseEvent(null, kCGEventMouseMoved, location, 0);
-            CoreGraphics.INSTANCE.CGEventPost(0, move);
-            CoreGraphics.INSTANCE.CFRelease(move);
+            if (logger.isTraceEnabled()) {
+                logger.trace("Moving mouse to ({}, {})", x, y);
+            }
+            events.postMouse(kCGEventMouseMoved, 0, x, y);
         } catch (Exception e) {
             logger.error("Error moving mouse", e);
             throw new RuntimeException("Failed to move mouse", e);
         }
     }
 
-    private static void performLeftClick(CGPoint location) {
-        Pointer mouseDown = CoreGraphics.INSTANCE.CGEventCreateMouseEvent(null, kCGEventLeftMouseDown, location, kCGMouseButtonLeft);
-        Pointer mouseUp = CoreGraphics.INSTANCE.CGEventCreateMouseEvent(null, kCGEventLeftMouseUp, location, kCGMouseButtonLeft);
-        CoreGraphics.INSTANCE.CGEventPost(0, mouseDown);
-        CoreGraphics.INSTANCE.CGEventPost(0, mouseUp);
-        CoreGraphics.INSTANCE.CFRelease(mouseDown);
-        CoreGraphics.INSTANCE.CFRelease(mouseUp);
+    /**
+     * Scrollt an einer Position um eine Anzahl Zeilen.
+     *
+     * @param x X-Koordinate
+     * @param y Y-Koordinate
+     * @param lines Zeilen (positiv = nach oben, negativ = nach unten)
+     */
+    public static void performScroll(int x, int y, int lines) {
+        performScroll(EVENTS, x, y, lines);
     }
 
-    private static void performRightClick(CGPoint location) {
-        Pointer mouseDown = CoreGraphics.INSTANCE.CGEventCreateMouseEvent(null, kCGEventRightMouseDown, location, kCGMouseButtonRight);
-        Pointer mouseUp = CoreGraphics.INSTANCE.CGEventCreateMouseEvent(null, kCGEventRightMouseUp, location, kCGMouseButtonRight);
-        CoreGraphics.INSTANCE.CGEventPost(0, mouseDown);
-        CoreGraphics.INSTANCE.CGEventPost(0, mouseUp);
-        CoreGraphics.INSTANCE.CFRelease(mouseDown);
-        CoreGraphics.INSTANCE.CFRelease(mouseUp);
+    static void performScroll(NativeEventCache events, int x, int y, int lines) {
+        try {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Scrolling {} lines at position ({}, {})", lines, x, y);
+            }
+            events.postScroll(lines, x, y);
+        } catch (Exception e) {
+            logger.error("Error scrolling", e);
+            throw new RuntimeException("Failed to scroll", e);
+        }
     }
 
-    private static void performScroll(CGPoint location, int direction) {
-        Pointer scrollEvent = CoreGraphics.INSTANCE.CGEventCreateMouseEvent(null, kCGEventScrollWheel, location, 0);
-        CoreGraphics.INSTANCE.CGEventPost(0, scrollEvent);
-        CoreGraphics.INSTANCE.CFRelease(scrollEvent);
+    private static void performClick(NativeEventCache events, int x, int y, ClickType clickType) {
+        switch (clickType) {
+            case LEFT -> {
+                events.postMouse(kCGEventLeftMouseDown, kCGMouseButtonLeft, x, y);
+                events.postMouse(kCGEventLeftMouseUp, kCGMouseButtonLeft, x, y);
+            }
+            case RIGHT -> {
+                events.postMouse(kCGEventRightMouseDown, kCGMouseButtonRight, x, y);
+                events.postMouse(kCGEventRightMouseUp, kCGMouseButtonRight, x, y);
+            }
+            case SCROLL_UP -> events.postScroll(SCROLL_LINES_PER_CLICK, x, y);
+            case SCROLL_DOWN -> events.postScroll(-SCROLL_LINES_PER_CLICK, x, y);
+            default -> throw new IllegalArgumentException("Unsupported click type: " + clickType);
+        }
+    }
+
+    /**
+     * Gibt die wiederverwendeten Events frei (Engine gestoppt, Backend beendet).
+     * Weitere Aufrufe erzeugen sie bei Bedarf neu.
+     */
+    public static void releaseCachedEvents() {
+        releaseCachedEvents(EVENTS);
+    }
+
+    static void releaseCachedEvents(NativeEventCache events) {
+        try {
+            events.releaseAll();
+        } catch (Exception e) {
+            logger.error("Error releasing cached events", e);
+        }
+    }
+
+    /**
+     * Lädt und bindet die nativen Bibliotheken und legt die Events für Linksklick und
+     * Bewegung an, damit der erste Klick weder Library-Laden noch Allokation bezahlt.
+     *
+     * @throws UnsatisfiedLinkError wenn CoreGraphics nicht geladen werden kann
+     */
+    public static void preload() {
+        CoreGraphicsDirect.link();
+        NativeBatchPoster.isAvailable();
+        Objects.requireNonNull(CoreGraphics.INSTANCE);
+        EVENTS.prepare(kCGEventLeftMouseDown, kCGMouseButtonLeft);
+        EVENTS.prepare(kCGEventLeftMouseUp, kCGMouseButtonLeft);
+        EVENTS.prepare(kCGEventMouseMoved, 0);
+    }
+
+    static NativeEventCache eventCache() {
+        return EVENTS;
+    }
+
+    /**
+     * Cache im Trockenlauf: gleicher Pfad wie {@link #eventCache()}, aber ohne Posten.
+     */
+    static NativeEventCache dryRunEventCache() {
+        return DRY_RUN_EVENTS;
     }
 
     /**
@@ -143,9 +305,11 @@ public class NativeMacOSAPI {
      */
     public static MousePosition getCurrentMousePosition() {
         try {
+            long start = NativeCallMetrics.start();
             Pointer event = CoreGraphics.INSTANCE.CGEventCreate(null);
             CGPoint location = CoreGraphics.INSTANCE.CGEventGetLocation(event);
             CoreGraphics.INSTANCE.CFRelease(event);
+            NativeCallMetrics.record(NativeCall.POSITION_QUERY, start);
             return new MousePosition((int) location.x, (int) location.y);
         } catch (Exception e) {
             logger.error("Error getting current mouse position", e);
@@ -153,11 +317,28 @@ public class NativeMacOSAPI {
         }
     }
 
+    /**
+     * Prüft ohne Seiteneffekte, ob der Prozess Eingaben posten darf (Bedienungshilfen).
+     *
+     * @return true, wenn die Berechtigung erteilt ist
+     * @throws UnsatisfiedLinkError wenn ApplicationServices nicht geladen werden kann
+     */
+    public static boolean isProcessTrusted() {
+        long start = NativeCallMetrics.start();
+        boolean trusted = AccessibilityDirect.AXIsProcessTrusted() != 0;
+        NativeCallMetrics.record(NativeCall.PERMISSION_QUERY, start);
+        return trusted;
+    }
+
+    /**
+     * Wie {@link #isProcessTrusted()}, meldet eine fehlende Library aber als false.
+     *
+     * @return true, wenn die Berechtigung erteilt ist
+     */
     public static boolean hasAccessibilityPermission() {
         try {
-            performMouseClick(0, 0, ClickType.LEFT);
-            return true;
-        } catch (Exception e) {
+            return isProcessTrusted();
+        } catch (LinkageError e) {
             logger.warn("Accessibility permission check failed: {}", e.getMessage());
             return false;
         }
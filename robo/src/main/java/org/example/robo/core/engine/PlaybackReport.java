@@ -0,0 +1,126 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.util.Constants;
+import org.example.robo.util.LatencyHistogram;
+
+import java.util.Locale;
+
+/**
+ * Ergebnis einer Macro-Wiedergabe ({@link MacroPlayerImpl}).
+ * <p>
+ * Die Verspätung eines Events ist der Zeitpunkt, zu dem das Backend seinen Batch gepostet
+ * hat (Rückkehr aus {@link InputBackend#postBatch}), minus seiner Soll-Zeit (Start der
+ * Wiedergabe plus Zeitstempel im Macro); die Dauer des nativen Aufrufs zählt mit. Gepostet wird
+ * ein Event erst ab seiner Soll-Zeit, die Verspätung ist also nie negativ. Zu spät ist ein Event
+ * ab {@value Constants#MACRO_LATE_THRESHOLD_NANOS} ns; nicht gespielte Events (Stopp oder
+ * Fehler) zählen als verworfen. Unveränderlich.
+ */
+public final class PlaybackReport {
+
+    /**
+     * Wie die Wiedergabe geendet hat.
+     */
+    public enum Outcome {
+        /** Alle Events gespielt. */
+        COMPLETED,
+        /** Mit {@link MacroPlayer#stop()} abgebrochen. */
+        STOPPED,
+        /** Wegen eines Fehlers der Quelle oder des Backends abgebrochen. */
+        FAILED,
+        /** Nicht gestartet (leer oder es lief bereits eine Wiedergabe). */
+        REJECTED
+    }
+
+    private final String macroName;
+    private final Outcome outcome;
+    private final long totalEvents;
+    private final long playedEvents;
+    private final long lateEvents;
+    private final long p50LatenessNanos;
+    private final long p99LatenessNanos;
+    private final long maxLatenessNanos;
+    private final long durationNanos;
+
+    public PlaybackReport(String macroName, Outcome outcome, long totalEvents, long playedEvents, long lateEvents,
+                          long p50LatenessNanos, long p99LatenessNanos, long maxLatenessNanos, long durationNanos) {
+        this.macroName = macroName;
+        this.outcome = outcome;
+        this.totalEvents = totalEvents;
+        this.playedEvents = playedEvents;
+        this.lateEvents = lateEvents;
+        this.p50LatenessNanos = p50LatenessNanos;
+        this.p99LatenessNanos = p99LatenessNanos;
+        this.maxLatenessNanos = maxLatenessNanos;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * @param lateness Verspätungen aller gespielten Events
+     */
+    static PlaybackReport of(String macroName, Outcome outcome, long totalEvents, LatencyHistogram lateness,
+                             long lateEvents, long durationNanos) {
+        return new PlaybackReport(macroName, outcome, totalEvents, lateness.getCount(), lateEvents,
+                lateness.getValueAtPercentile(50), lateness.getValueAtPercentile(99), lateness.getMax(), durationNanos);
+    }
+
+    static PlaybackReport rejected(String macroName, long totalEvents) {
+        return new PlaybackReport(macroName, Outcome.REJECTED, totalEvents, 0, 0, 0, 0, 0, 0);
+    }
+
+    public String getMacroName() {
+        return macroName;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public long getTotalEvents() {
+        return totalEvents;
+    }
+
+    public long getPlayedEvents() {
+        return playedEvents;
+    }
+
+    /**
+     * @return Events, die wegen Stopp oder Fehler nicht gespielt wurden
+     */
+    public long getDroppedEvents() {
+        return Math.max(0, totalEvents - playedEvents);
+    }
+
+    /**
+     * @return gespielte Events mit mindestens {@value Constants#MACRO_LATE_THRESHOLD_NANOS} ns Verspätung
+     */
+    public long getLateEvents() {
+        return lateEvents;
+    }
+
+    public long getP50LatenessNanos() {
+        return p50LatenessNanos;
+    }
+
+    public long getP99LatenessNanos() {
+        return p99LatenessNanos;
+    }
+
+    public long getMaxLatenessNanos() {
+        return maxLatenessNanos;
+    }
+
+    /**
+     * @return Zeit vom Start der Wiedergabe bis zu ihrem Ende
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "PlaybackReport{%s %s, %d/%d events in %.1f ms, %d dropped, %d late, lateness p50 %.1f us p99 %.1f us max %.1f us}",
+                macroName, outcome, playedEvents, totalEvents, durationNanos / 1e6, getDroppedEvents(), lateEvents,
+                p50LatenessNanos / 1e3, p99LatenessNanos / 1e3, maxLatenessNanos / 1e3);
+    }
+}
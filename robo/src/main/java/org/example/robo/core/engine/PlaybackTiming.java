@@ -0,0 +1,101 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.MacroEventCursor;
+import org.example.robo.core.profile.TimeScaledMacroCursor;
+import org.example.robo.util.Constants;
+
+import java.util.Locale;
+
+/**
+ * Zeitverhalten einer Macro-Wiedergabe: Geschwindigkeitsfaktor und längste Pause.
+ * <p>
+ * Lange Macros bestehen oft grösstenteils aus Warten. Mit {@link #withMaxGapMs} wird jede
+ * Pause zwischen zwei Events auf ein Maximum gekürzt, mit {@link #atSpeed} läuft alles
+ * schneller oder langsamer ({@value Constants#MIN_PLAYBACK_SPEED}x bis
+ * {@value Constants#MAX_PLAYBACK_SPEED}x). Angewendet wird beides beim Lesen über einen
+ * {@link TimeScaledMacroCursor}, ohne das Macro zu kopieren. Unveränderlich.
+ */
+public final class PlaybackTiming {
+
+    private static final PlaybackTiming REAL_TIME = new PlaybackTiming(1.0, TimeScaledMacroCursor.NO_GAP_LIMIT);
+
+    private final double speed;
+    private final long maxGapMs;
+
+    private PlaybackTiming(double speed, long maxGapMs) {
+        this.speed = speed;
+        this.maxGapMs = maxGapMs;
+    }
+
+    /**
+     * @return Wiedergabe wie aufgenommen (Standard)
+     */
+    public static PlaybackTiming realTime() {
+        return REAL_TIME;
+    }
+
+    /**
+     * @param speed Geschwindigkeitsfaktor, z.B. 2 für doppelte Geschwindigkeit
+     * @return Echtzeit-Pausen mit diesem Faktor
+     */
+    public static PlaybackTiming atSpeed(double speed) {
+        return REAL_TIME.withSpeed(speed);
+    }
+
+    /**
+     * @param speed Geschwindigkeitsfaktor ({@value Constants#MIN_PLAYBACK_SPEED} bis {@value Constants#MAX_PLAYBACK_SPEED})
+     */
+    public PlaybackTiming withSpeed(double speed) {
+        if (!(speed >= Constants.MIN_PLAYBACK_SPEED && speed <= Constants.MAX_PLAYBACK_SPEED)) {
+            throw new IllegalArgumentException("Playback speed must be between " + Constants.MIN_PLAYBACK_SPEED
+                    + " and " + Constants.MAX_PLAYBACK_SPEED + ": " + speed);
+        }
+        return new PlaybackTiming(speed, maxGapMs);
+    }
+
+    /**
+     * @param maxGapMs längste Pause zwischen zwei Events in Macro-Zeit (vor dem Geschwindigkeitsfaktor)
+     */
+    public PlaybackTiming withMaxGapMs(long maxGapMs) {
+        if (maxGapMs < 0) {
+            throw new IllegalArgumentException("Max gap must not be negative: " + maxGapMs);
+        }
+        return new PlaybackTiming(speed, maxGapMs);
+    }
+
+    /**
+     * @return dieselbe Geschwindigkeit ohne Kürzung der Pausen
+     */
+    public PlaybackTiming withoutGapLimit() {
+        return new PlaybackTiming(speed, TimeScaledMacroCursor.NO_GAP_LIMIT);
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * @return längste Pause oder {@link TimeScaledMacroCursor#NO_GAP_LIMIT}
+     */
+    public long getMaxGapMs() {
+        return maxGapMs;
+    }
+
+    public boolean isRealTime() {
+        return speed == 1.0 && maxGapMs == TimeScaledMacroCursor.NO_GAP_LIMIT;
+    }
+
+    /**
+     * @return Cursor mit umgerechneten Zeitstempeln, bzw. die Quelle selbst bei Echtzeit
+     */
+    public MacroEventCursor apply(MacroEventCursor source) {
+        return isRealTime() ? source : new TimeScaledMacroCursor(source, speed, maxGapMs);
+    }
+
+    @Override
+    public String toString() {
+        return maxGapMs == TimeScaledMacroCursor.NO_GAP_LIMIT
+                ? String.format(Locale.ROOT, "PlaybackTiming{%.2fx}", speed)
+                : String.format(Locale.ROOT, "PlaybackTiming{%.2fx, max gap %d ms}", speed, maxGapMs);
+    }
+}
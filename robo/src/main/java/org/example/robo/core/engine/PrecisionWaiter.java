@@ -0,0 +1,117 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.util.Constants;
+import org.example.robo.util.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wartet präzise auf absolute nanoTime-Deadlines.
+ * Der grösste Teil der Wartezeit wird geparkt, die letzte Strecke
+ * (Spin-Schwelle) wird aktiv abgewartet, um die Aufwach-Latenz des
+ * Betriebssystem-Schedulers zu umgehen.
+ * <p>
+ * Wie lange ein Parken überzieht, hängt von Betriebssystem und Last ab.
+ * {@link #calibrated()} misst das einmal pro Prozess und setzt die Spin-Schwelle knapp
+ * über den gemessenen Overshoot: gross genug, dass der Thread rechtzeitig aufwacht,
+ * und nicht grösser, damit er nicht unnötig eine CPU belegt.
+ */
+public class PrecisionWaiter {
+    private static final Logger logger = LoggerFactory.getLogger(PrecisionWaiter.class);
+
+    private static volatile long calibratedThresholdNanos = -1;
+
+    private final NanoClock clock;
+    private final long spinThresholdNanos;
+
+    /**
+     * Erstellt einen Waiter mit Systemuhr und Standard-Spin-Schwelle.
+     */
+    public PrecisionWaiter() {
+        this(NanoClock.SYSTEM, Constants.SPIN_THRESHOLD_NANOS);
+    }
+
+    /**
+     * Erstellt einen Waiter.
+     *
+     * @param clock zu verwendende Uhr
+     * @param spinThresholdNanos Reststrecke vor der Deadline, die aktiv gewartet wird
+     */
+    public PrecisionWaiter(NanoClock clock, long spinThresholdNanos) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.clock = clock;
+        this.spinThresholdNanos = Math.max(0, spinThresholdNanos);
+    }
+
+    /**
+     * Erstellt einen Waiter mit Systemuhr und kalibrierter Spin-Schwelle. Die Kalibrierung
+     * läuft beim ersten Aufruf (wenige Millisekunden) und gilt danach für den Prozess.
+     */
+    public static PrecisionWaiter calibrated() {
+        long threshold = calibratedThresholdNanos;
+        if (threshold < 0) {
+            threshold = calibrateSpinThreshold(NanoClock.SYSTEM, Constants.SPIN_CALIBRATION_SAMPLES);
+            calibratedThresholdNanos = threshold;
+            logger.info("Spin threshold calibrated to {} us", threshold / 1_000);
+        }
+        return new PrecisionWaiter(NanoClock.SYSTEM, threshold);
+    }
+
+    /**
+     * Misst den Overshoot kurzer Park-Vorgänge auf dem aufrufenden Thread.
+     *
+     * @param clock zu messende Uhr
+     * @param samples Anzahl Park-Vorgänge
+     * @return 99. Perzentil des Overshoots plus ein Viertel Reserve, begrenzt auf
+     *         {@value Constants#SPIN_THRESHOLD_MIN_NANOS} bis {@value Constants#SPIN_THRESHOLD_MAX_NANOS} ns
+     */
+    public static long calibrateSpinThreshold(NanoClock clock, int samples) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("Need at least one calibration sample: " + samples);
+        }
+        LatencyHistogram overshoot = new LatencyHistogram();
+        for (int i = 0; i < samples; i++) {
+            long start = clock.nanoTime();
+            clock.parkNanos(Constants.SPIN_CALIBRATION_PARK_NANOS);
+            overshoot.record(Math.max(0, clock.nanoTime() - start - Constants.SPIN_CALIBRATION_PARK_NANOS));
+        }
+        long threshold = overshoot.getValueAtPercentile(99) * 5 / 4;
+        return Math.max(Constants.SPIN_THRESHOLD_MIN_NANOS, Math.min(Constants.SPIN_THRESHOLD_MAX_NANOS, threshold));
+    }
+
+    /**
+     * Wartet bis die Deadline erreicht ist.
+     *
+     * @param deadlineNanos absolute Deadline (nanoTime-Basis)
+     * @return Verspätung in Nanosekunden (immer &gt;= 0)
+     * @throws InterruptedException wenn der Thread während des Wartens unterbrochen wurde
+     */
+    public long awaitDeadline(long deadlineNanos) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadlineNanos - clock.nanoTime()) > spinThresholdNanos) {
+            clock.parkNanos(remaining - spinThresholdNanos);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+
+        long now;
+        while ((now = clock.nanoTime()) - deadlineNanos < 0) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            clock.onSpinWait();
+        }
+        return now - deadlineNanos;
+    }
+
+    public NanoClock getClock() {
+        return clock;
+    }
+
+    public long getSpinThresholdNanos() {
+        return spinThresholdNanos;
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.util.Constants;
+import org.example.robo.util.MousePosition;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Input-Backend ohne Betriebssystem-Anbindung: hält jedes Event im Speicher fest.
+ * <p>
+ * Gedacht für Benchmarks und Dauertests auf Build-Agents ohne Desktop. Events
+ * landen in vorallozierten primitiven Arrays; ein Event kostet einen atomaren
+ * Index-Zugriff und einige Array-Schreibzugriffe, ohne Allokation und ohne Sperre.
+ * Ist die Kapazität erschöpft, werden weitere Events nur noch gezählt.
+ * <p>
+ * Die aktuelle Mausposition ist die Position des letzten Events. Die Lesemethoden
+ * für einzelne Events sind erst konsistent, wenn keine Events mehr geschrieben werden.
+ */
+public class RecordingInputBackend implements InputBackend {
+
+    public static final String NAME = "recording";
+
+    public static final int MOVE = 0;
+    public static final int CLICK = 1;
+    public static final int SCROLL = 2;
+
+    private static final ClickType[] CLICK_TYPES = ClickType.values();
+
+    private final NanoClock clock;
+    private final long[] timestamps;
+    private final int[] xs;
+    private final int[] ys;
+    private final byte[] kinds;
+    private final int[] args;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong moves = new AtomicLong();
+    private final AtomicLong clicks = new AtomicLong();
+    private final AtomicLong scrolls = new AtomicLong();
+    private volatile long lastPosition = ClickPlan.pack(0, 0);
+
+    /**
+     * Erstellt ein Backend mit Standard-Kapazität und Systemuhr (für den ServiceLoader).
+     */
+    public RecordingInputBackend() {
+        this(Constants.RECORDING_BACKEND_CAPACITY, NanoClock.SYSTEM);
+    }
+
+    /**
+     * Erstellt ein Backend.
+     *
+     * @param capacity Anzahl Events, die gespeichert werden
+     * @param clock Uhr für die Zeitstempel der Events
+     */
+    public RecordingInputBackend(int capacity, NanoClock clock) {
+        if (capacity < 0 || clock == null) {
+            throw new IllegalArgumentException("Capacity must not be negative and clock cannot be null");
+        }
+        this.clock = clock;
+        this.timestamps = new long[capacity];
+        this.xs = new int[capacity];
+        this.ys = new int[capacity];
+        this.kinds = new byte[capacity];
+        this.args = new int[capacity];
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * Nie automatisch: das Backend postet keine echten Eingaben und wird nur über
+     * {@code -Drobo.input.backend=recording} gewählt.
+     */
+    @Override
+    public boolean isAutoSelectable() {
+        return false;
+    }
+
+    @Override
+    public void move(int x, int y) {
+        moves.incrementAndGet();
+        record(sequence.getAndIncrement(), MOVE, x, y, 0);
+    }
+
+    @Override
+    public void click(int x, int y, ClickType type) {
+        clicks.incrementAndGet();
+        record(sequence.getAndIncrement(), CLICK, x, y, type.ordinal());
+    }
+
+    @Override
+    public void clickBatch(int x, int y, ClickType type, int count) {
+        if (count <= 0) {
+            return;
+        }
+        clicks.addAndGet(count);
+        long first = sequence.getAndAdd(count);
+        for (int i = 0; i < count; i++) {
+            record(first + i, CLICK, x, y, type.ordinal());
+        }
+    }
+
+    @Override
+    public void scroll(int x, int y, int lines) {
+        scrolls.incrementAndGet();
+        record(sequence.getAndIncrement(), SCROLL, x, y, lines);
+    }
+
+    @Override
+    public MousePosition getCurrentMousePosition() {
+        long packed = lastPosition;
+        return new MousePosition(ClickPlan.unpackX(packed), ClickPlan.unpackY(packed));
+    }
+
+    @Override
+    public long getCurrentPositionPacked() {
+        return lastPosition;
+    }
+
+    private void record(long index, int kind, int x, int y, int arg) {
+        lastPosition = ClickPlan.pack(x, y);
+        if (index >= timestamps.length) {
+            return;
+        }
+        int i = (int) index;
+        timestamps[i] = clock.nanoTime();
+        xs[i] = x;
+        ys[i] = y;
+        kinds[i] = (byte) kind;
+        args[i] = arg;
+    }
+
+    /**
+     * Anzahl aller Events inklusive der nicht mehr gespeicherten.
+     */
+    public long getEventCount() {
+        return sequence.get();
+    }
+
+    /**
+     * Anzahl gespeicherter Events (höchstens die Kapazität).
+     */
+    public int getStoredCount() {
+        return (int) Math.min(sequence.get(), timestamps.length);
+    }
+
+    /**
+     * Anzahl Events, die mangels Kapazität nur gezählt wurden.
+     */
+    public long getDroppedCount() {
+        return Math.max(0, sequence.get() - timestamps.length);
+    }
+
+    public long getMoveCount() {
+        return moves.get();
+    }
+
+    public long getClickCount() {
+        return clicks.get();
+    }
+
+    public long getScrollCount() {
+        return scrolls.get();
+    }
+
+    public long getTimestampNanos(int index) {
+        return timestamps[checkIndex(index)];
+    }
+
+    public int getX(int index) {
+        return xs[checkIndex(index)];
+    }
+
+    public int getY(int index) {
+        return ys[checkIndex(index)];
+    }
+
+    /**
+     * @return {@link #MOVE}, {@link #CLICK} oder {@link #SCROLL}
+     */
+    public int getKind(int index) {
+        return kinds[checkIndex(index)];
+    }
+
+    /**
+     * @return Klick-Typ eines CLICK-Events, sonst null
+     */
+    public ClickType getClickType(int index) {
+        return kinds[checkIndex(index)] == CLICK ? CLICK_TYPES[args[index]] : null;
+    }
+
+    /**
+     * @return Zeilen eines SCROLL-Events, sonst 0
+     */
+    public int getScrollLines(int index) {
+        return kinds[checkIndex(index)] == SCROLL ? args[index] : 0;
+    }
+
+    /**
+     * Verwirft alle Events. Darf nicht gleichzeitig mit Schreibzugriffen aufgerufen werden.
+     */
+    public void clear() {
+        sequence.set(0);
+        moves.set(0);
+        clicks.set(0);
+        scrolls.set(0);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= getStoredCount()) {
+            throw new IndexOutOfBoundsException("Event " + index + " of " + getStoredCount());
+        }
+        return index;
+    }
+}
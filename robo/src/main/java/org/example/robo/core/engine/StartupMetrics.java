@@ -0,0 +1,92 @@
+package org.example.robo.core.engine;
+
+import java.util.Locale;
+
+/**
+ * Messwerte der Warm-up-Phase beim Start ({@link EngineWarmUp}).
+ * <p>
+ * Die Latenz des ersten Klicks ist die Zeit von {@code startClicking} bis zum Aufruf
+ * des Backends, einmal kalt (erste Engine im Prozess) und einmal nach dem Warm-up.
+ * Werte von -1 bedeuten, dass die Messung nicht gelungen ist.
+ */
+public final class StartupMetrics {
+
+    private final boolean nativeLinked;
+    private final long nativeLinkNanos;
+    private final boolean inputUsable;
+    private final long capabilityProbeNanos;
+    private final long coldFirstClickNanos;
+    private final long warmFirstClickNanos;
+    private final int warmUpClicks;
+    private final long warmUpNanos;
+
+    public StartupMetrics(boolean nativeLinked, long nativeLinkNanos, boolean inputUsable,
+                          long capabilityProbeNanos, long coldFirstClickNanos, long warmFirstClickNanos,
+                          int warmUpClicks, long warmUpNanos) {
+        this.nativeLinked = nativeLinked;
+        this.nativeLinkNanos = nativeLinkNanos;
+        this.inputUsable = inputUsable;
+        this.capabilityProbeNanos = capabilityProbeNanos;
+        this.coldFirstClickNanos = coldFirstClickNanos;
+        this.warmFirstClickNanos = warmFirstClickNanos;
+        this.warmUpClicks = warmUpClicks;
+        this.warmUpNanos = warmUpNanos;
+    }
+
+    /**
+     * @return true, wenn das Backend seine nativen Bibliotheken laden konnte
+     */
+    public boolean isNativeLinked() {
+        return nativeLinked;
+    }
+
+    public long getNativeLinkNanos() {
+        return nativeLinkNanos;
+    }
+
+    /**
+     * @return true, wenn der {@link CapabilityProbe} das Backend als benutzbar gemeldet hat
+     */
+    public boolean isInputUsable() {
+        return inputUsable;
+    }
+
+    /**
+     * @return Dauer der Capability-Abfrage beim Start
+     */
+    public long getCapabilityProbeNanos() {
+        return capabilityProbeNanos;
+    }
+
+    public long getColdFirstClickNanos() {
+        return coldFirstClickNanos;
+    }
+
+    public long getWarmFirstClickNanos() {
+        return warmFirstClickNanos;
+    }
+
+    public int getWarmUpClicks() {
+        return warmUpClicks;
+    }
+
+    /**
+     * @return Dauer der gesamten Warm-up-Phase
+     */
+    public long getWarmUpNanos() {
+        return warmUpNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "StartupMetrics{native %s in %.1f ms, input %s (probe %.3f ms), first click cold %.3f ms -> warm %.3f ms, %d warm-up clicks in %.0f ms}",
+                nativeLinked ? "linked" : "not linked", millis(nativeLinkNanos), inputUsable ? "usable" : "not usable",
+                millis(capabilityProbeNanos), millis(coldFirstClickNanos),
+                millis(warmFirstClickNanos), warmUpClicks, millis(warmUpNanos));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
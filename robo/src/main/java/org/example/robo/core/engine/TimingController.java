@@ -50,6 +50,16 @@ public class TimingController {
         return Math.max(Constants.MIN_FREQUENCY_HZ, Math.min(frequencyHz, Constants.MAX_FREQUENCY_HZ));
     }
 
+    /**
+     * Validiert eine Frequenz für den Burst-Modus.
+     *
+     * @param frequencyHz zu validierende Frequenz
+     * @return validierte Frequenz (im Bereich Constants.MIN_BURST_FREQUENCY_HZ bis Constants.MAX_BURST_FREQUENCY_HZ)
+     */
+    public static int validateBurstFrequency(int frequencyHz) {
+        return Math.max(Constants.MIN_BURST_FREQUENCY_HZ, Math.min(frequencyHz, Constants.MAX_BURST_FREQUENCY_HZ));
+    }
+
     private TimingController() {
         // Utility class
     }
@@ -0,0 +1,536 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hierarchisches, gehashtes Timing Wheel für viele gleichzeitig geplante Aufgaben.
+ * <p>
+ * Vier Ebenen mit je {@value #WHEEL_SIZE} Slots; Ebene 0 hat die Auflösung eines
+ * Ticks, jede weitere Ebene das {@value #WHEEL_SIZE}-fache. Timeouts sind intrusive
+ * Knoten einer doppelt verketteten Liste, daher kosten Einfügen und Abbrechen O(1)
+ * - im Gegensatz zum O(log n) DelayedWorkQueue des ScheduledThreadPoolExecutor.
+ * Beim Überschreiten einer Slot-Grenze werden Timeouts einer höheren Ebene in
+ * feinere Ebenen verschoben (Cascading).
+ * <p>
+ * Ein einzelner Worker-Thread besitzt die Buckets. Andere Threads übergeben neue
+ * und abgebrochene Timeouts lock-frei über einen intrusiven Stack; Aufrufe aus dem
+ * Worker-Thread selbst (z.B. ein Task, der sich neu plant) wirken direkt und ohne
+ * Allokation.
+ * <p>
+ * Ein Timeout feuert an seiner exakten nanoTime-Deadline: Der Worker wartet mit
+ * dem {@link PrecisionWaiter}-Verfahren (parken, dann spinnen) auf die früheste
+ * Deadline im aktuellen Slot. Ohne geplante Timeouts schläft der Worker.
+ */
+public class TimingWheel {
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+
+    static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final int WORDS_PER_LEVEL = WHEEL_SIZE / Long.SIZE;
+
+    private final PrecisionWaiter waiter;
+    private final NanoClock clock;
+    private final long tickNanos;
+    private final long startNanos;
+    private final Timeout[][] buckets = new Timeout[LEVELS][WHEEL_SIZE];
+    private final long[][] occupied = new long[LEVELS][WORDS_PER_LEVEL];
+    private final AtomicReference<Timeout> inbox = new AtomicReference<>();
+    private final Thread worker;
+
+    private volatile boolean stopped = false;
+    private volatile int pendingCount = 0;
+    private long currentTick = 0;
+
+    /**
+     * Erstellt ein Timing Wheel mit Systemuhr und Standard-Tick.
+     *
+     * @param threadName Name des Worker-Threads
+     */
+    public TimingWheel(String threadName) {
+        this(threadName, new PrecisionWaiter(), Constants.TIMING_WHEEL_TICK_NANOS);
+    }
+
+    /**
+     * Erstellt ein Timing Wheel.
+     *
+     * @param threadName Name des Worker-Threads
+     * @param waiter Waiter (Uhr und Spin-Schwelle) für das präzise Feuern
+     * @param tickNanos Auflösung eines Slots der untersten Ebene
+     */
+    public TimingWheel(String threadName, PrecisionWaiter waiter, long tickNanos) {
+        this(threadName, waiter, tickNanos, () -> { });
+    }
+
+    /**
+     * Erstellt ein Timing Wheel, dessen Worker vor dem ersten Durchlauf eine
+     * Initialisierung ausführt (z.B. CPU-Pinning, {@link ClickThreadPinning}).
+     *
+     * @param threadName Name des Worker-Threads
+     * @param waiter Waiter (Uhr und Spin-Schwelle) für das präzise Feuern
+     * @param tickNanos Auflösung eines Slots der untersten Ebene
+     * @param workerInit läuft auf dem Worker-Thread, bevor er Timeouts ausführt
+     */
+    public TimingWheel(String threadName, PrecisionWaiter waiter, long tickNanos, Runnable workerInit) {
+        if (waiter == null || workerInit == null) {
+            throw new IllegalArgumentException("Waiter and worker init cannot be null");
+        }
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.waiter = waiter;
+        this.clock = waiter.getClock();
+        this.tickNanos = tickNanos;
+        this.startNanos = clock.nanoTime();
+        this.worker = new Thread(() -> {
+            workerInit.run();
+            runWorker();
+        }, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Erstellt einen wiederverwendbaren Timeout für einen Task, ohne ihn zu planen.
+     *
+     * @param task auszuführender Task
+     * @return neuer Timeout
+     */
+    public Timeout newTimeout(Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        return new Timeout(this, task);
+    }
+
+    /**
+     * Plant einen Task für eine absolute Deadline.
+     *
+     * @param task auszuführender Task
+     * @param deadlineNanos absolute Deadline (nanoTime-Basis dieser Uhr)
+     * @return Timeout zum Abbrechen
+     */
+    public Timeout schedule(Runnable task, long deadlineNanos) {
+        Timeout timeout = newTimeout(task);
+        schedule(timeout, deadlineNanos);
+        return timeout;
+    }
+
+    /**
+     * Plant einen (wiederverwendbaren) Timeout für eine absolute Deadline.
+     * Ein bereits abgelaufener oder abgebrochener Timeout darf neu geplant werden.
+     *
+     * @param timeout Timeout dieses Wheels
+     * @param deadlineNanos absolute Deadline (nanoTime-Basis dieser Uhr)
+     * @throws IllegalStateException wenn der Timeout noch geplant ist oder das Wheel gestoppt wurde
+     */
+    public void schedule(Timeout timeout, long deadlineNanos) {
+        if (timeout.wheel != this) {
+            throw new IllegalArgumentException("Timeout belongs to another wheel");
+        }
+        if (stopped) {
+            throw new IllegalStateException("Timing wheel is shut down");
+        }
+        int state = timeout.state;
+        if (state == Timeout.PENDING) {
+            throw new IllegalStateException("Timeout is already scheduled");
+        }
+        // Deadline vor dem Zustandswechsel setzen, damit der Worker nie eine veraltete Deadline sieht
+        timeout.deadlineNanos = deadlineNanos;
+        if (!Timeout.STATE.compareAndSet(timeout, state, Timeout.PENDING)) {
+            throw new IllegalStateException("Timeout is already scheduled");
+        }
+        if (Thread.currentThread() == worker) {
+            place(timeout);
+        } else {
+            enqueue(timeout);
+        }
+    }
+
+    /**
+     * Bricht einen geplanten Timeout ab. O(1).
+     *
+     * @param timeout abzubrechender Timeout
+     * @return true wenn der Timeout noch nicht gefeuert hatte
+     */
+    public boolean cancel(Timeout timeout) {
+        if (!Timeout.STATE.compareAndSet(timeout, Timeout.PENDING, Timeout.CANCELLED)) {
+            return false;
+        }
+        if (Thread.currentThread() == worker) {
+            unlink(timeout);
+        } else {
+            enqueue(timeout);
+        }
+        return true;
+    }
+
+    /**
+     * Aktuelle Zeit der Uhr dieses Wheels.
+     *
+     * @return nanoTime
+     */
+    public long nanoTime() {
+        return clock.nanoTime();
+    }
+
+    /**
+     * Anzahl der aktuell eingeordneten Timeouts (vom Worker gepflegt, daher leicht verzögert).
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * Prüft, ob der aufrufende Thread der Worker-Thread dieses Wheels ist.
+     */
+    public boolean isWorkerThread() {
+        return Thread.currentThread() == worker;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * Stoppt den Worker. Noch geplante Timeouts feuern nicht mehr.
+     */
+    public void shutdown() {
+        stopped = true;
+        worker.interrupt();
+        if (Thread.currentThread() != worker) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                logger.error("Error shutting down timing wheel", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ===== Worker =====
+
+    private void runWorker() {
+        while (!stopped) {
+            try {
+                step();
+            } catch (InterruptedException e) {
+                // Nur shutdown() beendet den Worker; sonstige Interrupts werden ignoriert
+            }
+        }
+        logger.debug("Timing wheel worker {} stopped", worker.getName());
+    }
+
+    /**
+     * Ein Durchlauf des Workers: Inbox übernehmen, dann entweder fällige Timeouts
+     * des aktuellen Slots ausführen oder bis zum nächsten belegten Slot vorrücken.
+     */
+    private void step() throws InterruptedException {
+        drainInbox();
+
+        if (pendingCount == 0) {
+            LockSupport.park(this);
+            Thread.interrupted();
+            return;
+        }
+
+        int slot = (int) (currentTick & WHEEL_MASK);
+        Timeout head = buckets[0][slot];
+        if (head != null) {
+            long earliest = earliestDeadline(head);
+            long remaining = earliest - clock.nanoTime();
+            if (remaining > waiter.getSpinThresholdNanos()) {
+                // Grob parken; neue Timeouts wecken den Worker vorzeitig
+                clock.parkNanos(remaining - waiter.getSpinThresholdNanos());
+                Thread.interrupted();
+                return;
+            }
+            waiter.awaitDeadline(earliest);
+            expire(slot, clock.nanoTime());
+            return;
+        }
+
+        long nextTick = nextEventTick();
+        if (nextTick == Long.MAX_VALUE) {
+            LockSupport.park(this);
+            Thread.interrupted();
+            return;
+        }
+        // Schon vor der Slot-Grenze vorrücken, damit Timeouts am Slot-Anfang
+        // noch im Spin-Fenster des PrecisionWaiter liegen
+        long remaining = startNanos + nextTick * tickNanos - clock.nanoTime();
+        if (remaining > waiter.getSpinThresholdNanos()) {
+            clock.parkNanos(remaining - waiter.getSpinThresholdNanos());
+            Thread.interrupted();
+            return;
+        }
+        advanceTo(nextTick);
+    }
+
+    private void enqueue(Timeout timeout) {
+        if (!Timeout.QUEUED.compareAndSet(timeout, 0, 1)) {
+            // Bereits in der Inbox; der Worker wertet den aktuellen Zustand aus
+            return;
+        }
+        Timeout head;
+        do {
+            head = inbox.get();
+            timeout.nextInbox = head;
+        } while (!inbox.compareAndSet(head, timeout));
+        LockSupport.unpark(worker);
+    }
+
+    private void drainInbox() {
+        Timeout node = inbox.getAndSet(null);
+        while (node != null) {
+            Timeout next = node.nextInbox;
+            node.nextInbox = null;
+            node.queued = 0;
+            if (node.level >= 0) {
+                unlink(node);
+            }
+            if (node.state == Timeout.PENDING) {
+                place(node);
+            }
+            node = next;
+        }
+    }
+
+    /**
+     * Ordnet einen Timeout relativ zum aktuellen Tick in Ebene und Slot ein.
+     */
+    private void place(Timeout timeout) {
+        long deadlineTick = Math.floorDiv(timeout.deadlineNanos - startNanos, tickNanos);
+        if (deadlineTick <= currentTick) {
+            link(timeout, 0, (int) (currentTick & WHEEL_MASK));
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * WHEEL_BITS;
+            // Abstand in Slots dieser Ebene; höhere Ebenen liegen so immer >= 1 Slot voraus
+            if ((deadlineTick >>> shift) - (currentTick >>> shift) < WHEEL_SIZE) {
+                link(timeout, level, (int) ((deadlineTick >>> shift) & WHEEL_MASK));
+                return;
+            }
+        }
+        // Ausserhalb des Bereichs: im letzten Slot parken und beim Cascading neu einordnen
+        int shift = (LEVELS - 1) * WHEEL_BITS;
+        link(timeout, LEVELS - 1, (int) (((currentTick >>> shift) + WHEEL_MASK) & WHEEL_MASK));
+    }
+
+    private void link(Timeout timeout, int level, int slot) {
+        Timeout head = buckets[level][slot];
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        } else {
+            occupied[level][slot >>> 6] |= 1L << slot;
+        }
+        buckets[level][slot] = timeout;
+        timeout.level = level;
+        timeout.slot = slot;
+        pendingCount++;
+    }
+
+    private void unlink(Timeout timeout) {
+        int level = timeout.level;
+        if (level < 0) {
+            return;
+        }
+        int slot = timeout.slot;
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[level][slot] = timeout.next;
+            if (timeout.next == null) {
+                occupied[level][slot >>> 6] &= ~(1L << slot);
+            }
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = -1;
+        pendingCount--;
+    }
+
+    private static long earliestDeadline(Timeout head) {
+        long earliest = head.deadlineNanos;
+        for (Timeout t = head.next; t != null; t = t.next) {
+            if (t.deadlineNanos - earliest < 0) {
+                earliest = t.deadlineNanos;
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * Führt alle fälligen Timeouts des aktuellen Slots aus. Die fälligen Knoten
+     * werden zuerst ausgehängt, damit Tasks sich während der Ausführung neu planen können.
+     */
+    private void expire(int slot, long now) {
+        Timeout due = null;
+        Timeout t = buckets[0][slot];
+        while (t != null) {
+            Timeout next = t.next;
+            if (t.deadlineNanos - now <= 0) {
+                unlink(t);
+                t.nextExpired = due;
+                due = t;
+            }
+            t = next;
+        }
+        while (due != null) {
+            Timeout next = due.nextExpired;
+            due.nextExpired = null;
+            if (Timeout.STATE.compareAndSet(due, Timeout.PENDING, Timeout.EXPIRED)) {
+                try {
+                    due.task.run();
+                } catch (Exception e) {
+                    logger.error("Error executing timed task", e);
+                }
+            }
+            due = next;
+        }
+    }
+
+    /**
+     * Bestimmt den nächsten Tick, an dem ein Slot der Ebene 0 belegt ist oder ein
+     * belegter Slot einer höheren Ebene heruntergestuft werden muss.
+     */
+    private long nextEventTick() {
+        long best = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * WHEEL_BITS;
+            long levelTick = currentTick >>> shift;
+            int index = (int) (levelTick & WHEEL_MASK);
+            // Der aktuelle Slot ist auf Ebene 0 leer und auf höheren Ebenen nie belegt
+            int distance = nextOccupied(level, index);
+            if (distance > 0) {
+                long candidate = (levelTick + distance) << shift;
+                if (candidate < best) {
+                    best = candidate;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Distanz (1..WHEEL_SIZE-1) zum nächsten belegten Slot nach {@code index}, 0 wenn keiner.
+     */
+    private int nextOccupied(int level, int index) {
+        long[] bits = occupied[level];
+        for (int distance = 1; distance < WHEEL_SIZE; ) {
+            int slot = (index + distance) & WHEEL_MASK;
+            long word = bits[slot >>> 6] >>> (slot & 63);
+            if (word != 0) {
+                return distance + Long.numberOfTrailingZeros(word);
+            }
+            distance += 64 - (slot & 63);
+        }
+        return 0;
+    }
+
+    /**
+     * Setzt den aktuellen Tick vorwärts und stuft dabei an Slot-Grenzen höhere Ebenen herab.
+     */
+    private void advanceTo(long tick) {
+        currentTick = tick;
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = level * WHEEL_BITS;
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                cascade(level, (int) ((tick >>> shift) & WHEEL_MASK));
+            }
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        Timeout t = buckets[level][slot];
+        if (t == null) {
+            return;
+        }
+        buckets[level][slot] = null;
+        occupied[level][slot >>> 6] &= ~(1L << slot);
+        while (t != null) {
+            Timeout next = t.next;
+            t.prev = null;
+            t.next = null;
+            t.level = -1;
+            pendingCount--;
+            place(t);
+            t = next;
+        }
+    }
+
+    /**
+     * Handle eines geplanten Tasks. Kann nach Ablauf oder Abbruch neu geplant werden.
+     */
+    public static final class Timeout {
+        static final int INIT = 0;
+        static final int PENDING = 1;
+        static final int EXPIRED = 2;
+        static final int CANCELLED = 3;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+        private static final AtomicIntegerFieldUpdater<Timeout> QUEUED =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "queued");
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private volatile int state = INIT;
+        private volatile int queued = 0;
+        private volatile long deadlineNanos;
+
+        // Nur vom Worker-Thread verwendet
+        private Timeout prev;
+        private Timeout next;
+        private Timeout nextExpired;
+        private int level = -1;
+        private int slot;
+
+        // Intrusiver Inbox-Stack
+        private Timeout nextInbox;
+
+        private Timeout(TimingWheel wheel, Runnable task) {
+            this.wheel = wheel;
+            this.task = task;
+        }
+
+        /**
+         * Bricht diesen Timeout ab.
+         *
+         * @return true wenn er noch nicht gefeuert hatte
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+
+        public boolean isPending() {
+            return state == PENDING;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public long getDeadlineNanos() {
+            return deadlineNanos;
+        }
+    }
+}
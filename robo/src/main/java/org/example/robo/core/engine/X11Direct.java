@@ -0,0 +1,46 @@
+package org.example.robo.core.engine;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
+import org.example.robo.util.Constants;
+
+/**
+ * Direct-Mapping der verwendeten Xlib-Funktionen ({@code libX11}).
+ * <p>
+ * {@code Display*} und {@code Window} werden als {@code long} übergeben (LP64), Rückgabe-
+ * parameter als vorallozierte primitive Arrays. Xlib ist ohne {@code XInitThreads} nicht
+ * thread-sicher; Aufrufer serialisieren alle Aufrufe auf einem Display.
+ * <p>
+ * Die Library lässt sich über {@value Constants#X11_LIBRARY_PROPERTY} ersetzen
+ * (z.B. durch die Stub-Library der Tests).
+ */
+final class X11Direct {
+
+    static final String LIBRARY = System.getProperty(Constants.X11_LIBRARY_PROPERTY, "X11");
+
+    static {
+        Native.register(X11Direct.class, NativeLibrary.getInstance(LIBRARY));
+    }
+
+    private X11Direct() {
+    }
+
+    /**
+     * @param name Display-Name oder null für {@code $DISPLAY}
+     * @return Display oder 0
+     */
+    static native long XOpenDisplay(String name);
+
+    static native int XCloseDisplay(long display);
+
+    static native int XDefaultScreen(long display);
+
+    static native long XRootWindow(long display, int screen);
+
+    static native int XFlush(long display);
+
+    static native int XSync(long display, int discard);
+
+    static native int XQueryPointer(long display, long window, long[] rootReturn, long[] childReturn,
+                                    int[] rootX, int[] rootY, int[] winX, int[] winY, int[] mask);
+}
@@ -0,0 +1,33 @@
+package org.example.robo.core.engine;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
+import org.example.robo.util.Constants;
+
+/**
+ * Direct-Mapping der XTest-Erweiterung ({@code libXtst}): synthetische Maus-Events,
+ * die der X-Server wie echte Eingaben behandelt.
+ * <p>
+ * Die Events landen im Ausgabepuffer von Xlib und gehen erst mit {@link X11Direct#XFlush}
+ * an den Server. {@code delay} ist immer 0 ({@code CurrentTime}).
+ * <p>
+ * Die Library lässt sich über {@value Constants#XTST_LIBRARY_PROPERTY} ersetzen.
+ */
+final class XTestDirect {
+
+    static final String LIBRARY = System.getProperty(Constants.XTST_LIBRARY_PROPERTY, "Xtst");
+
+    static {
+        Native.register(XTestDirect.class, NativeLibrary.getInstance(LIBRARY));
+    }
+
+    private XTestDirect() {
+    }
+
+    static native int XTestQueryExtension(long display, int[] eventBase, int[] errorBase,
+                                          int[] majorVersion, int[] minorVersion);
+
+    static native int XTestFakeMotionEvent(long display, int screen, int x, int y, long delay);
+
+    static native int XTestFakeButtonEvent(long display, int button, int isPress, long delay);
+}
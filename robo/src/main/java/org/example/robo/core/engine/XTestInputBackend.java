@@ -0,0 +1,304 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.util.MousePosition;
+
+import java.util.Locale;
+
+/**
+ * Input-Backend für Linux/X11 über die XTest-Erweiterung ({@code libXtst}).
+ * <p>
+ * Gedacht für jeden X-Server mit XTest, auch headless gegen Xvfb
+ * ({@code Xvfb :99 &} und {@code DISPLAY=:99}); geprüft sind die Bindings bisher gegen die
+ * Stub-Library der Tests, Messwerte gegen einen echten Server liefert
+ * {@code XTestInputBenchmark}. Das Backend hält eine Verbindung zum Display aus
+ * {@code $DISPLAY}, die beim ersten Aufruf geöffnet wird.
+ * <p>
+ * Xlib puffert die Events; jeder Aufruf des Backends (ein Klick, ein Batch, eine
+ * Bewegung) schreibt alle Events in den Puffer und flusht genau einmal. Ein Tick der
+ * Engine kostet damit einen einzigen Schreibzugriff auf den Socket, auch wenn er
+ * mehrere Klicks als Batch enthält.
+ * <p>
+ * Xlib ist ohne {@code XInitThreads} nicht thread-sicher, daher laufen alle Aufrufe
+ * unter dem Monitor des Backends.
+ */
+public class XTestInputBackend implements InputBackend {
+
+    public static final String NAME = "xtest";
+
+    // X11 Maustasten; Scrollen sind die Tasten 4 (hoch) und 5 (runter)
+    static final int BUTTON_LEFT = 1;
+    static final int BUTTON_RIGHT = 3;
+    static final int BUTTON_SCROLL_UP = 4;
+    static final int BUTTON_SCROLL_DOWN = 5;
+
+    // Zeilen pro Scroll-Klick (SCROLL_UP / SCROLL_DOWN), wie im CoreGraphics-Backend
+    static final int SCROLL_LINES_PER_CLICK = NativeMacOSAPI.SCROLL_LINES_PER_CLICK;
+
+    private static final int PRESS = 1;
+    private static final int RELEASE = 0;
+    private static final long CURRENT_TIME = 0;
+
+    private final boolean dryRun;
+    private long display;
+    private int screen;
+    private long rootWindow;
+    private long flushes;
+
+    // Rückgabeparameter von XQueryPointer / XTestQueryExtension, unter dem Monitor wiederverwendet;
+    // nicht benötigte Werte teilen sich ein Array
+    private final long[] windowOut = new long[1];
+    private final int[] rootXOut = new int[1];
+    private final int[] rootYOut = new int[1];
+    private final int[] ignoredOut = new int[1];
+
+    public XTestInputBackend() {
+        this(false);
+    }
+
+    private XTestInputBackend(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Verfügbar unter Linux mit gesetztem {@code $DISPLAY}, wenn sich libX11 und libXtst
+     * binden lassen und der Server die XTest-Erweiterung hat (siehe {@link #probeDisplay()}).
+     */
+    @Override
+    public boolean isAvailable() {
+        String display = System.getenv("DISPLAY");
+        return System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("linux")
+                && display != null && !display.isBlank()
+                && probeDisplay();
+    }
+
+    /**
+     * Bindet die Bibliotheken, öffnet eine eigene Verbindung zu {@code $DISPLAY}, fragt
+     * die XTest-Erweiterung ab und schliesst die Verbindung wieder. Postet nichts.
+     *
+     * @return true, wenn Bindung, Verbindung und Erweiterung vorhanden sind
+     */
+    static boolean probeDisplay() {
+        try {
+            long d = X11Direct.XOpenDisplay(null);
+            if (d == 0) {
+                return false;
+            }
+            try {
+                int[] ignored = new int[1];
+                return XTestDirect.XTestQueryExtension(d, ignored, ignored, ignored, ignored) != 0;
+            } finally {
+                X11Direct.XCloseDisplay(d);
+            }
+        } catch (UnsatisfiedLinkError | NoClassDefFoundError e) {
+            return false;
+        }
+    }
+
+    @Override
+    public int getPriority() {
+        return 90;
+    }
+
+    /**
+     * Eigene Verbindung zum Display, über die nur geflusht, aber kein Event gefälscht wird.
+     * Die Verbindung wird mit {@link #releaseResources()} geschlossen.
+     */
+    @Override
+    public InputBackend dryRun() {
+        return new XTestInputBackend(true);
+    }
+
+    /**
+     * Schliesst im Trockenlauf die eigene Verbindung; sonst bleibt sie für den nächsten Lauf offen.
+     */
+    @Override
+    public synchronized void releaseResources() {
+        if (dryRun) {
+            close();
+        }
+    }
+
+    /**
+     * Bindet libX11 und libXtst und öffnet das Display.
+     */
+    @Override
+    public synchronized void preload() {
+        display();
+    }
+
+    /**
+     * Fragt die XTest-Erweiterung des Servers ab (kein Event).
+     */
+    @Override
+    public synchronized boolean hasInputPermission() {
+        long d = display();
+        long start = NativeCallMetrics.start();
+        boolean present = XTestDirect.XTestQueryExtension(d, ignoredOut, ignoredOut, ignoredOut, ignoredOut) != 0;
+        NativeCallMetrics.record(NativeCall.PERMISSION_QUERY, start);
+        return present;
+    }
+
+    @Override
+    public synchronized void move(int x, int y) {
+        long d = display();
+        fakeMotion(d, x, y);
+        flush(d);
+    }
+
+    @Override
+    public synchronized void click(int x, int y, ClickType type) {
+        long d = display();
+        fakeClick(d, x, y, type);
+        flush(d);
+    }
+
+    @Override
+    public synchronized void clickBatch(int x, int y, ClickType type, int count) {
+        if (count <= 0) {
+            return;
+        }
+        long d = display();
+        for (int i = 0; i < count; i++) {
+            fakeClick(d, x, y, type);
+        }
+        flush(d);
+    }
+
+    @Override
+    public synchronized void scroll(int x, int y, int lines) {
+        long d = display();
+        fakeScroll(d, x, y, lines);
+        flush(d);
+    }
+
+    @Override
+    public synchronized void postBatch(EventBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long d = display();
+        for (int i = 0; i < batch.size(); i++) {
+            int x = batch.getX(i);
+            int y = batch.getY(i);
+            switch (batch.getKind(i)) {
+                case EventBatch.MOVE -> fakeMotion(d, x, y);
+                case EventBatch.CLICK -> fakeClick(d, x, y, batch.getClickType(i));
+                case EventBatch.SCROLL -> fakeScroll(d, x, y, batch.getScrollLines(i));
+                default -> throw new IllegalArgumentException("Unknown event kind: " + batch.getKind(i));
+            }
+        }
+        flush(d);
+    }
+
+    /**
+     * Fragt die Zeigerposition auf dem Root-Fenster ab (Roundtrip zum Server).
+     */
+    @Override
+    public MousePosition getCurrentMousePosition() {
+        long packed = getCurrentPositionPacked();
+        return new MousePosition(ClickPlan.unpackX(packed), ClickPlan.unpackY(packed));
+    }
+
+    @Override
+    public synchronized long getCurrentPositionPacked() {
+        long d = display();
+        long start = NativeCallMetrics.start();
+        X11Direct.XQueryPointer(d, rootWindow, windowOut, windowOut,
+                rootXOut, rootYOut, ignoredOut, ignoredOut, ignoredOut);
+        NativeCallMetrics.record(NativeCall.POSITION_QUERY, start);
+        return ClickPlan.pack(rootXOut[0], rootYOut[0]);
+    }
+
+    /**
+     * Wartet, bis der Server alle bisher gesendeten Events verarbeitet hat.
+     */
+    public synchronized void sync() {
+        X11Direct.XSync(display(), 0);
+    }
+
+    /**
+     * Schliesst die Verbindung zum Display; der nächste Aufruf öffnet sie neu.
+     */
+    public synchronized void close() {
+        if (display != 0) {
+            X11Direct.XCloseDisplay(display);
+            display = 0;
+        }
+    }
+
+    /**
+     * Anzahl der Flushes seit dem Erstellen (einer pro Aufruf des Backends).
+     */
+    synchronized long getFlushCount() {
+        return flushes;
+    }
+
+    private void fakeClick(long d, int x, int y, ClickType type) {
+        switch (type) {
+            case LEFT -> fakeButton(d, x, y, BUTTON_LEFT);
+            case RIGHT -> fakeButton(d, x, y, BUTTON_RIGHT);
+            case SCROLL_UP -> fakeScroll(d, x, y, SCROLL_LINES_PER_CLICK);
+            case SCROLL_DOWN -> fakeScroll(d, x, y, -SCROLL_LINES_PER_CLICK);
+            default -> throw new IllegalArgumentException("Unsupported click type: " + type);
+        }
+    }
+
+    private void fakeButton(long d, int x, int y, int button) {
+        fakeMotion(d, x, y);
+        fakeButtonEvent(d, button, PRESS);
+        fakeButtonEvent(d, button, RELEASE);
+    }
+
+    private void fakeScroll(long d, int x, int y, int lines) {
+        fakeMotion(d, x, y);
+        int button = lines > 0 ? BUTTON_SCROLL_UP : BUTTON_SCROLL_DOWN;
+        for (int i = 0; i < Math.abs(lines); i++) {
+            fakeButtonEvent(d, button, PRESS);
+            fakeButtonEvent(d, button, RELEASE);
+        }
+    }
+
+    private void fakeMotion(long d, int x, int y) {
+        if (dryRun) {
+            return;
+        }
+        long start = NativeCallMetrics.start();
+        XTestDirect.XTestFakeMotionEvent(d, screen, x, y, CURRENT_TIME);
+        NativeCallMetrics.record(NativeCall.POST, start);
+    }
+
+    private void fakeButtonEvent(long d, int button, int state) {
+        if (dryRun) {
+            return;
+        }
+        long start = NativeCallMetrics.start();
+        XTestDirect.XTestFakeButtonEvent(d, button, state, CURRENT_TIME);
+        NativeCallMetrics.record(NativeCall.POST, start);
+    }
+
+    private void flush(long d) {
+        long start = NativeCallMetrics.start();
+        X11Direct.XFlush(d);
+        NativeCallMetrics.record(NativeCall.FLUSH, start);
+        flushes++;
+    }
+
+    private long display() {
+        if (display == 0) {
+            long opened = X11Direct.XOpenDisplay(null);
+            if (opened == 0) {
+                throw new IllegalStateException("Cannot open X display " + System.getenv("DISPLAY"));
+            }
+            display = opened;
+            screen = X11Direct.XDefaultScreen(opened);
+            rootWindow = X11Direct.XRootWindow(opened, screen);
+        }
+        return display;
+    }
+}
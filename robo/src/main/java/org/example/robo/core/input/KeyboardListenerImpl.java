@@ -1,11 +1,10 @@
 package org.example.robo.core.input;
 
+import org.example.robo.util.ListenerRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,7 +18,7 @@ public class KeyboardListenerImpl implements KeyboardListener {
     private static final Logger logger = LoggerFactory.getLogger(KeyboardListenerImpl.class);
 
     private final Map<Integer, HotkeyAction> hotkeyMap;
-    private final List<KeyboardEventListener> listeners;
+    private final ListenerRegistry<KeyboardEventListener> listeners;
     private volatile boolean isListening = false;
     private volatile boolean isRecording = false;
     private HotkeyRecordingCallback recordingCallback;
@@ -30,7 +29,7 @@ public class KeyboardListenerImpl implements KeyboardListener {
      */
     public KeyboardListenerImpl() {
         this.hotkeyMap = new HashMap<>();
-        this.listeners = new ArrayList<>();
+        this.listeners = new ListenerRegistry<>(KeyboardEventListener[]::new);
         logger.info("KeyboardListener initialized");
     }
 
@@ -111,7 +110,7 @@ public class KeyboardListenerImpl implements KeyboardListener {
      * Benachrichtige alle registrierten Listener.
      */
     private void notifyListeners(ListenerAction action) {
-        for (KeyboardEventListener listener : new ArrayList<>(listeners)) {
+        for (KeyboardEventListener listener : listeners.snapshot()) {
             try {
                 action.execute(listener);
             } catch (Exception e) {
@@ -21,9 +21,22 @@ public class ClickProfile {
     private ClickType clickType; // LEFT, RIGHT, SCROLL
     private int numberOfClicks; // -1 = unbegrenzt
     private long delayBetweenClicks; // ms
+    private JitterMode timingJitter; // NONE, UNIFORM, GAUSSIAN, POISSON
+    private long timingJitterMs; // ms, Stärke des zeitlichen Jitters
+    private int positionJitterRadius; // px um die Position
     private LocalDateTime createdAt;
     private LocalDateTime lastModified;
 
+    /**
+     * Erstellt ein Profil ohne Jitter.
+     */
+    public ClickProfile(String id, String name, String description, int clickFrequency,
+                        MousePosition position, ClickType clickType, int numberOfClicks,
+                        long delayBetweenClicks, LocalDateTime createdAt, LocalDateTime lastModified) {
+        this(id, name, description, clickFrequency, position, clickType, numberOfClicks,
+                delayBetweenClicks, null, 0, 0, createdAt, lastModified);
+    }
+
     /**
      * Default Konstruktor für Jackson Deserialisierung.
      */
@@ -37,6 +50,9 @@ public class ClickProfile {
             @JsonProperty("clickType") ClickType clickType,
             @JsonProperty("numberOfClicks") int numberOfClicks,
             @JsonProperty("delayBetweenClicks") long delayBetweenClicks,
+            @JsonProperty("timingJitter") JitterMode timingJitter,
+            @JsonProperty("timingJitterMs") long timingJitterMs,
+            @JsonProperty("positionJitterRadius") int positionJitterRadius,
             @JsonProperty("createdAt") LocalDateTime createdAt,
             @JsonProperty("lastModified") LocalDateTime lastModified) {
         this.id = id != null ? id : UUID.randomUUID().toString();
@@ -47,6 +63,9 @@ public class ClickProfile {
         this.clickType = clickType != null ? clickType : ClickType.LEFT;
         this.numberOfClicks = numberOfClicks;
         this.delayBetweenClicks = delayBetweenClicks;
+        this.timingJitter = timingJitter != null ? timingJitter : JitterMode.NONE;
+        this.timingJitterMs = timingJitterMs;
+        this.positionJitterRadius = positionJitterRadius;
         this.createdAt = createdAt != null ? createdAt : LocalDateTime.now();
         this.lastModified = lastModified != null ? lastModified : LocalDateTime.now();
 
@@ -94,6 +113,19 @@ public class ClickProfile {
             this.delayBetweenClicks = 0;
         }
 
+        // Jitter-Validierung
+        if (this.timingJitter == null) {
+            this.timingJitter = JitterMode.NONE;
+        }
+        if (this.timingJitterMs < 0) {
+            this.timingJitterMs = 0;
+        }
+        if (this.positionJitterRadius < 0) {
+            this.positionJitterRadius = 0;
+        } else if (this.positionJitterRadius > Constants.MAX_POSITION_JITTER_RADIUS) {
+            this.positionJitterRadius = Constants.MAX_POSITION_JITTER_RADIUS;
+        }
+
         // numberOfClicks: -1 bedeutet unbegrenzt, alles andere sollte > 0 sein
         if (this.numberOfClicks > 0) {
             // OK
@@ -179,6 +211,40 @@ public class ClickProfile {
         this.lastModified = LocalDateTime.now();
     }
 
+    public JitterMode getTimingJitter() {
+        return timingJitter;
+    }
+
+    public void setTimingJitter(JitterMode timingJitter) {
+        this.timingJitter = timingJitter;
+        validateProfile();
+        this.lastModified = LocalDateTime.now();
+    }
+
+    /**
+     * @return Stärke des zeitlichen Jitters in ms (Breite bei UNIFORM, Standardabweichung
+     *         bei GAUSSIAN; bei POISSON nicht verwendet)
+     */
+    public long getTimingJitterMs() {
+        return timingJitterMs;
+    }
+
+    public void setTimingJitterMs(long timingJitterMs) {
+        this.timingJitterMs = timingJitterMs;
+        validateProfile();
+        this.lastModified = LocalDateTime.now();
+    }
+
+    public int getPositionJitterRadius() {
+        return positionJitterRadius;
+    }
+
+    public void setPositionJitterRadius(int positionJitterRadius) {
+        this.positionJitterRadius = positionJitterRadius;
+        validateProfile();
+        this.lastModified = LocalDateTime.now();
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,63 @@
+package org.example.robo.core.profile;
+
+/**
+ * Enumeriert die Verteilungen für die zeitliche Streuung der Klicks.
+ */
+public enum JitterMode {
+    /**
+     * Kein Jitter, Klicks liegen exakt auf dem Raster
+     */
+    NONE("none"),
+
+    /**
+     * Gleichverteilte Abweichung vom Raster (± Verzögerung)
+     */
+    UNIFORM("uniform"),
+
+    /**
+     * Normalverteilte Abweichung vom Raster (Standardabweichung = Verzögerung)
+     */
+    GAUSSIAN("gaussian"),
+
+    /**
+     * Exponentialverteilte Abstände mit dem Klick-Intervall als Mittelwert (Poisson-Prozess)
+     */
+    POISSON("poisson");
+
+    private final String displayName;
+
+    JitterMode(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gibt den Anzeigenamen des Jitter-Modus zurück.
+     *
+     * @return Anzeigename
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Konvertiert einen String in JitterMode.
+     *
+     * @param value String-Wert
+     * @return JitterMode oder NONE (default)
+     */
+    public static JitterMode fromString(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        try {
+            return JitterMode.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return NONE;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -1,16 +1,25 @@
 package org.example.robo.core.profile;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
 
 /**
  * Repräsentiert ein aufgezeichnetes Macro (Reihe von MacroEvents).
+ * <p>
+ * Die Events liegen spaltenweise in einem {@link MacroEventStore}. {@link #getEvents()}
+ * ist eine Listen-Sicht darauf (für JSON und bestehende Aufrufer): Lesen erzeugt bei
+ * jedem Zugriff eine neue Kopie des Eintrags, Schreiben ({@code add}, {@code set},
+ * {@code remove}) geht direkt in die Ablage. Änderungen an einer gelesenen Kopie wirken
+ * daher erst, wenn sie mit {@code set} zurückgeschrieben wird.
  */
 public class Macro {
     private String id;
     private String name;
-    private List<MacroEvent> events = new ArrayList<>();
+    private MacroEventStore eventStore = new MacroEventStore();
+    private final List<MacroEvent> events = new EventListView();
     private LocalDateTime createdAt = LocalDateTime.now();
 
     public Macro() {
@@ -41,8 +50,28 @@ public class Macro {
         return events;
     }
 
+    /**
+     * Ersetzt die Events durch die Einträge der Liste.
+     */
     public void setEvents(List<MacroEvent> events) {
-        this.events = events;
+        if (events != this.events) {
+            this.eventStore = events == null ? new MacroEventStore() : MacroEventStore.fromEvents(events);
+        }
+    }
+
+    /**
+     * @return spaltenweise Ablage der Events (für Recorder und Player)
+     */
+    @JsonIgnore
+    public MacroEventStore getEventStore() {
+        return eventStore;
+    }
+
+    /**
+     * Übernimmt eine fertig aufgebaute Ablage (z.B. aus {@link MappedMacroFile#toMacro()}).
+     */
+    void setEventStore(MacroEventStore eventStore) {
+        this.eventStore = eventStore;
     }
 
     public LocalDateTime getCreatedAt() {
@@ -52,5 +81,47 @@ public class Macro {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    /**
+     * Listen-Sicht auf die Ablage; {@link #get} liefert Kopien, alle Änderungen gehen in die Ablage.
+     */
+    private final class EventListView extends AbstractList<MacroEvent> {
+        @Override
+        public MacroEvent get(int index) {
+            return eventStore.toEvent(index);
+        }
+
+        @Override
+        public int size() {
+            return eventStore.size();
+        }
+
+        @Override
+        public MacroEvent set(int index, MacroEvent event) {
+            MacroEvent previous = eventStore.toEvent(index);
+            eventStore.set(index, event);
+            return previous;
+        }
+
+        @Override
+        public void add(int index, MacroEvent event) {
+            eventStore.insert(index, event);
+            modCount++;
+        }
+
+        @Override
+        public MacroEvent remove(int index) {
+            MacroEvent previous = eventStore.toEvent(index);
+            eventStore.remove(index);
+            modCount++;
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            eventStore.clear();
+            modCount++;
+        }
+    }
 }
 
@@ -0,0 +1,53 @@
+package org.example.robo.core.profile;
+
+/**
+ * Lesender Cursor über die Events eines Macros, unabhängig von der Ablage
+ * ({@link MacroEventStore} im Heap oder {@link MappedMacroFile} als Datei).
+ * <p>
+ * Steht anfangs vor dem ersten Event; {@link #next()} rückt vor, die Getter lesen das
+ * aktuelle Event. Implementierungen allozieren pro Event nicht und sind nicht thread-safe.
+ * Ein Cursor kann auch eine Quelle ohne Ablage sein (z.B. ein Generator); wer ihn
+ * abspielt, gibt ihn danach mit {@link #close()} frei.
+ */
+public interface MacroEventCursor extends AutoCloseable {
+
+    /**
+     * @return Anzahl aller Events des Cursors
+     */
+    int size();
+
+    boolean hasNext();
+
+    /**
+     * Rückt zum nächsten Event vor.
+     *
+     * @return false, wenn es kein weiteres Event gibt
+     */
+    boolean next();
+
+    /**
+     * @return Zeitstempel des nächsten Events, ohne vorzurücken
+     * @throws IndexOutOfBoundsException wenn es kein weiteres Event gibt
+     */
+    long peekTimestampMs();
+
+    long timestampMs();
+
+    int x();
+
+    int y();
+
+    boolean isClick();
+
+    /**
+     * @return Klick-Typ oder null bei einer Bewegung
+     */
+    ClickType clickType();
+
+    /**
+     * Gibt Ressourcen des Cursors frei (Threads, Dateien). Standard: nichts zu tun.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,385 @@
+package org.example.robo.core.profile;
+
+import org.example.robo.util.MousePosition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Spaltenweise Ablage der Events eines {@link Macro} in primitiven Arrays.
+ * <p>
+ * Statt eines Objekts pro Event (Header, eigene {@link MousePosition}, polymorpher Typ)
+ * liegen Zeitstempel, Koordinaten und Typ-Code in parallelen Arrays: 17 Byte pro Event,
+ * und Abspielen liest sequentiell statt Zeigern zu folgen. Anhängen ist amortisiert O(1)
+ * (die Arrays wachsen um die Hälfte).
+ * <p>
+ * Der Typ-Code ist {@link #MOVE} für eine Bewegung, sonst {@link #clickCode(ClickType)}.
+ * Player lesen über einen {@link Cursor}; {@link MacroEvent}-Objekte werden nur für die
+ * Listen-Sicht ({@link Macro#getEvents()}) und die JSON-Serialisierung erzeugt.
+ * <p>
+ * Nicht thread-safe: Aufnehmen und Abspielen desselben Macros müssen nacheinander laufen.
+ */
+public final class MacroEventStore {
+
+    public static final byte MOVE = 0;
+
+    private static final ClickType[] CLICK_TYPES = ClickType.values();
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] timestamps;
+    private int[] xs;
+    private int[] ys;
+    private byte[] types;
+    private int size;
+
+    public MacroEventStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity Anzahl Events, bevor die Arrays wachsen
+     */
+    public MacroEventStore(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative");
+        }
+        this.timestamps = new long[initialCapacity];
+        this.xs = new int[initialCapacity];
+        this.ys = new int[initialCapacity];
+        this.types = new byte[initialCapacity];
+    }
+
+    /**
+     * Übernimmt eine Liste von Events (z.B. aus JSON geladen).
+     *
+     * @param events Events in zeitlicher Reihenfolge
+     * @return neue Ablage mit genau dieser Kapazität
+     */
+    public static MacroEventStore fromEvents(List<? extends MacroEvent> events) {
+        MacroEventStore store = new MacroEventStore(events.size());
+        for (MacroEvent event : events) {
+            store.append(event);
+        }
+        return store;
+    }
+
+    /**
+     * @return Typ-Code eines Klicks
+     */
+    public static byte clickCode(ClickType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Click type cannot be null");
+        }
+        return (byte) (type.ordinal() + 1);
+    }
+
+    public void appendMove(long timestampMs, int x, int y) {
+        append(timestampMs, x, y, MOVE);
+    }
+
+    public void appendClick(long timestampMs, int x, int y, ClickType type) {
+        append(timestampMs, x, y, clickCode(type));
+    }
+
+    /**
+     * Hängt ein Event-Objekt an (Bewegung oder Klick).
+     */
+    public void append(MacroEvent event) {
+        insert(size, event);
+    }
+
+    /**
+     * Fügt ein Event-Objekt an der Stelle ein; die folgenden Einträge rücken um eins
+     * nach hinten. O(n), ausser am Ende.
+     *
+     * @param index Stelle zwischen 0 und {@link #size()}
+     * @param event Bewegung oder Klick
+     */
+    public void insert(int index, MacroEvent event) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Event " + index + " of " + size);
+        }
+        byte type = typeOf(event);
+        if (size == timestamps.length) {
+            grow();
+        }
+        shift(index, index + 1, size - index);
+        size++;
+        write(index, event, type);
+    }
+
+    /**
+     * Ersetzt den Eintrag an der Stelle durch das Event-Objekt.
+     */
+    public void set(int index, MacroEvent event) {
+        checkIndex(index);
+        write(index, event, typeOf(event));
+    }
+
+    /**
+     * Entfernt den Eintrag an der Stelle; die folgenden Einträge rücken um eins nach vorne. O(n).
+     */
+    public void remove(int index) {
+        checkIndex(index);
+        shift(index + 1, index, size - index - 1);
+        size--;
+    }
+
+    private void append(long timestampMs, int x, int y, byte type) {
+        if (size == timestamps.length) {
+            grow();
+        }
+        timestamps[size] = timestampMs;
+        xs[size] = x;
+        ys[size] = y;
+        types[size] = type;
+        size++;
+    }
+
+    private void write(int index, MacroEvent event, byte type) {
+        MousePosition p = event instanceof MouseMoveEvent move
+                ? move.getPosition()
+                : ((MouseClickEvent) event).getPosition();
+        timestamps[index] = event.getTimestampMs();
+        xs[index] = p.getX();
+        ys[index] = p.getY();
+        types[index] = type;
+    }
+
+    private void shift(int from, int to, int count) {
+        if (count > 0) {
+            System.arraycopy(timestamps, from, timestamps, to, count);
+            System.arraycopy(xs, from, xs, to, count);
+            System.arraycopy(ys, from, ys, to, count);
+            System.arraycopy(types, from, types, to, count);
+        }
+    }
+
+    private static byte typeOf(MacroEvent event) {
+        if (event instanceof MouseMoveEvent) {
+            return MOVE;
+        }
+        if (event instanceof MouseClickEvent click) {
+            return clickCode(click.getClickType());
+        }
+        throw new IllegalArgumentException("Unsupported macro event: " + event);
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, timestamps.length + (timestamps.length >> 1));
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        types = Arrays.copyOf(types, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Entfernt alle Events; die Kapazität bleibt erhalten.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Verkleinert die Arrays auf die aktuelle Anzahl Events (z.B. nach Ende einer Aufnahme).
+     */
+    public void trimToSize() {
+        if (size < timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, size);
+            xs = Arrays.copyOf(xs, size);
+            ys = Arrays.copyOf(ys, size);
+            types = Arrays.copyOf(types, size);
+        }
+    }
+
+    /**
+     * @return belegter Heap der Arrays in Byte (Kapazität, ohne Array-Header)
+     */
+    public long getCapacityBytes() {
+        return (long) timestamps.length * (Long.BYTES + 2 * Integer.BYTES + Byte.BYTES);
+    }
+
+    public long getTimestampMs(int index) {
+        return timestamps[checkIndex(index)];
+    }
+
+    public int getX(int index) {
+        return xs[checkIndex(index)];
+    }
+
+    public int getY(int index) {
+        return ys[checkIndex(index)];
+    }
+
+    /**
+     * @return {@link #MOVE} oder der Code eines Klicks
+     */
+    public byte getType(int index) {
+        return types[checkIndex(index)];
+    }
+
+    /**
+     * @return Klick-Typ oder null bei einer Bewegung
+     */
+    public ClickType getClickType(int index) {
+        return clickTypeOf(types[checkIndex(index)]);
+    }
+
+    /**
+     * Erzeugt das Event-Objekt eines Eintrags.
+     */
+    public MacroEvent toEvent(int index) {
+        checkIndex(index);
+        MousePosition position = new MousePosition(xs[index], ys[index]);
+        ClickType clickType = clickTypeOf(types[index]);
+        return clickType == null
+                ? new MouseMoveEvent(timestamps[index], position)
+                : new MouseClickEvent(timestamps[index], position, clickType);
+    }
+
+    /**
+     * @return neue Liste aller Events als Objekte
+     */
+    public List<MacroEvent> toEvents() {
+        List<MacroEvent> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            events.add(toEvent(i));
+        }
+        return events;
+    }
+
+    /**
+     * Cursor über die aktuell gespeicherten Events. Später angehängte Events sieht er nicht.
+     */
+    public Cursor cursor() {
+        return new Cursor(timestamps, xs, ys, types, size);
+    }
+
+    static ClickType clickTypeOf(byte type) {
+        return type == MOVE ? null : CLICK_TYPES[type - 1];
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Event " + index + " of " + size);
+        }
+        return index;
+    }
+
+    /**
+     * Lesender Cursor für Player über die Arrays der Ablage; kann zusätzlich springen.
+     */
+    public static final class Cursor implements MacroEventCursor {
+        private final long[] timestamps;
+        private final int[] xs;
+        private final int[] ys;
+        private final byte[] types;
+        private final int limit;
+        private int index = -1;
+
+        private Cursor(long[] timestamps, int[] xs, int[] ys, byte[] types, int limit) {
+            this.timestamps = timestamps;
+            this.xs = xs;
+            this.ys = ys;
+            this.types = types;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index + 1 < limit;
+        }
+
+        @Override
+        public boolean next() {
+            if (index + 1 >= limit) {
+                index = limit;
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        @Override
+        public long peekTimestampMs() {
+            if (!hasNext()) {
+                throw new IndexOutOfBoundsException("No event after " + index);
+            }
+            return timestamps[index + 1];
+        }
+
+        /**
+         * Setzt den Cursor vor das Event mit dem gegebenen Index.
+         */
+        public void seek(int position) {
+            if (position < 0 || position > limit) {
+                throw new IndexOutOfBoundsException("Position " + position + " of " + limit);
+            }
+            index = position - 1;
+        }
+
+        /**
+         * @return Index des aktuellen Events
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * @return Anzahl Events nach dem aktuellen
+         */
+        public int remaining() {
+            return Math.max(0, limit - index - 1);
+        }
+
+        @Override
+        public int size() {
+            return limit;
+        }
+
+        @Override
+        public long timestampMs() {
+            return timestamps[current()];
+        }
+
+        @Override
+        public int x() {
+            return xs[current()];
+        }
+
+        @Override
+        public int y() {
+            return ys[current()];
+        }
+
+        public byte type() {
+            return types[current()];
+        }
+
+        @Override
+        public boolean isClick() {
+            return types[current()] != MOVE;
+        }
+
+        @Override
+        public ClickType clickType() {
+            return clickTypeOf(types[current()]);
+        }
+
+        private int current() {
+            if (index < 0 || index >= limit) {
+                throw new IllegalStateException("Cursor is not on an event");
+            }
+            return index;
+        }
+    }
+}
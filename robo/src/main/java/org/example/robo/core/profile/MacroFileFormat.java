@@ -0,0 +1,83 @@
+package org.example.robo.core.profile;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Aufbau des binären Macro-Formats ({@code .rmacro}) und die gemeinsamen Kodier-Routinen
+ * für {@link MacroFileWriter} und {@link MappedMacroFile}.
+ * <p>
+ * Alle Zahlen in Little Endian. Datei:
+ * <pre>
+ * Header  magic "RMAC" | version u16 | flags u16 | eventsPerBlock i32 | eventCount i64
+ *         | blockCount i32 | createdAt (epochSecond i64, nano i32) | id | name
+ *         (id und name: Länge u16 + UTF-8)
+ * Block   eventCount i32 | payloadLength i32 | CRC32C(payload) i32 | payload
+ * </pre>
+ * Ein Event im Payload sind drei Varints (LEB128): {@code zigzag(dt) << 3 | typ},
+ * {@code zigzag(dx)}, {@code zigzag(dy)}, jeweils als Differenz zum vorigen Event im
+ * selben Block (am Blockanfang zu 0). Bei typischen Aufnahmen (wenige ms und Pixel
+ * zwischen zwei Samples) sind das 3 Byte pro Event. Da jeder Block für sich dekodierbar
+ * und geprüft ist, kann ein Leser blockweise streamen.
+ */
+final class MacroFileFormat {
+
+    static final int MAGIC = 'R' | 'M' << 8 | 'A' << 16 | 'C' << 24;
+    static final short VERSION = 1;
+
+    static final int EVENT_COUNT_OFFSET = 12;
+    static final int BLOCK_COUNT_OFFSET = 20;
+    static final int FIXED_HEADER_BYTES = 36;
+    static final int BLOCK_HEADER_BYTES = 12;
+
+    static final int TYPE_BITS = 3;
+    static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+    static final int MAX_EVENT_BYTES = 3 * 10;
+    static final int MAX_STRING_BYTES = 0xFFFF;
+
+    private MacroFileFormat() {
+    }
+
+    static ByteBuffer littleEndian(ByteBuffer buffer) {
+        return buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Schreibt einen vorzeichenlosen Varint.
+     *
+     * @return Position nach dem Varint
+     */
+    static int putVarint(byte[] target, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * Liest einen vorzeichenlosen Varint ab der aktuellen Position des Buffers.
+     *
+     * @throws IllegalStateException bei mehr als 10 Byte
+     */
+    static long getVarint(ByteBuffer source) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = source.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint in macro file");
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.robo.core.profile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+import static org.example.robo.core.profile.MacroFileFormat.*;
+
+/**
+ * Schreibt ein Macro im binären Format ({@link MacroFileFormat}) blockweise in eine Datei.
+ * <p>
+ * Events werden kodiert in einen Block-Puffer gehängt; ein voller Block geht mit Prüfsumme
+ * in die Datei. Der Speicherbedarf ist daher unabhängig von der Länge des Macros.
+ * Anzahl Events und Blöcke stehen erst beim {@link #close()} fest und werden dann in den
+ * Header geschrieben. Nicht thread-safe.
+ */
+public final class MacroFileWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final int eventsPerBlock;
+    private final byte[] payload;
+    private final ByteBuffer blockHeader = littleEndian(ByteBuffer.allocate(BLOCK_HEADER_BYTES));
+    private final CRC32C crc = new CRC32C();
+
+    private int blockEvents;
+    private int payloadLength;
+    private long previousTimestamp;
+    private int previousX;
+    private int previousY;
+    private long eventCount;
+    private int blockCount;
+    private boolean closed;
+
+    /**
+     * Legt die Datei an (bzw. überschreibt sie) und schreibt den Header.
+     *
+     * @param eventsPerBlock Events pro Block, z.B. {@link org.example.robo.util.Constants#MACRO_FILE_BLOCK_EVENTS}
+     */
+    public MacroFileWriter(Path file, String id, String name, LocalDateTime createdAt, int eventsPerBlock) throws IOException {
+        if (eventsPerBlock < 1) {
+            throw new IllegalArgumentException("Events per block must be at least 1: " + eventsPerBlock);
+        }
+        this.eventsPerBlock = eventsPerBlock;
+        this.payload = new byte[eventsPerBlock * MAX_EVENT_BYTES];
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            writeFully(header(id, name, createdAt == null ? LocalDateTime.now() : createdAt, eventsPerBlock));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Schreibt ein ganzes Macro.
+     */
+    public static void write(Macro macro, Path file, int eventsPerBlock) throws IOException {
+        try (MacroFileWriter writer = new MacroFileWriter(file, macro.getId(), macro.getName(), macro.getCreatedAt(), eventsPerBlock)) {
+            writer.appendAll(macro.getEventStore().cursor());
+        }
+    }
+
+    public void appendMove(long timestampMs, int x, int y) throws IOException {
+        append(timestampMs, x, y, MacroEventStore.MOVE);
+    }
+
+    public void appendClick(long timestampMs, int x, int y, ClickType type) throws IOException {
+        append(timestampMs, x, y, MacroEventStore.clickCode(type));
+    }
+
+    /**
+     * Hängt alle restlichen Events eines Cursors an.
+     */
+    public void appendAll(MacroEventCursor cursor) throws IOException {
+        while (cursor.next()) {
+            if (cursor.isClick()) {
+                appendClick(cursor.timestampMs(), cursor.x(), cursor.y(), cursor.clickType());
+            } else {
+                appendMove(cursor.timestampMs(), cursor.x(), cursor.y());
+            }
+        }
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    private void append(long timestampMs, int x, int y, byte type) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Macro file writer is closed");
+        }
+        int position = putVarint(payload, payloadLength, zigZag(timestampMs - previousTimestamp) << TYPE_BITS | type);
+        position = putVarint(payload, position, zigZag((long) x - previousX));
+        payloadLength = putVarint(payload, position, zigZag((long) y - previousY));
+        previousTimestamp = timestampMs;
+        previousX = x;
+        previousY = y;
+        eventCount++;
+        if (++blockEvents == eventsPerBlock) {
+            flushBlock();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockEvents == 0) {
+            return;
+        }
+        crc.reset();
+        crc.update(payload, 0, payloadLength);
+        blockHeader.clear();
+        blockHeader.putInt(blockEvents).putInt(payloadLength).putInt((int) crc.getValue()).flip();
+        writeFully(blockHeader);
+        writeFully(ByteBuffer.wrap(payload, 0, payloadLength));
+        blockCount++;
+        blockEvents = 0;
+        payloadLength = 0;
+        previousTimestamp = 0;
+        previousX = 0;
+        previousY = 0;
+    }
+
+    /**
+     * Schreibt den letzten Block und die Zähler in den Header.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (channel) {
+            flushBlock();
+            ByteBuffer counts = littleEndian(ByteBuffer.allocate(Long.BYTES + Integer.BYTES));
+            counts.putLong(eventCount).putInt(blockCount).flip();
+            while (counts.hasRemaining()) {
+                channel.write(counts, EVENT_COUNT_OFFSET + counts.position());
+            }
+        }
+    }
+
+    private static ByteBuffer header(String id, String name, LocalDateTime createdAt, int eventsPerBlock) {
+        byte[] idBytes = utf8(id);
+        byte[] nameBytes = utf8(name);
+        ByteBuffer header = littleEndian(ByteBuffer.allocate(FIXED_HEADER_BYTES + 4 + idBytes.length + nameBytes.length));
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putInt(eventsPerBlock)
+                .putLong(0).putInt(0)
+                .putLong(createdAt.toEpochSecond(ZoneOffset.UTC)).putInt(createdAt.getNano())
+                .putShort((short) idBytes.length).put(idBytes)
+                .putShort((short) nameBytes.length).put(nameBytes);
+        return header.flip();
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Macro id or name too long: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package org.example.robo.core.profile;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+import static org.example.robo.core.profile.MacroFileFormat.*;
+
+/**
+ * Eine Macro-Datei im binären Format ({@link MacroFileFormat}), in den Speicher gemappt.
+ * <p>
+ * {@link #open(Path)} liest nur den Header; die Events dekodiert erst ein {@link #cursor()},
+ * Block für Block beim Vorrücken. Abspielen beginnt damit sofort, unabhängig von der
+ * Länge des Macros, und der Heap-Bedarf bleibt konstant (die Seiten lädt das
+ * Betriebssystem bei Bedarf). Die Prüfsumme eines Blocks wird geprüft, bevor der Cursor
+ * sein erstes Event liefert.
+ * <p>
+ * Die Abbildung wird vom Garbage Collector freigegeben, sobald weder die Datei noch ein
+ * Cursor darauf erreichbar ist. Unveränderlich; mehrere Cursor dürfen parallel lesen.
+ */
+public final class MappedMacroFile {
+
+    private static final int MAX_TYPE_CODE = ClickType.values().length;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int eventsPerBlock;
+    private final int eventCount;
+    private final int blockCount;
+    private final LocalDateTime createdAt;
+    private final String id;
+    private final String name;
+    private final int firstBlockOffset;
+
+    private MappedMacroFile(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        ByteBuffer header = littleEndian(buffer.duplicate());
+        try {
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a macro file: " + path);
+            }
+            short version = header.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported macro file version " + version + ": " + path);
+            }
+            header.getShort();
+            this.eventsPerBlock = header.getInt();
+            long events = header.getLong();
+            this.blockCount = header.getInt();
+            if (eventsPerBlock < 1 || events < 0 || events > Integer.MAX_VALUE || blockCount < 0) {
+                throw new IOException("Corrupt macro file header: " + path);
+            }
+            this.eventCount = (int) events;
+            this.createdAt = LocalDateTime.ofEpochSecond(header.getLong(), header.getInt(), ZoneOffset.UTC);
+            this.id = readString(header);
+            this.name = readString(header);
+            this.firstBlockOffset = header.position();
+        } catch (BufferUnderflowException | java.time.DateTimeException e) {
+            throw new IOException("Corrupt macro file header: " + path, e);
+        }
+    }
+
+    /**
+     * Mappt eine Datei und liest ihren Header.
+     *
+     * @throws IOException wenn die Datei nicht lesbar, kein Macro oder größer als 2 GB ist
+     */
+    public static MappedMacroFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Macro file too large to map: " + path + " (" + size + " bytes)");
+            }
+            return new MappedMacroFile(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    public int getEventsPerBlock() {
+        return eventsPerBlock;
+    }
+
+    /**
+     * @return Dateigröße in Byte
+     */
+    public long getSizeBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * @return neuer Cursor vor dem ersten Event
+     */
+    public MacroEventCursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Dekodiert die ganze Datei in ein Macro im Heap.
+     *
+     * @throws IllegalStateException wenn ein Block beschädigt ist
+     */
+    public Macro toMacro() {
+        Macro macro = new Macro(id, name);
+        macro.setCreatedAt(createdAt);
+        MacroEventStore store = new MacroEventStore(eventCount);
+        MacroEventCursor cursor = cursor();
+        while (cursor.next()) {
+            if (cursor.isClick()) {
+                store.appendClick(cursor.timestampMs(), cursor.x(), cursor.y(), cursor.clickType());
+            } else {
+                store.appendMove(cursor.timestampMs(), cursor.x(), cursor.y());
+            }
+        }
+        macro.setEventStore(store);
+        return macro;
+    }
+
+    private static String readString(ByteBuffer header) {
+        int length = Short.toUnsignedInt(header.getShort());
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        header.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Dekodiert blockweise und hält ein Event Vorschau, damit {@link #peekTimestampMs()}
+     * und {@link #hasNext()} nicht vorrücken.
+     */
+    private final class Cursor implements MacroEventCursor {
+        private final ByteBuffer data = littleEndian(buffer.duplicate());
+        private final CRC32C crc = new CRC32C();
+        private int blocksRead;
+        private int blockRemaining;
+        private int blockEnd;
+        private long returned;
+
+        private boolean lookahead;
+        private long nextTimestamp;
+        private int nextX;
+        private int nextY;
+        private byte nextType;
+
+        private boolean onEvent;
+        private long timestamp;
+        private int x;
+        private int y;
+        private byte type;
+
+        Cursor() {
+            data.position(firstBlockOffset);
+        }
+
+        @Override
+        public int size() {
+            return eventCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return lookahead || decodeNext();
+        }
+
+        @Override
+        public boolean next() {
+            if (!hasNext()) {
+                onEvent = false;
+                return false;
+            }
+            timestamp = nextTimestamp;
+            x = nextX;
+            y = nextY;
+            type = nextType;
+            onEvent = true;
+            lookahead = false;
+            returned++;
+            return true;
+        }
+
+        @Override
+        public long peekTimestampMs() {
+            if (!hasNext()) {
+                throw new IndexOutOfBoundsException("No event after " + (returned - 1));
+            }
+            return nextTimestamp;
+        }
+
+        @Override
+        public long timestampMs() {
+            checkOnEvent();
+            return timestamp;
+        }
+
+        @Override
+        public int x() {
+            checkOnEvent();
+            return x;
+        }
+
+        @Override
+        public int y() {
+            checkOnEvent();
+            return y;
+        }
+
+        @Override
+        public boolean isClick() {
+            checkOnEvent();
+            return type != MacroEventStore.MOVE;
+        }
+
+        @Override
+        public ClickType clickType() {
+            checkOnEvent();
+            return MacroEventStore.clickTypeOf(type);
+        }
+
+        private void checkOnEvent() {
+            if (!onEvent) {
+                throw new IllegalStateException("Cursor is not on an event");
+            }
+        }
+
+        private boolean decodeNext() {
+            if (blockRemaining == 0 && !enterBlock()) {
+                return false;
+            }
+            try {
+                long head = getVarint(data);
+                int code = (int) (head & TYPE_MASK);
+                if (code > MAX_TYPE_CODE) {
+                    throw corrupt("unknown event type " + code);
+                }
+                nextTimestamp += unZigZag(head >>> TYPE_BITS);
+                nextX += (int) unZigZag(getVarint(data));
+                nextY += (int) unZigZag(getVarint(data));
+                nextType = (byte) code;
+            } catch (BufferUnderflowException e) {
+                throw corrupt("event runs past end of file");
+            }
+            if (data.position() > blockEnd || (--blockRemaining == 0 && data.position() != blockEnd)) {
+                throw corrupt("block payload length mismatch");
+            }
+            lookahead = true;
+            return true;
+        }
+
+        private boolean enterBlock() {
+            if (blocksRead == blockCount) {
+                return false;
+            }
+            if (data.remaining() < BLOCK_HEADER_BYTES) {
+                throw corrupt("truncated block header");
+            }
+            int events = data.getInt();
+            int length = data.getInt();
+            int checksum = data.getInt();
+            if (events < 1 || events > eventsPerBlock || length < 0 || length > data.remaining()) {
+                throw corrupt("invalid block header");
+            }
+            crc.reset();
+            crc.update(data.slice(data.position(), length));
+            if ((int) crc.getValue() != checksum) {
+                throw corrupt("checksum mismatch");
+            }
+            blocksRead++;
+            blockRemaining = events;
+            blockEnd = data.position() + length;
+            nextTimestamp = 0;
+            nextX = 0;
+            nextY = 0;
+            return true;
+        }
+
+        private IllegalStateException corrupt(String reason) {
+            return new IllegalStateException("Corrupt macro file " + path + " at offset " + data.position() + ": " + reason);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.example.robo.core.profile;
+
+import org.example.robo.util.Constants;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Liest eine Event-Quelle auf einem eigenen Thread in einen begrenzten Vorlese-Puffer.
+ * <p>
+ * Die Quelle ist ein beliebiger {@link MacroEventCursor}: eine gemappte Datei, ein
+ * Generator oder eine Pipe. Ein Daemon-Thread dekodiert sie in spaltenweise Chunks
+ * fester Größe, der Konsument (der Player) liest daraus. Es sind immer nur
+ * {@code chunks} Chunks im Umlauf; volle Chunks wandern über eine Queue zum Konsumenten,
+ * gelesene zurück zum Leser. Der Speicherbedarf ist damit unabhängig von der Länge des
+ * Macros, und Seitenfehler oder Dekodieren der Quelle laufen nicht auf dem Thread, der
+ * die Events zeitgenau abspielt.
+ * <p>
+ * Ist der Puffer leer, wartet der Konsument auf den Leser. Ein Fehler der Quelle wird
+ * beim Konsumenten als {@link IllegalStateException} geworfen, nachdem alle Events davor
+ * gelesen sind. {@link #close()} beendet den Leser und schliesst die Quelle.
+ */
+public final class ReadAheadMacroCursor implements MacroEventCursor {
+
+    private static final Chunk END = new Chunk(0);
+
+    private final MacroEventCursor source;
+    private final int size;
+    private final BlockingQueue<Chunk> filled;
+    private final BlockingQueue<Chunk> free;
+    private final Thread reader;
+    private volatile boolean closed;
+    private volatile RuntimeException failure;
+
+    private Chunk chunk;
+    private int index;
+    private boolean ended;
+
+    private boolean onEvent;
+    private long timestamp;
+    private int x;
+    private int y;
+    private byte type;
+
+    /**
+     * Puffer mit {@value Constants#MACRO_READ_AHEAD_CHUNKS} Chunks zu je
+     * {@value Constants#MACRO_READ_AHEAD_CHUNK_EVENTS} Events.
+     */
+    public ReadAheadMacroCursor(MacroEventCursor source) {
+        this(source, Constants.MACRO_READ_AHEAD_CHUNK_EVENTS, Constants.MACRO_READ_AHEAD_CHUNKS);
+    }
+
+    /**
+     * @param source Quelle vor ihrem ersten Event; gehört ab jetzt diesem Cursor
+     * @param chunkEvents Events pro Chunk
+     * @param chunks Anzahl Chunks im Umlauf (mindestens 2, damit Lesen und Abspielen überlappen)
+     */
+    public ReadAheadMacroCursor(MacroEventCursor source, int chunkEvents, int chunks) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source cannot be null");
+        }
+        if (chunkEvents < 1 || chunks < 2) {
+            throw new IllegalArgumentException("Need at least 2 chunks of 1 event: " + chunks + " x " + chunkEvents);
+        }
+        this.source = source;
+        this.size = source.size();
+        this.filled = new ArrayBlockingQueue<>(chunks + 1);
+        this.free = new ArrayBlockingQueue<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            free.add(new Chunk(chunkEvents));
+        }
+        this.reader = new Thread(this::runReader, "MacroReadAhead");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (chunk == null || index >= chunk.count) {
+            if (ended) {
+                return false;
+            }
+            if (chunk != null) {
+                free.offer(chunk);
+                chunk = null;
+            }
+            Chunk next;
+            try {
+                next = filled.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for macro events", e);
+            }
+            if (next == END) {
+                ended = true;
+                if (failure != null) {
+                    throw new IllegalStateException("Macro event source failed", failure);
+                }
+                return false;
+            }
+            chunk = next;
+            index = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean next() {
+        if (!hasNext()) {
+            onEvent = false;
+            return false;
+        }
+        timestamp = chunk.timestamps[index];
+        x = chunk.xs[index];
+        y = chunk.ys[index];
+        type = chunk.types[index];
+        index++;
+        onEvent = true;
+        return true;
+    }
+
+    @Override
+    public long peekTimestampMs() {
+        if (!hasNext()) {
+            throw new IndexOutOfBoundsException("No event after the current one");
+        }
+        return chunk.timestamps[index];
+    }
+
+    @Override
+    public long timestampMs() {
+        checkOnEvent();
+        return timestamp;
+    }
+
+    @Override
+    public int x() {
+        checkOnEvent();
+        return x;
+    }
+
+    @Override
+    public int y() {
+        checkOnEvent();
+        return y;
+    }
+
+    @Override
+    public boolean isClick() {
+        checkOnEvent();
+        return type != MacroEventStore.MOVE;
+    }
+
+    @Override
+    public ClickType clickType() {
+        checkOnEvent();
+        return MacroEventStore.clickTypeOf(type);
+    }
+
+    /**
+     * Beendet den Leser und schliesst die Quelle. Darf von jedem Thread aufgerufen werden.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        reader.interrupt();
+    }
+
+    private void checkOnEvent() {
+        if (!onEvent) {
+            throw new IllegalStateException("Cursor is not on an event");
+        }
+    }
+
+    private void runReader() {
+        Chunk next = null;
+        try {
+            while (!closed) {
+                next = free.take();
+                next.count = 0;
+                int capacity = next.timestamps.length;
+                while (next.count < capacity && !closed && source.next()) {
+                    next.add(source);
+                }
+                Chunk done = next;
+                next = null;
+                if (done.count > 0) {
+                    filled.put(done);
+                }
+                if (done.count < capacity) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            // close()
+        } catch (RuntimeException e) {
+            failure = e;
+            // Die Events vor dem Fehler noch ausliefern
+            if (next != null && next.count > 0) {
+                filled.offer(next);
+            }
+        } finally {
+            // Platz ist immer: die Queue fasst alle Chunks und END
+            filled.offer(END);
+            source.close();
+        }
+    }
+
+    /**
+     * Spaltenweiser Puffer für eine feste Anzahl Events.
+     */
+    private static final class Chunk {
+        final long[] timestamps;
+        final int[] xs;
+        final int[] ys;
+        final byte[] types;
+        int count;
+
+        Chunk(int capacity) {
+            timestamps = new long[capacity];
+            xs = new int[capacity];
+            ys = new int[capacity];
+            types = new byte[capacity];
+        }
+
+        void add(MacroEventCursor source) {
+            timestamps[count] = source.timestampMs();
+            xs[count] = source.x();
+            ys[count] = source.y();
+            types[count] = source.isClick() ? MacroEventStore.clickCode(source.clickType()) : MacroEventStore.MOVE;
+            count++;
+        }
+    }
+}
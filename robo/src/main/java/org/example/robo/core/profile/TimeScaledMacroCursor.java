@@ -0,0 +1,124 @@
+package org.example.robo.core.profile;
+
+/**
+ * Cursor, der die Zeitstempel einer anderen Quelle beim Lesen umrechnet: Pausen zwischen
+ * zwei Events werden auf ein Maximum gekürzt, danach wird die Zeit durch einen
+ * Geschwindigkeitsfaktor geteilt. Positionen und Typen bleiben unverändert.
+ * <p>
+ * Es wird nichts kopiert; die Umrechnung braucht nur den Zeitstempel des vorigen Events
+ * und funktioniert daher mit Macros im Speicher wie mit gestreamten Quellen. Gerechnet
+ * wird auf der aufsummierten, gekürzten Zeit seit dem ersten Event, sodass sich
+ * Rundungsfehler nicht über die Länge des Macros aufaddieren. Das erste Event behält
+ * seinen Zeitstempel.
+ */
+public final class TimeScaledMacroCursor implements MacroEventCursor {
+
+    public static final long NO_GAP_LIMIT = Long.MAX_VALUE;
+
+    private final MacroEventCursor source;
+    private final double speed;
+    private final long maxGapMs;
+
+    private boolean started;
+    private boolean onEvent;
+    private long firstTimestampMs;
+    private long sourceTimestampMs;
+    private long compressedMs;
+    private long timestampMs;
+
+    /**
+     * @param source Quelle vor ihrem ersten Event; gehört ab jetzt diesem Cursor
+     * @param speed Geschwindigkeitsfaktor (1 = Echtzeit, 2 = doppelt so schnell)
+     * @param maxGapMs längste Pause zwischen zwei Events oder {@link #NO_GAP_LIMIT}
+     */
+    public TimeScaledMacroCursor(MacroEventCursor source, double speed, long maxGapMs) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source cannot be null");
+        }
+        if (!(speed > 0) || Double.isInfinite(speed)) {
+            throw new IllegalArgumentException("Speed must be positive and finite: " + speed);
+        }
+        if (maxGapMs < 0) {
+            throw new IllegalArgumentException("Max gap must not be negative: " + maxGapMs);
+        }
+        this.source = source;
+        this.speed = speed;
+        this.maxGapMs = maxGapMs;
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return source.hasNext();
+    }
+
+    @Override
+    public boolean next() {
+        if (!source.next()) {
+            onEvent = false;
+            return false;
+        }
+        long sourceTimestamp = source.timestampMs();
+        if (!started) {
+            started = true;
+            firstTimestampMs = sourceTimestamp;
+        } else {
+            compressedMs += gap(sourceTimestamp);
+        }
+        sourceTimestampMs = sourceTimestamp;
+        timestampMs = scale(compressedMs);
+        onEvent = true;
+        return true;
+    }
+
+    @Override
+    public long peekTimestampMs() {
+        long next = source.peekTimestampMs();
+        return started ? scale(compressedMs + gap(next)) : next;
+    }
+
+    @Override
+    public long timestampMs() {
+        if (!onEvent) {
+            throw new IllegalStateException("Cursor is not on an event");
+        }
+        return timestampMs;
+    }
+
+    @Override
+    public int x() {
+        return source.x();
+    }
+
+    @Override
+    public int y() {
+        return source.y();
+    }
+
+    @Override
+    public boolean isClick() {
+        return source.isClick();
+    }
+
+    @Override
+    public ClickType clickType() {
+        return source.clickType();
+    }
+
+    @Override
+    public void close() {
+        source.close();
+    }
+
+    private long gap(long sourceTimestamp) {
+        return Math.min(Math.max(0, sourceTimestamp - sourceTimestampMs), maxGapMs);
+    }
+
+    private long scale(long elapsedMs) {
+        return firstTimestampMs + Math.round(elapsedMs / speed);
+    }
+}
@@ -2,12 +2,22 @@ package org.example.robo.service;
 
 import org.example.robo.config.ConfigurationManager;
 import org.example.robo.config.ConfigurationManagerImpl;
+import org.example.robo.core.engine.CapabilityProbe;
 import org.example.robo.core.engine.ClickEngine;
 import org.example.robo.core.engine.ClickEngineImpl;
+import org.example.robo.core.engine.ClickEngineListener;
+import org.example.robo.core.engine.ClickThreadPinning;
+import org.example.robo.core.engine.CursorPositionSampler;
+import org.example.robo.core.engine.EngineWarmUp;
+import org.example.robo.core.engine.InputBackends;
+import org.example.robo.core.engine.NativeCallMetrics;
+import org.example.robo.core.engine.StartupMetrics;
 import org.example.robo.core.input.HotkeyAction;
 import org.example.robo.core.input.KeyboardListener;
 import org.example.robo.core.input.KeyboardListenerImpl;
 import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.util.Constants;
+import org.example.robo.util.MousePosition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +34,9 @@ public class ApplicationService {
     private final ClickEngine clickEngine;
     private final KeyboardListener keyboardListener;
     private final ConfigurationManager configurationManager;
+    private final CapabilityProbe capabilityProbe;
+    private final EngineWarmUp warmUp;
+    private final CursorPositionSampler cursorSampler;
 
     /**
      * Erstellt eine neue ApplicationService Instanz.
@@ -32,8 +45,9 @@ public class ApplicationService {
     private ApplicationService() {
         // Initialisiere Komponenten in korrekter Reihenfolge
         this.configurationManager = new ConfigurationManagerImpl();
-        this.clickEngine = new ClickEngineImpl();
+        this.clickEngine = new ClickEngineImpl(InputBackends.getDefault(), ClickThreadPinning.fromSystemProperties());
         this.keyboardListener = new KeyboardListenerImpl();
+        this.cursorSampler = new CursorPositionSampler(InputBackends.getDefault());
 
         // Starte Keyboard Listening
         this.keyboardListener.startListening();
@@ -41,6 +55,15 @@ public class ApplicationService {
         // Registriere Default Hotkeys
         setupDefaultHotkeys();
 
+        // Native Library und Klick-Pfad im Hintergrund aufwärmen (erster Klick nach F6)
+        this.capabilityProbe = new CapabilityProbe(InputBackends.getDefault());
+        this.clickEngine.addClickEngineListener(new CapabilityFailureListener());
+        this.warmUp = new EngineWarmUp(capabilityProbe, Constants.WARM_UP_CLICKS);
+        this.warmUp.start();
+
+        // Latenzen der nativen Aufrufe periodisch loggen; gibt nur aus, solange die Messung an ist
+        NativeCallMetrics.startPeriodicDump(Constants.NATIVE_METRICS_DUMP_INTERVAL_MS);
+
         logger.info("ApplicationService initialized");
     }
 
@@ -97,6 +120,33 @@ public class ApplicationService {
         return keyboardListener;
     }
 
+    /**
+     * Gibt die Messwerte des Warm-ups beim Start zurück.
+     *
+     * @return Messwerte oder null, solange das Warm-up läuft
+     */
+    public StartupMetrics getStartupMetrics() {
+        return warmUp.getMetrics();
+    }
+
+    /**
+     * Gibt den Capability-Probe des Input-Backends zurück (Verfügbarkeit, Berechtigung).
+     *
+     * @return CapabilityProbe Instanz
+     */
+    public CapabilityProbe getCapabilityProbe() {
+        return capabilityProbe;
+    }
+
+    /**
+     * Gibt den gemeinsamen Sampler der Mausposition zurück (UI, Recorder).
+     *
+     * @return CursorPositionSampler Instanz
+     */
+    public CursorPositionSampler getCursorSampler() {
+        return cursorSampler;
+    }
+
     /**
      * Gibt den ConfigurationManager zurück.
      *
@@ -155,6 +205,29 @@ public class ApplicationService {
         configurationManager.deleteProfile(profileId);
     }
 
+    /**
+     * Meldet Fehler der Engine an den Capability-Probe, damit er beim nächsten
+     * Zugriff erneut prüft (z.B. Berechtigung entzogen).
+     */
+    private class CapabilityFailureListener implements ClickEngineListener {
+        @Override
+        public void onClickExecuted(MousePosition position) {
+        }
+
+        @Override
+        public void onEngineStarted() {
+        }
+
+        @Override
+        public void onEngineStopped() {
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            capabilityProbe.reportFailure(errorMessage);
+        }
+    }
+
     /**
      * Shutdown - Beendet alle Services
      */
@@ -179,6 +252,9 @@ public class ApplicationService {
             logger.error("Error shutting down KeyboardListener", e);
         }
 
+        cursorSampler.close();
+        NativeCallMetrics.stopPeriodicDump();
+
         logger.info("ApplicationService shutdown complete");
     }
 }
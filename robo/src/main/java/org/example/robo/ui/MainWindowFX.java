@@ -8,9 +8,11 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import org.example.robo.config.ConfigurationManager;
+import org.example.robo.core.engine.CursorPositionListener;
 import org.example.robo.core.input.KeyboardListener;
 import org.example.robo.core.profile.ClickProfile;
 import org.example.robo.core.profile.ClickType;
+import org.example.robo.core.profile.Macro;
 import org.example.robo.ui.dialog.ProfileManagerDialog;
 import org.example.robo.ui.dialog.SettingsDialog;
 import org.example.robo.util.Constants;
@@ -20,8 +22,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * Hauptfenster der Click Roboter Anwendung (JavaFX).
@@ -34,7 +34,7 @@ public class MainWindowFX {
     private List<ClickProfile> profiles;
     private ConfigurationManager configurationManager;
     private KeyboardListener keyboardListener;
-    private Timer statusUpdateTimer;
+    private CursorPositionListener positionListener;
     private Stage primaryStage;
 
     // UI Komponenten
@@ -74,7 +74,7 @@ public class MainWindowFX {
         // Zeige Fenster
         stage.show();
 
-        // Starte Status-Update Timer
+        // Abonniere die Mausposition für die Statusanzeige
         startStatusUpdater();
 
         logger.info("MainWindow (JavaFX) initialized");
@@ -296,22 +296,15 @@ public class MainWindowFX {
     }
 
     private void startStatusUpdater() {
-        statusUpdateTimer = new Timer("StatusUpdater", true);
-        statusUpdateTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                MousePosition currentPos = controller.getCurrentMousePosition();
-                updateMousePosition(currentPos);
-                if (controller.isRecording()) {
-                    controller.recordMouseMove(currentPos);
-                }
-            }
-        }, Constants.MOUSE_POSITION_UPDATE_INTERVAL_MS, Constants.MOUSE_POSITION_UPDATE_INTERVAL_MS);
+        // Bewegungen während einer Aufnahme nimmt der Recorder über denselben Sampler auf
+        positionListener = (x, y) -> updateMousePosition(new MousePosition(x, y));
+        controller.addCursorListener(positionListener);
     }
 
     public void shutdown() {
-        if (statusUpdateTimer != null) {
-            statusUpdateTimer.cancel();
+        if (positionListener != null) {
+            controller.removeCursorListener(positionListener);
+            positionListener = null;
         }
     }
 
@@ -351,7 +344,11 @@ public class MainWindowFX {
     private void onPlayClicked() {
         if (controller == null) return;
         if (!controller.isPlayingMacro()) {
-            controller.playCurrentMacro();
+            if (controller.getCurrentMacro() != null) {
+                controller.playCurrentMacro();
+            } else if (!playSavedMacro()) {
+                return;
+            }
             playButton.setText("STOP PLAY");
             playButton.setStyle("-fx-background-color: #90EE90;");
         } else {
@@ -361,6 +358,30 @@ public class MainWindowFX {
         }
     }
 
+    /**
+     * Lässt ein gespeichertes Macro auswählen und spielt es ab.
+     *
+     * @return true, wenn ein Macro gewählt wurde
+     */
+    private boolean playSavedMacro() {
+        List<Macro> saved = controller.getSavedMacros();
+        if (saved.isEmpty()) {
+            showError("No macro recorded or saved yet");
+            return false;
+        }
+        List<String> names = saved.stream().map(Macro::getName).toList();
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(names.get(names.size() - 1), names);
+        dialog.setTitle("Play Macro");
+        dialog.setHeaderText("Select a saved macro:");
+        dialog.setContentText("Macro:");
+        Optional<String> result = dialog.showAndWait();
+        if (result.isEmpty()) {
+            return false;
+        }
+        controller.playMacro(saved.get(names.indexOf(result.get())).getId());
+        return true;
+    }
+
     private void onProfileManagerClicked() {
         ProfileManagerDialog profileManagerDialog = new ProfileManagerDialog(configurationManager);
         profileManagerDialog.showAndWait();
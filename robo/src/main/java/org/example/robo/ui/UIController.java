@@ -2,15 +2,19 @@ package org.example.robo.ui;
 
 import org.example.robo.core.engine.ClickEngine;
 import org.example.robo.core.engine.ClickEngineListener;
+import org.example.robo.core.engine.CursorPositionListener;
+import org.example.robo.core.engine.CursorPositionSampler;
 import org.example.robo.config.ConfigurationManager;
 import org.example.robo.core.input.KeyboardEventListener;
 import org.example.robo.core.input.HotkeyAction;
 import org.example.robo.core.input.KeyboardListener;
 import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.MappedMacroFile;
 import org.example.robo.util.MousePosition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -26,19 +30,23 @@ public class UIController implements ClickEngineListener, KeyboardEventListener
     private final org.example.robo.core.engine.MacroRecorder macroRecorder;
     private final org.example.robo.core.engine.MacroPlayer macroPlayer;
     private final ConfigurationManager configurationManager;
+    private final CursorPositionSampler cursorSampler;
 
     /**
      * Erstellt einen neuen UIController.
      *
      * @param clickEngine die Click Engine
      * @param keyboardListener der Keyboard Listener
+     * @param cursorSampler gemeinsamer Sampler der Mausposition (Anzeige, Recorder)
      */
-    public UIController(ClickEngine clickEngine, KeyboardListener keyboardListener, ConfigurationManager configurationManager) {
+    public UIController(ClickEngine clickEngine, KeyboardListener keyboardListener, ConfigurationManager configurationManager,
+                        CursorPositionSampler cursorSampler) {
         this.clickEngine = clickEngine;
         this.keyboardListener = keyboardListener;
+        this.cursorSampler = cursorSampler;
 
         // Erstelle einfache Recorder/Player
-        this.macroRecorder = new org.example.robo.core.engine.MacroRecorderImpl(clickEngine);
+        this.macroRecorder = new org.example.robo.core.engine.MacroRecorderImpl(cursorSampler);
         this.macroPlayer = new org.example.robo.core.engine.MacroPlayerImpl();
         this.configurationManager = configurationManager;
 
@@ -93,6 +101,39 @@ public class UIController implements ClickEngineListener, KeyboardEventListener
         }
     }
 
+    /**
+     * Spielt ein gespeichertes Macro direkt aus seiner gemappten Datei ab; die Events
+     * werden beim Abspielen blockweise gelesen statt vorher ganz geladen.
+     *
+     * @param macroId ID des gespeicherten Macros
+     */
+    public void playMacro(String macroId) {
+        try {
+            MappedMacroFile file = configurationManager.openMacroFile(macroId);
+            if (file != null) {
+                macroPlayer.play(file.getName(), file.cursor());
+                return;
+            }
+        } catch (IOException e) {
+            logger.error("Error opening macro file for {}", macroId, e);
+            return;
+        }
+        // Macro ohne binäre Datei (Events noch in der Konfiguration eingebettet)
+        org.example.robo.core.profile.Macro m = configurationManager.loadMacro(macroId);
+        if (m != null) {
+            macroPlayer.play(m);
+        } else {
+            logger.warn("No saved macro with id {}", macroId);
+        }
+    }
+
+    /**
+     * @return gespeicherte Macros, nur mit Metadaten
+     */
+    public List<org.example.robo.core.profile.Macro> getSavedMacros() {
+        return configurationManager.getAllMacros();
+    }
+
     public void stopMacroPlayback() {
         macroPlayer.stop();
     }
@@ -101,7 +142,7 @@ public class UIController implements ClickEngineListener, KeyboardEventListener
         return macroPlayer.isPlaying();
     }
 
-    // Recording helper methods (used by status updater)
+    // Recording helper methods (used by UI hooks)
     public void recordMouseMove(MousePosition pos) {
         if (macroRecorder instanceof org.example.robo.core.engine.MacroRecorderImpl rec) {
             rec.recordMouseMove(pos);
@@ -162,7 +203,20 @@ public class UIController implements ClickEngineListener, KeyboardEventListener
      * @return aktuelle Mausposition
      */
     public MousePosition getCurrentMousePosition() {
-        return clickEngine.getCurrentMousePosition();
+        return cursorSampler.getPosition();
+    }
+
+    /**
+     * Abonniert Änderungen der Mausposition beim gemeinsamen Sampler.
+     *
+     * @param listener Empfänger der Positionen (läuft auf dem Sampler-Thread)
+     */
+    public void addCursorListener(CursorPositionListener listener) {
+        cursorSampler.subscribe(listener);
+    }
+
+    public void removeCursorListener(CursorPositionListener listener) {
+        cursorSampler.unsubscribe(listener);
     }
 
     /**
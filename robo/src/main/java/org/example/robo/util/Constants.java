@@ -12,6 +12,12 @@ public class Constants {
     public static final int MAX_FREQUENCY_HZ = 100;
     public static final int DEFAULT_FREQUENCY_HZ = 10;
 
+    // Burst-Modus (Hochfrequenz, eigene Engine)
+    public static final int MIN_BURST_FREQUENCY_HZ = 100;
+    public static final int MAX_BURST_FREQUENCY_HZ = 2000;
+    public static final int DEFAULT_BURST_FREQUENCY_HZ = 500;
+    public static final int BURST_MAX_BATCH_SIZE = 16;
+
     // Mausposition Defaults
     public static final int DEFAULT_MOUSE_X = 500;
     public static final int DEFAULT_MOUSE_Y = 400;
@@ -19,10 +25,29 @@ public class Constants {
     // Verzögerung zwischen Klicks
     public static final long DEFAULT_DELAY_MS = 0;
 
+    // Jitter (Humanisierung)
+    public static final int MAX_POSITION_JITTER_RADIUS = 100; // px
+    public static final int JITTER_BUFFER_SIZE = 4096; // vorberechnete Zufallswerte pro Strom (Zweierpotenz)
+
     // Konfigurationsdatei
     public static final String CONFIG_DIR = Paths.get(System.getProperty("user.home"), ".robo").toString();
-    public static final String PROFILES_FILE = Paths.get(CONFIG_DIR, "profiles.json").toString();
+    public static final String PROFILES_FILE_NAME = "profiles.json";
+    public static final String MACROS_DIR_NAME = "macros";
+    public static final String PROFILES_FILE = Paths.get(CONFIG_DIR, PROFILES_FILE_NAME).toString();
     public static final String LOGS_DIR = Paths.get(CONFIG_DIR, "logs").toString();
+    public static final String MACROS_DIR = Paths.get(CONFIG_DIR, MACROS_DIR_NAME).toString();
+
+    // Binäres Macro-Format (.rmacro)
+    public static final String MACRO_FILE_EXTENSION = ".rmacro";
+    public static final int MACRO_FILE_BLOCK_EVENTS = 4096; // Events pro Block (eigene Prüfsumme, Deltas ab 0)
+
+    // Streaming-Wiedergabe von Macros
+    public static final int MACRO_READ_AHEAD_CHUNK_EVENTS = 1024; // Events pro Vorlese-Chunk
+    public static final int MACRO_READ_AHEAD_CHUNKS = 4; // Chunks im Umlauf (begrenzt den Speicher)
+    public static final int MACRO_PLAYER_MAX_BATCH_EVENTS = 256; // Events pro gepostetem Batch
+    public static final long MACRO_LATE_THRESHOLD_NANOS = 1_000_000L; // ab dieser Verspätung gilt ein Event als zu spät
+    public static final double MIN_PLAYBACK_SPEED = 0.1;
+    public static final double MAX_PLAYBACK_SPEED = 50.0;
 
     // Default Profil ID
     public static final String DEFAULT_PROFILE_ID = "default";
@@ -41,6 +66,34 @@ public class Constants {
     // Timing
     public static final long STATUS_UPDATE_INTERVAL_MS = 100;
     public static final long MOUSE_POSITION_UPDATE_INTERVAL_MS = 200;
+    public static final long SPIN_THRESHOLD_NANOS = 500_000L; // letzte Strecke vor einer Deadline wird aktiv gewartet
+    public static final int SPIN_CALIBRATION_SAMPLES = 64; // kurze Park-Vorgänge zum Messen des Aufwach-Overshoots
+    public static final long SPIN_CALIBRATION_PARK_NANOS = 100_000L;
+    public static final long SPIN_THRESHOLD_MIN_NANOS = 50_000L; // Grenzen der kalibrierten Spin-Schwelle
+    public static final long SPIN_THRESHOLD_MAX_NANOS = 2_000_000L;
+    public static final long TIMING_WHEEL_TICK_NANOS = 1_000_000L; // Slot-Auflösung der untersten Wheel-Ebene
+    public static final int WARM_UP_CLICKS = 20_000; // Klicks im Trockenlauf des Backends beim Start, bis der JIT kompiliert hat
+    public static final long WARM_UP_INTERVAL_NANOS = 20_000L; // Klick-Abstand im Warm-up (echte Uhr, unter der maximalen Frequenz)
+    public static final long WARM_UP_TIMEOUT_MS = 30_000;
+    public static final String CLICK_THREAD_CPU_PROPERTY = "robo.click.cpu"; // Klick-Thread auf diesen Kern pinnen (nur Linux)
+    public static final String CLICK_THREAD_NICE_PROPERTY = "robo.click.nice"; // Niceness des gepinnten Klick-Threads
+    public static final int CLICK_THREAD_NICENESS = -10; // erhöhte Priorität, sofern erlaubt (CAP_SYS_NICE bzw. RLIMIT_NICE)
+
+    // Input-Backend (SPI)
+    public static final String INPUT_BACKEND_PROPERTY = "robo.input.backend"; // erzwingt ein Backend per Name
+    public static final int RECORDING_BACKEND_CAPACITY = 1 << 16; // gespeicherte Events des Recording-Backends
+    public static final String COREGRAPHICS_LIBRARY_PROPERTY = "robo.coregraphics.library"; // ersetzt CoreGraphics (z.B. Test-Stub)
+    public static final String APPLICATION_SERVICES_LIBRARY_PROPERTY = "robo.applicationservices.library"; // Berechtigungsabfrage
+    public static final long CAPABILITY_RECHECK_INTERVAL_MS = 1_000; // frühestens erneut prüfen, wenn die letzte Prüfung fehlschlug
+    public static final String X11_LIBRARY_PROPERTY = "robo.x11.library"; // ersetzt libX11 (z.B. Test-Stub)
+    public static final String XTST_LIBRARY_PROPERTY = "robo.xtst.library"; // ersetzt libXtst (z.B. Test-Stub)
+    public static final String NATIVE_BATCH_LIBRARY_PROPERTY = "robo.native.batch.library"; // Shim für gebündeltes Posten
+    public static final String NATIVE_METRICS_PROPERTY = "robo.native.metrics"; // Latenz-Histogramme der nativen Aufrufe beim Start aktivieren
+    public static final long NATIVE_METRICS_DUMP_INTERVAL_MS = 10_000; // Abstand der periodischen Ausgabe
+
+    // Event Bus zwischen Engine und Listenern
+    public static final int EVENT_BUS_CAPACITY = 1024; // Slots pro Listener (Zweierpotenz)
+    public static final int EVENT_BUS_OVERFLOW_CAPACITY = 8; // Events pro Listener, die bei vollem Ring (COALESCE) warten
 
     // Logging
     public static final String APP_NAME = "Click Roboter";
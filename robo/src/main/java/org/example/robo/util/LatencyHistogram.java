@@ -0,0 +1,146 @@
+package org.example.robo.util;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-freies Latenz-Histogramm mit log-linearen Buckets.
+ * <p>
+ * Werte unter 16 ns haben je einen eigenen Bucket; darüber wird jede Zweierpotenz in
+ * acht gleich breite Buckets geteilt. Der relative Fehler eines Perzentils liegt damit
+ * unter 12,5 %, und der ganze Bereich bis {@code Long.MAX_VALUE} passt in
+ * {@value #BUCKETS} Zähler. Erfassen ist ein Inkrement im Bucket-Array plus Summe und
+ * Maximum, ohne Sperre und ohne Allokation, und von beliebig vielen Threads aus sicher.
+ * <p>
+ * Auswertungen lesen die Zähler ohne Sperre; laufen parallel Erfassungen, ist das
+ * Ergebnis ein Stand irgendwo zwischen Anfang und Ende der Auswertung.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    static final int BUCKETS = LINEAR_LIMIT + (63 - (SUB_BUCKET_BITS + 1)) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Erfasst einen Wert. Negative Werte zählen als 0.
+     *
+     * @param nanos Latenz in Nanosekunden
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        total.add(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // anderer Thread hat ein neues Maximum gesetzt, erneut vergleichen
+        }
+    }
+
+    /**
+     * @return Anzahl erfasster Werte
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return größter erfasster Wert (exakt), 0 ohne Werte
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return Mittelwert (exakt), 0 ohne Werte
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : total.sum() / (double) count;
+    }
+
+    /**
+     * Wert, unter dem der angegebene Anteil der Werte liegt, als Obergrenze des
+     * Buckets (höchstens das Maximum).
+     *
+     * @param percentile Perzentil zwischen 0 und 100
+     * @return Latenz in Nanosekunden, 0 ohne Werte
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Setzt alle Zähler zurück. Parallel erfasste Werte können dabei teilweise verloren gehen.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+        max.set(0);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long bucketUpperBound(int index) {
+        return index == BUCKETS - 1 ? Long.MAX_VALUE : bucketLowerBound(index + 1) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "count=%d mean=%.2fus p50=%.2fus p99=%.2fus p99.9=%.2fus max=%.2fus",
+                getCount(), getMean() / 1_000.0, micros(getValueAtPercentile(50)),
+                micros(getValueAtPercentile(99)), micros(getValueAtPercentile(99.9)), micros(getMax()));
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+}
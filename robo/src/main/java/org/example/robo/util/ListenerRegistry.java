@@ -0,0 +1,110 @@
+package org.example.robo.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+/**
+ * Lock-freie Listener-Liste nach dem Copy-on-Write Prinzip.
+ * <p>
+ * Registrieren und Entfernen ersetzen das interne Array per CAS und sind von
+ * jedem Thread aus sicher. Lesende Threads (z.B. der Klick-Thread) holen sich mit
+ * {@link #snapshot()} das aktuelle Array und iterieren darüber ohne Allokation
+ * und ohne Sperre.
+ *
+ * @param <T> Listener-Typ
+ */
+public final class ListenerRegistry<T> {
+
+    private final IntFunction<T[]> arrayFactory;
+    private final AtomicReference<T[]> listeners;
+
+    /**
+     * Erstellt eine leere Registry.
+     *
+     * @param arrayFactory Erzeugt Arrays des Listener-Typs, z.B. {@code ClickEngineListener[]::new}
+     */
+    public ListenerRegistry(IntFunction<T[]> arrayFactory) {
+        this.arrayFactory = arrayFactory;
+        this.listeners = new AtomicReference<>(arrayFactory.apply(0));
+    }
+
+    /**
+     * Registriert einen Listener. Mehrfache Registrierung ist erlaubt (wie bei einer Liste).
+     *
+     * @param listener der zu registrierende Listener
+     * @return false wenn der Listener null ist
+     */
+    public boolean add(T listener) {
+        if (listener == null) {
+            return false;
+        }
+        T[] current;
+        T[] updated;
+        do {
+            current = listeners.get();
+            updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = listener;
+        } while (!listeners.compareAndSet(current, updated));
+        return true;
+    }
+
+    /**
+     * Entfernt das erste Vorkommen eines Listeners.
+     *
+     * @param listener der zu entfernende Listener
+     * @return true wenn der Listener registriert war
+     */
+    public boolean remove(T listener) {
+        if (listener == null) {
+            return false;
+        }
+        T[] current;
+        T[] updated;
+        do {
+            current = listeners.get();
+            int index = indexOf(current, listener);
+            if (index < 0) {
+                return false;
+            }
+            updated = arrayFactory.apply(current.length - 1);
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        } while (!listeners.compareAndSet(current, updated));
+        return true;
+    }
+
+    /**
+     * Entfernt alle Listener.
+     */
+    public void clear() {
+        listeners.set(arrayFactory.apply(0));
+    }
+
+    /**
+     * Gibt den aktuellen Stand als Array zurück. Das Array wird nie verändert und
+     * darf vom Aufrufer auch nicht verändert werden.
+     *
+     * @return unveränderlicher Schnappschuss der Listener
+     */
+    public T[] snapshot() {
+        return listeners.get();
+    }
+
+    public int size() {
+        return listeners.get().length;
+    }
+
+    public boolean isEmpty() {
+        return listeners.get().length == 0;
+    }
+
+    private static int indexOf(Object[] array, Object listener) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i].equals(listener)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Gebündeltes Posten von CoreGraphics-Events: ein Übergang Java/nativ pro Batch.
+ * Gebunden über NativeBatchPoster; die Events gehören dem Aufrufer und werden hier
+ * nur positioniert und gepostet, nie freigegeben.
+ *
+ * Wird im Profil native-macos als Universal Binary nach darwin/librobobatch.dylib gebaut.
+ */
+#include <ApplicationServices/ApplicationServices.h>
+#include <stdint.h>
+
+void robo_post_batch(const int64_t *events, const double *locations, int32_t count) {
+    for (int32_t i = 0; i < count; i++) {
+        CGEventRef event = (CGEventRef) (intptr_t) events[i];
+        CGEventSetLocation(event, CGPointMake(locations[2 * i], locations[2 * i + 1]));
+        CGEventPost(kCGHIDEventTap, event);
+    }
+}
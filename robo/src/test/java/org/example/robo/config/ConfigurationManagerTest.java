@@ -1,11 +1,16 @@
 package org.example.robo.config;
 
 import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.core.profile.Macro;
+import org.example.robo.core.profile.MappedMacroFile;
 import org.example.robo.util.Constants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -17,12 +22,13 @@ import static org.junit.jupiter.api.Assertions.*;
 class ConfigurationManagerTest {
 
     private ConfigurationManager configManager;
+    private Path configDir;
 
     @BeforeEach
     void setUp(@TempDir Path tempDir) {
-        // Hinweis: Die echte Implementation verwendet ~/.robo/
-        // Für Tests müssen wir ein Mock oder Temp-Dir verwenden
-        configManager = new ConfigurationManagerImpl();
+        // Die echte Implementation verwendet ~/.robo/, die Tests ein Temp-Dir
+        configDir = tempDir;
+        configManager = new ConfigurationManagerImpl(tempDir);
     }
 
     @Test
@@ -82,5 +88,69 @@ class ConfigurationManagerTest {
         configManager.deleteProfile("delete-test-123");
         assertNull(configManager.loadProfile("delete-test-123"));
     }
-}
 
+    @Test
+    void testMacroEventsAreStoredInBinaryFile() throws IOException {
+        Macro macro = new Macro("macro-binary-test", "Binary");
+        macro.getEventStore().appendMove(10, 100, 200);
+        macro.getEventStore().appendClick(25, 101, 199, ClickType.LEFT);
+        configManager.saveMacro(macro);
+
+        assertFalse(Files.readString(configDir.resolve(Constants.PROFILES_FILE_NAME)).contains("\"timestampMs\" : 25"));
+        assertTrue(Files.exists(configDir.resolve(Constants.MACROS_DIR_NAME)));
+        MappedMacroFile file = configManager.openMacroFile("macro-binary-test");
+        assertNotNull(file);
+        assertEquals(2, file.getEventCount());
+
+        ConfigurationManager reopened = new ConfigurationManagerImpl(configDir);
+        Macro loaded = reopened.loadMacro("macro-binary-test");
+        assertEquals("Binary", loaded.getName());
+        assertEquals(2, loaded.getEventStore().size());
+        assertEquals(ClickType.LEFT, loaded.getEventStore().getClickType(1));
+
+        // Dekodierte Events werden nicht zwischengespeichert, die Liste enthält nur Metadaten
+        assertNotSame(loaded, reopened.loadMacro("macro-binary-test"));
+        List<Macro> all = reopened.getAllMacros();
+        assertEquals(1, all.size());
+        assertEquals("Binary", all.get(0).getName());
+        assertTrue(all.get(0).getEventStore().isEmpty());
+
+        configManager.deleteMacro("macro-binary-test");
+        assertNull(configManager.loadMacro("macro-binary-test"));
+        assertNull(configManager.openMacroFile("macro-binary-test"));
+    }
+
+    @Test
+    void testDistinctMacroIdsUseDistinctFiles() throws IOException {
+        for (String id : List.of("a/b", "a_b", "A_b", "a%2Fb")) {
+            Macro macro = new Macro(id, id);
+            macro.getEventStore().appendMove(id.length(), id.charAt(0), 0);
+            configManager.saveMacro(macro);
+        }
+
+        for (String id : List.of("a/b", "a_b", "A_b", "a%2Fb")) {
+            assertEquals(id, configManager.openMacroFile(id).getId());
+            assertEquals(id.charAt(0), configManager.loadMacro(id).getEventStore().getX(0));
+        }
+        assertEquals("macro-1.x_y", ConfigurationManagerImpl.encodeFileName("macro-1.x_y"));
+        assertEquals("%41_b", ConfigurationManagerImpl.encodeFileName("A_b"));
+        assertEquals("a%2Fb%C3%A4", ConfigurationManagerImpl.encodeFileName("a/bä"));
+    }
+
+    @Test
+    void testLegacyMacroFileNamesAreMigrated() throws IOException {
+        Macro macro = new Macro("Legacy Macro", "Legacy");
+        macro.getEventStore().appendClick(5, 1, 2, ClickType.RIGHT);
+        configManager.saveMacro(macro);
+        Path macros = configDir.resolve(Constants.MACROS_DIR_NAME);
+        Path current = macros.resolve(ConfigurationManagerImpl.encodeFileName("Legacy Macro") + Constants.MACRO_FILE_EXTENSION);
+        Path legacy = macros.resolve("Legacy_Macro" + Constants.MACRO_FILE_EXTENSION);
+        Files.move(current, legacy);
+
+        ConfigurationManager reopened = new ConfigurationManagerImpl(configDir);
+
+        assertFalse(Files.exists(legacy));
+        assertTrue(Files.exists(current));
+        assertEquals(ClickType.RIGHT, reopened.loadMacro("Legacy Macro").getEventStore().getClickType(0));
+    }
+}
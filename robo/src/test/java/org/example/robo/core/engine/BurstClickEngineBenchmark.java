@@ -0,0 +1,102 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.util.Constants;
+
+import java.util.Arrays;
+
+/**
+ * Benchmark für den Burst-Modus gegen einen Fake-Actuator (Echtzeit, kein nativer Code).
+ * Gibt die erreichte Rate und die Jitter-Verteilung (Abweichung vom idealen Raster) aus.
+ * <p>
+ * Kein Unit Test (läuft nicht mit {@code mvn test}). Ausführen mit:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.example.robo.core.engine.BurstClickEngineBenchmark
+ * </pre>
+ */
+public class BurstClickEngineBenchmark {
+
+    private static final int[] RATES = {500, 1000, 2000};
+    private static final long RUN_SECONDS = 3;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%8s %10s %10s %8s %8s %10s %10s %10s %10s%n",
+                "rate", "achieved", "events", "batches", "dropped", "p50 us", "p99 us", "p99.9 us", "max us");
+        for (int rate : RATES) {
+            run(rate);
+        }
+    }
+
+    private static void run(int rate) throws InterruptedException {
+        int expected = (int) (rate * RUN_SECONDS);
+        TimestampingActuator actuator = new TimestampingActuator(expected);
+        BurstClickEngine engine = new BurstClickEngine(actuator, new PrecisionWaiter(), Constants.BURST_MAX_BATCH_SIZE);
+        engine.setClickFrequency(rate);
+
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setNumberOfClicks(expected);
+        engine.startClicking(profile);
+        while (engine.isRunning()) {
+            Thread.sleep(10);
+        }
+
+        // Abweichung jedes Events vom idealen Raster; das früheste Event definiert das Raster
+        // (ohne verworfene Events aussagekräftig)
+        int n = actuator.count;
+        long[] lateness = new long[n];
+        for (int i = 0; i < n; i++) {
+            lateness[i] = actuator.timestamps[i] - i * 1_000_000_000L / rate;
+        }
+        Arrays.sort(lateness);
+        long base = lateness[0];
+        for (int i = 0; i < n; i++) {
+            lateness[i] -= base;
+        }
+
+        System.out.printf("%8d %10.1f %10d %8d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                rate, engine.getAchievedRateHz(), engine.getEventsPosted(), engine.getBatchesPosted(),
+                engine.getDroppedEvents(),
+                micros(percentile(lateness, 0.50)), micros(percentile(lateness, 0.99)),
+                micros(percentile(lateness, 0.999)), micros(lateness[n - 1]));
+        engine.shutdown();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+
+    /**
+     * Fake Actuator, der den Zeitpunkt jedes Events festhält.
+     */
+    private static class TimestampingActuator implements InputBackend {
+        private final long[] timestamps;
+        private int count;
+
+        TimestampingActuator(int capacity) {
+            this.timestamps = new long[capacity];
+        }
+
+        @Override
+        public void move(int x, int y) {
+        }
+
+        @Override
+        public void click(int x, int y, ClickType type) {
+            clickBatch(x, y, type, 1);
+        }
+
+        @Override
+        public void clickBatch(int x, int y, ClickType type, int count) {
+            long now = System.nanoTime();
+            for (int i = 0; i < count && this.count < timestamps.length; i++) {
+                timestamps[this.count++] = now;
+            }
+        }
+    }
+}
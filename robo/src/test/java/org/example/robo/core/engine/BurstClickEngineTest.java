@@ -0,0 +1,109 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.ClickType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für den Burst-Modus (virtuelle Uhr, deterministisch).
+ */
+class BurstClickEngineTest {
+
+    private BurstClickEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void testSustains2000EventsPerSecondWithoutDrops() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 200, 30_000);
+        CostlyActuator actuator = new CostlyActuator(clock, 20_000);
+        engine = new BurstClickEngine(actuator, new PrecisionWaiter(clock, 100_000), 16);
+        engine.setClickFrequency(2000);
+
+        runUntilStopped(profileWithLimit(4000));
+
+        assertEquals(4000, actuator.events);
+        assertEquals(0, engine.getDroppedEvents());
+        // 4000 Events bei 2000/s: rund zwei virtuelle Sekunden
+        assertEquals(2000, engine.getAchievedRateHz(), 20);
+    }
+
+    @Test
+    void testSlowPostingIsBatchedAndShedsLoad() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 200, 30_000);
+        // 1.5 ms pro Event: bei 1000/s ist höchstens ~667/s möglich
+        CostlyActuator actuator = new CostlyActuator(clock, 1_500_000);
+        engine = new BurstClickEngine(actuator, new PrecisionWaiter(clock, 100_000), 8);
+        engine.setClickFrequency(1000);
+
+        runUntilStopped(profileWithLimit(2000));
+
+        assertEquals(2000, actuator.events);
+        assertTrue(engine.getBatchesPosted() < actuator.events, "events should be batched");
+        assertTrue(actuator.maxBatch <= 8);
+        assertTrue(engine.getDroppedEvents() > 0, "backlog should be shed");
+    }
+
+    @Test
+    void testFrequencyIsClampedToBurstRange() {
+        engine = new BurstClickEngine(new CostlyActuator(new ManualNanoClock(0, 0, 0), 0));
+        engine.setClickFrequency(50_000);
+        assertEquals(2000, engine.getClickFrequency());
+        engine.setClickFrequency(10);
+        assertEquals(100, engine.getClickFrequency());
+    }
+
+    private void runUntilStopped(ClickProfile profile) throws InterruptedException {
+        engine.startClicking(profile);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (engine.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertFalse(engine.isRunning(), "burst did not finish");
+    }
+
+    private static ClickProfile profileWithLimit(int clicks) {
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setNumberOfClicks(clicks);
+        return profile;
+    }
+
+    /**
+     * Fake Actuator, der pro Event virtuelle Zeit verbraucht.
+     */
+    private static class CostlyActuator implements InputBackend {
+        private final ManualNanoClock clock;
+        private final long costPerEventNanos;
+        private long events;
+        private int maxBatch;
+
+        CostlyActuator(ManualNanoClock clock, long costPerEventNanos) {
+            this.clock = clock;
+            this.costPerEventNanos = costPerEventNanos;
+        }
+
+        @Override
+        public void move(int x, int y) {
+        }
+
+        @Override
+        public void click(int x, int y, ClickType type) {
+            clickBatch(x, y, type, 1);
+        }
+
+        @Override
+        public void clickBatch(int x, int y, ClickType type, int count) {
+            events += count;
+            maxBatch = Math.max(maxBatch, count);
+            clock.advance(costPerEventNanos * count);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für den Capability-Probe (Fake-Backend, keine Events).
+ */
+class CapabilityProbeTest {
+
+    @Test
+    void testPositiveResultIsCachedUntilFailureIsReported() {
+        FakeBackend backend = new FakeBackend();
+        CapabilityProbe probe = new CapabilityProbe(backend, 0);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(probe.isUsable());
+        }
+        assertEquals(1, backend.queries.get());
+        assertEquals(0, backend.clicks.get());
+
+        backend.permitted = false;
+        probe.reportFailure("Click execution failed");
+        CapabilityReport report = probe.getReport();
+        assertEquals(2, backend.queries.get());
+        assertFalse(report.isInputPermitted());
+        assertTrue(report.isNativeLinked());
+        assertTrue(report.getProbeNanos() >= 0);
+    }
+
+    @Test
+    void testNegativeResultIsRecheckedAtMostOncePerInterval() {
+        FakeBackend backend = new FakeBackend();
+        backend.permitted = false;
+        CapabilityProbe probe = new CapabilityProbe(backend, 60_000);
+
+        assertFalse(probe.isUsable());
+        assertFalse(probe.isUsable());
+        assertEquals(1, backend.queries.get());
+
+        // Ohne Mindestabstand wird eine erteilte Berechtigung beim nächsten Zugriff erkannt
+        CapabilityProbe eager = new CapabilityProbe(backend, 0);
+        assertFalse(eager.isUsable());
+        backend.permitted = true;
+        assertTrue(eager.isUsable());
+        assertTrue(eager.isUsable());
+        assertEquals(3, backend.queries.get());
+    }
+
+    @Test
+    void testMissingNativeLibraryIsReportedAsNotLinked() {
+        FakeBackend backend = new FakeBackend();
+        backend.linkError = true;
+        CapabilityReport report = new CapabilityProbe(backend).getReport();
+
+        assertTrue(report.isAvailable());
+        assertFalse(report.isNativeLinked());
+        assertFalse(report.isUsable());
+    }
+
+    private static final class FakeBackend implements InputBackend {
+        private final AtomicInteger queries = new AtomicInteger();
+        private final AtomicInteger clicks = new AtomicInteger();
+        private volatile boolean permitted = true;
+        private volatile boolean linkError;
+
+        @Override
+        public boolean hasInputPermission() {
+            queries.incrementAndGet();
+            if (linkError) {
+                throw new UnsatisfiedLinkError("Unable to load library 'ApplicationServices'");
+            }
+            return permitted;
+        }
+
+        @Override
+        public void move(int x, int y) {
+        }
+
+        @Override
+        public void click(int x, int y, ClickType type) {
+            clicks.incrementAndGet();
+        }
+    }
+}
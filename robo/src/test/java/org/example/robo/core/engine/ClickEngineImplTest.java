@@ -0,0 +1,440 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.core.profile.JitterMode;
+import org.example.robo.util.MousePosition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit Tests für die ClickEngine (virtuelle Uhr, Stub-Actuator).
+ */
+class ClickEngineImplTest {
+
+    private static final int WARMUP_CLICKS = 20_000;
+    private static final int MEASURED_CLICKS = 100_000;
+    // Spielraum für einmalige Allokationen im Messfenster (z.B. eine nachträgliche JIT-Deoptimierung),
+    // unabhängig von der Anzahl Klicks: schon 1 Byte pro Klick wären 100 KB
+    private static final long ALLOCATION_SLACK_BYTES = 1_024;
+
+    private static final int DEFAULT_X = ClickProfile.createDefault().getPosition().getX();
+
+    private ClickEngineImpl engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void testSteadyStateClickPathDoesNotAllocate() throws InterruptedException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        AllocationProbeActuator actuator = new AllocationProbeActuator(threads);
+        engine = new ClickEngineImpl(actuator, new PrecisionWaiter(clock, 20_000));
+        CountingListener listener = new CountingListener();
+        engine.addClickEngineListener(listener, ClickEventBus.OverflowPolicy.BLOCK);
+
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setClickFrequency(100);
+        profile.setNumberOfClicks(WARMUP_CLICKS + MEASURED_CLICKS);
+        engine.startClicking(profile);
+
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (engine.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertFalse(engine.isRunning(), "engine did not finish");
+        assertEquals(WARMUP_CLICKS + MEASURED_CLICKS, actuator.clicks);
+        awaitClicks(listener, WARMUP_CLICKS + MEASURED_CLICKS);
+        assertEquals(WARMUP_CLICKS + MEASURED_CLICKS, listener.clicks);
+        long allocated = actuator.measuredEnd - actuator.measuredStart;
+        assertTrue(allocated <= ALLOCATION_SLACK_BYTES,
+                "click path allocated " + allocated + " bytes over " + MEASURED_CLICKS + " clicks");
+    }
+
+    @Test
+    void testClicksGoThroughActuator() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        AllocationProbeActuator actuator = new AllocationProbeActuator(null);
+        engine = new ClickEngineImpl(actuator, new PrecisionWaiter(clock, 20_000));
+
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setPosition(new MousePosition(12, 34));
+        profile.setNumberOfClicks(25);
+        engine.startClicking(profile);
+        // Direkte Änderungen am Profil erreichen den laufenden Plan nicht
+        profile.setPosition(new MousePosition(99, 99));
+        profile.setNumberOfClicks(1_000);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (engine.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(25, actuator.clicks);
+        assertEquals(25, engine.getClicksExecuted());
+        assertEquals(12, actuator.lastX);
+        assertEquals(34, actuator.lastY);
+    }
+
+    @Test
+    void testListenersCanBeAddedAndRemovedWhileClicking() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        AllocationProbeActuator actuator = new AllocationProbeActuator(null);
+        engine = new ClickEngineImpl(actuator, new PrecisionWaiter(clock, 20_000));
+        CountingListener permanent = new CountingListener();
+        engine.addClickEngineListener(permanent, ClickEventBus.OverflowPolicy.BLOCK);
+
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setClickFrequency(100);
+        profile.setNumberOfClicks(200_000);
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> churners = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread churner = new Thread(() -> {
+                try {
+                    while (!stop.get()) {
+                        CountingListener transientListener = new CountingListener();
+                        engine.addClickEngineListener(transientListener);
+                        Thread.sleep(1);
+                        engine.removeClickEngineListener(transientListener);
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+            churners.add(churner);
+            churner.start();
+        }
+
+        engine.startClicking(profile);
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (engine.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        stop.set(true);
+        for (Thread churner : churners) {
+            churner.join();
+        }
+
+        assertNull(failure.get());
+        assertFalse(engine.isRunning(), "engine did not finish");
+        assertEquals(200_000, actuator.clicks);
+        awaitClicks(permanent, 200_000);
+        assertEquals(200_000, permanent.clicks, "the permanent listener must see every click exactly once");
+        assertEquals(0, permanent.errors);
+    }
+
+    @Test
+    void testStopReleasesResourcesOnlyAfterTheRunningClick() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        ScriptedActuator actuator = new ScriptedActuator(clock);
+        engine = new ClickEngineImpl(actuator, new PrecisionWaiter(clock, 20_000));
+        // Der Stop kommt von einem anderen Thread, während der Worker im Klick steckt
+        actuator.script(3, () -> {
+            Thread stopper = new Thread(engine::stopClicking);
+            stopper.start();
+            try {
+                stopper.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setClickFrequency(100);
+        engine.startClicking(profile);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (actuator.releases == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertFalse(engine.isRunning());
+        assertEquals(1, actuator.releases);
+        assertFalse(actuator.releasedDuringClick, "resources were released while the worker was still clicking");
+        assertEquals(3, actuator.timestamps.size());
+    }
+
+    @Test
+    void testLiveChangesApplyAtNextTickWithPhaseCarry() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        ScriptedActuator actuator = new ScriptedActuator(clock);
+        engine = new ClickEngineImpl(actuator, new PrecisionWaiter(clock, 20_000));
+        // Änderungen werden während eines Klicks angefordert, also mitten im Lauf
+        actuator.script(5, () -> engine.setClickFrequency(50));
+        actuator.script(10, () -> engine.updateClickSettings(25, new MousePosition(7, 8), ClickType.RIGHT));
+
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setClickFrequency(10);
+        profile.setNumberOfClicks(20);
+        engine.startClicking(profile);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (engine.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(20, actuator.timestamps.size());
+        for (int i = 1; i < 20; i++) {
+            long expected = i < 5 ? 100_000_000L : i < 10 ? 20_000_000L : 40_000_000L;
+            long interval = actuator.timestamps.get(i) - actuator.timestamps.get(i - 1);
+            assertEquals(expected, interval, 1_000_000L, "interval before click " + (i + 1));
+        }
+        for (int i = 0; i < 20; i++) {
+            boolean changed = i >= 10;
+            assertEquals(changed ? 7 : DEFAULT_X, actuator.xs.get(i), "x of click " + (i + 1));
+            assertEquals(changed ? ClickType.RIGHT : ClickType.LEFT, actuator.types.get(i), "type of click " + (i + 1));
+        }
+        // Die letzte Änderung wurde bei Klick 10 angefordert und galt ab Klick 11 (40 ms später)
+        assertEquals(40_000_000L, engine.getLastReapplyLatencyNanos(), 1_000_000L);
+    }
+
+    @Test
+    void testGaussianTimingAndPositionJitterFollowProfile() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        ScriptedActuator actuator = new ScriptedActuator(clock);
+        engine = new ClickEngineImpl(actuator, new PrecisionWaiter(clock, 20_000), new JitterSource("Test", 5, 256));
+
+        int clicks = 1_000;
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setClickFrequency(20);
+        profile.setNumberOfClicks(clicks);
+        profile.setTimingJitter(JitterMode.GAUSSIAN);
+        profile.setTimingJitterMs(4);
+        profile.setPositionJitterRadius(10);
+        engine.startClicking(profile);
+        awaitStopped();
+
+        assertEquals(clicks, actuator.timestamps.size());
+        // Abweichung vom 50 ms Raster: normalverteilt mit 4 ms, ohne Drift
+        long start = actuator.timestamps.get(0);
+        double sum = 0;
+        double squares = 0;
+        for (int i = 1; i < clicks; i++) {
+            double offset = actuator.timestamps.get(i) - start - i * 50_000_000L;
+            sum += offset;
+            squares += offset * offset;
+        }
+        double mean = sum / (clicks - 1);
+        double sigma = Math.sqrt(squares / (clicks - 1) - mean * mean);
+        assertEquals(0, mean, 500_000);
+        assertEquals(4_000_000, sigma, 400_000);
+
+        int moved = 0;
+        for (int x : actuator.xs) {
+            assertTrue(Math.abs(x - DEFAULT_X) <= 11, "x outside jitter radius: " + x);
+            if (x != DEFAULT_X) {
+                moved++;
+            }
+        }
+        assertTrue(moved > clicks / 2, "position jitter not applied");
+    }
+
+    @Test
+    void testFrequencyChangeKeepsTimingJitterOnTheNextTick() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        ScriptedActuator actuator = new ScriptedActuator(clock);
+        engine = new ClickEngineImpl(actuator, new PrecisionWaiter(clock, 20_000), new JitterSource("Test", 3, 256));
+        // Jeder Klick wechselt die Frequenz, jeder Folge-Tick wird also neu geplant
+        int clicks = 40;
+        for (int i = 1; i < clicks; i++) {
+            int hz = i % 2 == 0 ? 20 : 25;
+            actuator.script(i, () -> engine.setClickFrequency(hz));
+        }
+
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setClickFrequency(20);
+        profile.setNumberOfClicks(clicks);
+        profile.setTimingJitter(JitterMode.GAUSSIAN);
+        profile.setTimingJitterMs(4);
+        engine.startClicking(profile);
+        awaitStopped();
+
+        assertEquals(clicks, actuator.timestamps.size());
+        // Ohne Jitter läge jeder Abstand genau auf 40 bzw. 50 ms
+        int jittered = 0;
+        for (int i = 1; i < clicks; i++) {
+            long interval = actuator.timestamps.get(i) - actuator.timestamps.get(i - 1);
+            if (Math.min(Math.abs(interval - 40_000_000L), Math.abs(interval - 50_000_000L)) > 500_000L) {
+                jittered++;
+            }
+        }
+        assertTrue(jittered > (clicks - 1) * 0.7, "only " + jittered + " jittered intervals");
+    }
+
+    @Test
+    void testPoissonGapsAreExponential() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        ScriptedActuator actuator = new ScriptedActuator(clock);
+        engine = new ClickEngineImpl(actuator, new PrecisionWaiter(clock, 20_000), new JitterSource("Test", 9, 256));
+
+        int clicks = 4_000;
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setClickFrequency(100);
+        profile.setNumberOfClicks(clicks);
+        profile.setTimingJitter(JitterMode.POISSON);
+        engine.startClicking(profile);
+        awaitStopped();
+
+        assertEquals(clicks, actuator.timestamps.size());
+        // Exponentialverteilung: Mittelwert = Standardabweichung = Intervall, P(gap > mean) = 1/e
+        double sum = 0;
+        double squares = 0;
+        int aboveMean = 0;
+        for (int i = 1; i < clicks; i++) {
+            double gap = actuator.timestamps.get(i) - actuator.timestamps.get(i - 1);
+            sum += gap;
+            squares += gap * gap;
+            if (gap > 10_000_000L) {
+                aboveMean++;
+            }
+        }
+        int gaps = clicks - 1;
+        double mean = sum / gaps;
+        assertEquals(10_000_000, mean, 500_000);
+        assertEquals(mean, Math.sqrt(squares / gaps - mean * mean), 0.1 * mean);
+        assertEquals(Math.exp(-1), (double) aboveMean / gaps, 0.03);
+    }
+
+    private void awaitStopped() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (engine.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Listener werden asynchron benachrichtigt; wartet, bis der Dispatcher nachgezogen hat.
+     */
+    private static void awaitClicks(CountingListener listener, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (listener.clicks < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Stub Actuator, der die auf dem Klick-Thread allozierten Bytes zwischen
+     * Ende des Warm-ups und letztem Klick misst.
+     */
+    private static class AllocationProbeActuator implements InputBackend {
+        private final com.sun.management.ThreadMXBean threads;
+        private volatile int clicks;
+        private int lastX;
+        private int lastY;
+        private volatile long measuredStart;
+        private volatile long measuredEnd;
+
+        AllocationProbeActuator(com.sun.management.ThreadMXBean threads) {
+            this.threads = threads;
+        }
+
+        @Override
+        public void move(int x, int y) {
+        }
+
+        @Override
+        public void click(int x, int y, ClickType type) {
+            lastX = x;
+            lastY = y;
+            int n = ++clicks;
+            if (threads != null && n == WARMUP_CLICKS) {
+                measuredStart = threads.getCurrentThreadAllocatedBytes();
+            } else if (threads != null && n == WARMUP_CLICKS + MEASURED_CLICKS) {
+                measuredEnd = threads.getCurrentThreadAllocatedBytes();
+            }
+        }
+    }
+
+    /**
+     * Actuator mit virtuellen Zeitstempeln, der bei bestimmten Klicks Aktionen ausführt.
+     */
+    private static class ScriptedActuator implements InputBackend {
+        private final ManualNanoClock clock;
+        private final List<Long> timestamps = new ArrayList<>();
+        private final List<Integer> xs = new ArrayList<>();
+        private final List<ClickType> types = new ArrayList<>();
+        private final Map<Integer, Runnable> actions = new HashMap<>();
+        private volatile boolean inClick;
+        private volatile int releases;
+        private volatile boolean releasedDuringClick;
+
+        ScriptedActuator(ManualNanoClock clock) {
+            this.clock = clock;
+        }
+
+        void script(int click, Runnable action) {
+            actions.put(click, action);
+        }
+
+        @Override
+        public void move(int x, int y) {
+        }
+
+        @Override
+        public synchronized void click(int x, int y, ClickType type) {
+            timestamps.add(clock.peek());
+            xs.add(x);
+            types.add(type);
+            Runnable action = actions.get(timestamps.size());
+            inClick = true;
+            try {
+                if (action != null) {
+                    action.run();
+                }
+            } finally {
+                inClick = false;
+            }
+        }
+
+        @Override
+        public void releaseResources() {
+            releasedDuringClick |= inClick;
+            releases++;
+        }
+    }
+
+    private static class CountingListener implements ClickEngineListener {
+        private volatile int clicks;
+        private volatile int errors;
+
+        @Override
+        public void onClickExecuted(MousePosition position) {
+            clicks++;
+        }
+
+        @Override
+        public void onEngineStarted() {
+        }
+
+        @Override
+        public void onEngineStopped() {
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            errors++;
+        }
+    }
+}
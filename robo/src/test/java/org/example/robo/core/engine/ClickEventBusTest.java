@@ -0,0 +1,184 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.util.MousePosition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für den asynchronen Event Bus.
+ */
+class ClickEventBusTest {
+
+    private ClickEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.close();
+        }
+    }
+
+    @Test
+    void testBlockDeliversEveryEventInOrderToEachListener() {
+        bus = new ClickEventBus("Test", 16);
+        RecordingListener a = new RecordingListener(null);
+        RecordingListener b = new RecordingListener(null);
+        bus.subscribe(a, ClickEventBus.OverflowPolicy.BLOCK);
+        bus.subscribe(b, ClickEventBus.OverflowPolicy.BLOCK);
+
+        bus.publishStarted();
+        for (int i = 0; i < 10_000; i++) {
+            bus.publishClick(new MousePosition(i, 0));
+        }
+        bus.publishStopped();
+        bus.close();
+
+        for (RecordingListener listener : List.of(a, b)) {
+            assertEquals(10_002, listener.events.size());
+            assertEquals("started", listener.events.get(0));
+            for (int i = 0; i < 10_000; i++) {
+                assertEquals("click " + i, listener.events.get(i + 1));
+            }
+            assertEquals("stopped", listener.events.get(10_001));
+        }
+    }
+
+    @Test
+    void testDropOldestNeverBlocksTheProducerAndCountsDrops() throws InterruptedException {
+        bus = new ClickEventBus("Test", 8);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingListener slow = new RecordingListener(release);
+        ClickEventBus.Subscription subscription = bus.subscribe(slow, ClickEventBus.OverflowPolicy.DROP_OLDEST);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            bus.publishClick(new MousePosition(i, 0));
+        }
+        long elapsed = System.nanoTime() - start;
+        release.countDown();
+        bus.close();
+
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(1), "producer was blocked by the listener");
+        assertTrue(subscription.getDroppedCount() > 0);
+        assertEquals(1_000, subscription.getDeliveredCount() + subscription.getDroppedCount());
+        assertEquals("click 999", slow.events.get(slow.events.size() - 1));
+    }
+
+    @Test
+    void testCoalesceKeepsLatestClickAndAllLifecycleEvents() {
+        bus = new ClickEventBus("Test", 4);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingListener slow = new RecordingListener(release);
+        ClickEventBus.Subscription subscription = bus.subscribe(slow, ClickEventBus.OverflowPolicy.COALESCE);
+
+        bus.publishStarted();
+        for (int i = 0; i < 1_000; i++) {
+            bus.publishClick(new MousePosition(i, 0));
+        }
+        release.countDown();
+        bus.publishStopped();
+        bus.close();
+
+        assertTrue(subscription.getCoalescedCount() > 0);
+        assertEquals(0, subscription.getDroppedCount());
+        assertEquals("started", slow.events.get(0));
+        assertEquals("click 999", slow.events.get(slow.events.size() - 2));
+        assertEquals("stopped", slow.events.get(slow.events.size() - 1));
+    }
+
+    @Test
+    void testBlockedCoalesceListenerDoesNotDelayLifecycleEvents() {
+        bus = new ClickEventBus("Test", 4);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingListener slow = new RecordingListener(release);
+        ClickEventBus.Subscription subscription = bus.subscribe(slow, ClickEventBus.OverflowPolicy.COALESCE);
+
+        long start = System.nanoTime();
+        for (int run = 0; run < 2; run++) {
+            bus.publishStarted();
+            for (int i = 0; i < 1_000; i++) {
+                bus.publishClick(new MousePosition(run * 1_000 + i, 0));
+            }
+            bus.publishStopped();
+        }
+        long elapsed = System.nanoTime() - start;
+        long backlog = subscription.getBacklog();
+        release.countDown();
+        bus.close();
+
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(1), "producer was blocked by the listener");
+        assertTrue(backlog > 4, "overflow was not used");
+        assertEquals(0, subscription.getDroppedCount());
+        List<String> lifecycle = slow.events.stream().filter(e -> !e.startsWith("click")).toList();
+        assertEquals(List.of("started", "stopped", "started", "stopped"), lifecycle);
+        int firstStop = slow.events.indexOf("stopped");
+        assertEquals("click 999", slow.events.get(firstStop - 1));
+        assertEquals("click 1999", slow.events.get(slow.events.size() - 2));
+    }
+
+    @Test
+    void testUnsubscribedListenerReceivesNoFurtherEvents() throws InterruptedException {
+        bus = new ClickEventBus("Test");
+        RecordingListener listener = new RecordingListener(null);
+        bus.subscribe(listener, ClickEventBus.OverflowPolicy.BLOCK);
+
+        assertTrue(bus.unsubscribe(listener));
+        assertFalse(bus.unsubscribe(listener));
+        bus.publishClick(new MousePosition(1, 1));
+        Thread.sleep(50);
+
+        assertTrue(listener.events.isEmpty());
+        assertEquals(0, bus.getSubscriberCount());
+    }
+
+    /**
+     * Listener, der Events als Text festhält und optional beim ersten Event blockiert.
+     */
+    private static class RecordingListener implements ClickEngineListener {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate;
+
+        RecordingListener(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        private void await() {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void onClickExecuted(MousePosition position) {
+            await();
+            events.add("click " + position.getX());
+        }
+
+        @Override
+        public void onEngineStarted() {
+            await();
+            events.add("started");
+        }
+
+        @Override
+        public void onEngineStopped() {
+            events.add("stopped");
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            events.add("error " + errorMessage);
+        }
+    }
+}
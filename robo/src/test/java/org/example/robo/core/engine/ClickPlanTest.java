@@ -0,0 +1,79 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.util.Constants;
+import org.example.robo.util.MousePosition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für den kompilierten Klick-Plan.
+ */
+class ClickPlanTest {
+
+    @Test
+    void testPackedCoordinatesRoundTrip() {
+        int[][] points = {{0, 0}, {1920, 1080}, {-5, 7}, {3, -1}, {Integer.MIN_VALUE, Integer.MAX_VALUE}};
+        for (int[] p : points) {
+            long packed = ClickPlan.pack(p[0], p[1]);
+            assertEquals(p[0], ClickPlan.unpackX(packed));
+            assertEquals(p[1], ClickPlan.unpackY(packed));
+        }
+    }
+
+    @Test
+    void testCompileResolvesNativeEventsAndInterval() {
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setPosition(new MousePosition(-40, 300));
+        profile.setClickFrequency(25);
+        profile.setNumberOfClicks(10);
+
+        profile.setClickType(ClickType.LEFT);
+        ClickPlan left = ClickPlan.compile(profile);
+        assertEquals(-40, left.getX());
+        assertEquals(300, left.getY());
+        assertEquals(NativeMacOSAPI.kCGEventLeftMouseDown, left.getDownEventType());
+        assertEquals(NativeMacOSAPI.kCGEventLeftMouseUp, left.getUpEventType());
+        assertEquals(NativeMacOSAPI.kCGMouseButtonLeft, left.getMouseButton());
+        assertEquals(40_000_000L, left.getIntervalNanos());
+        assertEquals(10, left.getClickLimit());
+        assertEquals(3, left.remainingAfter(7));
+        assertEquals(0, left.remainingAfter(12));
+
+        profile.setClickType(ClickType.RIGHT);
+        ClickPlan right = ClickPlan.compile(profile);
+        assertEquals(NativeMacOSAPI.kCGEventRightMouseDown, right.getDownEventType());
+        assertEquals(NativeMacOSAPI.kCGEventRightMouseUp, right.getUpEventType());
+        assertEquals(NativeMacOSAPI.kCGMouseButtonRight, right.getMouseButton());
+
+        profile.setClickType(ClickType.SCROLL_DOWN);
+        ClickPlan scroll = ClickPlan.compile(profile);
+        assertEquals(NativeMacOSAPI.kCGEventScrollWheel, scroll.getDownEventType());
+        assertEquals(ClickPlan.NO_EVENT, scroll.getUpEventType());
+    }
+
+    @Test
+    void testDerivedPlansLeaveOriginalUntouched() {
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setNumberOfClicks(0);
+        ClickPlan original = ClickPlan.compile(profile);
+        assertEquals(Long.MAX_VALUE, original.remainingAfter(1_000_000));
+
+        ClickPlan faster = original.withFrequency(Constants.MAX_FREQUENCY_HZ + 50);
+        ClickPlan moved = original.withPosition(new MousePosition(12, 34));
+        ClickPlan right = original.withClickType(ClickType.RIGHT);
+
+        // Die Frequenz wird beim Kompilieren auf den gültigen Bereich begrenzt
+        assertEquals(Constants.MAX_FREQUENCY_HZ, faster.getFrequencyHz());
+        assertEquals(12, moved.getX());
+        assertEquals(34, moved.getY());
+        assertEquals(ClickType.RIGHT, right.getClickType());
+
+        assertEquals(profile.getClickFrequency(), original.getFrequencyHz());
+        assertEquals(profile.getPosition().getX(), original.getX());
+        assertEquals(profile.getClickType(), original.getClickType());
+        assertEquals(original.getClickLimit(), right.getClickLimit());
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.util.Constants;
+import org.example.robo.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vergleicht die Verspätung der Klick-Ticks mit und ohne gepinnten Klick-Thread
+ * ({@link ClickThreadPinning}).
+ * <p>
+ * Die Engine klickt mit der höchsten erlaubten Frequenz gegen ein {@link RecordingInputBackend};
+ * die Verspätung eines Klicks ist sein Zeitstempel minus seine Soll-Zeit im Raster des
+ * ersten Klicks. Parallel laufen Last-Threads (Standard: einer pro Kern), damit der
+ * Scheduler den Klick-Thread verdrängen und verschieben muss.
+ * Kein Unit Test (läuft nicht mit {@code mvn test}), nur Linux. Ausführen mit:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     org.example.robo.core.engine.ClickThreadPinningBenchmark [cpu] [loadThreads]
+ * </pre>
+ * Eine negative Niceness greift nur mit {@code CAP_SYS_NICE} (z.B. als root).
+ */
+public class ClickThreadPinningBenchmark {
+
+    private static final int RATE_HZ = Constants.MAX_FREQUENCY_HZ;
+    private static final int CLICKS = 1_500;
+    private static final int ROUNDS = 2;
+
+    private static volatile boolean loadRunning;
+
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int cpu = args.length > 0 ? Integer.parseInt(args[0]) : cores - 1;
+        int loadThreads = args.length > 1 ? Integer.parseInt(args[1]) : cores;
+
+        List<Thread> load = startLoad(loadThreads);
+        try {
+            System.out.printf("%d cores, %d load threads, %d clicks at %d Hz%n", cores, loadThreads, CLICKS, RATE_HZ);
+            System.out.printf("%-40s %10s %10s %10s %10s %10s%n", "mode", "p50 us", "p99 us", "p99.9 us", "max us", "pinned");
+            for (int round = 0; round < ROUNDS; round++) {
+                run(ClickThreadPinning.none());
+                run(ClickThreadPinning.toCpu(cpu));
+            }
+        } finally {
+            loadRunning = false;
+            for (Thread thread : load) {
+                thread.join();
+            }
+        }
+    }
+
+    private static void run(ClickThreadPinning pinning) throws InterruptedException {
+        RecordingInputBackend backend = new RecordingInputBackend(CLICKS, NanoClock.SYSTEM);
+        ClickEngineImpl engine = new ClickEngineImpl(backend, pinning);
+        try {
+            ClickProfile profile = ClickProfile.createDefault();
+            profile.setClickFrequency(RATE_HZ);
+            profile.setNumberOfClicks(CLICKS);
+            engine.startClicking(profile);
+            while (engine.isRunning()) {
+                Thread.sleep(50);
+            }
+        } finally {
+            engine.shutdown();
+        }
+
+        long interval = TimingController.calculateIntervalNanos(RATE_HZ);
+        long origin = backend.getTimestampNanos(0);
+        LatencyHistogram lateness = new LatencyHistogram();
+        for (int i = 0; i < backend.getStoredCount(); i++) {
+            lateness.record(backend.getTimestampNanos(i) - (origin + i * interval));
+        }
+        System.out.printf("%-40s %10.1f %10.1f %10.1f %10.1f %10s%n", pinning,
+                lateness.getValueAtPercentile(50) / 1e3, lateness.getValueAtPercentile(99) / 1e3,
+                lateness.getValueAtPercentile(99.9) / 1e3, lateness.getMax() / 1e3, engine.isClickThreadPinned());
+    }
+
+    private static List<Thread> startLoad(int threads) {
+        loadRunning = true;
+        List<Thread> load = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(() -> {
+                long x = 0;
+                while (loadRunning) {
+                    x += System.nanoTime() % 7;
+                }
+                if (x == 42) {
+                    System.out.print("");
+                }
+            }, "Load-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            load.add(thread);
+        }
+        return load;
+    }
+}
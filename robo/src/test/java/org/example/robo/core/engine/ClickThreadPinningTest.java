@@ -0,0 +1,77 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für das Pinning des Klick-Threads. Pinnt auf Kern 0, den es immer gibt.
+ */
+class ClickThreadPinningTest {
+
+    @Test
+    void testConfigurationIsValidated() {
+        assertFalse(ClickThreadPinning.none().isEnabled());
+        assertFalse(ClickThreadPinning.none().apply());
+        assertEquals(-1, ClickThreadPinning.none().getCpu());
+
+        ClickThreadPinning pinning = ClickThreadPinning.toCpu(3, -5);
+        assertTrue(pinning.isEnabled());
+        assertEquals(3, pinning.getCpu());
+        assertEquals(-5, pinning.getNiceness());
+
+        assertThrows(IllegalArgumentException.class, () -> ClickThreadPinning.toCpu(-1));
+        assertThrows(IllegalArgumentException.class, () -> ClickThreadPinning.toCpu(0, -21));
+        assertFalse(ClickThreadPinning.fromSystemProperties().isEnabled());
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void testApplyRestrictsCallingThreadToOneCpu() throws InterruptedException {
+        AtomicBoolean pinned = new AtomicBoolean();
+        AtomicReference<long[]> mask = new AtomicReference<>();
+        AtomicReference<Integer> cpu = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            pinned.set(ClickThreadPinning.toCpu(0, 0).apply());
+            long[] affinity = new long[LinuxSchedDirect.CPU_SET_WORDS];
+            LinuxSchedDirect.sched_getaffinity(0, LinuxSchedDirect.CPU_SET_BYTES, affinity);
+            mask.set(affinity);
+            cpu.set(ClickThreadPinning.currentCpu());
+        });
+        thread.start();
+        thread.join();
+
+        assertTrue(pinned.get());
+        long[] expected = new long[LinuxSchedDirect.CPU_SET_WORDS];
+        expected[0] = 1L;
+        assertArrayEquals(expected, mask.get());
+        assertEquals(0, cpu.get());
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void testEngineRunsClickLoopOnPinnedThread() throws InterruptedException {
+        RecordingInputBackend backend = new RecordingInputBackend();
+        ClickEngineImpl engine = new ClickEngineImpl(backend, ClickThreadPinning.toCpu(0, 0));
+        try {
+            ClickProfile profile = ClickProfile.createDefault();
+            profile.setClickFrequency(500);
+            profile.setNumberOfClicks(20);
+            engine.startClicking(profile);
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (engine.isRunning() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(20, backend.getClickCount());
+            assertTrue(engine.isClickThreadPinned());
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.robo.core.engine;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import org.example.robo.util.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-Vergleich Interface-Mapping (Proxy, CGPoint als Structure per Wert) gegen
+ * Direct-Mapping ({@link CoreGraphicsDirect}, Koordinaten als double) für einen
+ * Mausklick-Event: erzeugen, posten, freigeben.
+ * <p>
+ * Läuft gegen die Stub-Library aus {@code src/test/native}, die das Profil native-stub
+ * beim Testlauf baut; gemessen wird daher nur der Overhead der Bindings.
+ * Kein Unit Test (läuft nicht mit {@code mvn test}). Ausführen mit:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     org.example.robo.core.engine.CoreGraphicsBindingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CoreGraphicsBindingBenchmark {
+
+    private static final String DEFAULT_STUB = "target/native/librobostub.so";
+
+    /**
+     * Interface-Mapping wie vor der Umstellung auf {@link CoreGraphicsDirect}.
+     */
+    public interface InterfaceMapped extends Library {
+        Pointer CGEventCreateMouseEvent(Pointer source, int type, NativeMacOSAPI.CGPoint.ByValue location, int button);
+        void CGEventPost(int tap, Pointer event);
+        void CFRelease(Pointer cf);
+    }
+
+    private InterfaceMapped mapped;
+    private NativeMacOSAPI.CGPoint.ByValue location;
+    private int x;
+
+    @Setup
+    public void setUp() {
+        mapped = Native.load(CoreGraphicsDirect.LIBRARY, InterfaceMapped.class);
+        location = new NativeMacOSAPI.CGPoint.ByValue();
+    }
+
+    @Benchmark
+    public void interfaceMapped() {
+        location.x = x++ & 1023;
+        location.y = 400;
+        Pointer event = mapped.CGEventCreateMouseEvent(null, NativeMacOSAPI.kCGEventLeftMouseDown,
+                location, NativeMacOSAPI.kCGMouseButtonLeft);
+        mapped.CGEventPost(0, event);
+        mapped.CFRelease(event);
+    }
+
+    @Benchmark
+    public void directMapped() {
+        long event = CoreGraphicsDirect.CGEventCreateMouseEvent(0, NativeMacOSAPI.kCGEventLeftMouseDown,
+                x++ & 1023, 400, NativeMacOSAPI.kCGMouseButtonLeft);
+        CoreGraphicsDirect.CGEventPost(0, event);
+        CoreGraphicsDirect.CFRelease(event);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String library = System.getProperty(Constants.COREGRAPHICS_LIBRARY_PROPERTY,
+                new File(DEFAULT_STUB).getAbsolutePath());
+        new Runner(new OptionsBuilder()
+                .include(CoreGraphicsBindingBenchmark.class.getSimpleName())
+                .jvmArgsAppend("-D" + Constants.COREGRAPHICS_LIBRARY_PROPERTY + "=" + library)
+                .build()).run();
+    }
+}
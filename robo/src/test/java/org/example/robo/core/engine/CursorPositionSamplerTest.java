@@ -0,0 +1,192 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.util.MousePosition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für den gemeinsamen Sampler der Mausposition (Fake-Backend).
+ */
+class CursorPositionSamplerTest {
+
+    @Test
+    void testSubscribersShareOneQueryPerTickAndSeeOnlyChanges() throws InterruptedException {
+        FakeBackend backend = new FakeBackend();
+        backend.moveTo(10, 20);
+        CursorPositionSampler sampler = new CursorPositionSampler(backend, 1);
+        List<Long> first = new CopyOnWriteArrayList<>();
+        List<Long> second = new CopyOnWriteArrayList<>();
+        try {
+            sampler.subscribe((x, y) -> first.add(ClickPlan.pack(x, y)));
+            sampler.subscribe((x, y) -> second.add(ClickPlan.pack(x, y)));
+            await(() -> sampler.getQueryCount() >= 5);
+            backend.moveTo(30, 40);
+            await(() -> first.size() >= 2 && second.size() >= 2);
+            await(() -> sampler.getQueryCount() >= 10);
+        } finally {
+            sampler.close();
+        }
+
+        List<Long> expected = List.of(ClickPlan.pack(10, 20), ClickPlan.pack(30, 40));
+        assertEquals(expected, first.subList(first.size() - 2, first.size()));
+        assertEquals(expected, second.subList(second.size() - 2, second.size()));
+        // Zweiter Abonnent erhält höchstens die bekannte Position zusätzlich beim Abonnieren
+        assertTrue(first.size() <= 3 && second.size() <= 3);
+        // Alle Abfragen gingen über den Sampler, keine pro Verbraucher
+        assertEquals(sampler.getQueryCount(), backend.queries.get());
+        assertEquals(new MousePosition(30, 40), sampler.getPosition());
+    }
+
+    @Test
+    void testSamplingPausesWithoutSubscribers() throws InterruptedException {
+        FakeBackend backend = new FakeBackend();
+        CursorPositionSampler sampler = new CursorPositionSampler(backend, 1);
+        CursorPositionListener listener = (x, y) -> { };
+        assertFalse(sampler.isSampling());
+
+        sampler.subscribe(listener);
+        assertTrue(sampler.isSampling());
+        await(() -> backend.queries.get() >= 3);
+
+        sampler.unsubscribe(listener);
+        await(() -> !sampler.isSampling());
+        int queries = backend.queries.get();
+        Thread.sleep(30);
+        assertEquals(queries, backend.queries.get());
+
+        // Erneutes Abonnieren startet einen neuen Thread
+        sampler.subscribe(listener);
+        await(() -> backend.queries.get() > queries);
+        sampler.close();
+        await(() -> !sampler.isSampling());
+        assertEquals(0, sampler.getSubscriberCount());
+    }
+
+    @Test
+    void testReadsWithoutSubscribersAreCoalescedPerInterval() {
+        FakeBackend backend = new FakeBackend();
+        backend.moveTo(5, 6);
+        CursorPositionSampler sampler = new CursorPositionSampler(backend, 60_000);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(ClickPlan.pack(5, 6), sampler.getPackedPosition());
+        }
+        assertEquals(1, backend.queries.get());
+        assertFalse(sampler.isSampling());
+
+        backend.moveTo(7, 8);
+        assertEquals(ClickPlan.pack(7, 8), sampler.sampleNow());
+        assertEquals(new MousePosition(7, 8), sampler.getPosition());
+        assertEquals(2, backend.queries.get());
+    }
+
+    @Test
+    void testConcurrentStaleReadersShareOneQuery() throws InterruptedException {
+        CountDownLatch readersDone = new CountDownLatch(7);
+        FakeBackend backend = new FakeBackend() {
+            @Override
+            public long getCurrentPositionPacked() {
+                // Die zweite Abfrage wartet, bis alle anderen Leser zurück sind
+                if (queries.get() == 1) {
+                    try {
+                        readersDone.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.getCurrentPositionPacked();
+            }
+        };
+        backend.moveTo(1, 2);
+        CursorPositionSampler sampler = new CursorPositionSampler(backend, 200);
+        assertEquals(ClickPlan.pack(1, 2), sampler.getPackedPosition());
+        Thread.sleep(250);
+
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread reader = new Thread(() -> {
+                sampler.getPackedPosition();
+                readersDone.countDown();
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        for (Thread reader : readers) {
+            reader.join(10_000);
+        }
+
+        assertEquals(2, backend.queries.get());
+    }
+
+    @Test
+    void testListenersAreNotifiedOnlyFromTheSamplerThread() throws InterruptedException {
+        FakeBackend backend = new FakeBackend();
+        backend.moveTo(1, 1);
+        CursorPositionSampler sampler = new CursorPositionSampler(backend, 1);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        List<Long> positions = new CopyOnWriteArrayList<>();
+        try {
+            sampler.subscribe((x, y) -> {
+                threads.add(Thread.currentThread().getName());
+                positions.add(ClickPlan.pack(x, y));
+            });
+            await(() -> sampler.getQueryCount() >= 3);
+            for (int i = 2; i <= 50; i++) {
+                backend.moveTo(i, i);
+                sampler.sampleNow();
+                sampler.getPackedPosition();
+            }
+            await(() -> positions.contains(ClickPlan.pack(50, 50)));
+        } finally {
+            sampler.close();
+        }
+
+        String caller = Thread.currentThread().getName();
+        assertFalse(threads.contains(caller), "a listener was notified from the reading thread");
+        assertTrue(threads.stream().allMatch("CursorSampler"::equals), threads.toString());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not reached within timeout");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static class FakeBackend implements InputBackend {
+        final AtomicInteger queries = new AtomicInteger();
+        private volatile long position;
+
+        void moveTo(int x, int y) {
+            position = ClickPlan.pack(x, y);
+        }
+
+        @Override
+        public void move(int x, int y) {
+            moveTo(x, y);
+        }
+
+        @Override
+        public void click(int x, int y, ClickType type) {
+        }
+
+        @Override
+        public long getCurrentPositionPacked() {
+            queries.incrementAndGet();
+            return position;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.util.Constants;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für DeadlineTicker und PrecisionWaiter.
+ */
+class DeadlineTickerTest {
+
+    private static final long ONE_HOUR_NANOS = 3_600_000_000_000L;
+    private static final long TEN_MS_NANOS = 10_000_000L;
+
+    @Test
+    void testOneHourAt70HzGivesExactClickCount() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 80_000);
+        DeadlineTicker ticker = DeadlineTicker.forFrequency(new PrecisionWaiter(clock, 500_000), 70);
+        ticker.start(0);
+
+        long clicks = 0;
+        while (ticker.nextDeadline() < ONE_HOUR_NANOS) {
+            ticker.awaitNextTick();
+            clicks++;
+        }
+
+        // 70 Hz * 3600 s; ein fester 14 ms Takt ergäbe 257'143 Klicks
+        assertEquals(252_000, clicks);
+        assertTrue(ticker.getMaxLatenessNanos() < TEN_MS_NANOS);
+        assertTrue(Math.abs(ticker.getDriftNanos()) < TEN_MS_NANOS);
+    }
+
+    @Test
+    void testDeadlinesAreExactFor30Hz() {
+        ManualNanoClock clock = new ManualNanoClock(1_000, 0, 0);
+        DeadlineTicker ticker = DeadlineTicker.forFrequency(new PrecisionWaiter(clock, 0), 30);
+        ticker.start(1_000);
+
+        for (int i = 0; i < 30; i++) {
+            assertEquals(1_000 + i * 1_000_000_000L / 30, ticker.nextDeadline());
+            ticker.advance(0);
+        }
+        // Nach genau einer Sekunde liegt der nächste Tick wieder auf der vollen Sekunde
+        assertEquals(1_000 + 1_000_000_000L, ticker.nextDeadline());
+    }
+
+    @Test
+    void testMissedTicksAreCaughtUpWithoutDrift() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 0);
+        DeadlineTicker ticker = DeadlineTicker.forFrequency(new PrecisionWaiter(clock, 500_000), 100);
+        ticker.start(0);
+
+        ticker.awaitNextTick();
+        // Simulierter Stopp von 55 ms (z.B. GC-Pause)
+        clock.advance(55_000_000L);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(ticker.awaitNextTick() > 0);
+        }
+        assertEquals(6, ticker.getTickCount());
+
+        // Danach wird wieder planmässig gewartet
+        long lateness = ticker.awaitNextTick();
+        assertTrue(lateness < 10_000, "lateness was " + lateness);
+        assertEquals(7, ticker.getTickCount());
+        assertEquals(70_000_000L, ticker.nextDeadline());
+    }
+
+    @Test
+    void testWaiterParksBeforeSpinning() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 100, 50_000);
+        PrecisionWaiter waiter = new PrecisionWaiter(clock, 200_000);
+
+        long lateness = waiter.awaitDeadline(5_000_000L);
+
+        assertTrue(lateness >= 0 && lateness <= 100);
+        assertEquals(1, clock.getParkCount());
+    }
+
+    @Test
+    void testSpinThresholdFollowsMeasuredParkOvershoot() {
+        long threshold = PrecisionWaiter.calibrateSpinThreshold(new ManualNanoClock(0, 1_000, 300_000), 32);
+        assertTrue(threshold >= 300_000 && threshold <= 400_000, "threshold " + threshold);
+
+        long lowerBound = PrecisionWaiter.calibrateSpinThreshold(new ManualNanoClock(0, 100, 0), 32);
+        assertEquals(Constants.SPIN_THRESHOLD_MIN_NANOS, lowerBound);
+        long upperBound = PrecisionWaiter.calibrateSpinThreshold(new ManualNanoClock(0, 100, 50_000_000), 32);
+        assertEquals(Constants.SPIN_THRESHOLD_MAX_NANOS, upperBound);
+    }
+
+    @Test
+    void testWaiterHonoursInterrupt() {
+        PrecisionWaiter waiter = new PrecisionWaiter();
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class,
+                () -> waiter.awaitDeadline(System.nanoTime() + 1_000_000_000L));
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für das Warm-up beim Start.
+ */
+class EngineWarmUpTest {
+
+    @Test
+    void testWarmUpPreloadsBackendAndMeasuresFirstClick() throws InterruptedException {
+        PreloadCountingBackend backend = new PreloadCountingBackend(false);
+        EngineWarmUp warmUp = new EngineWarmUp(backend, 2_000);
+        assertNull(warmUp.getMetrics());
+
+        warmUp.start();
+        warmUp.start();
+        StartupMetrics metrics = warmUp.awaitMetrics(30_000);
+
+        assertNotNull(metrics);
+        assertSame(metrics, warmUp.getMetrics());
+        assertEquals(1, backend.preloads.get());
+        assertEquals(0, backend.clicks.get(), "warm-up must not click through the application backend");
+        assertTrue(metrics.isNativeLinked());
+        assertTrue(metrics.isInputUsable());
+        assertTrue(metrics.getCapabilityProbeNanos() > 0);
+        assertEquals(2_000, metrics.getWarmUpClicks());
+        assertTrue(metrics.getColdFirstClickNanos() > 0);
+        assertTrue(metrics.getWarmFirstClickNanos() > 0);
+        assertTrue(metrics.getWarmUpNanos() >= metrics.getNativeLinkNanos());
+    }
+
+    @Test
+    void testWarmUpClicksThroughTheBackendsDryRun() throws InterruptedException {
+        PreloadCountingBackend backend = new PreloadCountingBackend(false, true);
+        EngineWarmUp warmUp = new EngineWarmUp(backend, 2_000);
+        warmUp.start();
+        StartupMetrics metrics = warmUp.awaitMetrics(30_000);
+
+        assertNotNull(metrics);
+        assertEquals(0, backend.clicks.get(), "warm-up must not click through the application backend");
+        PreloadCountingBackend dryRun = backend.dryRunCopy;
+        assertNotNull(dryRun);
+        assertEquals(2_000 + 2, dryRun.clicks.get());
+        assertTrue(dryRun.releases.get() >= 3, "each warm-up engine releases the dry run on shutdown");
+        assertTrue(metrics.getColdFirstClickNanos() > 0);
+        assertTrue(metrics.getWarmFirstClickNanos() > 0);
+    }
+
+    @Test
+    void testMissingNativeLibraryIsReportedNotThrown() throws InterruptedException {
+        EngineWarmUp warmUp = new EngineWarmUp(new PreloadCountingBackend(true), 0);
+        warmUp.start();
+        StartupMetrics metrics = warmUp.awaitMetrics(30_000);
+
+        assertNotNull(metrics);
+        assertFalse(metrics.isNativeLinked());
+        assertTrue(metrics.getWarmFirstClickNanos() > 0);
+    }
+
+    private static final class PreloadCountingBackend implements InputBackend {
+        private final boolean failPreload;
+        private final boolean supportsDryRun;
+        private final AtomicInteger preloads = new AtomicInteger();
+        private final AtomicInteger clicks = new AtomicInteger();
+        private final AtomicInteger releases = new AtomicInteger();
+        private volatile PreloadCountingBackend dryRunCopy;
+
+        PreloadCountingBackend(boolean failPreload) {
+            this(failPreload, false);
+        }
+
+        PreloadCountingBackend(boolean failPreload, boolean supportsDryRun) {
+            this.failPreload = failPreload;
+            this.supportsDryRun = supportsDryRun;
+        }
+
+        @Override
+        public InputBackend dryRun() {
+            if (!supportsDryRun) {
+                return null;
+            }
+            dryRunCopy = new PreloadCountingBackend(false);
+            return dryRunCopy;
+        }
+
+        @Override
+        public void releaseResources() {
+            releases.incrementAndGet();
+        }
+
+        @Override
+        public void clickBatch(int x, int y, ClickType type, int count) {
+            clicks.addAndGet(count);
+        }
+
+        @Override
+        public void preload() {
+            preloads.incrementAndGet();
+            if (failPreload) {
+                throw new UnsatisfiedLinkError("Unable to load library 'missing'");
+            }
+        }
+
+        @Override
+        public void move(int x, int y) {
+        }
+
+        @Override
+        public void click(int x, int y, ClickType type) {
+            clicks.incrementAndGet();
+        }
+    }
+}
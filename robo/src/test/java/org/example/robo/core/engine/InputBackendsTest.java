@@ -0,0 +1,64 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für die Auswahl der Input-Backends über den ServiceLoader.
+ */
+class InputBackendsTest {
+
+    @Test
+    void testDiscoverFindsRegisteredBackends() {
+        List<InputBackend> backends = InputBackends.discover();
+        assertTrue(backends.stream().anyMatch(b -> b instanceof CoreGraphicsInputBackend));
+        assertTrue(backends.stream().anyMatch(b -> b instanceof RecordingInputBackend));
+
+        InputBackend selected = InputBackends.select(backends, null);
+        assertNotEquals(RecordingInputBackend.NAME, selected.getName());
+        boolean mac = System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("mac");
+        if (mac) {
+            assertEquals(CoreGraphicsInputBackend.NAME, selected.getName());
+        }
+    }
+
+    @Test
+    void testRecordingBackendIsNeverSelectedAutomatically() {
+        InputBackend unavailable = new InputBackend() {
+            @Override
+            public boolean isAvailable() {
+                return false;
+            }
+
+            @Override
+            public void move(int x, int y) {
+            }
+
+            @Override
+            public void click(int x, int y, ClickType type) {
+            }
+        };
+        RecordingInputBackend recording = new RecordingInputBackend(16, NanoClock.SYSTEM);
+
+        InputBackend selected = InputBackends.select(List.of(recording, unavailable), null);
+        assertSame(unavailable, selected);
+        assertFalse(new CapabilityProbe(selected).isUsable());
+        assertThrows(IllegalStateException.class, () -> InputBackends.select(List.of(recording), null));
+        assertSame(recording, InputBackends.select(List.of(recording, unavailable), "recording"));
+    }
+
+    @Test
+    void testSelectByName() {
+        List<InputBackend> backends = List.of(new CoreGraphicsInputBackend(), new RecordingInputBackend(16, NanoClock.SYSTEM));
+
+        assertEquals(RecordingInputBackend.NAME, InputBackends.select(backends, "Recording").getName());
+        assertEquals(CoreGraphicsInputBackend.NAME, InputBackends.select(backends, " coregraphics ").getName());
+        assertThrows(IllegalStateException.class, () -> InputBackends.select(backends, "xtest"));
+        assertThrows(IllegalStateException.class, () -> InputBackends.select(List.of(), null));
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.JitterMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statistische Tests für die vorberechneten Zufallsströme.
+ * Kleine Puffer erzwingen viele Nachfüll-Runden während der Messung.
+ */
+class JitterSourceTest {
+
+    private static final int SAMPLES = 200_000;
+
+    private JitterSource source;
+
+    @AfterEach
+    void tearDown() {
+        if (source != null) {
+            source.close();
+        }
+    }
+
+    @Test
+    void testUniformStreamIsFlatAcrossRefills() {
+        source = new JitterSource("Test", 42, 256);
+        int bins = 10;
+        long[] counts = new long[bins];
+        double sum = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            double u = source.nextUniform();
+            assertTrue(u >= 0 && u < 1, "uniform out of range: " + u);
+            counts[(int) (u * bins)]++;
+            sum += u;
+        }
+        assertEquals(0.5, sum / SAMPLES, 0.005);
+
+        // Chi-Quadrat mit 9 Freiheitsgraden: 27.88 entspricht p = 0.001
+        double expected = (double) SAMPLES / bins;
+        double chiSquare = 0;
+        for (long count : counts) {
+            chiSquare += (count - expected) * (count - expected) / expected;
+        }
+        assertTrue(chiSquare < 27.88, "chi-square too large: " + chiSquare);
+    }
+
+    @Test
+    void testGaussianAndExponentialMoments() {
+        source = new JitterSource("Test", 7, 256);
+        double gSum = 0;
+        double gSquares = 0;
+        int withinOneSigma = 0;
+        double eSum = 0;
+        double eSquares = 0;
+        int aboveMean = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            double g = source.nextGaussian();
+            gSum += g;
+            gSquares += g * g;
+            if (Math.abs(g) <= 1) {
+                withinOneSigma++;
+            }
+            double e = source.nextExponential();
+            assertTrue(e >= 0, "exponential must not be negative: " + e);
+            eSum += e;
+            eSquares += e * e;
+            if (e > 1) {
+                aboveMean++;
+            }
+        }
+        double gMean = gSum / SAMPLES;
+        assertEquals(0, gMean, 0.01);
+        assertEquals(1, Math.sqrt(gSquares / SAMPLES - gMean * gMean), 0.01);
+        assertEquals(0.6827, (double) withinOneSigma / SAMPLES, 0.005);
+
+        double eMean = eSum / SAMPLES;
+        assertEquals(1, eMean, 0.01);
+        assertEquals(1, Math.sqrt(eSquares / SAMPLES - eMean * eMean), 0.02);
+        assertEquals(Math.exp(-1), (double) aboveMean / SAMPLES, 0.005);
+    }
+
+    @Test
+    void testRefilledBuffersDoNotReplayValues() {
+        int size = 64;
+        source = new JitterSource("Test", 3, size);
+        double[] first = new double[size];
+        for (int i = 0; i < size; i++) {
+            first[i] = source.nextUniform();
+        }
+        int repeated = 0;
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < size; i++) {
+                if (source.nextUniform() == first[i]) {
+                    repeated++;
+                }
+            }
+        }
+        assertEquals(0, repeated);
+    }
+
+    @Test
+    void testDeadlineOffsetsAndPositionStayInBounds() {
+        source = new JitterSource("Test", 11, 1024);
+        long interval = 10_000_000L;
+        for (int i = 0; i < 10_000; i++) {
+            long uniform = source.deadlineOffsetNanos(JitterMode.UNIFORM, 2_000_000L, interval);
+            assertTrue(Math.abs(uniform) <= 2_000_000L, "uniform offset " + uniform);
+            // Grosse Streuung wird auf ein halbes Intervall begrenzt
+            long gaussian = source.deadlineOffsetNanos(JitterMode.GAUSSIAN, 50_000_000L, interval);
+            assertTrue(Math.abs(gaussian) <= interval / 2, "gaussian offset " + gaussian);
+        }
+        assertEquals(0, source.deadlineOffsetNanos(JitterMode.NONE, 2_000_000L, interval));
+        assertEquals(0, source.deadlineOffsetNanos(JitterMode.UNIFORM, 0, interval));
+
+        // Gleichverteilt über die Kreisfläche: ein Viertel liegt im halben Radius
+        int radius = 40;
+        int inner = 0;
+        int samples = 50_000;
+        for (int i = 0; i < samples; i++) {
+            long packed = source.offsetPosition(100, -50, radius);
+            double dx = ClickPlan.unpackX(packed) - 100;
+            double dy = ClickPlan.unpackY(packed) + 50;
+            double distance = Math.hypot(dx, dy);
+            assertTrue(distance <= radius + 1, "outside radius: " + distance);
+            if (distance <= radius / 2.0) {
+                inner++;
+            }
+        }
+        assertEquals(0.25, (double) inner / samples, 0.02);
+        assertEquals(ClickPlan.pack(5, 6), source.offsetPosition(5, 6, 0));
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.MacroEventStore;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst die Verspätung der Macro-Wiedergabe ({@link PlaybackReport}) mit drei Wartestrategien:
+ * nur Parken (Spin-Schwelle 0), die feste Standard-Schwelle und die kalibrierte Schwelle
+ * ({@link PrecisionWaiter#calibrated()}).
+ * <p>
+ * Das Macro hat {@value #EVENTS} Bewegungen im Abstand von {@value #SPACING_MS} ms, abgespielt
+ * gegen ein {@link RecordingInputBackend}.
+ * Kein Unit Test (läuft nicht mit {@code mvn test}). Ausführen mit:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     org.example.robo.core.engine.MacroPlaybackLatenessBenchmark
+ * </pre>
+ */
+public class MacroPlaybackLatenessBenchmark {
+
+    private static final int EVENTS = 1_500;
+    private static final int SPACING_MS = 2;
+
+    public static void main(String[] args) throws Exception {
+        MacroEventStore store = new MacroEventStore(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            store.appendMove((long) i * SPACING_MS, i % 1920, i % 1080);
+        }
+        PrecisionWaiter calibrated = PrecisionWaiter.calibrated();
+        System.out.printf("%-22s %10s %10s %10s %8s%n", "waiter", "p50 us", "p99 us", "max us", "late");
+        for (int round = 0; round < 2; round++) {
+            run("park only", store, new PrecisionWaiter(NanoClock.SYSTEM, 0));
+            run("fixed 500 us", store, new PrecisionWaiter());
+            run("calibrated " + calibrated.getSpinThresholdNanos() / 1_000 + " us", store, calibrated);
+        }
+    }
+
+    private static void run(String label, MacroEventStore store, PrecisionWaiter waiter) throws Exception {
+        MacroPlayerImpl player = new MacroPlayerImpl(new RecordingInputBackend(EVENTS, NanoClock.SYSTEM), waiter);
+        try {
+            PlaybackReport report = player.play(label, store.cursor()).get(60, TimeUnit.SECONDS);
+            System.out.printf("%-22s %10.1f %10.1f %10.1f %8d%n", label, report.getP50LatenessNanos() / 1e3,
+                    report.getP99LatenessNanos() / 1e3, report.getMaxLatenessNanos() / 1e3, report.getLateEvents());
+        } finally {
+            player.shutdown();
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.core.profile.Macro;
+import org.example.robo.core.profile.MacroEventStore;
+import org.example.robo.core.profile.MacroFileWriter;
+import org.example.robo.core.profile.MappedMacroFile;
+import org.example.robo.core.profile.MouseClickEvent;
+import org.example.robo.core.profile.MouseMoveEvent;
+import org.example.robo.util.MousePosition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für den Macro Player (virtuelle Uhr).
+ */
+class MacroPlayerTest {
+
+    private MacroPlayerImpl player;
+
+    @AfterEach
+    void tearDown() {
+        if (player != null) {
+            player.shutdown();
+        }
+    }
+
+    @Test
+    void testEventsArePlayedAtTheirRecordedOffsets() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        RecordingActuator actuator = new RecordingActuator(clock);
+        player = new MacroPlayerImpl(actuator, new PrecisionWaiter(clock, 500_000));
+
+        Macro macro = new Macro("m1", "Test");
+        macro.getEvents().add(new MouseMoveEvent(1_000, new MousePosition(1, 1)));
+        macro.getEvents().add(new MouseClickEvent(1_015, new MousePosition(1, 1), ClickType.LEFT));
+        macro.getEvents().add(new MouseMoveEvent(1_015, new MousePosition(2, 2)));
+        macro.getEvents().add(new MouseClickEvent(3_000, new MousePosition(2, 2), ClickType.RIGHT));
+
+        player.play(macro);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (player.isPlaying() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertFalse(player.isPlaying());
+        assertEquals(List.of("move", "click", "move", "click"), actuator.actions);
+        long start = actuator.timestamps.get(0);
+        long[] expectedOffsets = {0, 15_000_000L, 15_000_000L, 2_000_000_000L};
+        for (int i = 0; i < expectedOffsets.length; i++) {
+            long offset = actuator.timestamps.get(i) - start;
+            assertTrue(offset >= expectedOffsets[i] - 1_000_000 && offset < expectedOffsets[i] + 1_000_000,
+                    "event " + i + " at " + offset + " ns");
+        }
+    }
+
+    @Test
+    void testEventsWithSameTimestampArePostedAsOneBatch() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        RecordingActuator actuator = new RecordingActuator(clock);
+        player = new MacroPlayerImpl(actuator, new PrecisionWaiter(clock, 500_000));
+
+        Macro macro = new Macro("m2", "Burst");
+        for (int i = 0; i < 40; i++) {
+            macro.getEvents().add(new MouseMoveEvent(500, new MousePosition(i, i)));
+        }
+        macro.getEvents().add(new MouseClickEvent(500, new MousePosition(39, 39), ClickType.LEFT));
+        macro.getEvents().add(new MouseMoveEvent(520, new MousePosition(50, 50)));
+
+        player.play(macro);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (player.isPlaying() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertFalse(player.isPlaying());
+        assertEquals(List.of(41, 1), actuator.batchSizes);
+        assertEquals(42, actuator.actions.size());
+        assertEquals("click", actuator.actions.get(40));
+    }
+
+    @Test
+    void testEventsDueWithinTheNextTickAreNotPostedEarly() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        RecordingActuator actuator = new RecordingActuator(clock);
+        player = new MacroPlayerImpl(actuator, new PrecisionWaiter(clock, 500_000));
+
+        Macro macro = new Macro("m5", "Ticks");
+        for (int i = 0; i < 3; i++) {
+            macro.getEventStore().appendMove(500 + i, i, i);
+        }
+
+        player.play(macro);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (player.isPlaying() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertFalse(player.isPlaying());
+        assertEquals(List.of(1, 1, 1), actuator.batchSizes);
+        long start = actuator.timestamps.get(0);
+        for (int i = 1; i < 3; i++) {
+            assertTrue(actuator.timestamps.get(i) - start >= i * 1_000_000L - 100_000L,
+                    "event " + i + " posted early at " + (actuator.timestamps.get(i) - start) + " ns");
+        }
+    }
+
+    @Test
+    void testReportCoversLatenessAndDroppedEvents() throws Exception {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        RecordingActuator actuator = new RecordingActuator(clock);
+        player = new MacroPlayerImpl(actuator, new PrecisionWaiter(clock, 500_000));
+
+        Macro macro = new Macro("m4", "Report");
+        for (int i = 0; i < 20; i++) {
+            macro.getEventStore().appendMove(i * 5L, i, i);
+        }
+        PlaybackReport report = player.play("Report", macro.getEventStore().cursor()).get(10, TimeUnit.SECONDS);
+
+        assertEquals(PlaybackReport.Outcome.COMPLETED, report.getOutcome());
+        assertEquals(20, report.getPlayedEvents());
+        assertEquals(0, report.getDroppedEvents());
+        assertEquals(0, report.getLateEvents());
+        assertTrue(report.getMaxLatenessNanos() < 100_000, report.toString());
+        assertSame(report, player.getLastReport());
+
+        // Echte Uhr, damit die Wiedergabe vor dem zweiten Event gestoppt werden kann
+        player.shutdown();
+        player = new MacroPlayerImpl(actuator, new PrecisionWaiter());
+        Macro longMacro = new Macro("m5", "Stopped");
+        longMacro.getEventStore().appendMove(0, 0, 0);
+        longMacro.getEventStore().appendMove(60_000, 1, 1);
+        CompletableFuture<PlaybackReport> stopped = player.play("Stopped", longMacro.getEventStore().cursor());
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (actuator.actions.size() < 21 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        player.stop();
+
+        report = stopped.get(10, TimeUnit.SECONDS);
+        assertEquals(PlaybackReport.Outcome.STOPPED, report.getOutcome());
+        assertEquals(1, report.getPlayedEvents());
+        assertEquals(1, report.getDroppedEvents());
+        assertEquals(PlaybackReport.Outcome.REJECTED,
+                player.play("Empty", new Macro().getEventStore().cursor()).get().getOutcome());
+    }
+
+    @Test
+    void testStopCompletesOnlyAfterTheBatchInFlight() throws Exception {
+        CountDownLatch posting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingActuator actuator = new RecordingActuator(new ManualNanoClock(0, 0, 0)) {
+            @Override
+            public void postBatch(EventBatch batch) {
+                posting.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.postBatch(batch);
+            }
+        };
+        player = new MacroPlayerImpl(actuator, new PrecisionWaiter());
+        Macro macro = new Macro("m8", "InFlight");
+        macro.getEventStore().appendMove(0, 0, 0);
+        macro.getEventStore().appendMove(5, 1, 1);
+
+        CompletableFuture<PlaybackReport> result = player.play("InFlight", macro.getEventStore().cursor());
+        assertTrue(posting.await(10, TimeUnit.SECONDS));
+        player.stop();
+        assertFalse(player.isPlaying());
+        // Der Worker postet noch; der Bericht darf erst danach entstehen
+        assertFalse(result.isDone());
+        release.countDown();
+
+        PlaybackReport report = result.get(10, TimeUnit.SECONDS);
+        assertEquals(PlaybackReport.Outcome.STOPPED, report.getOutcome());
+        assertEquals(1, report.getPlayedEvents());
+        Thread.sleep(20);
+        assertEquals(List.of(1), actuator.batchSizes);
+    }
+
+    @Test
+    void testLatenessIncludesTheTimeSpentPosting() throws Exception {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        RecordingActuator actuator = new RecordingActuator(clock) {
+            @Override
+            public void postBatch(EventBatch batch) {
+                super.postBatch(batch);
+                // Ein langsamer nativer Aufruf: 3 ms pro Batch
+                clock.advance(3_000_000L);
+            }
+        };
+        player = new MacroPlayerImpl(actuator, new PrecisionWaiter(clock, 500_000));
+        Macro macro = new Macro("m9", "SlowPost");
+        for (int i = 0; i < 5; i++) {
+            macro.getEventStore().appendMove(i * 10L, i, i);
+        }
+
+        PlaybackReport report = player.play("SlowPost", macro.getEventStore().cursor()).get(10, TimeUnit.SECONDS);
+
+        assertEquals(5, report.getPlayedEvents());
+        assertTrue(report.getP50LatenessNanos() >= 3_000_000L, report.toString());
+        assertEquals(5, report.getLateEvents(), report.toString());
+    }
+
+    @Test
+    void testSpeedAndGapCompressionApplyToStreamedMacro() throws Exception {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        RecordingActuator actuator = new RecordingActuator(clock);
+        player = new MacroPlayerImpl(actuator, new PrecisionWaiter(clock, 500_000));
+
+        MacroEventStore store = new MacroEventStore();
+        store.appendMove(0, 1, 1);
+        store.appendMove(3_600_000, 2, 2);
+        store.appendClick(3_600_040, 2, 2, ClickType.LEFT);
+        PlaybackTiming timing = PlaybackTiming.atSpeed(4).withMaxGapMs(200);
+
+        PlaybackReport report = player.playStreaming("Idle", store.cursor(), timing).get(10, TimeUnit.SECONDS);
+
+        assertEquals(3, report.getPlayedEvents());
+        long start = actuator.timestamps.get(0);
+        long[] expectedOffsets = {0, 50_000_000L, 60_000_000L};
+        for (int i = 0; i < expectedOffsets.length; i++) {
+            long offset = actuator.timestamps.get(i) - start;
+            assertTrue(offset >= expectedOffsets[i] - 1_000_000 && offset < expectedOffsets[i] + 1_000_000,
+                    "event " + i + " at " + offset + " ns");
+        }
+        assertThrows(IllegalArgumentException.class, () -> PlaybackTiming.atSpeed(0.05));
+        assertThrows(IllegalArgumentException.class, () -> PlaybackTiming.atSpeed(51));
+    }
+
+    @Test
+    void testPlaysDirectlyFromMappedFile(@TempDir Path tempDir) throws IOException, InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        RecordingActuator actuator = new RecordingActuator(clock);
+        player = new MacroPlayerImpl(actuator, new PrecisionWaiter(clock, 500_000));
+
+        Macro macro = new Macro("m3", "Mapped");
+        for (int i = 0; i < 10; i++) {
+            macro.getEventStore().appendMove(100 + i * 10L, i, i);
+        }
+        macro.getEventStore().appendClick(300, 9, 9, ClickType.LEFT);
+        Path file = tempDir.resolve("m3.rmacro");
+        MacroFileWriter.write(macro, file, 4);
+
+        MappedMacroFile mapped = MappedMacroFile.open(file);
+        player.play(mapped.getName(), mapped.cursor());
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (player.isPlaying() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertFalse(player.isPlaying());
+        assertEquals(11, actuator.actions.size());
+        assertEquals("click", actuator.actions.get(10));
+        long offset = actuator.timestamps.get(10) - actuator.timestamps.get(0);
+        assertTrue(offset >= 199_000_000L && offset < 201_000_000L, "click at " + offset + " ns");
+    }
+
+    /**
+     * Fake Actuator, der Aktionen mit virtuellem Zeitstempel festhält.
+     */
+    private static class RecordingActuator implements InputBackend {
+        private final ManualNanoClock clock;
+        private final List<String> actions = new ArrayList<>();
+        private final List<Long> timestamps = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        RecordingActuator(ManualNanoClock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public void move(int x, int y) {
+            actions.add("move");
+            timestamps.add(clock.peek());
+        }
+
+        @Override
+        public void click(int x, int y, ClickType type) {
+            actions.add("click");
+            timestamps.add(clock.peek());
+        }
+
+        @Override
+        public void postBatch(EventBatch batch) {
+            batchSizes.add(batch.size());
+            InputBackend.super.postBatch(batch);
+        }
+    }
+}
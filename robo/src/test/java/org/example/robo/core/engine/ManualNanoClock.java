@@ -0,0 +1,50 @@
+package org.example.robo.core.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Virtuelle Uhr für Timing-Tests.
+ * Jeder Lesezugriff kostet {@code readCostNanos}, jedes Parken schläft
+ * zusätzlich {@code parkOvershootNanos} zu lange - wie ein echter Scheduler.
+ * Thread-safe, damit Test-Thread und Worker-Thread dieselbe Uhr lesen können.
+ */
+class ManualNanoClock implements NanoClock {
+    private final long readCostNanos;
+    private final long parkOvershootNanos;
+    private final AtomicLong now;
+    private final AtomicLong parkCount = new AtomicLong();
+
+    ManualNanoClock(long startNanos, long readCostNanos, long parkOvershootNanos) {
+        this.now = new AtomicLong(startNanos);
+        this.readCostNanos = readCostNanos;
+        this.parkOvershootNanos = parkOvershootNanos;
+    }
+
+    @Override
+    public long nanoTime() {
+        return now.getAndAdd(readCostNanos);
+    }
+
+    @Override
+    public void parkNanos(long nanos) {
+        parkCount.incrementAndGet();
+        now.addAndGet(Math.max(0, nanos) + parkOvershootNanos);
+    }
+
+    @Override
+    public void onSpinWait() {
+        // Zeit läuft bereits über readCostNanos weiter
+    }
+
+    void advance(long nanos) {
+        now.addAndGet(nanos);
+    }
+
+    long peek() {
+        return now.get();
+    }
+
+    long getParkCount() {
+        return parkCount.get();
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.util.MousePosition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für die Multi-Profil Engine (virtuelle Uhr).
+ */
+class MultiProfileClickEngineTest {
+
+    private MultiProfileClickEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void testProfilesRunConcurrentlyOnOneThread() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        RecordingActuator actuator = new RecordingActuator(clock);
+        engine = new MultiProfileClickEngine(actuator, new PrecisionWaiter(clock, 500_000));
+
+        engine.startProfile(profile("a", 10, 100, 20));
+        engine.startProfile(profile("b", 25, 200, 50));
+        engine.startProfile(profile("c", 100, 300, 200));
+        awaitIdle();
+
+        assertEquals(20, engine.getClickCount("a"));
+        assertEquals(50, engine.getClickCount("b"));
+        assertEquals(200, engine.getClickCount("c"));
+        assertEquals(270, actuator.clicks.size());
+        assertEquals(1, actuator.threads.size(), "all profiles must share one scheduler thread");
+
+        // Klicks müssen in Deadline-Reihenfolge erfolgen
+        for (int i = 1; i < actuator.timestamps.size(); i++) {
+            assertTrue(actuator.timestamps.get(i) >= actuator.timestamps.get(i - 1));
+        }
+        for (String id : new String[]{"a", "b", "c"}) {
+            assertTrue(engine.getMaxLatenessNanos(id) < 10_000_000L);
+        }
+    }
+
+    @Test
+    void testStopSingleProfileKeepsOthersRunning() throws InterruptedException {
+        engine = new MultiProfileClickEngine(new RecordingActuator(null), new PrecisionWaiter());
+
+        engine.startProfile(profile("a", 100, 100, -1));
+        engine.startProfile(profile("b", 100, 200, -1));
+        Thread.sleep(100);
+        engine.stopProfile("a");
+        Thread.sleep(50);
+
+        long clicksA = engine.getClickCount("a");
+        Thread.sleep(100);
+
+        assertFalse(engine.isProfileRunning("a"));
+        assertTrue(engine.isProfileRunning("b"));
+        assertEquals(clicksA, engine.getClickCount("a"));
+        assertTrue(engine.getClickCount("b") > clicksA);
+        assertEquals(Set.of("b"), engine.getActiveProfileIds());
+    }
+
+    @Test
+    void testStartingRunningProfileTwiceIsRejected() {
+        engine = new MultiProfileClickEngine(new RecordingActuator(null), new PrecisionWaiter());
+        List<String> errors = new ArrayList<>();
+        engine.addClickEngineListener(new ClickEngineListener() {
+            @Override
+            public void onClickExecuted(MousePosition position) {
+            }
+
+            @Override
+            public void onEngineStarted() {
+            }
+
+            @Override
+            public void onEngineStopped() {
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                errors.add(errorMessage);
+            }
+        });
+
+        ClickProfile p = profile("a", 10, 100, -1);
+        engine.startProfile(p);
+        engine.startProfile(p);
+
+        assertEquals(1, errors.size());
+        assertEquals(1, engine.getActiveProfileCount());
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (engine.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertFalse(engine.isRunning(), "profiles did not finish");
+    }
+
+    private static ClickProfile profile(String id, int hz, int x, int clicks) {
+        return new ClickProfile(id, id, "", hz, new MousePosition(x, x), ClickType.LEFT, clicks, 0, null, null);
+    }
+
+    private static class RecordingActuator implements InputBackend {
+        private final ManualNanoClock clock;
+        private final List<Integer> clicks = new ArrayList<>();
+        private final List<Long> timestamps = new ArrayList<>();
+        private final Set<String> threads = new HashSet<>();
+
+        RecordingActuator(ManualNanoClock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public void move(int x, int y) {
+        }
+
+        @Override
+        public synchronized void click(int x, int y, ClickType type) {
+            clicks.add(x);
+            timestamps.add(clock != null ? clock.peek() : System.nanoTime());
+            threads.add(Thread.currentThread().getName());
+        }
+    }
+}
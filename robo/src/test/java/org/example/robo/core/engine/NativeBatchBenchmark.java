@@ -0,0 +1,91 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.util.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-Vergleich: {@value #EVENTS} Mausbewegungen einzeln gepostet (zwei native Aufrufe
+ * pro Event) gegen einen {@link EventBatch} über den Shim {@code robo_post_batch}
+ * (ein nativer Aufruf pro Batch). Angegeben wird die Zeit pro Event.
+ * <p>
+ * Läuft gegen die Stub-Library aus {@code src/test/native}, die auch den Shim enthält;
+ * gemessen wird daher nur der Overhead der Übergänge Java/nativ.
+ * Kein Unit Test (läuft nicht mit {@code mvn test}). Ausführen mit:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     org.example.robo.core.engine.NativeBatchBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NativeBatchBenchmark {
+
+    private static final String DEFAULT_STUB = "target/native/librobostub.so";
+    private static final int EVENTS = 32;
+
+    private InputBackend backend;
+    private EventBatch batch;
+
+    @Setup
+    public void setUp() {
+        backend = new CoreGraphicsInputBackend();
+        batch = new EventBatch(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            batch.addMove(i, 400);
+        }
+        if (!NativeBatchPoster.isAvailable()) {
+            throw new IllegalStateException("Batch shim not found in " + NativeBatchPoster.LIBRARY);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        backend.releaseResources();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void singleEvents() {
+        for (int i = 0; i < EVENTS; i++) {
+            backend.move(i, 400);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void batched() {
+        backend.postBatch(batch);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String library = System.getProperty(Constants.COREGRAPHICS_LIBRARY_PROPERTY,
+                new File(DEFAULT_STUB).getAbsolutePath());
+        new Runner(new OptionsBuilder()
+                .include(NativeBatchBenchmark.class.getSimpleName())
+                .jvmArgsAppend("-D" + Constants.COREGRAPHICS_LIBRARY_PROPERTY + "=" + library,
+                        "-D" + Constants.NATIVE_BATCH_LIBRARY_PROPERTY + "=" + library)
+                .build()).run();
+    }
+}
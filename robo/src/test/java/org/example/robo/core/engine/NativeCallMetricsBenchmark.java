@@ -0,0 +1,98 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.util.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH: Kosten der Latenz-Messung ({@link NativeCallMetrics}) pro Klick, ausgeschaltet
+ * und eingeschaltet. {@code rawClick} postet dieselben vier nativen Aufrufe ohne
+ * Instrumentierung als Vergleichswert.
+ * <p>
+ * Läuft gegen die Stub-Library aus {@code src/test/native}; gemessen wird daher nur der
+ * Overhead der Übergänge Java/nativ und der Messung selbst.
+ * Kein Unit Test (läuft nicht mit {@code mvn test}). Ausführen mit:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     org.example.robo.core.engine.NativeCallMetricsBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NativeCallMetricsBenchmark {
+
+    private static final String DEFAULT_STUB = "target/native/librobostub.so";
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private InputBackend backend;
+    private ClickPlan plan;
+    private long down;
+    private long up;
+
+    @Setup
+    public void setUp() {
+        backend = new CoreGraphicsInputBackend();
+        plan = ClickPlan.compile(ClickProfile.createDefault());
+        down = CoreGraphicsDirect.CGEventCreateMouseEvent(0, NativeMacOSAPI.kCGEventLeftMouseDown, 0, 0,
+                NativeMacOSAPI.kCGMouseButtonLeft);
+        up = CoreGraphicsDirect.CGEventCreateMouseEvent(0, NativeMacOSAPI.kCGEventLeftMouseUp, 0, 0,
+                NativeMacOSAPI.kCGMouseButtonLeft);
+        NativeCallMetrics.setEnabled(metrics);
+    }
+
+    @TearDown
+    public void tearDown() {
+        NativeCallMetrics.setEnabled(false);
+        System.out.print(NativeCallMetrics.dump());
+        NativeCallMetrics.reset();
+        CoreGraphicsDirect.CFRelease(down);
+        CoreGraphicsDirect.CFRelease(up);
+        backend.releaseResources();
+    }
+
+    @Benchmark
+    public void instrumentedClick() {
+        backend.click(plan, 400, 300);
+    }
+
+    @Benchmark
+    public void rawClick() {
+        CoreGraphicsDirect.CGEventSetLocation(down, 400, 300);
+        CoreGraphicsDirect.CGEventPost(NativeMacOSAPI.kCGHIDEventTap, down);
+        CoreGraphicsDirect.CGEventSetLocation(up, 400, 300);
+        CoreGraphicsDirect.CGEventPost(NativeMacOSAPI.kCGHIDEventTap, up);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String library = System.getProperty(Constants.COREGRAPHICS_LIBRARY_PROPERTY,
+                new File(DEFAULT_STUB).getAbsolutePath());
+        new Runner(new OptionsBuilder()
+                .include(NativeCallMetricsBenchmark.class.getSimpleName())
+                .jvmArgsAppend("-D" + Constants.COREGRAPHICS_LIBRARY_PROPERTY + "=" + library)
+                .build()).run();
+    }
+}
@@ -0,0 +1,255 @@
+package org.example.robo.core.engine;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.util.MousePosition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft die CoreGraphics-Bindings gegen die Stub-Library aus {@code src/test/native}.
+ * Läuft nur, wenn das Profil native-stub die Library gebaut hat (siehe {@link NativeStub}).
+ */
+@EnabledIf("org.example.robo.core.engine.NativeStub#isAvailable")
+class NativeMacOSAPITest {
+
+    @BeforeEach
+    void setUp() {
+        NativeMacOSAPI.releaseCachedEvents();
+        Stub.robostub_reset();
+    }
+
+    @Test
+    void testClicksPostDownAndUpWithPrimitiveCoordinates() {
+        NativeMacOSAPI.performMouseClick(120, -35, ClickType.RIGHT);
+
+        assertEquals(2, Stub.robostub_posted());
+        assertEquals(NativeMacOSAPI.kCGEventRightMouseUp, Stub.robostub_last_type());
+        assertEquals(NativeMacOSAPI.kCGMouseButtonRight, Stub.robostub_last_button());
+        assertEquals(120.0, Stub.robostub_cursor_x());
+        assertEquals(-35.0, Stub.robostub_cursor_y());
+
+        ClickProfile profile = ClickProfile.createDefault();
+        NativeMacOSAPI.performMouseClick(ClickPlan.compile(profile), 7, 9);
+        NativeMacOSAPI.performMouseClicks(3, 4, ClickType.LEFT, 5);
+        NativeMacOSAPI.performMouseMove(11, 12);
+
+        assertEquals(2 + 2 + 10 + 1, Stub.robostub_posted());
+        assertEquals(NativeMacOSAPI.kCGEventMouseMoved, Stub.robostub_last_type());
+        assertEquals(new MousePosition(11, 12), NativeMacOSAPI.getCurrentMousePosition());
+
+        NativeMacOSAPI.releaseCachedEvents();
+        assertEquals(Stub.robostub_created(), Stub.robostub_released(), "every event must be released");
+    }
+
+    @Test
+    void testDryRunBackendPositionsEventsWithoutPosting() {
+        InputBackend dryRun = new CoreGraphicsInputBackend().dryRun();
+        dryRun.releaseResources();
+        Stub.robostub_reset();
+        ClickPlan plan = ClickPlan.compile(ClickProfile.createDefault());
+
+        dryRun.click(plan, 5, 6);
+        dryRun.clickBatch(5, 6, ClickType.LEFT, 3);
+
+        assertEquals(0, Stub.robostub_posted());
+        assertEquals(0, Stub.robostub_batches());
+        // Neue Events stehen schon an der Position; der Batch geht einzeln statt über den Shim
+        assertEquals(2, Stub.robostub_created());
+        assertEquals(6, Stub.robostub_located());
+
+        dryRun.releaseResources();
+        assertEquals(Stub.robostub_created(), Stub.robostub_released(), "every event must be released");
+    }
+
+    @Test
+    void testCachedEventsAreRetargetedInsteadOfRecreated() {
+        NativeEventCache cache = NativeMacOSAPI.eventCache();
+        ClickPlan plan = ClickPlan.compile(ClickProfile.createDefault());
+        NativeMacOSAPI.performMouseClick(plan, 0, 0);
+        long callsBefore = cache.getNativeCallCount();
+
+        for (int i = 1; i <= 100; i++) {
+            NativeMacOSAPI.performMouseClick(plan, i, 2 * i);
+        }
+
+        // Down und Up je einmal erzeugt, danach nur noch positionieren und posten
+        assertEquals(2, Stub.robostub_created());
+        assertEquals(0, Stub.robostub_released());
+        assertEquals(202, Stub.robostub_posted());
+        assertEquals(200, Stub.robostub_located());
+        assertEquals(4.0, (cache.getNativeCallCount() - callsBefore) / 100.0);
+        assertEquals(100.0, Stub.robostub_cursor_x());
+        assertEquals(200.0, Stub.robostub_cursor_y());
+
+        NativeMacOSAPI.releaseCachedEvents();
+        assertEquals(2, Stub.robostub_released());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testEngineReleasesCachedEventsWhenStopped() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        ClickEngineImpl engine = new ClickEngineImpl(new CoreGraphicsInputBackend(), new PrecisionWaiter(clock, 20_000));
+        try {
+            ClickProfile profile = ClickProfile.createDefault();
+            profile.setNumberOfClicks(50);
+            engine.startClicking(profile);
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (engine.isRunning() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+        } finally {
+            engine.shutdown();
+        }
+
+        assertEquals(100, Stub.robostub_posted());
+        assertEquals(2, Stub.robostub_created());
+        assertEquals(2, Stub.robostub_released());
+    }
+
+    @Test
+    void testBatchIsPostedInOneNativeCall() {
+        CoreGraphicsInputBackend backend = new CoreGraphicsInputBackend();
+        EventBatch batch = new EventBatch(4);
+        for (int i = 0; i < 30; i++) {
+            batch.addMove(i, 2 * i);
+        }
+        batch.addClick(40, 41, ClickType.LEFT);
+        batch.addScroll(42, 43, 3);
+
+        backend.postBatch(batch);
+
+        assertEquals(1, Stub.robostub_batches());
+        assertEquals(30 + 2 + 1, Stub.robostub_posted());
+        assertEquals(NativeMacOSAPI.kCGEventScrollWheel, Stub.robostub_last_type());
+        assertEquals(3, Stub.robostub_last_scroll());
+        assertEquals(42.0, Stub.robostub_cursor_x());
+        assertEquals(43.0, Stub.robostub_cursor_y());
+        // Move, Down und Up bleiben im Cache, das Scroll-Event mit 3 Zeilen nicht
+        assertEquals(3, NativeMacOSAPI.eventCache().size());
+        assertEquals(1, Stub.robostub_released());
+
+        backend.clickBatch(5, 6, ClickType.RIGHT, 4);
+        assertEquals(2, Stub.robostub_batches());
+        assertEquals(33 + 8, Stub.robostub_posted());
+        assertEquals(NativeMacOSAPI.kCGEventRightMouseUp, Stub.robostub_last_type());
+        assertEquals(NativeMacOSAPI.kCGMouseButtonRight, Stub.robostub_last_button());
+
+        NativeMacOSAPI.releaseCachedEvents();
+        assertEquals(Stub.robostub_created(), Stub.robostub_released());
+    }
+
+    @Test
+    void testPreloadCreatesEventsForTheFirstClick() {
+        NativeMacOSAPI.preload();
+        assertEquals(3, Stub.robostub_created());
+        assertEquals(0, Stub.robostub_posted());
+
+        NativeMacOSAPI.performMouseClick(ClickPlan.compile(ClickProfile.createDefault()), 8, 9);
+        assertEquals(3, Stub.robostub_created());
+        assertEquals(2, Stub.robostub_posted());
+    }
+
+    @Test
+    void testPermissionQueryHasNoSideEffects() {
+        CoreGraphicsInputBackend backend = new CoreGraphicsInputBackend();
+        assertTrue(backend.hasInputPermission());
+
+        Stub.robostub_set_trusted((byte) 0);
+        assertFalse(backend.hasInputPermission());
+        assertFalse(NativeMacOSAPI.hasAccessibilityPermission());
+
+        assertEquals(0, Stub.robostub_posted());
+        assertEquals(0, Stub.robostub_created());
+    }
+
+    @Test
+    void testNativeCallLatenciesAreRecordedOnlyWhenEnabled() {
+        NativeMacOSAPI.preload();
+        ClickPlan plan = ClickPlan.compile(ClickProfile.createDefault());
+        NativeCallMetrics.reset();
+        try {
+            NativeMacOSAPI.performMouseClick(plan, 1, 2);
+            assertEquals(0, NativeCallMetrics.histogram(NativeCall.POST).getCount());
+
+            NativeCallMetrics.setEnabled(true);
+            for (int i = 0; i < 10; i++) {
+                NativeMacOSAPI.performMouseClick(plan, i, i);
+            }
+            NativeMacOSAPI.performMouseClicks(3, 4, ClickType.LEFT, 5);
+            NativeMacOSAPI.getCurrentMousePosition();
+            NativeMacOSAPI.releaseCachedEvents();
+            NativeCallMetrics.setEnabled(false);
+            NativeMacOSAPI.performMouseClick(plan, 1, 2);
+
+            assertEquals(20, NativeCallMetrics.histogram(NativeCall.POST).getCount());
+            assertEquals(20, NativeCallMetrics.histogram(NativeCall.SET_LOCATION).getCount());
+            assertEquals(1, NativeCallMetrics.histogram(NativeCall.POST_BATCH).getCount());
+            assertEquals(1, NativeCallMetrics.histogram(NativeCall.POSITION_QUERY).getCount());
+            assertEquals(3, NativeCallMetrics.histogram(NativeCall.RELEASE).getCount());
+            assertEquals(0, NativeCallMetrics.histogram(NativeCall.CREATE).getCount());
+            assertTrue(NativeCallMetrics.dump().contains("POST_BATCH"));
+        } finally {
+            NativeCallMetrics.setEnabled(false);
+            NativeCallMetrics.reset();
+        }
+    }
+
+    @Test
+    void testScrollPostsWheelEventAtLocation() {
+        NativeMacOSAPI.performMouseClick(50, 60, ClickType.SCROLL_DOWN);
+
+        assertEquals(1, Stub.robostub_posted());
+        assertEquals(NativeMacOSAPI.kCGEventScrollWheel, Stub.robostub_last_type());
+        assertEquals(-NativeMacOSAPI.SCROLL_LINES_PER_CLICK, Stub.robostub_last_scroll());
+        assertEquals(50.0, Stub.robostub_cursor_x());
+        assertEquals(60.0, Stub.robostub_cursor_y());
+
+        // Abweichende Zeilenzahl wird nicht zwischengespeichert
+        NativeMacOSAPI.performScroll(50, 60, 2);
+        assertEquals(2, Stub.robostub_last_scroll());
+        assertEquals(1, NativeMacOSAPI.eventCache().size());
+
+        NativeMacOSAPI.releaseCachedEvents();
+        assertEquals(Stub.robostub_created(), Stub.robostub_released());
+    }
+
+    /**
+     * Abfragefunktionen der Stub-Library.
+     */
+    static final class Stub {
+        static {
+            Native.register(Stub.class, NativeLibrary.getInstance(CoreGraphicsDirect.LIBRARY));
+        }
+
+        static native void robostub_reset();
+
+        static native void robostub_set_trusted(byte value);
+
+        static native long robostub_created();
+
+        static native long robostub_posted();
+
+        static native long robostub_released();
+
+        static native long robostub_located();
+
+        static native long robostub_batches();
+
+        static native int robostub_last_type();
+
+        static native int robostub_last_button();
+
+        static native int robostub_last_scroll();
+
+        static native double robostub_cursor_x();
+
+        static native double robostub_cursor_y();
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.util.Constants;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Bedingung für Tests gegen die Stub-Library aus {@code src/test/native}: das Profil
+ * native-stub setzt die Properties, gebaut wird die Library aber nur mit C-Compiler.
+ */
+final class NativeStub {
+
+    private NativeStub() {
+    }
+
+    static boolean isAvailable() {
+        return isBuilt(Constants.COREGRAPHICS_LIBRARY_PROPERTY) && isBuilt(Constants.X11_LIBRARY_PROPERTY);
+    }
+
+    private static boolean isBuilt(String property) {
+        String library = System.getProperty(property);
+        return library != null && !library.isEmpty() && Files.isRegularFile(Paths.get(library));
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.util.MousePosition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für das In-Memory Recording-Backend.
+ */
+class RecordingInputBackendTest {
+
+    @Test
+    void testRecordsEventsAndCountsOverflow() {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 0);
+        RecordingInputBackend backend = new RecordingInputBackend(4, clock);
+
+        backend.move(1, 2);
+        backend.click(3, 4, ClickType.RIGHT);
+        backend.scroll(5, 6, -5);
+        backend.clickBatch(7, 8, ClickType.LEFT, 3);
+
+        assertEquals(6, backend.getEventCount());
+        assertEquals(4, backend.getStoredCount());
+        assertEquals(2, backend.getDroppedCount());
+        assertEquals(1, backend.getMoveCount());
+        assertEquals(4, backend.getClickCount());
+        assertEquals(1, backend.getScrollCount());
+
+        assertEquals(RecordingInputBackend.MOVE, backend.getKind(0));
+        assertEquals(ClickType.RIGHT, backend.getClickType(1));
+        assertEquals(3, backend.getX(1));
+        assertEquals(-5, backend.getScrollLines(2));
+        assertEquals(ClickType.LEFT, backend.getClickType(3));
+        assertTrue(backend.getTimestampNanos(3) > backend.getTimestampNanos(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> backend.getX(4));
+
+        // Position des letzten Events, auch wenn es nicht mehr gespeichert wurde
+        assertEquals(new MousePosition(7, 8), backend.getCurrentMousePosition());
+
+        backend.clear();
+        assertEquals(0, backend.getEventCount());
+    }
+
+    @Test
+    void testEngineAndRecorderRunAgainstRecordingBackend() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        RecordingInputBackend backend = new RecordingInputBackend(1_000, clock);
+        ClickEngineImpl engine = new ClickEngineImpl(backend, new PrecisionWaiter(clock, 20_000));
+        try {
+            ClickProfile profile = ClickProfile.createDefault();
+            profile.setPosition(new MousePosition(40, 50));
+            profile.setNumberOfClicks(100);
+            engine.startClicking(profile);
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (engine.isRunning() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(100, backend.getClickCount());
+            assertEquals(new MousePosition(40, 50), engine.getCurrentMousePosition());
+        } finally {
+            engine.shutdown();
+        }
+
+        MacroRecorderImpl recorder = new MacroRecorderImpl(backend);
+        recorder.startRecording("m1", "Sampled");
+        recorder.recordCurrentMousePosition();
+        recorder.recordCurrentMousePosition();
+        backend.move(60, 70);
+        recorder.recordCurrentMousePosition();
+        recorder.stopRecording();
+        assertEquals(2, recorder.getCurrentMacro().getEvents().size());
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.core.profile.MacroEventCursor;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Spielt ein synthetisches Macro mit {@value #EVENTS} Events in einer eigenen JVM mit
+ * {@value #MAX_HEAP} Heap ab. Als {@code MacroEventStore} bräuchte es allein 170 MB;
+ * die Wiedergabe muss also streamen.
+ */
+class StreamingMacroPlaybackTest {
+
+    private static final int EVENTS = 10_000_000;
+    private static final int EVENTS_PER_MS = 5_000;
+    private static final String MAX_HEAP = "64m";
+
+    @Test
+    void testTenMillionEventsPlayUnderSmallHeap() throws IOException, InterruptedException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-Xmx" + MAX_HEAP,
+                "-cp", System.getProperty("java.class.path"),
+                StreamingMacroPlaybackTest.class.getName())
+                .redirectErrorStream(true)
+                .start();
+        process.getOutputStream().close();
+        boolean finished = process.waitFor(120, TimeUnit.SECONDS);
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (!finished) {
+            process.destroyForcibly();
+        }
+
+        assertTrue(finished, "playback did not finish: " + output);
+        assertEquals(0, process.exitValue(), output);
+        List<String> lines = output.lines().filter(line -> line.startsWith("played ")).toList();
+        assertEquals(List.of("played " + EVENTS + " clicks " + EVENTS / 1_000), lines, output);
+    }
+
+    /**
+     * Läuft in der Kind-JVM: spielt den Generator gegen ein zählendes Backend ab.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        CountingBackend backend = new CountingBackend();
+        MacroPlayerImpl player = new MacroPlayerImpl(backend);
+        try {
+            player.playStreaming("synthetic", new SyntheticMacro(EVENTS));
+            while (player.isPlaying()) {
+                Thread.sleep(20);
+            }
+        } finally {
+            player.shutdown();
+        }
+        System.out.println("played " + backend.events + " clicks " + backend.clicks);
+        System.exit(backend.events == EVENTS ? 0 : 1);
+    }
+
+    /**
+     * Erzeugt die Events bei Bedarf: Bewegungen entlang einer Diagonale, jedes tausendste
+     * ein Klick, {@value #EVENTS_PER_MS} Events pro Millisekunde.
+     */
+    private static final class SyntheticMacro implements MacroEventCursor {
+        private final int size;
+        private int index = -1;
+
+        SyntheticMacro(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index + 1 < size;
+        }
+
+        @Override
+        public boolean next() {
+            if (!hasNext()) {
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        @Override
+        public long peekTimestampMs() {
+            return (index + 1) / EVENTS_PER_MS;
+        }
+
+        @Override
+        public long timestampMs() {
+            return index / EVENTS_PER_MS;
+        }
+
+        @Override
+        public int x() {
+            return index % 1920;
+        }
+
+        @Override
+        public int y() {
+            return index % 1080;
+        }
+
+        @Override
+        public boolean isClick() {
+            return index % 1_000 == 0;
+        }
+
+        @Override
+        public ClickType clickType() {
+            return isClick() ? ClickType.LEFT : null;
+        }
+    }
+
+    /**
+     * Backend, das nur mitzählt. Läuft auf dem Player-Thread.
+     */
+    private static final class CountingBackend implements InputBackend {
+        private volatile long events;
+        private volatile long clicks;
+
+        @Override
+        public void move(int x, int y) {
+            events++;
+        }
+
+        @Override
+        public void click(int x, int y, ClickType type) {
+            events++;
+            clicks++;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.robo.core.engine;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: Timing Wheel gegen ScheduledThreadPoolExecutor bei 10k, 100k und 1M
+ * gleichzeitig geplanten Timern. Gemessen werden Planen, Abbrechen (die Hälfte)
+ * und Feuern der restlichen Timer.
+ * <p>
+ * Kein Unit Test (läuft nicht mit {@code mvn test}). Ausführen mit:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.example.robo.core.engine.TimingWheelBenchmark
+ * </pre>
+ */
+public class TimingWheelBenchmark {
+
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+    private static final long SPREAD_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long OFFSET_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%-10s %10s %14s %14s %12s %14s%n",
+                "impl", "timers", "schedule ns/op", "cancel ns/op", "fire ms", "max late us");
+        for (int size : SIZES) {
+            // Erster Durchlauf als Warm-up
+            runWheel(size, false);
+            runWheel(size, true);
+            runExecutor(size, false);
+            runExecutor(size, true);
+        }
+    }
+
+    private static void runWheel(int size, boolean print) throws InterruptedException {
+        TimingWheel wheel = new TimingWheel("BenchmarkWheel");
+        long[] offsets = offsets(size);
+        TimingWheel.Timeout[] timeouts = new TimingWheel.Timeout[size];
+        LatenessRecorder recorder = new LatenessRecorder(size / 2);
+
+        long base = System.nanoTime() + OFFSET_NANOS;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            long deadline = base + offsets[i];
+            timeouts[i] = wheel.schedule(() -> recorder.record(deadline), deadline);
+        }
+        long t1 = System.nanoTime();
+        for (int i = 0; i < size; i += 2) {
+            timeouts[i].cancel();
+        }
+        long t2 = System.nanoTime();
+
+        recorder.await();
+        long fireMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - base);
+        wheel.shutdown();
+        if (print) {
+            print("wheel", size, t1 - t0, t2 - t1, fireMs, recorder.maxLateness);
+        }
+    }
+
+    private static void runExecutor(int size, boolean print) throws InterruptedException {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        long[] offsets = offsets(size);
+        ScheduledFuture<?>[] futures = new ScheduledFuture<?>[size];
+        LatenessRecorder recorder = new LatenessRecorder(size / 2);
+
+        long base = System.nanoTime() + OFFSET_NANOS;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            long deadline = base + offsets[i];
+            futures[i] = executor.schedule(() -> recorder.record(deadline),
+                    deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+        long t1 = System.nanoTime();
+        for (int i = 0; i < size; i += 2) {
+            futures[i].cancel(false);
+        }
+        long t2 = System.nanoTime();
+
+        recorder.await();
+        long fireMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - base);
+        executor.shutdownNow();
+        if (print) {
+            print("executor", size, t1 - t0, t2 - t1, fireMs, recorder.maxLateness);
+        }
+    }
+
+    private static long[] offsets(int size) {
+        SplittableRandom random = new SplittableRandom(7);
+        long[] offsets = new long[size];
+        for (int i = 0; i < size; i++) {
+            offsets[i] = random.nextLong(SPREAD_NANOS);
+        }
+        return offsets;
+    }
+
+    private static void print(String impl, int size, long scheduleNanos, long cancelNanos, long fireMs, long maxLateness) {
+        System.out.printf("%-10s %10d %14.1f %14.1f %12d %14.1f%n",
+                impl, size, scheduleNanos / (double) size, cancelNanos / (size / 2.0), fireMs, maxLateness / 1_000.0);
+    }
+
+    /**
+     * Zählt gefeuerte Timer und hält die grösste Verspätung fest (nur vom Timer-Thread geschrieben).
+     */
+    private static class LatenessRecorder {
+        private final CountDownLatch remaining;
+        private volatile long maxLateness;
+
+        LatenessRecorder(int expected) {
+            this.remaining = new CountDownLatch(expected);
+        }
+
+        void record(long deadline) {
+            long late = System.nanoTime() - deadline;
+            if (late > maxLateness) {
+                maxLateness = late;
+            }
+            remaining.countDown();
+        }
+
+        void await() throws InterruptedException {
+            remaining.await();
+        }
+    }
+}
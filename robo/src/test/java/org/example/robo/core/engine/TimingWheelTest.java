@@ -0,0 +1,125 @@
+package org.example.robo.core.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für das hierarchische Timing Wheel.
+ */
+class TimingWheelTest {
+
+    private TimingWheel wheel;
+
+    @AfterEach
+    void tearDown() {
+        if (wheel != null) {
+            wheel.shutdown();
+        }
+    }
+
+    @Test
+    void testTimeoutsFireInDeadlineOrderAcrossAllLevels() throws InterruptedException {
+        // 1 µs Tick: Ebene 3 reicht ~71 Minuten, Deadlines bis 3 h erzwingen auch den Überlauf
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        wheel = new TimingWheel("TestWheel", new PrecisionWaiter(clock, 500_000), 1_000);
+
+        int count = 10_000;
+        long[] deadlines = new long[count];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < count; i++) {
+            deadlines[i] = 1_000_000 + random.nextLong(3 * 3_600_000_000_000L);
+        }
+
+        List<long[]> fired = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(count);
+        // Vom Worker-Thread aus planen, damit die virtuelle Uhr nicht vorausläuft
+        wheel.schedule(() -> {
+            for (long deadline : deadlines) {
+                wheel.schedule(() -> {
+                    fired.add(new long[]{deadline, clock.peek()});
+                    done.countDown();
+                }, deadline);
+            }
+        }, 0);
+
+        assertTrue(done.await(30, TimeUnit.SECONDS), "not all timeouts fired");
+        assertEquals(count, fired.size());
+        for (int i = 0; i < count; i++) {
+            long[] event = fired.get(i);
+            assertTrue(event[1] >= event[0], "fired before deadline");
+            assertTrue(event[1] - event[0] < 1_000_000, "fired more than 1 ms late");
+            if (i > 0) {
+                assertTrue(event[0] >= fired.get(i - 1)[0], "fired out of order");
+            }
+        }
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void testCancelledTimeoutsNeverFire() throws InterruptedException {
+        wheel = new TimingWheel("TestWheel");
+        AtomicInteger firedCount = new AtomicInteger();
+        long deadline = wheel.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+
+        List<TimingWheel.Timeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            timeouts.add(wheel.schedule(firedCount::incrementAndGet, deadline + i * 1_000L));
+        }
+        for (int i = 0; i < timeouts.size(); i += 2) {
+            assertTrue(timeouts.get(i).cancel());
+            assertFalse(timeouts.get(i).cancel(), "second cancel must be a no-op");
+        }
+
+        Thread.sleep(400);
+        assertEquals(500, firedCount.get());
+        assertEquals(0, wheel.getPendingCount());
+        assertTrue(timeouts.get(0).isCancelled());
+        assertTrue(timeouts.get(1).isExpired());
+    }
+
+    @Test
+    void testTimeoutCanBeRescheduledFromItsOwnTask() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock(0, 1_000, 50_000);
+        wheel = new TimingWheel("TestWheel", new PrecisionWaiter(clock, 500_000), 1_000_000);
+
+        long period = 7_000_000;
+        List<Long> lateness = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        TimingWheel.Timeout[] holder = new TimingWheel.Timeout[1];
+        holder[0] = wheel.newTimeout(() -> {
+            TimingWheel.Timeout self = holder[0];
+            lateness.add(clock.peek() - self.getDeadlineNanos());
+            if (lateness.size() < 1_000) {
+                wheel.schedule(self, self.getDeadlineNanos() + period);
+            } else {
+                done.countDown();
+            }
+        });
+        wheel.schedule(holder[0], period);
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        for (long late : lateness) {
+            assertTrue(late >= 0 && late < 1_000_000, "lateness out of range: " + late);
+        }
+        TimingWheel other = new TimingWheel("OtherWheel");
+        assertThrows(IllegalArgumentException.class, () -> other.schedule(holder[0], 0));
+        other.shutdown();
+    }
+
+    @Test
+    void testScheduleRejectsPendingTimeout() {
+        wheel = new TimingWheel("TestWheel");
+        TimingWheel.Timeout timeout = wheel.schedule(() -> { }, wheel.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(timeout, wheel.nanoTime()));
+        assertTrue(timeout.cancel());
+    }
+}
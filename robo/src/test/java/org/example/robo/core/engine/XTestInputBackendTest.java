@@ -0,0 +1,100 @@
+package org.example.robo.core.engine;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
+import org.example.robo.core.profile.ClickType;
+import org.example.robo.util.MousePosition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft die Xlib/XTest-Bindings gegen die Stub-Library aus {@code src/test/native}.
+ * Gegen einen echten X-Server (Xvfb) misst {@link XTestInputBenchmark}.
+ */
+@EnabledIf("org.example.robo.core.engine.NativeStub#isAvailable")
+class XTestInputBackendTest {
+
+    private XTestInputBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        Stub.robostub_reset();
+        backend = new XTestInputBackend();
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.close();
+    }
+
+    @Test
+    void testClickMovesPressesAndReleasesWithOneFlush() {
+        backend.click(120, 45, ClickType.RIGHT);
+
+        assertEquals(1, Stub.robostub_x_motions());
+        assertEquals(1, Stub.robostub_x_presses());
+        assertEquals(1, Stub.robostub_x_releases());
+        assertEquals(XTestInputBackend.BUTTON_RIGHT, Stub.robostub_x_last_button());
+        assertEquals(1, Stub.robostub_x_flushes());
+        assertEquals(new MousePosition(120, 45), backend.getCurrentMousePosition());
+    }
+
+    @Test
+    void testBatchesAreFlushedOncePerCall() {
+        backend.clickBatch(5, 6, ClickType.LEFT, 16);
+        assertEquals(16, Stub.robostub_x_presses());
+        assertEquals(1, Stub.robostub_x_flushes());
+
+        EventBatch batch = new EventBatch();
+        for (int i = 0; i < 30; i++) {
+            batch.addMove(i, i);
+        }
+        batch.addScroll(30, 31, -2);
+        backend.postBatch(batch);
+
+        assertEquals(2, Stub.robostub_x_flushes());
+        assertEquals(16 + 30 + 1, Stub.robostub_x_motions());
+        assertEquals(16 + 2, Stub.robostub_x_presses());
+        assertEquals(XTestInputBackend.BUTTON_SCROLL_DOWN, Stub.robostub_x_last_button());
+        assertEquals(2, backend.getFlushCount());
+    }
+
+    @Test
+    void testDisplayProbeBindsTheLibrariesWithoutPosting() {
+        assertTrue(XTestInputBackend.probeDisplay());
+        assertEquals(0, Stub.robostub_x_motions());
+        assertEquals(0, Stub.robostub_x_flushes());
+    }
+
+    @Test
+    void testExtensionQueryPostsNothing() {
+        assertTrue(backend.hasInputPermission());
+        assertEquals(0, Stub.robostub_x_motions());
+        assertEquals(0, Stub.robostub_x_presses());
+    }
+
+    /**
+     * Abfragefunktionen der Stub-Library.
+     */
+    static final class Stub {
+        static {
+            Native.register(Stub.class, NativeLibrary.getInstance(X11Direct.LIBRARY));
+        }
+
+        static native void robostub_reset();
+
+        static native long robostub_x_flushes();
+
+        static native long robostub_x_motions();
+
+        static native long robostub_x_presses();
+
+        static native long robostub_x_releases();
+
+        static native int robostub_x_last_button();
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.robo.core.engine;
+
+import org.example.robo.core.profile.ClickProfile;
+import org.example.robo.util.Constants;
+import org.example.robo.util.MousePosition;
+
+import java.util.Arrays;
+
+/**
+ * Benchmark des XTest-Backends gegen einen lokalen X-Server (Xvfb).
+ * <ul>
+ *     <li>Durchsatz: Burst-Engine mit dem XTest-Backend bei steigender Rate; gezählt wird
+ *     erst, wenn der Server alle Events verarbeitet hat ({@code XSync}).</li>
+ *     <li>Latenz: Bewegung posten (flush) bis der Server die neue Zeigerposition meldet
+ *     ({@code XQueryPointer}), also Ende-zu-Ende durch den X-Server.</li>
+ * </ul>
+ * Bisher nur gegen die Stub-Library gelaufen (dort hält das Backend alle drei Raten);
+ * Werte gegen einen echten X-Server sind noch nicht erhoben, Aussagen über Durchsatz und
+ * Latenz unter Xvfb stehen also aus.
+ * <p>
+ * Kein Unit Test (läuft nicht mit {@code mvn test}). Ausführen mit:
+ * <pre>
+ * Xvfb :99 -screen 0 1920x1080x24 &amp;
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * DISPLAY=:99 java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     org.example.robo.core.engine.XTestInputBenchmark
+ * </pre>
+ */
+public class XTestInputBenchmark {
+
+    private static final int[] RATES = {500, 1000, 2000};
+    private static final long RUN_SECONDS = 3;
+    private static final int LATENCY_SAMPLES = 5_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        XTestInputBackend backend = new XTestInputBackend();
+        if (!backend.hasInputPermission()) {
+            throw new IllegalStateException("X server on " + System.getenv("DISPLAY") + " has no XTest extension");
+        }
+
+        System.out.printf("%8s %12s %10s %8s %8s%n", "rate", "delivered/s", "events", "batches", "dropped");
+        for (int rate : RATES) {
+            throughput(backend, rate);
+        }
+
+        latency(backend);
+        backend.close();
+    }
+
+    private static void throughput(XTestInputBackend backend, int rate) throws InterruptedException {
+        BurstClickEngine engine = new BurstClickEngine(backend, new PrecisionWaiter(), Constants.BURST_MAX_BATCH_SIZE);
+        engine.setClickFrequency(rate);
+        ClickProfile profile = ClickProfile.createDefault();
+        profile.setNumberOfClicks((int) (rate * RUN_SECONDS));
+
+        long start = System.nanoTime();
+        engine.startClicking(profile);
+        while (engine.isRunning()) {
+            Thread.sleep(10);
+        }
+        backend.sync();
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%8d %12.1f %10d %8d %8d%n", rate, engine.getEventsPosted() * 1e9 / elapsed,
+                engine.getEventsPosted(), engine.getBatchesPosted(), engine.getDroppedEvents());
+        engine.shutdown();
+    }
+
+    private static void latency(XTestInputBackend backend) {
+        long[] samples = new long[LATENCY_SAMPLES];
+        for (int i = 0; i < LATENCY_SAMPLES; i++) {
+            int x = 100 + i % 500;
+            int y = 100 + i % 300;
+            long start = System.nanoTime();
+            backend.move(x, y);
+            MousePosition p;
+            do {
+                p = backend.getCurrentMousePosition();
+            } while (p.getX() != x || p.getY() != y);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%nmove -> pointer at server: p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n",
+                micros(percentile(samples, 0.50)), micros(percentile(samples, 0.99)),
+                micros(percentile(samples, 0.999)), micros(samples[samples.length - 1]));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+}
@@ -43,6 +43,30 @@ class ClickProfileTest {
         assertEquals(50, profile.getClickFrequency());
     }
 
+    @Test
+    void testValidateJitter() {
+        assertEquals(JitterMode.NONE, profile.getTimingJitter());
+        assertEquals(0, profile.getPositionJitterRadius());
+
+        profile.setTimingJitter(null);
+        assertEquals(JitterMode.NONE, profile.getTimingJitter());
+
+        profile.setTimingJitterMs(-5);
+        assertEquals(0, profile.getTimingJitterMs());
+        profile.setTimingJitterMs(4);
+        assertEquals(4, profile.getTimingJitterMs());
+        assertEquals(0, profile.getDelayBetweenClicks());
+
+        profile.setPositionJitterRadius(-3);
+        assertEquals(0, profile.getPositionJitterRadius());
+
+        profile.setPositionJitterRadius(Constants.MAX_POSITION_JITTER_RADIUS + 1);
+        assertEquals(Constants.MAX_POSITION_JITTER_RADIUS, profile.getPositionJitterRadius());
+
+        assertEquals(JitterMode.GAUSSIAN, JitterMode.fromString("gaussian"));
+        assertEquals(JitterMode.NONE, JitterMode.fromString("unknown"));
+    }
+
     @Test
     void testSetPosition() {
         MousePosition newPos = new MousePosition(100, 200);
@@ -0,0 +1,124 @@
+package org.example.robo.core.profile;
+
+import org.example.robo.util.MousePosition;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vergleicht Heap-Bedarf und Lesezeit einer langen Aufnahme als {@code List<MacroEvent>}
+ * (ein Objekt plus eine {@link MousePosition} pro Event) und als {@link MacroEventStore}.
+ * <p>
+ * Aufnahme: {@value #MINUTES} Minuten mit {@value #SAMPLE_RATE_HZ} Hz, jedes hundertste
+ * Event ein Klick. Gemessen wird der belegte Heap nach GC vor und nach dem Aufbau, und die
+ * Zeit für einen Durchlauf über alle Events (wie beim Abspielen).
+ * Kein Unit Test (läuft nicht mit {@code mvn test}). Ausführen mit:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     org.example.robo.core.profile.MacroEventStoreBenchmark
+ * </pre>
+ */
+public class MacroEventStoreBenchmark {
+
+    private static final int MINUTES = 30;
+    private static final int SAMPLE_RATE_HZ = 1_000;
+    private static final int EVENTS = MINUTES * 60 * SAMPLE_RATE_HZ;
+    private static final int PASSES = 20;
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%d events (%d min at %d Hz)%n", EVENTS, MINUTES, SAMPLE_RATE_HZ);
+        System.out.printf("%-16s %10s %14s %14s%n", "model", "heap MB", "bytes/event", "pass ms");
+
+        long before = usedHeap();
+        List<MacroEvent> list = buildList();
+        long listBytes = usedHeap() - before;
+        report("List<MacroEvent>", listBytes, passList(list));
+        list = null;
+
+        before = usedHeap();
+        MacroEventStore store = buildStore();
+        long storeBytes = usedHeap() - before;
+        report("MacroEventStore", storeBytes, passStore(store));
+
+        System.out.printf("store uses %.1f%% of the list model%n", 100.0 * storeBytes / listBytes);
+    }
+
+    private static List<MacroEvent> buildList() {
+        List<MacroEvent> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            MousePosition p = new MousePosition(i % 1920, i % 1080);
+            events.add(i % 100 == 0 ? new MouseClickEvent(i, p, ClickType.LEFT) : new MouseMoveEvent(i, p));
+        }
+        return events;
+    }
+
+    private static MacroEventStore buildStore() {
+        MacroEventStore store = new MacroEventStore();
+        for (int i = 0; i < EVENTS; i++) {
+            if (i % 100 == 0) {
+                store.appendClick(i, i % 1920, i % 1080, ClickType.LEFT);
+            } else {
+                store.appendMove(i, i % 1920, i % 1080);
+            }
+        }
+        store.trimToSize();
+        return store;
+    }
+
+    /**
+     * @return beste Zeit eines Durchlaufs in Nanosekunden
+     */
+    private static long passList(List<MacroEvent> events) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int pass = 0; pass < PASSES; pass++) {
+            long start = System.nanoTime();
+            for (MacroEvent event : events) {
+                MousePosition p = event instanceof MouseMoveEvent move
+                        ? move.getPosition() : ((MouseClickEvent) event).getPosition();
+                checksum += event.getTimestampMs() + p.getX() + p.getY();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        consume(checksum);
+        return best;
+    }
+
+    private static long passStore(MacroEventStore store) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int pass = 0; pass < PASSES; pass++) {
+            long start = System.nanoTime();
+            MacroEventStore.Cursor cursor = store.cursor();
+            while (cursor.next()) {
+                checksum += cursor.timestampMs() + cursor.x() + cursor.y();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        consume(checksum);
+        return best;
+    }
+
+    private static void report(String model, long bytes, long passNanos) {
+        System.out.printf("%-16s %10.1f %14.1f %14.2f%n", model, bytes / 1e6, (double) bytes / EVENTS, passNanos / 1e6);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    private static void consume(long checksum) {
+        if (checksum == 42) {
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.robo.core.profile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.robo.util.MousePosition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für MacroEventStore und die Listen-Sicht des Macros.
+ */
+class MacroEventStoreTest {
+
+    @Test
+    void testAppendGrowsAndKeepsColumnsAligned() {
+        MacroEventStore store = new MacroEventStore(0);
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 10 == 0) {
+                store.appendClick(i, i, -i, ClickType.RIGHT);
+            } else {
+                store.appendMove(i, i, -i);
+            }
+        }
+
+        assertEquals(10_000, store.size());
+        assertEquals(ClickType.RIGHT, store.getClickType(500));
+        assertEquals(MacroEventStore.clickCode(ClickType.RIGHT), store.getType(500));
+        assertNull(store.getClickType(501));
+        assertEquals(MacroEventStore.MOVE, store.getType(501));
+        assertEquals(9_999, store.getTimestampMs(9_999));
+        assertEquals(-9_999, store.getY(9_999));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getX(10_000));
+
+        store.trimToSize();
+        assertEquals(10_000L * 17, store.getCapacityBytes());
+        store.clear();
+        assertTrue(store.isEmpty());
+    }
+
+    @Test
+    void testCursorReadsEventsInOrderWithoutSeeingLaterAppends() {
+        MacroEventStore store = new MacroEventStore();
+        store.appendMove(100, 1, 2);
+        store.appendClick(150, 3, 4, ClickType.LEFT);
+        MacroEventStore.Cursor cursor = store.cursor();
+        store.appendMove(200, 5, 6);
+
+        assertEquals(2, cursor.size());
+        assertThrows(IllegalStateException.class, cursor::x);
+        assertEquals(100, cursor.peekTimestampMs());
+        assertTrue(cursor.next());
+        assertFalse(cursor.isClick());
+        assertEquals(1, cursor.x());
+        assertEquals(2, cursor.y());
+        assertEquals(1, cursor.remaining());
+        assertTrue(cursor.next());
+        assertTrue(cursor.isClick());
+        assertEquals(ClickType.LEFT, cursor.clickType());
+        assertEquals(150, cursor.timestampMs());
+        assertFalse(cursor.hasNext());
+        assertFalse(cursor.next());
+
+        cursor.seek(1);
+        assertEquals(150, cursor.peekTimestampMs());
+        assertEquals(3, store.cursor().size());
+    }
+
+    @Test
+    void testMacroEventListIsAViewOnTheStore() throws Exception {
+        Macro macro = new Macro("m1", "View");
+        macro.getEvents().add(new MouseMoveEvent(10, new MousePosition(1, 1)));
+        macro.getEventStore().appendClick(20, 2, 2, ClickType.SCROLL_DOWN);
+
+        List<MacroEvent> events = macro.getEvents();
+        assertEquals(2, events.size());
+        MouseClickEvent click = assertInstanceOf(MouseClickEvent.class, events.get(1));
+        assertEquals(ClickType.SCROLL_DOWN, click.getClickType());
+        assertEquals(new MousePosition(2, 2), click.getPosition());
+
+        // Gelesene Events sind Kopien; Änderungen gelten erst nach set
+        click.setTimestampMs(25);
+        assertEquals(20, events.get(1).getTimestampMs());
+        assertEquals(20, events.set(1, click).getTimestampMs());
+        assertEquals(25, macro.getEventStore().getTimestampMs(1));
+        events.add(0, new MouseMoveEvent(0, new MousePosition(0, 0)));
+        assertEquals(3, macro.getEventStore().size());
+        assertEquals(0, macro.getEventStore().getX(0));
+        assertEquals(new MousePosition(1, 1), ((MouseMoveEvent) events.remove(1)).getPosition());
+        assertEquals(ClickType.SCROLL_DOWN, macro.getEventStore().getClickType(1));
+        assertEquals(2, events.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> events.remove(2));
+        assertThrows(IllegalArgumentException.class, () -> events.set(0, null));
+
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Macro copy = mapper.readValue(mapper.writeValueAsString(macro), Macro.class);
+        MacroEventStore store = copy.getEventStore();
+        assertEquals(2, store.size());
+        assertEquals(0, store.getTimestampMs(0));
+        assertEquals(ClickType.SCROLL_DOWN, store.getClickType(1));
+
+        copy.setEvents(List.of(new MouseMoveEvent(5, new MousePosition(9, 9))));
+        assertEquals(1, copy.getEventStore().size());
+        copy.setEvents(copy.getEvents());
+        assertEquals(1, copy.getEventStore().size());
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.robo.core.profile;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.robo.util.Constants;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Vergleicht ein langes Macro als JSON (wie bisher in {@code profiles.json}) und im binären
+ * Format ({@code .rmacro}): Dateigröße, Schreiben, vollständiges Laden und die Zeit bis zum
+ * ersten abspielbaren Event.
+ * <p>
+ * Aufnahme: {@value #MINUTES} Minuten mit {@value #SAMPLE_RATE_HZ} Hz, die Maus als
+ * Zufallsbewegung mit wenigen Pixeln pro Sample, jedes hundertste Event ein Klick. Der
+ * ObjectMapper ist wie im {@code ConfigurationManagerImpl} konfiguriert. Angegeben ist die
+ * beste von {@value #ROUNDS} Runden (die Dateien liegen danach im Page Cache).
+ * Kein Unit Test (läuft nicht mit {@code mvn test}). Ausführen mit:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     org.example.robo.core.profile.MacroFileFormatBenchmark
+ * </pre>
+ */
+public class MacroFileFormatBenchmark {
+
+    private static final int MINUTES = 10;
+    private static final int SAMPLE_RATE_HZ = 1_000;
+    private static final int EVENTS = MINUTES * 60 * SAMPLE_RATE_HZ;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        ObjectMapper mapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .registerModule(new JavaTimeModule())
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        Macro macro = buildMacro();
+        Path dir = Files.createTempDirectory("robo-macro-bench");
+        Path json = dir.resolve("macro.json");
+        Path binary = dir.resolve("macro" + Constants.MACRO_FILE_EXTENSION);
+
+        long[] jsonTimes = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        long[] binaryTimes = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        long checksum = 0;
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                mapper.writeValue(json.toFile(), macro);
+                jsonTimes[0] = Math.min(jsonTimes[0], System.nanoTime() - start);
+
+                start = System.nanoTime();
+                Macro loaded = mapper.readValue(json.toFile(), Macro.class);
+                jsonTimes[1] = Math.min(jsonTimes[1], System.nanoTime() - start);
+                // JSON muss vor dem ersten Event vollständig gelesen sein
+                jsonTimes[2] = jsonTimes[1];
+                checksum += loaded.getEventStore().size();
+
+                start = System.nanoTime();
+                MacroFileWriter.write(macro, binary, Constants.MACRO_FILE_BLOCK_EVENTS);
+                binaryTimes[0] = Math.min(binaryTimes[0], System.nanoTime() - start);
+
+                start = System.nanoTime();
+                loaded = MappedMacroFile.open(binary).toMacro();
+                binaryTimes[1] = Math.min(binaryTimes[1], System.nanoTime() - start);
+                checksum += loaded.getEventStore().size();
+
+                start = System.nanoTime();
+                MacroEventCursor cursor = MappedMacroFile.open(binary).cursor();
+                cursor.next();
+                binaryTimes[2] = Math.min(binaryTimes[2], System.nanoTime() - start);
+                checksum += cursor.x();
+            }
+
+            long jsonBytes = Files.size(json);
+            long binaryBytes = Files.size(binary);
+            System.out.printf("%d events (%d min at %d Hz)%n", EVENTS, MINUTES, SAMPLE_RATE_HZ);
+            System.out.printf("%-8s %10s %12s %10s %10s %14s%n", "format", "size MB", "bytes/event", "write ms", "load ms", "first event ms");
+            report("JSON", jsonBytes, jsonTimes);
+            report("rmacro", binaryBytes, binaryTimes);
+            System.out.printf("rmacro is %.1f%% of the JSON size, loads %.0fx faster%n",
+                    100.0 * binaryBytes / jsonBytes, (double) jsonTimes[1] / binaryTimes[1]);
+            if (checksum == 42) {
+                System.out.println();
+            }
+        } finally {
+            Files.deleteIfExists(json);
+            Files.deleteIfExists(binary);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static Macro buildMacro() {
+        Random random = new Random(42);
+        Macro macro = new Macro("bench", "Benchmark");
+        MacroEventStore store = macro.getEventStore();
+        int x = 960;
+        int y = 540;
+        for (int i = 0; i < EVENTS; i++) {
+            x = Math.max(0, Math.min(1919, x + random.nextInt(9) - 4));
+            y = Math.max(0, Math.min(1079, y + random.nextInt(9) - 4));
+            if (i % 100 == 0) {
+                store.appendClick(i, x, y, ClickType.LEFT);
+            } else {
+                store.appendMove(i, x, y);
+            }
+        }
+        return macro;
+    }
+
+    private static void report(String format, long bytes, long[] nanos) {
+        System.out.printf("%-8s %10.2f %12.2f %10.1f %10.1f %14.3f%n", format, bytes / 1e6, (double) bytes / EVENTS,
+                nanos[0] / 1e6, nanos[1] / 1e6, nanos[2] / 1e6);
+    }
+}
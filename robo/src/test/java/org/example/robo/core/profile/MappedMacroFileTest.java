@@ -0,0 +1,91 @@
+package org.example.robo.core.profile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für das binäre Macro-Format (MacroFileWriter und MappedMacroFile).
+ */
+class MappedMacroFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTripAcrossBlocks() throws IOException {
+        Macro macro = new Macro("m-1", "Größe ✓");
+        macro.setCreatedAt(LocalDateTime.of(2024, 5, 17, 12, 30, 1, 123_456_789));
+        MacroEventStore store = macro.getEventStore();
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 7 == 0) {
+                store.appendClick(i * 3L, 1920 - i, -i, ClickType.values()[i % 4]);
+            } else {
+                store.appendMove(i * 3L, i % 2 == 0 ? Integer.MAX_VALUE : Integer.MIN_VALUE, i);
+            }
+        }
+        store.appendMove(Long.MAX_VALUE / 16, 0, 0);
+
+        Path file = tempDir.resolve("m-1.rmacro");
+        MacroFileWriter.write(macro, file, 64);
+        MappedMacroFile mapped = MappedMacroFile.open(file);
+
+        assertEquals("m-1", mapped.getId());
+        assertEquals("Größe ✓", mapped.getName());
+        assertEquals(macro.getCreatedAt(), mapped.getCreatedAt());
+        assertEquals(1_001, mapped.getEventCount());
+        assertEquals(16, mapped.getBlockCount());
+
+        MacroEventStore.Cursor expected = store.cursor();
+        MacroEventCursor actual = mapped.cursor();
+        assertEquals(0, actual.peekTimestampMs());
+        while (expected.next()) {
+            assertTrue(actual.next());
+            assertEquals(expected.timestampMs(), actual.timestampMs());
+            assertEquals(expected.x(), actual.x());
+            assertEquals(expected.y(), actual.y());
+            assertEquals(expected.clickType(), actual.clickType());
+        }
+        assertFalse(actual.next());
+        assertThrows(IllegalStateException.class, actual::x);
+
+        Macro decoded = mapped.toMacro();
+        assertEquals(1_001, decoded.getEventStore().size());
+        assertEquals(ClickType.values()[994 % 4], decoded.getEventStore().getClickType(994));
+        assertEquals(Long.MAX_VALUE / 16, decoded.getEventStore().getTimestampMs(1_000));
+    }
+
+    @Test
+    void testCorruptBlockIsDetected() throws IOException {
+        Macro macro = new Macro("m-2", "Corrupt");
+        for (int i = 0; i < 100; i++) {
+            macro.getEventStore().appendMove(i, i, i);
+        }
+        Path file = tempDir.resolve("m-2.rmacro");
+        MacroFileWriter.write(macro, file, 50);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(file, bytes);
+
+        MacroEventCursor cursor = MappedMacroFile.open(file).cursor();
+        for (int i = 0; i < 50; i++) {
+            assertTrue(cursor.next());
+        }
+        IllegalStateException e = assertThrows(IllegalStateException.class, cursor::next);
+        assertTrue(e.getMessage().contains("checksum"));
+    }
+
+    @Test
+    void testRejectsForeignFile() throws IOException {
+        Path file = tempDir.resolve("profiles.json");
+        Files.writeString(file, "{\"profiles\": []}");
+        assertThrows(IOException.class, () -> MappedMacroFile.open(file));
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.robo.core.profile;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für ReadAheadMacroCursor.
+ */
+class ReadAheadMacroCursorTest {
+
+    @Test
+    void testEventsArriveInOrderAcrossChunks() {
+        MacroEventStore store = new MacroEventStore();
+        for (int i = 0; i < 1_001; i++) {
+            if (i % 3 == 0) {
+                store.appendClick(i, i, -i, ClickType.SCROLL_UP);
+            } else {
+                store.appendMove(i, i, -i);
+            }
+        }
+
+        try (ReadAheadMacroCursor cursor = new ReadAheadMacroCursor(store.cursor(), 16, 2)) {
+            assertEquals(1_001, cursor.size());
+            for (int i = 0; i < 1_001; i++) {
+                assertEquals(i, cursor.peekTimestampMs());
+                assertTrue(cursor.next());
+                assertEquals(i, cursor.timestampMs());
+                assertEquals(-i, cursor.y());
+                assertEquals(i % 3 == 0 ? ClickType.SCROLL_UP : null, cursor.clickType());
+            }
+            assertFalse(cursor.hasNext());
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    void testSourceFailureIsRaisedAfterPrecedingEvents() {
+        CountingSource source = new CountingSource(100, 50);
+        ReadAheadMacroCursor cursor = new ReadAheadMacroCursor(source, 8, 2);
+        for (int i = 0; i < 50; i++) {
+            assertTrue(cursor.next());
+            assertEquals(i, cursor.x());
+        }
+        IllegalStateException e = assertThrows(IllegalStateException.class, cursor::next);
+        assertEquals("source broken", e.getCause().getMessage());
+        assertTrue(source.awaitClosed());
+    }
+
+    @Test
+    void testCloseStopsReaderAndClosesSource() {
+        CountingSource source = new CountingSource(Integer.MAX_VALUE, -1);
+        ReadAheadMacroCursor cursor = new ReadAheadMacroCursor(source, 8, 2);
+        assertTrue(cursor.next());
+
+        cursor.close();
+
+        assertTrue(source.awaitClosed());
+        // Höchstens der Puffer wurde vorgelesen, nicht die ganze Quelle
+        assertTrue(source.produced < 100, "read " + source.produced + " events");
+    }
+
+    /**
+     * Generator mit Bewegungen an (i, i); wirft optional beim Event {@code failAt}.
+     */
+    private static final class CountingSource implements MacroEventCursor {
+        private final int size;
+        private final int failAt;
+        private volatile int produced;
+        private volatile boolean closed;
+
+        CountingSource(int size, int failAt) {
+            this.size = size;
+            this.failAt = failAt;
+        }
+
+        boolean awaitClosed() {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!closed && System.currentTimeMillis() < deadline) {
+                Thread.onSpinWait();
+            }
+            return closed;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return produced < size;
+        }
+
+        @Override
+        public boolean next() {
+            if (produced == failAt) {
+                throw new IllegalStateException("source broken");
+            }
+            if (!hasNext()) {
+                return false;
+            }
+            produced++;
+            return true;
+        }
+
+        @Override
+        public long peekTimestampMs() {
+            return produced;
+        }
+
+        @Override
+        public long timestampMs() {
+            return produced - 1;
+        }
+
+        @Override
+        public int x() {
+            return produced - 1;
+        }
+
+        @Override
+        public int y() {
+            return produced - 1;
+        }
+
+        @Override
+        public boolean isClick() {
+            return false;
+        }
+
+        @Override
+        public ClickType clickType() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.robo.core.profile;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für TimeScaledMacroCursor.
+ */
+class TimeScaledMacroCursorTest {
+
+    @Test
+    void testGapsAreCappedBeforeSpeedIsApplied() {
+        MacroEventStore store = new MacroEventStore();
+        store.appendMove(1_000, 1, 1);
+        store.appendClick(1_040, 2, 2, ClickType.LEFT);
+        store.appendMove(61_040, 3, 3);
+        store.appendMove(61_050, 4, 4);
+
+        TimeScaledMacroCursor cursor = new TimeScaledMacroCursor(store.cursor(), 2.0, 500);
+        long[] expected = {1_000, 1_020, 1_270, 1_275};
+        for (long timestamp : expected) {
+            assertEquals(timestamp, cursor.peekTimestampMs());
+            assertTrue(cursor.next());
+            assertEquals(timestamp, cursor.timestampMs());
+        }
+        assertFalse(cursor.next());
+        assertThrows(IllegalStateException.class, cursor::timestampMs);
+
+        // Positionen und Typen bleiben, die Quelle ist nicht verändert
+        assertEquals(1_040, store.getTimestampMs(1));
+        assertEquals(ClickType.LEFT, store.getClickType(1));
+    }
+
+    @Test
+    void testRoundingDoesNotAccumulate() {
+        MacroEventStore store = new MacroEventStore();
+        for (int i = 0; i < 30_000; i++) {
+            store.appendMove(i, i, i);
+        }
+
+        TimeScaledMacroCursor cursor = new TimeScaledMacroCursor(store.cursor(), 3.0, TimeScaledMacroCursor.NO_GAP_LIMIT);
+        long previous = Long.MIN_VALUE;
+        while (cursor.next()) {
+            assertTrue(cursor.timestampMs() >= previous);
+            previous = cursor.timestampMs();
+        }
+        assertEquals(10_000, previous);
+
+        assertThrows(IllegalArgumentException.class, () -> new TimeScaledMacroCursor(store.cursor(), 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TimeScaledMacroCursor(store.cursor(), 1, -1));
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.robo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests für ListenerRegistry.
+ */
+class ListenerRegistryTest {
+
+    @Test
+    void testAddAndRemove() {
+        ListenerRegistry<Runnable> registry = new ListenerRegistry<>(Runnable[]::new);
+        Runnable a = () -> { };
+        Runnable b = () -> { };
+
+        assertTrue(registry.add(a));
+        assertTrue(registry.add(b));
+        assertFalse(registry.add(null));
+        assertArrayEquals(new Runnable[]{a, b}, registry.snapshot());
+
+        assertTrue(registry.remove(a));
+        assertFalse(registry.remove(a));
+        assertArrayEquals(new Runnable[]{b}, registry.snapshot());
+
+        registry.clear();
+        assertTrue(registry.isEmpty());
+    }
+
+    @Test
+    void testSnapshotIsNotAffectedByLaterChanges() {
+        ListenerRegistry<String> registry = new ListenerRegistry<>(String[]::new);
+        registry.add("a");
+        String[] before = registry.snapshot();
+        registry.add("b");
+        registry.remove("a");
+
+        assertArrayEquals(new String[]{"a"}, before);
+        assertArrayEquals(new String[]{"b"}, registry.snapshot());
+    }
+
+    @Test
+    void testConcurrentAddsAndRemovesAreNotLost() throws InterruptedException {
+        ListenerRegistry<Object> registry = new ListenerRegistry<>(Object[]::new);
+        int threads = 8;
+        int perThread = 2_000;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        for (int t = 0; t < threads; t++) {
+            boolean keep = t % 2 == 0;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        Object listener = new Object();
+                        registry.add(listener);
+                        if (!keep && !registry.remove(listener)) {
+                            throw new AssertionError("listener added by this thread was not removed");
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure.compareAndSet(null, e);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertNull(failure.get(), () -> "worker failed: " + failure.get());
+        assertEquals(threads / 2 * perThread, registry.size());
+    }
+}
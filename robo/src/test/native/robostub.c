@@ -0,0 +1,185 @@
+/*
+ * Stub der verwendeten CoreGraphics-, Xlib- und XTest-Funktionen für Tests und
+ * Benchmarks ohne macOS bzw. X-Server.
+ * Events werden auf dem Heap angelegt und beim Posten/Freigeben gezählt, damit Tests
+ * die Argumente der nativen Aufrufe und das Freigeben aller Events prüfen können.
+ *
+ * Wird im Profil native-stub nach target/native/librobostub.so gebaut.
+ */
+#include <stdint.h>
+#include <stdlib.h>
+
+typedef struct {
+    double x;
+    double y;
+} CGPoint;
+
+typedef struct {
+    uint32_t type;
+    CGPoint location;
+    uint32_t button;
+    int32_t scroll;
+} StubEvent;
+
+static CGPoint cursor;
+static long created;
+static long posted;
+static long located;
+static long batches;
+static long released;
+static uint32_t last_type;
+static uint32_t last_button;
+static int32_t last_scroll;
+static uint8_t trusted = 1;
+
+static StubEvent *new_event(uint32_t type, CGPoint location, uint32_t button, int32_t scroll) {
+    StubEvent *event = malloc(sizeof(StubEvent));
+    event->type = type;
+    event->location = location;
+    event->button = button;
+    event->scroll = scroll;
+    created++;
+    return event;
+}
+
+void *CGEventCreate(void *source) {
+    (void) source;
+    return new_event(0, cursor, 0, 0);
+}
+
+void *CGEventCreateMouseEvent(void *source, uint32_t type, CGPoint location, uint32_t button) {
+    (void) source;
+    return new_event(type, location, button, 0);
+}
+
+void *CGEventCreateScrollWheelEvent2(void *source, uint32_t units, uint32_t wheelCount,
+                                     int32_t wheel1, int32_t wheel2, int32_t wheel3) {
+    (void) source; (void) units; (void) wheelCount; (void) wheel2; (void) wheel3;
+    return new_event(22, cursor, 0, wheel1);
+}
+
+void CGEventSetLocation(void *event, CGPoint location) {
+    ((StubEvent *) event)->location = location;
+    located++;
+}
+
+CGPoint CGEventGetLocation(void *event) {
+    return ((StubEvent *) event)->location;
+}
+
+void CGEventPost(uint32_t tap, void *event) {
+    (void) tap;
+    StubEvent *e = event;
+    cursor = e->location;
+    last_type = e->type;
+    last_button = e->button;
+    last_scroll = e->scroll;
+    posted++;
+}
+
+void CFRelease(void *cf) {
+    free(cf);
+    released++;
+}
+
+/* Bedienungshilfen (ApplicationServices) */
+uint8_t AXIsProcessTrusted(void) {
+    return trusted;
+}
+
+/* Shim aus src/main/native/robobatch.c, hier gegen die Stub-Funktionen */
+void robo_post_batch(const int64_t *events, const double *locations, int32_t count) {
+    for (int32_t i = 0; i < count; i++) {
+        CGPoint location = { locations[2 * i], locations[2 * i + 1] };
+        CGEventSetLocation((void *) (intptr_t) events[i], location);
+        CGEventPost(0, (void *) (intptr_t) events[i]);
+    }
+    batches++;
+}
+
+/* Xlib / XTest: ein Display, Events bewegen den gemeinsamen Cursor */
+static int display_stub;
+static long x_flushes;
+static long x_motions;
+static long x_presses;
+static long x_releases;
+static uint32_t x_last_button;
+
+void *XOpenDisplay(const char *name) {
+    (void) name;
+    return &display_stub;
+}
+
+int XCloseDisplay(void *display) { (void) display; return 0; }
+int XDefaultScreen(void *display) { (void) display; return 0; }
+unsigned long XRootWindow(void *display, int screen) { (void) display; (void) screen; return 1; }
+int XFlush(void *display) { (void) display; x_flushes++; return 1; }
+int XSync(void *display, int discard) { (void) display; (void) discard; x_flushes++; return 1; }
+
+int XQueryPointer(void *display, unsigned long window, unsigned long *root, unsigned long *child,
+                  int *root_x, int *root_y, int *win_x, int *win_y, unsigned int *mask) {
+    (void) display;
+    *root = window;
+    *child = 0;
+    *root_x = *win_x = (int) cursor.x;
+    *root_y = *win_y = (int) cursor.y;
+    *mask = 0;
+    return 1;
+}
+
+int XTestQueryExtension(void *display, int *event_base, int *error_base, int *major, int *minor) {
+    (void) display;
+    *event_base = *error_base = 0;
+    *major = 2;
+    *minor = 2;
+    return 1;
+}
+
+int XTestFakeMotionEvent(void *display, int screen, int x, int y, unsigned long delay) {
+    (void) display; (void) screen; (void) delay;
+    cursor.x = x;
+    cursor.y = y;
+    x_motions++;
+    return 1;
+}
+
+int XTestFakeButtonEvent(void *display, uint32_t button, int is_press, unsigned long delay) {
+    (void) display; (void) delay;
+    if (is_press) {
+        x_presses++;
+    } else {
+        x_releases++;
+    }
+    x_last_button = button;
+    return 1;
+}
+
+/* Abfragen für Tests */
+long robostub_created(void) { return created; }
+long robostub_posted(void) { return posted; }
+long robostub_released(void) { return released; }
+long robostub_located(void) { return located; }
+long robostub_batches(void) { return batches; }
+uint32_t robostub_last_type(void) { return last_type; }
+uint32_t robostub_last_button(void) { return last_button; }
+int32_t robostub_last_scroll(void) { return last_scroll; }
+double robostub_cursor_x(void) { return cursor.x; }
+double robostub_cursor_y(void) { return cursor.y; }
+
+long robostub_x_flushes(void) { return x_flushes; }
+long robostub_x_motions(void) { return x_motions; }
+long robostub_x_presses(void) { return x_presses; }
+long robostub_x_releases(void) { return x_releases; }
+uint32_t robostub_x_last_button(void) { return x_last_button; }
+
+void robostub_set_trusted(uint8_t value) { trusted = value; }
+
+void robostub_reset(void) {
+    created = posted = released = located = batches = 0;
+    last_type = last_button = 0;
+    last_scroll = 0;
+    cursor.x = cursor.y = 0;
+    trusted = 1;
+    x_flushes = x_motions = x_presses = x_releases = 0;
+    x_last_button = 0;
+}